@@ -20,6 +20,7 @@ import javax.json.JsonBuilderFactory;
 import org.talend.components.adlsgen2.runtime.AdlsGen2RuntimeException;
 import org.talend.components.adlsgen2.runtime.input.BlobReader;
 import org.talend.components.adlsgen2.runtime.input.BlobReader.BlobFileReaderFactory;
+import org.talend.components.adlsgen2.runtime.input.DeltaScan;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
@@ -49,12 +50,22 @@ public class AdlsGen2Input implements Serializable {
 
     private BlobReader reader;
 
+    /** Delta table files assigned by the mapper, null to read the whole table */
+    private final DeltaScan deltaScan;
+
     public AdlsGen2Input(@Option("configuration") final InputConfiguration configuration, final AdlsGen2Service service,
             final RecordBuilderFactory recordBuilderFactory, JsonBuilderFactory jsonFactory) {
+        this(configuration, service, recordBuilderFactory, jsonFactory, null);
+    }
+
+    public AdlsGen2Input(final InputConfiguration configuration, final AdlsGen2Service service,
+            final RecordBuilderFactory recordBuilderFactory, final JsonBuilderFactory jsonFactory,
+            final DeltaScan deltaScan) {
         this.configuration = configuration;
         this.service = service;
         this.jsonFactory = jsonFactory;
         this.recordBuilderFactory = recordBuilderFactory;
+        this.deltaScan = deltaScan;
     }
 
     @PostConstruct
@@ -62,7 +73,7 @@ public class AdlsGen2Input implements Serializable {
         log.debug("[init]");
         try {
             reader = BlobFileReaderFactory
-                    .getReader(configuration, recordBuilderFactory, jsonFactory, service);
+                    .getReader(configuration, recordBuilderFactory, jsonFactory, service, deltaScan);
         } catch (Exception e) {
             log.error("[init] Error: {}.", e.getMessage());
             throw new AdlsGen2RuntimeException(e.getMessage(), e);
@@ -13,9 +13,13 @@
 package org.talend.components.adlsgen2.input;
 
 import java.io.Serializable;
+import java.util.List;
 
 import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
+import org.talend.components.common.formats.ColumnFilter;
+import org.talend.components.common.formats.ParquetInputOptions;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -24,11 +28,42 @@ import static org.talend.sdk.component.api.configuration.ui.layout.GridLayout.Fo
 
 @Data
 @GridLayout(value = { @GridLayout.Row({ "dataSet" }) })
-@GridLayout(names = ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = ADVANCED, value = { //
+        @GridLayout.Row({ "dataSet" }), //
+        @GridLayout.Row({ "parquetOptions" }), //
+        @GridLayout.Row({ "deltaColumns" }), //
+        @GridLayout.Row({ "deltaPartitionFilters" }), //
+        @GridLayout.Row({ "deltaVersion", "deltaTimestamp" }) })
 @Documentation("ADLS input configuration")
 public class InputConfiguration implements Serializable {
 
     @Option
     @Documentation("Dataset")
     private AdlsGen2DataSet dataSet;
+
+    @Option
+    @ActiveIf(target = "dataSet.format", value = "PARQUET")
+    @Documentation("Parquet format: columns to read and filters pushed down to the Parquet reader.")
+    private ParquetInputOptions parquetOptions = new ParquetInputOptions();
+
+    @Option
+    @ActiveIf(target = "dataSet.format", value = "DELTA")
+    @Documentation("Delta format: columns to read, all columns if empty.")
+    private List<String> deltaColumns;
+
+    @Option
+    @ActiveIf(target = "dataSet.format", value = "DELTA")
+    @Documentation("Delta format: only data files of partitions matching all the filters are read.")
+    private List<ColumnFilter> deltaPartitionFilters;
+
+    @Option
+    @ActiveIf(target = "dataSet.format", value = "DELTA")
+    @Documentation("Delta format: version of the table to read, latest version if negative.")
+    private long deltaVersion = -1L;
+
+    @Option
+    @ActiveIf(target = "dataSet.format", value = "DELTA")
+    @Documentation("Delta format: read the table as it was at this time, ISO-8601 like 2021-06-01T10:15:30Z, "
+            + "latest version if empty. Ignored if a version is set.")
+    private String deltaTimestamp;
 }
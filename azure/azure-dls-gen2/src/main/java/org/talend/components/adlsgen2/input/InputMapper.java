@@ -13,10 +13,16 @@
 package org.talend.components.adlsgen2.input;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.json.JsonBuilderFactory;
+import org.talend.components.adlsgen2.common.format.FileFormat;
 import org.talend.components.adlsgen2.datastore.AdlsGen2Connection;
 import org.talend.components.adlsgen2.migration.AdlsRuntimeDatasetMigration;
+import org.talend.components.adlsgen2.runtime.input.DeltaFile;
+import org.talend.components.adlsgen2.runtime.input.DeltaScan;
+import org.talend.components.adlsgen2.runtime.input.DeltaTable;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
@@ -30,6 +36,9 @@ import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.connection.Connection;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import io.delta.standalone.Snapshot;
+
 import static java.util.Collections.singletonList;
 
 @Version(value = 4, migrationHandler = AdlsRuntimeDatasetMigration.class)
@@ -38,6 +47,9 @@ import static java.util.Collections.singletonList;
 @Documentation("Mapper for Azure Data Lake Storage Gen2")
 public class InputMapper implements Serializable {
 
+    /** smallest size of Delta table data files read by a worker */
+    static final long MIN_SPLIT_SIZE = 64L * 1024 * 1024;
+
     @Service
     private final AdlsGen2Service service;
 
@@ -51,29 +63,106 @@ public class InputMapper implements Serializable {
     @Connection
     private AdlsGen2Connection injectedConnection;
 
+    /** Delta table files read by this mapper, whole table if null */
+    private final DeltaScan deltaScan;
+
+    /** Delta table files, listed once for assessor and split */
+    private transient DeltaScan tableScan;
+
     public InputMapper(@Option("configuration") final InputConfiguration configuration, final AdlsGen2Service service,
             final RecordBuilderFactory recordBuilderFactory, final JsonBuilderFactory jsonBuilderFactory) {
+        this(configuration, service, recordBuilderFactory, jsonBuilderFactory, null);
+    }
+
+    private InputMapper(final InputConfiguration configuration, final AdlsGen2Service service,
+            final RecordBuilderFactory recordBuilderFactory, final JsonBuilderFactory jsonBuilderFactory,
+            final DeltaScan deltaScan) {
         this.configuration = configuration;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
         this.jsonBuilderFactory = jsonBuilderFactory;
+        this.deltaScan = deltaScan;
     }
 
     @Assessor
     public long estimateSize() {
-        return 1L;
+        if (!isDelta()) {
+            return 1L;
+        }
+        final DeltaScan scan = deltaScan == null ? getTableScan() : deltaScan;
+        return Math.max(1L, scan.getFiles().stream().mapToLong(DeltaFile::getSize).sum());
     }
 
+    /**
+     * Delta table data files are distributed to workers, other formats are read by one worker.
+     */
     @Split
     public List<InputMapper> split(@PartitionSize final long bundles) {
-        return singletonList(this);
+        if (!isDelta() || deltaScan != null) {
+            return singletonList(this);
+        }
+        final DeltaScan scan = getTableScan();
+        return groups(scan.getFiles(), Math.max(bundles, MIN_SPLIT_SIZE))
+                .stream()
+                .map((List<DeltaFile> files) -> {
+                    final InputMapper mapper = new InputMapper(configuration, service, recordBuilderFactory,
+                            jsonBuilderFactory, new DeltaScan(scan.getVersion(), files));
+                    mapper.injectedConnection = injectedConnection;
+                    return mapper;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Group data files in parts of about bundleSize bytes.
+     *
+     * @return at least one group, empty if there is no file.
+     */
+    static List<List<DeltaFile>> groups(final List<DeltaFile> files, final long bundleSize) {
+        final List<List<DeltaFile>> groups = new ArrayList<>();
+        List<DeltaFile> group = new ArrayList<>();
+        long groupSize = 0L;
+        for (DeltaFile file : files) {
+            group.add(file);
+            groupSize += file.getSize();
+            if (groupSize >= bundleSize) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupSize = 0L;
+            }
+        }
+        if (!group.isEmpty() || groups.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
     }
 
     @Emitter
     public AdlsGen2Input createWorker() {
+        applyInjectedConnection();
+        return new AdlsGen2Input(configuration, service, recordBuilderFactory, jsonBuilderFactory,
+                deltaScan == null ? tableScan : deltaScan);
+    }
+
+    private boolean isDelta() {
+        return configuration.getDataSet().getFormat() == FileFormat.DELTA;
+    }
+
+    private DeltaScan getTableScan() {
+        if (tableScan == null) {
+            applyInjectedConnection();
+            final DeltaTable table =
+                    new DeltaTable(configuration.getDataSet(), configuration.getDataSet().getBlobPath());
+            final Snapshot snapshot = table.snapshot(configuration);
+            tableScan = new DeltaScan(snapshot.getVersion(),
+                    table.files(snapshot, configuration.getDeltaPartitionFilters()));
+        }
+        return tableScan;
+    }
+
+    private void applyInjectedConnection() {
         if (injectedConnection != null) {
             configuration.getDataSet().setConnection(injectedConnection);
         }
-        return new AdlsGen2Input(configuration, service, recordBuilderFactory, jsonBuilderFactory);
     }
 }
@@ -16,6 +16,8 @@ import java.io.Serializable;
 
 import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -27,7 +29,9 @@ import lombok.Data;
 })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { //
         @GridLayout.Row({ "dataSet" }), //
-        @GridLayout.Row({ "blobNameTemplate" }) })
+        @GridLayout.Row({ "blobNameTemplate" }), //
+        @GridLayout.Row({ "blockSize", "maxConcurrentUploads" }), //
+        @GridLayout.Row({ "parquetRowGroupSize", "parquetMaxFileSize" }) })
 @Documentation("ADLS output configuration")
 public class OutputConfiguration implements Serializable {
 
@@ -40,4 +44,28 @@ public class OutputConfiguration implements Serializable {
             + "I.e. myPrefix-5deaa8ff-7d22-4b86-a864-9a6fa414501a.avro")
     private String blobNameTemplate = "data-";
 
+    @Option
+    @Min(1)
+    @Max(100)
+    @Documentation("Size of the blocks appended to the file (MB), blocks are uploaded while next ones are formatted.")
+    private int blockSize = 8;
+
+    @Option
+    @Min(1)
+    @Max(32)
+    @Documentation("Maximum number of blocks uploaded at the same time.")
+    private int maxConcurrentUploads = 4;
+
+    @Option
+    @Min(1)
+    @Max(1024)
+    @Documentation("Parquet format: size of the row groups (MB), a row group is buffered in memory until it is full.")
+    private int parquetRowGroupSize = 64;
+
+    @Option
+    @Min(0)
+    @Documentation("Parquet format: size (MB) from which a file is closed and next records go to a new file, "
+            + "0 to write all records in a single file.")
+    private int parquetMaxFileSize = 1024;
+
 }
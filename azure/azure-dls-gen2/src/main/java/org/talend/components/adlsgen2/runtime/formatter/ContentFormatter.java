@@ -12,6 +12,8 @@
  */
 package org.talend.components.adlsgen2.runtime.formatter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.List;
 
@@ -27,5 +29,15 @@ public interface ContentFormatter extends Serializable {
 
     byte[] feedContent(List<Record> records);
 
+    /**
+     * Write the formatted records to a stream, without closing it.
+     *
+     * @param records records to format.
+     * @param out destination stream.
+     */
+    default void feedContent(List<Record> records, OutputStream out) throws IOException {
+        out.write(feedContent(records));
+    }
+
     byte[] finalizeContent();
 }
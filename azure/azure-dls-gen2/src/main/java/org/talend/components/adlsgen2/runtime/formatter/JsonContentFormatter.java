@@ -12,6 +12,12 @@
  */
 package org.talend.components.adlsgen2.runtime.formatter;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.List;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonBuilderFactory;
@@ -53,6 +59,23 @@ public class JsonContentFormatter extends AbstractContentFormatter {
         return b.build().toString().getBytes();
     }
 
+    @Override
+    public void feedContent(List<Record> records, OutputStream out) throws IOException {
+        // same array as feedContent(records), written record by record
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+        writer.write('[');
+        boolean first = true;
+        for (Record rec : records) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(converter.fromRecord(rec).toString());
+            first = false;
+        }
+        writer.write(']');
+        writer.flush();
+    }
+
     @Override
     public boolean hasHeader() {
         return true;
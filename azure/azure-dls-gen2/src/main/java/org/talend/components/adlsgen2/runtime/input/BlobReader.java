@@ -34,11 +34,20 @@ public abstract class BlobReader {
 
     protected final AdlsGen2Service service;
 
+    /** data files to read for Delta format, assigned by the mapper, null to read the whole table */
+    protected final DeltaScan deltaScan;
+
     public BlobReader(InputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
             AdlsGen2Service service) {
+        this(configuration, recordBuilderFactory, service, null);
+    }
+
+    protected BlobReader(InputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
+            AdlsGen2Service service, DeltaScan deltaScan) {
         this.recordBuilderFactory = recordBuilderFactory;
         this.configuration = configuration;
         this.service = service;
+        this.deltaScan = deltaScan;
         Iterable<BlobInformations> blobItems = service.getBlobs(configuration.getDataSet());
         iterator = initRecordIterator(blobItems);
     }
@@ -55,6 +64,11 @@ public abstract class BlobReader {
 
         public static BlobReader getReader(InputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
                 JsonBuilderFactory jsonFactory, AdlsGen2Service service) {
+            return getReader(configuration, recordBuilderFactory, jsonFactory, service, null);
+        }
+
+        public static BlobReader getReader(InputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
+                JsonBuilderFactory jsonFactory, AdlsGen2Service service, DeltaScan deltaScan) {
             switch (configuration.getDataSet().getFormat()) {
             case CSV:
                 return new CsvBlobReader(configuration, recordBuilderFactory, service);
@@ -65,7 +79,7 @@ public abstract class BlobReader {
             case JSON:
                 return new JsonBlobReader(configuration, recordBuilderFactory, jsonFactory, service);
             case DELTA:
-                return new DeltaBlobReader(configuration, recordBuilderFactory, service);
+                return new DeltaBlobReader(configuration, recordBuilderFactory, service, deltaScan);
             default:
                 throw new IllegalArgumentException("Unsupported file format"); // shouldn't be here
             }
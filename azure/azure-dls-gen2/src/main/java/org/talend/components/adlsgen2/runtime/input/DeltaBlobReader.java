@@ -13,28 +13,41 @@
 package org.talend.components.adlsgen2.runtime.input;
 
 import java.io.IOException;
-import org.apache.hadoop.conf.Configuration;
-import org.talend.components.adlsgen2.datastore.AdlsGen2Connection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetReader;
 import org.talend.components.adlsgen2.input.InputConfiguration;
+import org.talend.components.adlsgen2.runtime.AdlsGen2RuntimeException;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.components.adlsgen2.service.BlobInformations;
-import org.talend.components.common.Constants;
-import org.talend.components.common.connection.adls.AuthMethod;
-import org.talend.components.common.converters.DeltaConverter;
+import org.talend.components.common.converters.DeltaGroupConverter;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
-import io.delta.standalone.DeltaLog;
+
 import io.delta.standalone.Snapshot;
-import io.delta.standalone.data.CloseableIterator;
-import io.delta.standalone.data.RowRecord;
+import io.delta.standalone.types.StructField;
+import io.delta.standalone.types.StructType;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Read a Delta table data files one after the other, only files of partitions matching the filters and only the
+ * configured columns. Files are the ones of the scan given by the mapper if any, so that workers read a same version.
+ */
 @Slf4j
 public class DeltaBlobReader extends BlobReader {
 
     public DeltaBlobReader(InputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
             AdlsGen2Service connectionServices) {
-        super(configuration, recordBuilderFactory, connectionServices);
+        this(configuration, recordBuilderFactory, connectionServices, null);
+    }
+
+    public DeltaBlobReader(InputConfiguration configuration, RecordBuilderFactory recordBuilderFactory,
+            AdlsGen2Service connectionServices, DeltaScan scan) {
+        super(configuration, recordBuilderFactory, connectionServices, scan);
     }
 
     @Override
@@ -42,91 +55,56 @@ public class DeltaBlobReader extends BlobReader {
         return new DeltaRecordIterator(blobItems, recordBuilderFactory);
     }
 
-    private class DeltaRecordIterator extends RecordIterator<RowRecord> {
+    private class DeltaRecordIterator extends RecordIterator<Record> {
+
+        private DeltaGroupConverter converter;
+
+        private DeltaTable table;
 
-        private DeltaConverter converter;
+        /** columns stored in data files to read, partition columns are not */
+        private Set<String> dataColumns;
 
-        private Configuration hadoopConfig;
+        private Iterator<DeltaFile> files;
 
-        private CloseableIterator<RowRecord> iter;
+        private DeltaFile currentFile;
 
-        private RowRecord currentRecord;
+        private ParquetReader<Group> reader;
+
+        private Record currentRecord;
 
         private DeltaRecordIterator(Iterable<BlobInformations> blobItemsList,
                 RecordBuilderFactory recordBuilderFactory) {
             super(blobItemsList, recordBuilderFactory);
-            initConfig();
             peekFirstBlob();
         }
 
-        private void initConfig() {
-            hadoopConfig = new Configuration();
-
-            AdlsGen2Connection datastore = configuration.getDataSet().getConnection();
-            String accountName = datastore.getAccountName();
-            AuthMethod authMethod = datastore.getAuthMethod();
-
-            switch (authMethod) {
-            case SharedKey:
-                String sharedKey = datastore.getSharedKey();
-                hadoopConfig.set("fs.azure.account.auth.type." + accountName + ".dfs.core.windows.net", "SharedKey");
-                hadoopConfig.set("fs.azure.account.key." + accountName + ".dfs.core.windows.net", sharedKey);
-                break;
-            case SAS:
-                // seems hadoop 3.2.2 don't support that, need to upgrade hadoop
-                String sas = datastore.getSas();
-                hadoopConfig.set("fs.azure.account.auth.type", "SAS");
-                hadoopConfig.set("fs.azure.sas.token.provider.type",
-                        "org.talend.components.adlsgen2.service.TalendSASTokenProvider");
-                hadoopConfig.set(Constants.STATIC_SAS_TOKEN_KEY, sas.substring(1));
-                break;
-            case ActiveDirectory:
-                String tenantId = datastore.getTenantId();
-                String clientId = datastore.getClientId();
-                String clientSecret = datastore.getClientSecret();
-                hadoopConfig.set("fs.azure.account.auth.type", "OAuth");
-                hadoopConfig.set("fs.azure.account.oauth.provider.type",
-                        "org.apache.hadoop.fs.azurebfs.oauth2.ClientCredsTokenProvider");
-                hadoopConfig.set("fs.azure.account.oauth2.client.endpoint",
-                        "https://login.microsoftonline.com/" + tenantId + "/oauth2/v2.0/token");
-                hadoopConfig.set("fs.azure.account.oauth2.client.id", clientId);
-                hadoopConfig.set("fs.azure.account.oauth2.client.secret", clientSecret);
-                break;
-            default:
-                break;
-            }
-        }
-
         @Override
-        protected Record convertToRecord(RowRecord next) {
-            if (converter == null) {
-                converter = DeltaConverter.of(getRecordBuilderFactory());
-            }
-
-            return converter.toRecord(next);
+        protected Record convertToRecord(Record next) {
+            return next;
         }
 
         @Override
         protected void readBlob() {
-            closePreviousIterator();
+            closePreviousReader();
             try {
-                // as delta format is a directory self with parquet files and json files in it, so
-                // we need to list blob objects? i think no need
-                StringBuilder strBuilder = new StringBuilder();
-                strBuilder.append("abfss://")
-                        .append(configuration.getDataSet().getFilesystem())
-                        .append('@')
-                        .append(configuration.getDataSet().getConnection().getAccountName())
-                        .append('.')
-                        .append(configuration.getDataSet().getConnection().getEndpointSuffix());
-                if (!getCurrentBlob().getBlobPath().startsWith("/")) {
-                    strBuilder.append("/");
+                table = new DeltaTable(configuration.getDataSet(), getCurrentBlob().getBlobPath());
+                final Snapshot snapshot = deltaScan == null ? table.snapshot(configuration)
+                        : table.snapshot(deltaScan.getVersion());
+                final List<DeltaFile> deltaFiles = deltaScan == null
+                        ? table.files(snapshot, configuration.getDeltaPartitionFilters())
+                        : deltaScan.getFiles();
+
+                final StructType projection =
+                        DeltaTable.projection(snapshot.getMetadata().getSchema(), configuration.getDeltaColumns());
+                final Set<String> partitionColumns = new HashSet<>(snapshot.getMetadata().getPartitionColumns());
+                dataColumns = new HashSet<>();
+                for (StructField field : projection.getFields()) {
+                    if (!partitionColumns.contains(field.getName())) {
+                        dataColumns.add(field.getName());
+                    }
                 }
-                strBuilder.append(getCurrentBlob().getBlobPath());
-
-                DeltaLog log = DeltaLog.forTable(hadoopConfig, strBuilder.toString());
-                Snapshot snapshot = log.snapshot();
-                iter = snapshot.open();
+                converter = new DeltaGroupConverter(getRecordBuilderFactory(), projection, partitionColumns);
+                files = deltaFiles.iterator();
 
                 this.currentRecord = nextRecord();
             } catch (Exception e) {
@@ -140,22 +118,34 @@ public class DeltaBlobReader extends BlobReader {
             return currentRecord != null;
         }
 
-        private RowRecord nextRecord() {
-            if (iter.hasNext()) {
-                RowRecord row = iter.next();
-                return row;
+        /**
+         * Next row of current data file, or of next files.
+         */
+        private Record nextRecord() throws IOException {
+            while (true) {
+                if (reader != null) {
+                    final Group group = reader.read();
+                    if (group != null) {
+                        return converter.toRecord(group, currentFile.getPartitionValues());
+                    }
+                    closePreviousReader();
+                }
+                if (!files.hasNext()) {
+                    return null;
+                }
+                currentFile = files.next();
+                reader = table.open(currentFile, dataColumns);
             }
-
-            return null;
         }
 
         @Override
-        protected RowRecord peekNextBlobRecord() {
-            RowRecord rec = this.currentRecord;
+        protected Record peekNextBlobRecord() {
+            Record rec = this.currentRecord;
             try {
                 this.currentRecord = nextRecord();
-            } catch (Exception e) {
-                log.error("Can't read record from file " + getCurrentBlob().getBlobPath(), e);
+            } catch (IOException e) {
+                log.error("Can't read record from file " + currentFile.getPath(), e);
+                throw new AdlsGen2RuntimeException(e.getMessage());
             }
 
             return rec;
@@ -163,16 +153,17 @@ public class DeltaBlobReader extends BlobReader {
 
         @Override
         protected void complete() {
-            closePreviousIterator();
+            closePreviousReader();
         }
 
-        private void closePreviousIterator() {
-            if (iter != null) {
+        private void closePreviousReader() {
+            if (reader != null) {
                 try {
-                    iter.close();
+                    reader.close();
                 } catch (IOException e) {
                     log.error("Can't close stream: {}.", e.getMessage());
                 }
+                reader = null;
             }
         }
     }
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.adlsgen2.runtime.input;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Data files of a Delta table version, read by a worker.
+ */
+@Value
+public class DeltaScan implements Serializable {
+
+    long version;
+
+    List<DeltaFile> files;
+}
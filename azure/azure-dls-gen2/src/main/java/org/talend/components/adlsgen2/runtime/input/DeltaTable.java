@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.adlsgen2.runtime.input;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+import org.talend.components.adlsgen2.datastore.AdlsGen2Connection;
+import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
+import org.talend.components.adlsgen2.input.InputConfiguration;
+import org.talend.components.common.Constants;
+import org.talend.components.common.connection.adls.AuthMethod;
+import org.talend.components.common.formats.ColumnFilter;
+import org.talend.components.common.formats.FormatUtils;
+
+import io.delta.standalone.DeltaLog;
+import io.delta.standalone.Snapshot;
+import io.delta.standalone.actions.AddFile;
+import io.delta.standalone.actions.Metadata;
+import io.delta.standalone.types.ByteType;
+import io.delta.standalone.types.DataType;
+import io.delta.standalone.types.DecimalType;
+import io.delta.standalone.types.DoubleType;
+import io.delta.standalone.types.FloatType;
+import io.delta.standalone.types.IntegerType;
+import io.delta.standalone.types.LongType;
+import io.delta.standalone.types.ShortType;
+import io.delta.standalone.types.StructField;
+import io.delta.standalone.types.StructType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delta table of a data set: snapshot at a version or a time, data files of the partitions matching filters, and
+ * readers of these files with only the projected columns.
+ */
+@Slf4j
+public class DeltaTable {
+
+    private final Configuration hadoopConfig;
+
+    private final Path tablePath;
+
+    private final DeltaLog deltaLog;
+
+    public DeltaTable(final AdlsGen2DataSet dataSet, final String blobPath) {
+        this.hadoopConfig = hadoopConfig(dataSet.getConnection());
+        this.tablePath = new Path(tableUri(dataSet, blobPath));
+        this.deltaLog = DeltaLog.forTable(hadoopConfig, tablePath.toString());
+    }
+
+    /**
+     * Snapshot to read: the configured version, else the version at the configured time, else the latest one.
+     */
+    public Snapshot snapshot(final InputConfiguration configuration) {
+        if (configuration.getDeltaVersion() >= 0) {
+            return snapshot(configuration.getDeltaVersion());
+        }
+        final String timestamp = configuration.getDeltaTimestamp();
+        if (timestamp != null && !timestamp.trim().isEmpty()) {
+            return deltaLog.getSnapshotForTimestampAsOf(toEpochMilli(timestamp.trim()));
+        }
+        return deltaLog.snapshot();
+    }
+
+    public Snapshot snapshot(final long version) {
+        return deltaLog.getSnapshotForVersionAsOf(version);
+    }
+
+    /**
+     * Data files of the snapshot, in partitions matching all the filters.
+     */
+    public List<DeltaFile> files(final Snapshot snapshot, final List<ColumnFilter> filters) {
+        final Metadata metadata = snapshot.getMetadata();
+        final List<ColumnFilter> partitionFilters = resolve(filters, metadata.getPartitionColumns());
+        final List<AddFile> allFiles = snapshot.getAllFiles();
+        final List<DeltaFile> files = new ArrayList<>();
+        for (AddFile file : allFiles) {
+            final Map<String, String> partitionValues = file.getPartitionValues() == null ? new HashMap<>()
+                    : new HashMap<>(file.getPartitionValues());
+            if (matches(partitionValues, partitionFilters, metadata.getSchema())) {
+                files.add(new DeltaFile(file.getPath(), file.getSize(), partitionValues));
+            }
+        }
+        log.debug("Delta table {} version {}: {} data files of {} to read.", tablePath, snapshot.getVersion(),
+                files.size(), allFiles.size());
+        return files;
+    }
+
+    /**
+     * Open a data file, reading only given columns.
+     *
+     * @param file data file.
+     * @param columns names of the columns stored in data files to read.
+     * @return reader of rows.
+     */
+    public ParquetReader<Group> open(final DeltaFile file, final Set<String> columns) throws IOException {
+        return ParquetReader
+                .builder(new ProjectionReadSupport(columns), this.filePath(file))
+                .withConf(hadoopConfig)
+                .build();
+    }
+
+    private Path filePath(final DeltaFile file) {
+        try {
+            final URI uri = new URI(file.getPath());
+            return uri.isAbsolute() ? new Path(uri) : new Path(tablePath, new Path(uri));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid Delta data file path " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Fields of the table schema to read, all if no column is given.
+     */
+    static StructType projection(final StructType schema, final List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            return schema;
+        }
+        final List<StructField> fields = new ArrayList<>();
+        for (StructField field : schema.getFields()) {
+            if (columns.stream().anyMatch(field.getName()::equalsIgnoreCase)) {
+                fields.add(field);
+            }
+        }
+        for (String column : columns) {
+            if (fields.stream().noneMatch((StructField field) -> field.getName().equalsIgnoreCase(column))) {
+                throw new IllegalArgumentException("Column '" + column + "' doesn't exist in the Delta table.");
+            }
+        }
+        return new StructType(fields.toArray(new StructField[0]));
+    }
+
+    /**
+     * Filters with the partition column name as in table metadata.
+     */
+    static List<ColumnFilter> resolve(final List<ColumnFilter> filters, final List<String> partitionColumns) {
+        if (filters == null) {
+            return Collections.emptyList();
+        }
+        final List<ColumnFilter> resolved = new ArrayList<>();
+        for (ColumnFilter filter : filters) {
+            final String column = partitionColumns
+                    .stream()
+                    .filter((String partitionColumn) -> partitionColumn.equalsIgnoreCase(filter.getColumn()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Column '" + filter.getColumn() + "' is not a partition column of the Delta table."));
+            resolved.add(new ColumnFilter(column, filter.getOperator(), filter.getValue()));
+        }
+        return resolved;
+    }
+
+    static boolean matches(final Map<String, String> partitionValues, final List<ColumnFilter> filters,
+            final StructType schema) {
+        for (ColumnFilter filter : filters) {
+            final boolean numeric = isNumeric(schema, filter.getColumn());
+            if (!matches(partitionValues.get(filter.getColumn()), filter, numeric)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(final String partitionValue, final ColumnFilter filter, final boolean numeric) {
+        final String value = filter.getValue() == null ? "" : filter.getValue();
+        if (filter.getOperator() == ColumnFilter.Operator.IN) {
+            for (String inValue : value.split(",")) {
+                if (partitionValue != null && compare(partitionValue, inValue.trim(), numeric) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (partitionValue == null) {
+            // null partition only differs from values.
+            return filter.getOperator() == ColumnFilter.Operator.NOT_EQUAL;
+        }
+        final int comparison = compare(partitionValue, value.trim(), numeric);
+        switch (filter.getOperator()) {
+        case EQUAL:
+            return comparison == 0;
+        case NOT_EQUAL:
+            return comparison != 0;
+        case LOWER:
+            return comparison < 0;
+        case LOWER_OR_EQUAL:
+            return comparison <= 0;
+        case GREATER:
+            return comparison > 0;
+        case GREATER_OR_EQUAL:
+            return comparison >= 0;
+        default:
+            throw new IllegalArgumentException("Unsupported partition filter operator " + filter.getOperator());
+        }
+    }
+
+    private static int compare(final String partitionValue, final String value, final boolean numeric) {
+        if (!numeric) {
+            // dates (yyyy-MM-dd) and timestamps (yyyy-MM-dd HH:mm:ss) compare as strings.
+            return partitionValue.compareTo(value);
+        }
+        if (partitionValue.isEmpty()) {
+            return -1;
+        }
+        try {
+            return new BigDecimal(partitionValue).compareTo(new BigDecimal(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid numeric partition filter value '" + value + "'.", e);
+        }
+    }
+
+    private static boolean isNumeric(final StructType schema, final String column) {
+        for (StructField field : schema.getFields()) {
+            if (field.getName().equals(column)) {
+                final DataType type = field.getDataType();
+                return type instanceof IntegerType || type instanceof LongType || type instanceof ShortType
+                        || type instanceof ByteType || type instanceof DoubleType || type instanceof FloatType
+                        || type instanceof DecimalType;
+            }
+        }
+        return false;
+    }
+
+    static long toEpochMilli(final String timestamp) {
+        return FormatUtils.toEpochMilli(timestamp);
+    }
+
+    private static String tableUri(final AdlsGen2DataSet dataSet, final String blobPath) {
+        // as delta format is a directory self with parquet files and json files in it, no need to list blobs.
+        final StringBuilder strBuilder = new StringBuilder();
+        strBuilder
+                .append("abfss://")
+                .append(dataSet.getFilesystem())
+                .append('@')
+                .append(dataSet.getConnection().getAccountName())
+                .append('.')
+                .append(dataSet.getConnection().getEndpointSuffix());
+        if (!blobPath.startsWith("/")) {
+            strBuilder.append("/");
+        }
+        strBuilder.append(blobPath);
+        return strBuilder.toString();
+    }
+
+    private static Configuration hadoopConfig(final AdlsGen2Connection datastore) {
+        final Configuration hadoopConfig = new Configuration();
+        final String accountName = datastore.getAccountName();
+        final AuthMethod authMethod = datastore.getAuthMethod();
+
+        switch (authMethod) {
+        case SharedKey:
+            String sharedKey = datastore.getSharedKey();
+            hadoopConfig.set("fs.azure.account.auth.type." + accountName + ".dfs.core.windows.net", "SharedKey");
+            hadoopConfig.set("fs.azure.account.key." + accountName + ".dfs.core.windows.net", sharedKey);
+            break;
+        case SAS:
+            // seems hadoop 3.2.2 don't support that, need to upgrade hadoop
+            String sas = datastore.getSas();
+            hadoopConfig.set("fs.azure.account.auth.type", "SAS");
+            hadoopConfig.set("fs.azure.sas.token.provider.type",
+                    "org.talend.components.adlsgen2.service.TalendSASTokenProvider");
+            hadoopConfig.set(Constants.STATIC_SAS_TOKEN_KEY, sas.substring(1));
+            break;
+        case ActiveDirectory:
+            String tenantId = datastore.getTenantId();
+            String clientId = datastore.getClientId();
+            String clientSecret = datastore.getClientSecret();
+            hadoopConfig.set("fs.azure.account.auth.type", "OAuth");
+            hadoopConfig.set("fs.azure.account.oauth.provider.type",
+                    "org.apache.hadoop.fs.azurebfs.oauth2.ClientCredsTokenProvider");
+            hadoopConfig.set("fs.azure.account.oauth2.client.endpoint",
+                    "https://login.microsoftonline.com/" + tenantId + "/oauth2/v2.0/token");
+            hadoopConfig.set("fs.azure.account.oauth2.client.id", clientId);
+            hadoopConfig.set("fs.azure.account.oauth2.client.secret", clientSecret);
+            break;
+        default:
+            break;
+        }
+        return hadoopConfig;
+    }
+
+    /**
+     * Read only given columns of data files, columns missing in a file are ignored.
+     */
+    private static class ProjectionReadSupport extends GroupReadSupport {
+
+        private final Set<String> columns;
+
+        ProjectionReadSupport(final Set<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public ReadSupport.ReadContext init(final Configuration configuration,
+                final Map<String, String> keyValueMetaData, final MessageType fileSchema) {
+            final List<Type> fields = fileSchema
+                    .getFields()
+                    .stream()
+                    .filter((Type field) -> columns.contains(field.getName()))
+                    .collect(Collectors.toList());
+            return new ReadSupport.ReadContext(new MessageType(fileSchema.getName(), fields));
+        }
+    }
+}
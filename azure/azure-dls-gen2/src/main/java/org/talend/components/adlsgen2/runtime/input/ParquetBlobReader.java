@@ -22,7 +22,6 @@ import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
-import org.apache.parquet.avro.AvroParquetReader;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.util.HadoopInputFile;
 import org.talend.components.adlsgen2.common.format.FileFormatRuntimeException;
@@ -31,6 +30,7 @@ import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.components.adlsgen2.service.BlobInformations;
 import org.talend.components.common.Constants;
 import org.talend.components.common.converters.ParquetConverter;
+import org.talend.components.common.formats.ParquetInputReader;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
@@ -94,7 +94,7 @@ public class ParquetBlobReader extends BlobReader {
                 Files.copy(input, tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 IOUtils.closeQuietly(input);
                 HadoopInputFile hdpIn = HadoopInputFile.fromPath(new Path(tmp.getPath()), hadoopConfig);
-                reader = AvroParquetReader.<GenericRecord> builder(hdpIn).build();
+                reader = ParquetInputReader.open(hdpIn, hadoopConfig, configuration.getParquetOptions());
                 currentRecord = reader.read();
             } catch (IOException e) {
                 log.error("[ParquetIterator] {}", e.getMessage());
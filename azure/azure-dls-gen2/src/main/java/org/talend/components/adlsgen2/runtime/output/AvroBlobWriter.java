@@ -12,8 +12,8 @@
  */
 package org.talend.components.adlsgen2.runtime.output;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import javax.json.JsonBuilderFactory;
 
@@ -53,25 +53,19 @@ public class AvroBlobWriter extends BlobWriter {
         if (getBatch().isEmpty()) {
             return;
         }
-        byte[] contents = convertBatchToBytes();
-        uploadContent(contents);
+        uploadContent(this::writeBatch);
         getBatch().clear();
         currentItem.setBlobPath("");
     }
 
-    private byte[] convertBatchToBytes() {
-        try {
-            ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
-            DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
-            DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
-            dataFileWriter.create(converter.fromRecordSchema(getSchema()), byteBuffer);
-            for (Record rec : getBatch()) {
-                dataFileWriter.append(converter.fromRecord(rec));
-            }
-            dataFileWriter.flush();
-            return byteBuffer.toByteArray();
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
+    private void writeBatch(OutputStream out) throws IOException {
+        DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
+        DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
+        dataFileWriter.create(converter.fromRecordSchema(getSchema()), out);
+        for (Record rec : getBatch()) {
+            dataFileWriter.append(converter.fromRecord(rec));
         }
+        // flushed but not closed, the upload stream is closed once written
+        dataFileWriter.flush();
     }
 }
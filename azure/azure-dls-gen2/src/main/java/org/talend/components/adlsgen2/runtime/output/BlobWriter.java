@@ -12,13 +12,19 @@
  */
 package org.talend.components.adlsgen2.runtime.output;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
 import javax.json.JsonBuilderFactory;
+import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
 import org.talend.components.adlsgen2.output.OutputConfiguration;
+import org.talend.components.adlsgen2.runtime.AdlsGen2RuntimeException;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.components.adlsgen2.service.BlobInformations;
+import org.talend.components.common.upload.BlockUploadOutputStream;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
@@ -28,6 +34,8 @@ import static java.util.Optional.ofNullable;
 @Slf4j
 public abstract class BlobWriter {
 
+    protected static final int MB = 1024 * 1024;
+
     protected final AdlsGen2Service service;
 
     protected final JsonBuilderFactory jsonFactory;
@@ -82,20 +90,62 @@ public abstract class BlobWriter {
     }
 
     protected void uploadContent(byte[] content) {
+        uploadContent(out -> out.write(content));
+    }
+
+    /**
+     * Create a new file and write its content. Content is cut in blocks appended at their offset while next ones are
+     * written, the file is flushed once all blocks are appended.
+     *
+     * @param content writes the file content.
+     */
+    protected void uploadContent(ContentWriter content) {
+        try {
+            BlockUploadOutputStream out = openUpload();
+            try {
+                content.write(out);
+                out.close();
+            } finally {
+                out.abort();
+            }
+        } catch (IOException e) {
+            throw new AdlsGen2RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create a new file and open its upload stream. Blocks are appended at their offset while next ones are written,
+     * closing the stream flushes the file.
+     *
+     * @return upload stream of the new file.
+     */
+    protected BlockUploadOutputStream openUpload() {
         generateFile();
-        String oldBlobPath = configuration.getDataSet().getBlobPath();
-        configuration.getDataSet().setBlobPath(currentItem.getBlobPath());
-        // path create
-        service.pathCreate(configuration.getDataSet());
-        long position = 0;
-        // update blob
-        service.pathUpdate(configuration.getDataSet(), content, position);
-        position += content.length; // cumulate length of written records for current offset
-        // flush blob
-        service.flushBlob(configuration.getDataSet(), position);
+        AdlsGen2DataSet fileDataSet = new AdlsGen2DataSet();
+        fileDataSet.setConnection(configuration.getDataSet().getConnection());
+        fileDataSet.setFilesystem(configuration.getDataSet().getFilesystem());
+        fileDataSet.setFormat(configuration.getDataSet().getFormat());
+        fileDataSet.setBlobPath(currentItem.getBlobPath());
         // reset name
         currentItem.setBlobPath("");
-        configuration.getDataSet().setBlobPath(oldBlobPath);
+        // path create
+        service.pathCreate(fileDataSet);
+        return new BlockUploadOutputStream(configuration.getBlockSize() * MB, configuration.getMaxConcurrentUploads(),
+                new BlockUploadOutputStream.BlockUploader() {
+
+                    @Override
+                    public void upload(int index, long offset, byte[] data, int length) {
+                        // update blob
+                        service.pathUpdate(fileDataSet, length == data.length ? data : Arrays.copyOf(data, length),
+                                offset);
+                    }
+
+                    @Override
+                    public void commit(int blockCount, long size) {
+                        // flush blob
+                        service.flushBlob(fileDataSet, size);
+                    }
+                });
     }
 
     public List<Record> getBatch() {
@@ -119,6 +169,15 @@ public abstract class BlobWriter {
      */
     public abstract void flush();
 
+    /**
+     * Writes the content of a file to the upload stream.
+     */
+    @FunctionalInterface
+    protected interface ContentWriter {
+
+        void write(OutputStream out) throws IOException;
+    }
+
     /**
      * Finish everything
      */
@@ -45,8 +45,7 @@ public class CsvBlobWriter extends BlobWriter {
         if (getBatch().isEmpty()) {
             return;
         }
-        byte[] contentBytes = formatter.feedContent(getBatch());
-        uploadContent(contentBytes);
+        uploadContent(out -> formatter.feedContent(getBatch(), out));
         getBatch().clear();
         currentItem.setBlobPath("");
     }
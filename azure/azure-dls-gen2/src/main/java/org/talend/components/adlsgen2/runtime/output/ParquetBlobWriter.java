@@ -12,31 +12,28 @@
  */
 package org.talend.components.adlsgen2.runtime.output;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 
 import javax.json.JsonBuilderFactory;
 
-import org.apache.avro.generic.GenericRecord;
-import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.Path;
-import org.apache.parquet.avro.AvroParquetWriter;
-import org.apache.parquet.hadoop.ParquetFileWriter;
-import org.apache.parquet.hadoop.ParquetWriter;
 import org.talend.components.adlsgen2.output.OutputConfiguration;
 import org.talend.components.adlsgen2.runtime.AdlsGen2RuntimeException;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.components.common.Constants;
 import org.talend.components.common.converters.ParquetConverter;
+import org.talend.components.common.upload.ParquetUploadWriter;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
+/**
+ * Write batches in Parquet files uploaded while they are written. A file stays open across batches until it reaches
+ * the maximum file size.
+ */
 public class ParquetBlobWriter extends BlobWriter {
 
     private ParquetConverter converter;
 
-    private Configuration config;
+    private ParquetUploadWriter writer;
 
     protected static final String EXT_PARQUET = ".parquet";
 
@@ -45,8 +42,6 @@ public class ParquetBlobWriter extends BlobWriter {
         super(configuration, recordBuilderFactory, jsonFactory, service);
         this.converter = ParquetConverter.of(recordBuilderFactory, configuration.getDataSet().getParquetConfiguration(),
                 Constants.ADLS_NAMESPACE);
-        this.config = new Configuration();
-        config.set("fs.file.impl", org.apache.hadoop.fs.LocalFileSystem.class.getName());
     }
 
     @Override
@@ -59,28 +54,36 @@ public class ParquetBlobWriter extends BlobWriter {
         if (getBatch().isEmpty()) {
             return;
         }
-        File tempFilePath = null;
         try {
-            tempFilePath = File.createTempFile("tempFile", EXT_PARQUET);
-            Path tempFile = new Path(tempFilePath.getPath());
-            ParquetWriter<GenericRecord> writer = AvroParquetWriter
-                    .<GenericRecord> builder(tempFile)
-                    .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
-                    .withSchema(converter.inferAvroSchema(getSchema()))
-                    .withConf(config)
-                    .build();
+            if (writer == null) {
+                writer = new ParquetUploadWriter(converter.inferAvroSchema(getSchema()),
+                        configuration.getParquetRowGroupSize() * MB,
+                        (long) configuration.getParquetMaxFileSize() * MB, this::openUpload);
+            }
             for (Record r : getBatch()) {
                 writer.write(converter.fromRecord(r));
             }
-            writer.close();
-            uploadContent(Files.readAllBytes(tempFilePath.toPath()));
         } catch (IOException e) {
+            writer.abort();
             throw new AdlsGen2RuntimeException(e.getMessage(), e);
         } finally {
             getBatch().clear();
-            currentItem.setBlobPath("");
-            if (tempFilePath != null) {
-                tempFilePath.delete();
+        }
+    }
+
+    /**
+     * Write the last batch, then close and commit the current file.
+     */
+    @Override
+    public void complete() throws Exception {
+        try {
+            super.complete();
+            if (writer != null) {
+                writer.close();
+            }
+        } finally {
+            if (writer != null) {
+                writer.abort();
             }
         }
     }
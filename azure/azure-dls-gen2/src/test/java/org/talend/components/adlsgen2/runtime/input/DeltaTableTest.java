@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.adlsgen2.runtime.input;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.formats.ColumnFilter;
+import org.talend.components.common.formats.ColumnFilter.Operator;
+
+import io.delta.standalone.types.IntegerType;
+import io.delta.standalone.types.LongType;
+import io.delta.standalone.types.StringType;
+import io.delta.standalone.types.StructField;
+import io.delta.standalone.types.StructType;
+
+class DeltaTableTest {
+
+    private final StructType schema = new StructType(new StructField[] { //
+            new StructField("id", new LongType(), true), //
+            new StructField("country", new StringType(), true), //
+            new StructField("year", new IntegerType(), true) });
+
+    @Test
+    void prunePartitions() {
+        final List<ColumnFilter> filters = DeltaTable
+                .resolve(Arrays.asList(new ColumnFilter("COUNTRY", Operator.IN, "FR, DE"),
+                        new ColumnFilter("year", Operator.GREATER_OR_EQUAL, "2020")),
+                        Arrays.asList("country", "year"));
+
+        Assertions.assertTrue(DeltaTable.matches(this.partition("FR", "2021"), filters, schema));
+        Assertions.assertTrue(DeltaTable.matches(this.partition("DE", "2020"), filters, schema));
+        Assertions.assertFalse(DeltaTable.matches(this.partition("US", "2021"), filters, schema));
+        // numeric comparison, not string.
+        Assertions.assertFalse(DeltaTable.matches(this.partition("FR", "999"), filters, schema));
+        Assertions.assertFalse(DeltaTable.matches(this.partition(null, "2021"), filters, schema));
+
+        final List<ColumnFilter> notEqual = DeltaTable
+                .resolve(Collections.singletonList(new ColumnFilter("country", Operator.NOT_EQUAL, "FR")),
+                        Arrays.asList("country", "year"));
+        Assertions.assertTrue(DeltaTable.matches(this.partition(null, "2021"), notEqual, schema));
+        Assertions.assertFalse(DeltaTable.matches(this.partition("FR", "2021"), notEqual, schema));
+    }
+
+    @Test
+    void filterOnlyPartitionColumns() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DeltaTable
+                        .resolve(Collections.singletonList(new ColumnFilter("id", Operator.EQUAL, "1")),
+                                Arrays.asList("country", "year")));
+    }
+
+    @Test
+    void projection() {
+        final StructType projection = DeltaTable.projection(schema, Arrays.asList("YEAR", "id"));
+        Assertions.assertEquals(2, projection.getFields().length);
+        Assertions.assertEquals("id", projection.getFields()[0].getName());
+        Assertions.assertEquals("year", projection.getFields()[1].getName());
+
+        Assertions.assertSame(schema, DeltaTable.projection(schema, Collections.emptyList()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> DeltaTable.projection(schema, Collections.singletonList("unknown")));
+    }
+
+    @Test
+    void timeTravelTimestamp() {
+        Assertions.assertEquals(Instant.parse("2021-06-01T10:15:30Z").toEpochMilli(),
+                DeltaTable.toEpochMilli("2021-06-01T10:15:30Z"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DeltaTable.toEpochMilli("yesterday"));
+    }
+
+    private Map<String, String> partition(final String country, final String year) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("country", country);
+        values.put("year", year);
+        return values;
+    }
+}
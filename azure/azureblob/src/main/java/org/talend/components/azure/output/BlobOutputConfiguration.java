@@ -16,6 +16,8 @@ import java.io.Serializable;
 
 import org.talend.components.azure.dataset.AzureBlobDataset;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,7 +25,9 @@ import lombok.Data;
 
 @GridLayout({ @GridLayout.Row({ "dataset" }) })
 
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("blobNameTemplate") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("blobNameTemplate"),
+        @GridLayout.Row({ "blockSize", "maxConcurrentUploads" }),
+        @GridLayout.Row({ "parquetRowGroupSize", "parquetMaxFileSize" }) })
 @Documentation("Options for the output component")
 @Data
 public class BlobOutputConfiguration implements Serializable {
@@ -36,4 +40,28 @@ public class BlobOutputConfiguration implements Serializable {
     @Documentation("Generated blob item name prefix.\nBatch file would have name prefix + UUID + extension.\n"
             + "I.e. myPrefix-5deaa8ff-7d22-4b86-a864-9a6fa414501a.avro")
     private String blobNameTemplate = "data-";
+
+    @Option
+    @Min(1)
+    @Max(100)
+    @Documentation("Size of the blocks staged in the blob (MB), blocks are uploaded while next ones are formatted.")
+    private int blockSize = 4;
+
+    @Option
+    @Min(1)
+    @Max(32)
+    @Documentation("Maximum number of blocks uploaded at the same time.")
+    private int maxConcurrentUploads = 4;
+
+    @Option
+    @Min(1)
+    @Max(1024)
+    @Documentation("Parquet format: size of the row groups (MB), a row group is buffered in memory until it is full.")
+    private int parquetRowGroupSize = 64;
+
+    @Option
+    @Min(0)
+    @Documentation("Parquet format: size (MB) from which a blob is closed and next records go to a new blob, "
+            + "0 to write all records in a single blob.")
+    private int parquetMaxFileSize = 1024;
 }
\ No newline at end of file
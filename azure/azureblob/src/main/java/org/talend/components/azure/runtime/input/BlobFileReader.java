@@ -19,6 +19,7 @@ import java.util.Iterator;
 import org.talend.components.azure.dataset.AzureBlobDataset;
 import org.talend.components.azure.service.AzureBlobComponentServices;
 import org.talend.components.azure.service.MessageService;
+import org.talend.components.common.formats.ParquetInputOptions;
 import org.talend.components.common.formats.excel.ExcelFormat;
 import org.talend.components.common.service.azureblob.AzureComponentServices;
 import org.talend.sdk.component.api.exception.ComponentException;
@@ -46,12 +47,23 @@ public abstract class BlobFileReader {
 
     private final AzureBlobDataset config;
 
+    /** columns and filters of Parquet files, null to read all */
+    @Getter(AccessLevel.PROTECTED)
+    private final ParquetInputOptions parquetOptions;
+
     public BlobFileReader(AzureBlobDataset config, RecordBuilderFactory recordBuilderFactory,
             AzureBlobComponentServices connectionServices, MessageService messageService)
             throws URISyntaxException, StorageException {
+        this(config, recordBuilderFactory, connectionServices, messageService, null);
+    }
+
+    protected BlobFileReader(AzureBlobDataset config, RecordBuilderFactory recordBuilderFactory,
+            AzureBlobComponentServices connectionServices, MessageService messageService,
+            ParquetInputOptions parquetOptions) throws URISyntaxException, StorageException {
         this.recordBuilderFactory = recordBuilderFactory;
         this.config = config;
         this.messageService = messageService;
+        this.parquetOptions = parquetOptions;
         CloudStorageAccount connection = connectionServices.createStorageAccount(config.getConnection());
         CloudBlobClient blobClient = connectionServices
                 .getConnectionService()
@@ -103,6 +115,12 @@ public abstract class BlobFileReader {
 
         public static BlobFileReader getReader(AzureBlobDataset config, RecordBuilderFactory recordBuilderFactory,
                 AzureBlobComponentServices connectionServices, MessageService messageService) throws Exception {
+            return getReader(config, recordBuilderFactory, connectionServices, messageService, null);
+        }
+
+        public static BlobFileReader getReader(AzureBlobDataset config, RecordBuilderFactory recordBuilderFactory,
+                AzureBlobComponentServices connectionServices, MessageService messageService,
+                ParquetInputOptions parquetOptions) throws Exception {
             switch (config.getFileFormat()) {
             case CSV:
                 return new CSVBlobFileReader(config, recordBuilderFactory, connectionServices, messageService);
@@ -117,7 +135,8 @@ public abstract class BlobFileReader {
                     return new ExcelBlobFileReader(config, recordBuilderFactory, connectionServices, messageService);
                 }
             case PARQUET:
-                return new ParquetBlobFileReader(config, recordBuilderFactory, connectionServices, messageService);
+                return new ParquetBlobFileReader(config, recordBuilderFactory, connectionServices, messageService,
+                        parquetOptions);
             case JSON:
                 return new JsonBlobFileReader(config, recordBuilderFactory, connectionServices, messageService);
             default:
@@ -17,7 +17,6 @@ import java.net.URISyntaxException;
 
 import org.apache.avro.generic.GenericRecord;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.parquet.avro.AvroParquetReader;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.util.HadoopInputFile;
 import org.apache.parquet.io.InputFile;
@@ -26,6 +25,8 @@ import org.talend.components.common.connection.azureblob.AzureAuthType;
 import org.talend.components.common.connection.azureblob.Protocol;
 import org.talend.components.azure.dataset.AzureBlobDataset;
 import org.talend.components.common.converters.ParquetConverter;
+import org.talend.components.common.formats.ParquetInputOptions;
+import org.talend.components.common.formats.ParquetInputReader;
 import org.talend.components.azure.service.AzureBlobComponentServices;
 import org.talend.components.azure.service.MessageService;
 import org.talend.components.azure.service.RegionUtils;
@@ -47,6 +48,12 @@ public class ParquetBlobFileReader extends BlobFileReader {
         super(config, recordBuilderFactory, connectionServices, messageService);
     }
 
+    public ParquetBlobFileReader(AzureBlobDataset config, RecordBuilderFactory recordBuilderFactory,
+            AzureBlobComponentServices connectionServices, MessageService messageService,
+            ParquetInputOptions parquetOptions) throws URISyntaxException, StorageException {
+        super(config, recordBuilderFactory, connectionServices, messageService, parquetOptions);
+    }
+
     @Override
     protected ItemRecordIterator initItemRecordIterator(Iterable<ListBlobItem> blobItems) {
         return new ParquetRecordIterator(blobItems, getRecordBuilderFactory());
@@ -124,7 +131,7 @@ public class ParquetBlobFileReader extends BlobFileReader {
                             endpointSuffix, getCurrentItem().getName());
             try {
                 InputFile file = HadoopInputFile.fromPath(new org.apache.hadoop.fs.Path(blobURI), hadoopConfig);
-                reader = AvroParquetReader.<GenericRecord> builder(file).build();
+                reader = ParquetInputReader.open(file, hadoopConfig, getParquetOptions());
                 currentRecord = reader.read();
             } catch (IOException e) {
                 log.error("Can't read item", e);
@@ -12,27 +12,36 @@
  */
 package org.talend.components.azure.runtime.output;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.talend.components.common.service.azureblob.AzureComponentServices;
 import org.talend.components.azure.output.BlobOutputConfiguration;
 import org.talend.components.azure.service.AzureBlobComponentServices;
+import org.talend.components.common.upload.BlockUploadOutputStream;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 
 import com.microsoft.azure.storage.CloudStorageAccount;
 import com.microsoft.azure.storage.StorageException;
+import com.microsoft.azure.storage.blob.BlockEntry;
 import com.microsoft.azure.storage.blob.CloudBlob;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
 import com.microsoft.azure.storage.blob.CloudBlobContainer;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public abstract class BlobFileWriter {
 
+    protected static final int MB = 1024 * 1024;
+
     private List<Record> batch;
 
     private Schema schema;
@@ -96,6 +105,40 @@ public abstract class BlobFileWriter {
         this.currentItem = currentItem;
     }
 
+    /**
+     * Open the upload stream of a block blob. Full blocks are staged while next ones are written, closing the stream
+     * commits the block list.
+     */
+    protected BlockUploadOutputStream openBlockStream(CloudBlockBlob blob, int blockSize, int maxConcurrentUploads) {
+        return new BlockUploadOutputStream(blockSize, maxConcurrentUploads,
+                new BlockUploadOutputStream.BlockUploader() {
+
+                    @Override
+                    public void upload(int index, long offset, byte[] data, int length) throws Exception {
+                        blob.uploadBlock(blockId(index), new ByteArrayInputStream(data, 0, length), length, null,
+                                null, AzureComponentServices.getTalendOperationContext());
+                    }
+
+                    @Override
+                    public void commit(int blockCount, long size) throws Exception {
+                        List<BlockEntry> blocks = new ArrayList<>(blockCount);
+                        for (int i = 0; i < blockCount; i++) {
+                            blocks.add(new BlockEntry(blockId(i)));
+                        }
+                        blob.commitBlockList(blocks, null, null, AzureComponentServices.getTalendOperationContext());
+                        log.debug("Blob {} committed, {} blocks, {} bytes.", blob.getName(), blockCount, size);
+                    }
+                });
+    }
+
+    /**
+     * Block ids of a blob must have the same length.
+     */
+    static String blockId(int index) {
+        return Base64.getEncoder()
+                .encodeToString(String.format("%08d", index).getBytes(StandardCharsets.US_ASCII));
+    }
+
     protected CloudBlobContainer getContainer() {
         return container;
     }
@@ -12,11 +12,11 @@
  */
 package org.talend.components.azure.runtime.output;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
 import java.net.URISyntaxException;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.UUID;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
@@ -27,12 +27,17 @@ import org.talend.components.common.converters.CSVConverter;
 import org.talend.components.common.formats.FormatUtils;
 import org.talend.components.common.formats.csv.CSVFormatOptions;
 import org.talend.components.common.service.azureblob.AzureComponentServices;
+import org.talend.components.common.upload.BlockUploadOutputStream;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import com.microsoft.azure.storage.StorageException;
-import com.microsoft.azure.storage.blob.CloudAppendBlob;
+import com.microsoft.azure.storage.blob.CloudBlockBlob;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Write all batches in a single block blob. Records are formatted straight into fixed-size blocks, that are staged
+ * while next records are formatted; the block list is committed once all records are written.
+ */
 @Slf4j
 public class CSVBlobFileWriter extends BlobFileWriter {
 
@@ -42,6 +47,10 @@ public class CSVBlobFileWriter extends BlobFileWriter {
 
     private boolean fileIsEmpty = true;
 
+    private BlockUploadOutputStream blockStream;
+
+    private CSVPrinter printer;
+
     public CSVBlobFileWriter(BlobOutputConfiguration config, AzureBlobComponentServices connectionServices)
             throws Exception {
         super(config, connectionServices);
@@ -53,15 +62,20 @@ public class CSVBlobFileWriter extends BlobFileWriter {
     @Override
     public void generateFile(String directoryName) throws URISyntaxException, StorageException {
         String itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".csv";
-        CloudAppendBlob currentItem = getContainer().getAppendBlobReference(itemName);
+        CloudBlockBlob currentItem = getContainer().getBlockBlobReference(itemName);
 
         while (currentItem.exists(null, null, AzureComponentServices.getTalendOperationContext())) {
-            itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".avro";
-            currentItem = getContainer().getAppendBlobReference(itemName);
+            itemName = directoryName + config.getBlobNameTemplate() + UUID.randomUUID() + ".csv";
+            currentItem = getContainer().getBlockBlobReference(itemName);
         }
 
-        currentItem.createOrReplace();
         setCurrentItem(currentItem);
+        openBlockStream(currentItem);
+    }
+
+    private void openBlockStream(CloudBlockBlob blob) {
+        blockStream = openBlockStream(blob, config.getBlockSize() * MB, config.getMaxConcurrentUploads());
+        printer = null;
     }
 
     @Override
@@ -83,22 +97,44 @@ public class CSVBlobFileWriter extends BlobFileWriter {
             return;
         }
 
-        String content = convertBatchToString();
+        if (printer == null) {
+            CSVFormat format = CSVConverter.of(null, configCSV).getCsvFormat();
+            printer = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(blockStream,
+                    AzureBlobFormatUtils.getUsedEncodingValue(config.getDataset()))), format);
+        }
 
         if (fileIsEmpty && configCSV.isUseHeader() && configCSV.getHeader() > 0) {
             appendHeader();
         }
 
-        byte[] contentBytes = content.getBytes(AzureBlobFormatUtils.getUsedEncodingValue(config.getDataset()));
-        ((CloudAppendBlob) getCurrentItem())
-                .appendFromByteArray(contentBytes, 0, contentBytes.length, null, null,
-                        AzureComponentServices.getTalendOperationContext());
+        for (Record rec : getBatch()) {
+            printer.printRecord(convertRecordToArray(rec));
+        }
+        // full blocks are uploaded while next batches are formatted
+        printer.flush();
         fileIsEmpty = false;
 
         getBatch().clear();
     }
 
-    private void appendHeader() throws IOException, StorageException {
+    /**
+     * Upload the last block and commit the blob.
+     */
+    @Override
+    public void complete() throws Exception {
+        try {
+            super.complete();
+            if (blockStream != null) {
+                blockStream.close();
+            }
+        } finally {
+            if (blockStream != null) {
+                blockStream.abort();
+            }
+        }
+    }
+
+    private void appendHeader() throws IOException {
         if (getSchema() == null || getSchema().getEntries().isEmpty())
             return;
         StringBuilder headerBuilder = new StringBuilder();
@@ -112,28 +148,10 @@ public class CSVBlobFileWriter extends BlobFileWriter {
                     .append(FormatUtils.getFieldDelimiterValue(configCSV))
                     .append(getSchema().getEntries().get(i).getName());
         }
-        ((CloudAppendBlob) getCurrentItem())
-                .appendText(headerBuilder.toString() + FormatUtils.getRecordDelimiterValue(configCSV));
+        printer.getOut().append(headerBuilder.toString()).append(FormatUtils.getRecordDelimiterValue(configCSV));
         fileIsEmpty = false;
     }
 
-    private String convertBatchToString() throws IOException {
-        StringWriter stringWriter = new StringWriter();
-        Iterator<Record> recordIterator = getBatch().iterator();
-        CSVFormat format = CSVConverter.of(null, configCSV).getCsvFormat();
-
-        CSVPrinter printer = new CSVPrinter(stringWriter, format);
-
-        while (recordIterator.hasNext()) {
-            printer.printRecord(convertRecordToArray(recordIterator.next()));
-        }
-
-        printer.flush();
-        printer.close();
-
-        return stringWriter.toString();
-    }
-
     private Object[] convertRecordToArray(Record rec) {
         Object[] array = new Object[rec.getSchema().getEntries().size()];
         for (int i = 0; i < getSchema().getEntries().size(); i++) {
@@ -12,27 +12,26 @@
  */
 package org.talend.components.azure.runtime.output;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 
-import org.apache.avro.generic.GenericRecord;
-import org.apache.hadoop.fs.Path;
-import org.apache.parquet.avro.AvroParquetWriter;
-import org.apache.parquet.hadoop.ParquetFileWriter;
-import org.apache.parquet.hadoop.ParquetWriter;
-import org.talend.components.common.service.azureblob.AzureComponentServices;
 import org.talend.components.azure.output.BlobOutputConfiguration;
-import org.talend.components.common.converters.ParquetConverter;
 import org.talend.components.azure.service.AzureBlobComponentServices;
+import org.talend.components.common.converters.ParquetConverter;
+import org.talend.components.common.service.azureblob.AzureComponentServices;
+import org.talend.components.common.upload.BlockUploadOutputStream;
+import org.talend.components.common.upload.ParquetUploadWriter;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
 
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.CloudBlob;
 import com.microsoft.azure.storage.blob.CloudBlockBlob;
 
+/**
+ * Write batches in Parquet block blobs, blocks are staged while they are written. A blob stays open across batches
+ * until it reaches the maximum file size, or until the record schema changes: a Parquet file has a single schema.
+ */
 public class ParquetBlobFileWriter extends BlobFileWriter {
 
     private static final String PARQUET = ".parquet";
@@ -41,6 +40,11 @@ public class ParquetBlobFileWriter extends BlobFileWriter {
 
     private ParquetConverter converter;
 
+    private ParquetUploadWriter writer;
+
+    /** record schema of the current writer */
+    private Schema writerSchema;
+
     public ParquetBlobFileWriter(BlobOutputConfiguration config, AzureBlobComponentServices connectionServices)
             throws Exception {
         super(config, connectionServices);
@@ -48,18 +52,6 @@ public class ParquetBlobFileWriter extends BlobFileWriter {
         this.converter = ParquetConverter.of(null);
     }
 
-    @Override
-    public void newBatch() {
-        super.newBatch();
-
-        try {
-            generateFile();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-
-    }
-
     @Override
     public void generateFile(String directoryName) throws URISyntaxException, StorageException {
         String fileName = directoryName + config.getBlobNameTemplate() + System.currentTimeMillis() + PARQUET;
@@ -73,36 +65,66 @@ public class ParquetBlobFileWriter extends BlobFileWriter {
         setCurrentItem(blob);
     }
 
+    private BlockUploadOutputStream openBlob() throws IOException {
+        try {
+            generateFile();
+        } catch (URISyntaxException | StorageException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return openBlockStream((CloudBlockBlob) getCurrentItem(), config.getBlockSize() * MB,
+                config.getMaxConcurrentUploads());
+    }
+
     @Override
     public void flush() {
         if (getBatch().isEmpty()) {
             return;
         }
 
-        File tempFilePath = null;
         try {
-            tempFilePath = File.createTempFile("tempFile", PARQUET);
-            Path tempFile = new org.apache.hadoop.fs.Path(tempFilePath.getPath());
-            ParquetWriter<GenericRecord> writer = AvroParquetWriter
-                    .<GenericRecord> builder(tempFile)
-                    .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
-                    .withSchema(converter.inferAvroSchema(getSchema()))
-                    .build();
             for (Record r : getBatch()) {
+                if (writer == null || !writerSchema.equals(r.getSchema())) {
+                    newWriter(r.getSchema());
+                }
                 writer.write(converter.fromRecord(r));
             }
+        } catch (IOException | RuntimeException e) {
+            // no partial file must be committed by complete()
+            if (writer != null) {
+                writer.abort();
+                writer = null;
+            }
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+        } finally {
+            getBatch().clear();
+        }
+    }
 
+    /**
+     * Commit the current blob, if any, and write next records in a new blob with the given schema.
+     */
+    private void newWriter(final Schema schema) throws IOException {
+        if (writer != null) {
             writer.close();
-            OutputStream blobOutputStream = ((CloudBlockBlob) getCurrentItem()).openOutputStream();
-            Files.copy(tempFilePath.toPath(), blobOutputStream);
-            blobOutputStream.flush();
-            blobOutputStream.close();
-        } catch (IOException | StorageException e) {
-            throw new RuntimeException(e);
+        }
+        writer = new ParquetUploadWriter(converter.inferAvroSchema(schema), config.getParquetRowGroupSize() * MB,
+                (long) config.getParquetMaxFileSize() * MB, this::openBlob);
+        writerSchema = schema;
+    }
+
+    /**
+     * Write the last batch, then close and commit the current blob.
+     */
+    @Override
+    public void complete() throws Exception {
+        try {
+            super.complete();
+            if (writer != null) {
+                writer.close();
+            }
         } finally {
-            getBatch().clear();
-            if (tempFilePath != null) {
-                tempFilePath.delete();
+            if (writer != null) {
+                writer.abort();
             }
         }
     }
@@ -15,13 +15,18 @@ package org.talend.components.azure.source;
 import java.io.Serializable;
 
 import org.talend.components.azure.dataset.AzureBlobDataset;
+import org.talend.components.common.formats.ParquetInputOptions;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
 import lombok.Data;
 
+import static org.talend.sdk.component.api.configuration.ui.layout.GridLayout.FormType.ADVANCED;
+
 @GridLayout({ @GridLayout.Row({ "dataset" }) })
+@GridLayout(names = ADVANCED, value = { @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "parquetOptions" }) })
 @Documentation("Options for the input component")
 @Data
 public class BlobInputProperties implements Serializable {
@@ -29,4 +34,9 @@ public class BlobInputProperties implements Serializable {
     @Option
     @Documentation("Azure Connection")
     private AzureBlobDataset dataset;
+
+    @Option
+    @ActiveIf(target = "dataset.fileFormat", value = "PARQUET")
+    @Documentation("Parquet format: columns to read and filters pushed down to the Parquet reader.")
+    private ParquetInputOptions parquetOptions = new ParquetInputOptions();
 }
\ No newline at end of file
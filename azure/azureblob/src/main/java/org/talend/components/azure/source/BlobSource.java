@@ -53,7 +53,7 @@ public class BlobSource implements Serializable {
         try {
             reader = BlobFileReader.BlobFileReaderFactory
                     .getReader(configuration.getDataset(), builderFactory, service,
-                            messageService);
+                            messageService, configuration.getParquetOptions());
         } catch (Exception e) {
             throw new ComponentException(messageService.cantStartReadBlobItems(e.getMessage()), e);
         }
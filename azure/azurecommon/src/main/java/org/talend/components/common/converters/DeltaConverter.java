@@ -47,9 +47,18 @@ public class DeltaConverter implements RecordConverter<RowRecord>, Serializable
 
     @Override
     public Schema inferSchema(final RowRecord rec) {
+        return inferSchema(rec.getSchema());
+    }
+
+    /**
+     * Record schema of a Delta table structure.
+     *
+     * @param structure table schema, or projection of it.
+     * @return record schema, entries in same order than structure fields.
+     */
+    public Schema inferSchema(final StructType structure) {
         final Schema.Builder builder = recordBuilderFactory.newSchemaBuilder(Schema.Type.RECORD);
 
-        final StructType structure = rec.getSchema();
         for (StructField field : structure.getFields()) {
             builder.withEntry(inferField(field));
         }
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.converters;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import io.delta.standalone.types.ArrayType;
+import io.delta.standalone.types.BinaryType;
+import io.delta.standalone.types.BooleanType;
+import io.delta.standalone.types.ByteType;
+import io.delta.standalone.types.DataType;
+import io.delta.standalone.types.DateType;
+import io.delta.standalone.types.DecimalType;
+import io.delta.standalone.types.DoubleType;
+import io.delta.standalone.types.FloatType;
+import io.delta.standalone.types.IntegerType;
+import io.delta.standalone.types.LongType;
+import io.delta.standalone.types.NullType;
+import io.delta.standalone.types.ShortType;
+import io.delta.standalone.types.StringType;
+import io.delta.standalone.types.StructField;
+import io.delta.standalone.types.StructType;
+import io.delta.standalone.types.TimestampType;
+
+/**
+ * Convert rows of a Delta table data file, read as parquet groups, to records.
+ * Values are typed by the Delta table schema, the same way as {@link DeltaConverter}. Partition columns are not
+ * stored in data files, their value comes from the file partition values.
+ */
+public class DeltaGroupConverter implements Serializable {
+
+    private static final long JULIAN_DAY_OF_EPOCH = 2440588L;
+
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private final StructField[] fields;
+
+    private final Set<String> partitionColumns;
+
+    private final Schema schema;
+
+    /**
+     * @param factory record builder factory.
+     * @param structure columns to read, in Delta table schema.
+     * @param partitionColumns partition columns of the table.
+     */
+    public DeltaGroupConverter(final RecordBuilderFactory factory, final StructType structure,
+            final Set<String> partitionColumns) {
+        this.recordBuilderFactory = factory;
+        this.fields = structure.getFields();
+        this.partitionColumns = partitionColumns;
+        this.schema = DeltaConverter.of(factory).inferSchema(structure);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Convert a row of a data file.
+     *
+     * @param group row, with projected columns.
+     * @param partitionValues partition values of the data file.
+     * @return record.
+     */
+    public Record toRecord(final Group group, final Map<String, String> partitionValues) {
+        final Record.Builder builder = recordBuilderFactory.newRecordBuilder(schema);
+        final List<Schema.Entry> entries = schema.getEntries();
+        for (int i = 0; i < fields.length; i++) {
+            final StructField field = fields[i];
+            final Object value;
+            if (partitionColumns.contains(field.getName())) {
+                value = partitionValue(partitionValues.get(field.getName()), field.getDataType());
+            } else {
+                final int index = fieldIndex(group.getType(), field.getName());
+                value = index < 0 || group.getFieldRepetitionCount(index) == 0 ? null
+                        : read(group, index, 0, field.getDataType(), entries.get(i).getElementSchema());
+            }
+            if (value != null) {
+                set(builder, entries.get(i), field.getDataType(), value);
+            }
+        }
+        return builder.build();
+    }
+
+    private void set(final Record.Builder builder, final Schema.Entry entry, final DataType type, final Object value) {
+        if (type instanceof StringType || type instanceof DecimalType) {
+            builder.withString(entry, (String) value);
+        } else if (type instanceof IntegerType || type instanceof ShortType || type instanceof ByteType) {
+            builder.withInt(entry, (Integer) value);
+        } else if (type instanceof LongType) {
+            builder.withLong(entry, (Long) value);
+        } else if (type instanceof DoubleType) {
+            builder.withDouble(entry, (Double) value);
+        } else if (type instanceof FloatType) {
+            builder.withFloat(entry, (Float) value);
+        } else if (type instanceof BooleanType) {
+            builder.withBoolean(entry, (Boolean) value);
+        } else if (type instanceof BinaryType) {
+            builder.withBytes(entry, (byte[]) value);
+        } else if (type instanceof DateType) {
+            builder.withDateTime(entry, (Date) value);
+        } else if (type instanceof TimestampType) {
+            builder.withTimestamp(entry, (Long) value);
+        } else if (type instanceof StructType) {
+            builder.withRecord(entry, (Record) value);
+        } else if (type instanceof ArrayType) {
+            builder.withArray(entry, (List<?>) value);
+        }
+    }
+
+    /**
+     * Read a value, with the java type used by records for the Delta type.
+     */
+    private Object read(final Group group, final int field, final int index, final DataType type,
+            final Schema elementSchema) {
+        if (type instanceof StringType) {
+            return group.getString(field, index);
+        } else if (type instanceof IntegerType || type instanceof ShortType || type instanceof ByteType) {
+            return group.getInteger(field, index);
+        } else if (type instanceof LongType) {
+            return group.getLong(field, index);
+        } else if (type instanceof DoubleType) {
+            return group.getDouble(field, index);
+        } else if (type instanceof FloatType) {
+            return group.getFloat(field, index);
+        } else if (type instanceof BooleanType) {
+            return group.getBoolean(field, index);
+        } else if (type instanceof BinaryType) {
+            return group.getBinary(field, index).getBytes();
+        } else if (type instanceof DateType) {
+            return Date.valueOf(LocalDate.ofEpochDay(group.getInteger(field, index)));
+        } else if (type instanceof TimestampType) {
+            return timestamp(group, field, index);
+        } else if (type instanceof DecimalType) {
+            return decimal(group, field, index, ((DecimalType) type).getScale());
+        } else if (type instanceof StructType) {
+            return struct(group.getGroup(field, index), (StructType) type, elementSchema);
+        } else if (type instanceof ArrayType) {
+            return list(group.getGroup(field, index), ((ArrayType) type).getElementType(), elementSchema);
+        } else if (type instanceof NullType) {
+            return null;
+        }
+        throw new RuntimeException("Not supported format:" + type.getTypeName());
+    }
+
+    /**
+     * Timestamp in milliseconds, from INT96 (julian day and nanos of day) or INT64 (micros or millis).
+     */
+    private long timestamp(final Group group, final int field, final int index) {
+        final PrimitiveType type = group.getType().getType(field).asPrimitiveType();
+        if (type.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.INT96) {
+            final ByteBuffer buffer = group.getInt96(field, index).toByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+            final long nanosOfDay = buffer.getLong();
+            final long julianDay = buffer.getInt();
+            return TimeUnit.DAYS.toMillis(julianDay - JULIAN_DAY_OF_EPOCH) + TimeUnit.NANOSECONDS.toMillis(nanosOfDay);
+        }
+        final long value = group.getLong(field, index);
+        return type.getOriginalType() == OriginalType.TIMESTAMP_MILLIS ? value : TimeUnit.MICROSECONDS.toMillis(value);
+    }
+
+    private String decimal(final Group group, final int field, final int index, final int scale) {
+        final PrimitiveType type = group.getType().getType(field).asPrimitiveType();
+        switch (type.getPrimitiveTypeName()) {
+        case INT32:
+            return BigDecimal.valueOf(group.getInteger(field, index), scale).toPlainString();
+        case INT64:
+            return BigDecimal.valueOf(group.getLong(field, index), scale).toPlainString();
+        default:
+            return new BigDecimal(new BigInteger(group.getBinary(field, index).getBytes()), scale).toPlainString();
+        }
+    }
+
+    private Record struct(final Group group, final StructType type, final Schema structSchema) {
+        final Record.Builder builder = recordBuilderFactory.newRecordBuilder(structSchema);
+        final List<Schema.Entry> entries = structSchema.getEntries();
+        final StructField[] structFields = type.getFields();
+        for (int i = 0; i < structFields.length; i++) {
+            final int index = fieldIndex(group.getType(), structFields[i].getName());
+            if (index >= 0 && group.getFieldRepetitionCount(index) > 0) {
+                final Object value = read(group, index, 0, structFields[i].getDataType(),
+                        entries.get(i).getElementSchema());
+                if (value != null) {
+                    set(builder, entries.get(i), structFields[i].getDataType(), value);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Read a parquet list, 3 levels (list group, repeated group, element) or legacy 2 levels (repeated element).
+     */
+    private List<Object> list(final Group group, final DataType elementType, final Schema elementSchema) {
+        final GroupType listType = group.getType();
+        if (listType.getFieldCount() == 0) {
+            return Collections.emptyList();
+        }
+        final Type repeated = listType.getType(0);
+        final boolean threeLevels = !repeated.isPrimitive() && repeated.asGroupType().getFieldCount() == 1
+                && !"array".equals(repeated.getName()) && !(listType.getName() + "_tuple").equals(repeated.getName());
+        final int size = group.getFieldRepetitionCount(0);
+        final List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (!threeLevels) {
+                values.add(read(group, 0, i, elementType, elementSchema));
+            } else {
+                final Group element = group.getGroup(0, i);
+                values.add(element.getFieldRepetitionCount(0) == 0 ? null
+                        : read(element, 0, 0, elementType, elementSchema));
+            }
+        }
+        return values;
+    }
+
+    private Object partitionValue(final String value, final DataType type) {
+        if (value == null) {
+            return null;
+        }
+        if (type instanceof StringType) {
+            return value;
+        } else if (value.isEmpty()) {
+            return null;
+        } else if (type instanceof IntegerType || type instanceof ShortType || type instanceof ByteType) {
+            return Integer.valueOf(value);
+        } else if (type instanceof LongType) {
+            return Long.valueOf(value);
+        } else if (type instanceof DoubleType) {
+            return Double.valueOf(value);
+        } else if (type instanceof FloatType) {
+            return Float.valueOf(value);
+        } else if (type instanceof BooleanType) {
+            return Boolean.valueOf(value);
+        } else if (type instanceof BinaryType) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        } else if (type instanceof DateType) {
+            return Date.valueOf(value);
+        } else if (type instanceof TimestampType) {
+            return Timestamp.valueOf(value).getTime();
+        } else if (type instanceof DecimalType) {
+            return new BigDecimal(value).toPlainString();
+        }
+        throw new RuntimeException("Not supported partition column format:" + type.getTypeName());
+    }
+
+    private static int fieldIndex(final GroupType type, final String name) {
+        // files written before a column was added don't have it.
+        return type.containsField(name) ? type.getFieldIndex(name) : -1;
+    }
+}
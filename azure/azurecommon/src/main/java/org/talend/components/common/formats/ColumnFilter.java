@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.formats;
+
+import java.io.Serializable;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@GridLayout({ @GridLayout.Row({ "column", "operator", "value" }) })
+@Documentation("Filter on a column, of Parquet files or of Delta table partitions")
+public class ColumnFilter implements Serializable {
+
+    @Option
+    @Documentation("Column, at top level of the schema.")
+    private String column;
+
+    @Option
+    @Documentation("Comparison of the column value with the filter value.")
+    private Operator operator = Operator.EQUAL;
+
+    @Option
+    @Documentation("Filter value, ISO-8601 for dates and timestamps like 2021-06-01T10:15:30Z, "
+            + "comma separated values for IN.")
+    private String value;
+
+    public enum Operator {
+        EQUAL,
+        NOT_EQUAL,
+        LOWER,
+        LOWER_OR_EQUAL,
+        GREATER,
+        GREATER_OR_EQUAL,
+        IN
+    }
+}
@@ -12,6 +12,12 @@
  */
 package org.talend.components.common.formats;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
 import org.talend.components.common.formats.csv.CSVFieldDelimiter;
 import org.talend.components.common.formats.csv.CSVFormatOptions;
 import org.talend.components.common.formats.csv.CSVRecordDelimiter;
@@ -44,4 +50,25 @@ public class FormatUtils {
         return config.getRecordDelimiter() == CSVRecordDelimiter.OTHER ? config.getCustomRecordDelimiter()
                 : config.getRecordDelimiter().getDelimiterValue();
     }
+
+    /**
+     * Epoch milliseconds of an ISO-8601 instant, date time or date, in the default time zone if not given.
+     */
+    public static long toEpochMilli(String timestamp) {
+        try {
+            return Instant.parse(timestamp).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // not an instant, try a local date time.
+        }
+        try {
+            return LocalDateTime.parse(timestamp).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // not a date time, try a date.
+        }
+        try {
+            return LocalDate.parse(timestamp).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid timestamp '" + timestamp + "', expected ISO-8601.", e);
+        }
+    }
 }
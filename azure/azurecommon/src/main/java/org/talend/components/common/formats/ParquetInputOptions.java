@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.formats;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import lombok.Data;
+
+@Data
+@GridLayout({ @GridLayout.Row({ "columns" }), @GridLayout.Row({ "filters" }) })
+@Documentation("Parquet read options")
+public class ParquetInputOptions implements Serializable {
+
+    @Option
+    @Documentation("Columns to read, all columns if empty.")
+    private List<String> columns;
+
+    @Option
+    @Documentation("Only rows matching all the filters are read, row groups that can't match are skipped.")
+    private List<ColumnFilter> filters;
+}
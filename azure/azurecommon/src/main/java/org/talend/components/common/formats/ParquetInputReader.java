@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.formats;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroReadSupport;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Open Parquet files reading only the selected columns. Filters are pushed down to the Parquet reader: row groups
+ * whose statistics can't match are skipped, rows of the other row groups are filtered.
+ * Filtered columns which are not selected are read to filter the rows, then removed from the records.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParquetInputReader {
+
+    /** Avro schema of the writer, in Parquet file metadata */
+    private static final String AVRO_SCHEMA_METADATA_KEY = "parquet.avro.schema";
+
+    private static final String OLD_AVRO_SCHEMA_METADATA_KEY = "avro.schema";
+
+    /** Avro schema records are read with, in read support metadata */
+    private static final String AVRO_READ_SCHEMA_METADATA_KEY = "avro.read.schema";
+
+    /**
+     * Open a Parquet file.
+     *
+     * @param file Parquet file.
+     * @param conf hadoop configuration.
+     * @param options columns and filters, read all if null.
+     * @return reader of the records.
+     */
+    public static ParquetReader<GenericRecord> open(final InputFile file, final Configuration conf,
+            final ParquetInputOptions options) throws IOException {
+        final List<String> columns = options == null || options.getColumns() == null ? Collections.emptyList()
+                : options
+                        .getColumns()
+                        .stream()
+                        .filter((String column) -> column != null && !column.trim().isEmpty())
+                        .map(String::trim)
+                        .collect(Collectors.toList());
+        final List<ColumnFilter> filters = options == null || options.getFilters() == null ? Collections.emptyList()
+                : options
+                        .getFilters()
+                        .stream()
+                        .filter((ColumnFilter filter) -> filter.getColumn() != null
+                                && !filter.getColumn().trim().isEmpty())
+                        .collect(Collectors.toList());
+        final List<String> filterColumns = filters
+                .stream()
+                .map((ColumnFilter filter) -> filter.getColumn().trim())
+                .collect(Collectors.toList());
+
+        final ParquetReader.Builder<GenericRecord> builder = new Builder(file, columns, filterColumns).withConf(conf);
+        if (!filters.isEmpty()) {
+            // predicates are typed by the file schema.
+            try (ParquetFileReader footer = ParquetFileReader.open(file)) {
+                builder.withFilter(FilterCompat.get(predicate(footer.getFileMetaData().getSchema(), filters)));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Top level fields of the file schema in columns, columns missing in the file are ignored.
+     */
+    static MessageType projection(final MessageType schema, final List<String> columns) {
+        final List<Type> fields = schema
+                .getFields()
+                .stream()
+                .filter((Type field) -> columns.stream().anyMatch(field.getName()::equalsIgnoreCase))
+                .collect(Collectors.toList());
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("None of the columns " + columns + " exist in the Parquet file.");
+        }
+        return new MessageType(schema.getName(), fields);
+    }
+
+    static FilterPredicate predicate(final MessageType schema, final List<ColumnFilter> filters) {
+        FilterPredicate predicate = null;
+        for (ColumnFilter filter : filters) {
+            final FilterPredicate columnPredicate = predicate(schema, filter);
+            predicate = predicate == null ? columnPredicate : FilterApi.and(predicate, columnPredicate);
+        }
+        return predicate;
+    }
+
+    private static FilterPredicate predicate(final MessageType schema, final ColumnFilter filter) {
+        if (filter.getOperator() == ColumnFilter.Operator.IN) {
+            FilterPredicate predicate = null;
+            final String values = filter.getValue() == null ? "" : filter.getValue();
+            for (String value : values.split(",")) {
+                final FilterPredicate equal =
+                        predicate(schema, new ColumnFilter(filter.getColumn(), ColumnFilter.Operator.EQUAL, value));
+                predicate = predicate == null ? equal : FilterApi.or(predicate, equal);
+            }
+            return predicate;
+        }
+        final Type field = schema
+                .getFields()
+                .stream()
+                .filter((Type f) -> f.getName().equalsIgnoreCase(filter.getColumn().trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Column '" + filter.getColumn() + "' doesn't exist in the Parquet file."));
+        if (!field.isPrimitive() || field.getOriginalType() == OriginalType.DECIMAL) {
+            throw new IllegalArgumentException("Can't filter on column '" + field.getName() + "' of type " + field);
+        }
+        final PrimitiveType type = field.asPrimitiveType();
+        final String name = field.getName();
+        final String value = filter.getValue() == null ? "" : filter.getValue().trim();
+        try {
+            switch (type.getPrimitiveTypeName()) {
+            case INT32:
+                final int intValue = type.getOriginalType() == OriginalType.DATE
+                        ? (int) LocalDate.parse(value).toEpochDay()
+                        : Integer.parseInt(value);
+                return compare(FilterApi.intColumn(name), intValue, filter.getOperator());
+            case INT64:
+                final long longValue;
+                if (type.getOriginalType() == OriginalType.TIMESTAMP_MILLIS) {
+                    longValue = FormatUtils.toEpochMilli(value);
+                } else if (type.getOriginalType() == OriginalType.TIMESTAMP_MICROS) {
+                    longValue = TimeUnit.MILLISECONDS.toMicros(FormatUtils.toEpochMilli(value));
+                } else {
+                    longValue = Long.parseLong(value);
+                }
+                return compare(FilterApi.longColumn(name), longValue, filter.getOperator());
+            case FLOAT:
+                return compare(FilterApi.floatColumn(name), Float.parseFloat(value), filter.getOperator());
+            case DOUBLE:
+                return compare(FilterApi.doubleColumn(name), Double.parseDouble(value), filter.getOperator());
+            case BINARY:
+            case FIXED_LEN_BYTE_ARRAY:
+                return compare(FilterApi.binaryColumn(name), Binary.fromString(value), filter.getOperator());
+            case BOOLEAN:
+                if (filter.getOperator() == ColumnFilter.Operator.EQUAL) {
+                    return FilterApi.eq(FilterApi.booleanColumn(name), Boolean.valueOf(value));
+                } else if (filter.getOperator() == ColumnFilter.Operator.NOT_EQUAL) {
+                    return FilterApi.notEq(FilterApi.booleanColumn(name), Boolean.valueOf(value));
+                }
+                throw new IllegalArgumentException(
+                        "Boolean column '" + name + "' can only be filtered with equal or not equal.");
+            default:
+                // INT96 timestamps have no usable statistics.
+                throw new IllegalArgumentException("Can't filter on column '" + name + "' of type " + field);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid filter value '" + value + "' for column '" + name + "'.", e);
+        }
+    }
+
+    private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt> FilterPredicate
+            compare(final C column, final T value, final ColumnFilter.Operator operator) {
+        switch (operator) {
+        case EQUAL:
+            return FilterApi.eq(column, value);
+        case NOT_EQUAL:
+            return FilterApi.notEq(column, value);
+        case LOWER:
+            return FilterApi.lt(column, value);
+        case LOWER_OR_EQUAL:
+            return FilterApi.ltEq(column, value);
+        case GREATER:
+            return FilterApi.gt(column, value);
+        case GREATER_OR_EQUAL:
+            return FilterApi.gtEq(column, value);
+        default:
+            throw new IllegalArgumentException("Unsupported filter operator " + operator);
+        }
+    }
+
+    /**
+     * Fields of the writer Avro schema that are in the projection, so that records keep the written Avro types.
+     */
+    private static Schema projection(final Schema schema, final MessageType projection) {
+        final List<Schema.Field> fields = new ArrayList<>();
+        for (Schema.Field field : schema.getFields()) {
+            if (projection.containsField(field.name())) {
+                fields.add(new Schema.Field(field, field.schema()));
+            }
+        }
+        final Schema projected =
+                Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), schema.isError(), fields);
+        schema.getObjectProps().forEach(projected::addProp);
+        return projected;
+    }
+
+    /**
+     * Record with only the fields of the schema.
+     */
+    private static GenericRecord trim(final GenericRecord record, final Schema schema) {
+        final GenericData.Record trimmed = new GenericData.Record(schema);
+        for (Schema.Field field : schema.getFields()) {
+            trimmed.put(field.pos(), record.get(field.name()));
+        }
+        return trimmed;
+    }
+
+    private static class Builder extends ParquetReader.Builder<GenericRecord> {
+
+        private final List<String> columns;
+
+        private final List<String> filterColumns;
+
+        private Builder(final InputFile file, final List<String> columns, final List<String> filterColumns) {
+            super(file);
+            this.columns = columns;
+            this.filterColumns = filterColumns;
+        }
+
+        @Override
+        protected ReadSupport<GenericRecord> getReadSupport() {
+            return new ProjectionReadSupport(columns, filterColumns);
+        }
+    }
+
+    /**
+     * Avro read support of only the projected columns, Parquet doesn't decode the pages of the other columns.
+     */
+    private static class ProjectionReadSupport extends AvroReadSupport<GenericRecord> {
+
+        private final List<String> columns;
+
+        /** selected columns and filtered columns, filters need the values of their column */
+        private final List<String> readColumns;
+
+        private ProjectionReadSupport(final List<String> columns, final List<String> filterColumns) {
+            this.columns = columns;
+            this.readColumns = new ArrayList<>(columns);
+            for (String filterColumn : filterColumns) {
+                if (columns.stream().noneMatch(filterColumn::equalsIgnoreCase)) {
+                    this.readColumns.add(filterColumn);
+                }
+            }
+        }
+
+        @Override
+        public ReadContext init(final Configuration configuration, final Map<String, String> keyValueMetaData,
+                final MessageType fileSchema) {
+            if (columns.isEmpty()) {
+                return super.init(configuration, keyValueMetaData, fileSchema);
+            }
+            final MessageType projection = projection(fileSchema, readColumns);
+            final Map<String, String> metadata =
+                    new HashMap<>(super.init(configuration, keyValueMetaData, projection).getReadSupportMetadata());
+            String writerSchema = keyValueMetaData.get(AVRO_SCHEMA_METADATA_KEY);
+            if (writerSchema == null) {
+                writerSchema = keyValueMetaData.get(OLD_AVRO_SCHEMA_METADATA_KEY);
+            }
+            if (writerSchema != null && !metadata.containsKey(AVRO_READ_SCHEMA_METADATA_KEY)) {
+                metadata.put(AVRO_READ_SCHEMA_METADATA_KEY,
+                        projection(new Schema.Parser().parse(writerSchema), projection).toString());
+            }
+            return new ReadContext(projection, metadata);
+        }
+
+        @Override
+        public RecordMaterializer<GenericRecord> prepareForRead(final Configuration configuration,
+                final Map<String, String> keyValueMetaData, final MessageType fileSchema,
+                final ReadContext readContext) {
+            final RecordMaterializer<GenericRecord> materializer =
+                    super.prepareForRead(configuration, keyValueMetaData, fileSchema, readContext);
+            if (columns.isEmpty() || readColumns.size() == columns.size()) {
+                return materializer;
+            }
+            return new TrimmingMaterializer(materializer, projection(fileSchema, columns));
+        }
+    }
+
+    /**
+     * Remove the columns only read for the filters from the records.
+     */
+    private static class TrimmingMaterializer extends RecordMaterializer<GenericRecord> {
+
+        private final RecordMaterializer<GenericRecord> delegate;
+
+        private final MessageType projection;
+
+        private Schema schema;
+
+        private TrimmingMaterializer(final RecordMaterializer<GenericRecord> delegate, final MessageType projection) {
+            this.delegate = delegate;
+            this.projection = projection;
+        }
+
+        @Override
+        public GenericRecord getCurrentRecord() {
+            final GenericRecord record = delegate.getCurrentRecord();
+            if (record == null) {
+                return null;
+            }
+            if (schema == null) {
+                schema = projection(record.getSchema(), projection);
+            }
+            return trim(record, schema);
+        }
+
+        @Override
+        public void skipCurrentRecord() {
+            delegate.skipCurrentRecord();
+        }
+
+        @Override
+        public GroupConverter getRootConverter() {
+            return delegate.getRootConverter();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.upload;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Output stream that cuts its content in fixed-size blocks. A block is uploaded in background as soon as it is full,
+ * while the next ones are written. At most maxConcurrentUploads blocks are uploaded at the same time, writers wait
+ * for a free block otherwise, so that memory is bounded to maxConcurrentUploads + 1 blocks.
+ * Closing the stream uploads the last block, waits for all uploads and commits them; if writing fails, abort() must
+ * be called instead so that partial content is not committed.
+ */
+@Slf4j
+public class BlockUploadOutputStream extends OutputStream {
+
+    /**
+     * Storage specific upload of the blocks.
+     */
+    public interface BlockUploader {
+
+        /**
+         * Upload a block, called concurrently for different blocks.
+         *
+         * @param index : block number, from 0.
+         * @param offset : position of the block in the file.
+         * @param data : block buffer, reused once the upload returns.
+         * @param length : block length, the last block may be smaller than the buffer.
+         */
+        void upload(int index, long offset, byte[] data, int length) throws Exception;
+
+        /**
+         * Commit the file once all blocks are uploaded.
+         *
+         * @param blockCount : number of blocks uploaded.
+         * @param size : file size.
+         */
+        void commit(int blockCount, long size) throws Exception;
+    }
+
+    private final int blockSize;
+
+    private final int maxBuffers;
+
+    private final BlockUploader uploader;
+
+    private final ExecutorService executor;
+
+    /** buffers of uploaded blocks, ready to be reused */
+    private final BlockingQueue<byte[]> freeBuffers = new LinkedBlockingQueue<>();
+
+    /** uploads not yet checked, oldest first */
+    private final Deque<Future<?>> uploads = new ArrayDeque<>();
+
+    private int allocatedBuffers;
+
+    private byte[] current;
+
+    private int position;
+
+    private int blockCount;
+
+    private long size;
+
+    private boolean closed;
+
+    /** first upload failure, nothing is committed after it */
+    private IOException failure;
+
+    public BlockUploadOutputStream(final int blockSize, final int maxConcurrentUploads,
+            final BlockUploader uploader) {
+        if (blockSize <= 0 || maxConcurrentUploads <= 0) {
+            throw new IllegalArgumentException("Block size and concurrent uploads must be positive.");
+        }
+        this.blockSize = blockSize;
+        this.maxBuffers = maxConcurrentUploads + 1;
+        this.uploader = uploader;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentUploads, (Runnable r) -> {
+            final Thread thread = new Thread(r, "azure-block-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.ensureBlock();
+        this.current[this.position++] = (byte) b;
+        if (this.position == this.blockSize) {
+            this.uploadCurrent();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            this.ensureBlock();
+            final int n = Math.min(remaining, this.blockSize - this.position);
+            System.arraycopy(b, offset, this.current, this.position, n);
+            this.position += n;
+            offset += n;
+            remaining -= n;
+            if (this.position == this.blockSize) {
+                this.uploadCurrent();
+            }
+        }
+    }
+
+    /**
+     * Blocks are uploaded when full, or on close; flush has nothing to do.
+     */
+    @Override
+    public void flush() {
+        // nothing to do.
+    }
+
+    /**
+     * @return number of bytes written so far.
+     */
+    public long size() {
+        return this.size + this.position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            if (this.position > 0) {
+                this.uploadCurrent();
+            }
+            while (!this.uploads.isEmpty()) {
+                this.await(this.uploads.poll());
+            }
+            this.uploader.commit(this.blockCount, this.size);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Stop uploads without committing, does nothing if the stream is already closed.
+     */
+    public void abort() {
+        if (!this.closed) {
+            this.closed = true;
+            this.release();
+        }
+    }
+
+    private void release() {
+        this.executor.shutdownNow();
+        this.freeBuffers.clear();
+        this.current = null;
+    }
+
+    private void ensureBlock() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed.");
+        }
+        if (this.failure != null) {
+            throw this.failure;
+        }
+        if (this.current != null) {
+            return;
+        }
+        this.current = this.freeBuffers.poll();
+        if (this.current == null && this.allocatedBuffers < this.maxBuffers) {
+            this.allocatedBuffers++;
+            this.current = new byte[this.blockSize];
+        }
+        while (this.current == null) {
+            // all buffers are being uploaded, wait for the oldest upload.
+            final Future<?> oldest = this.uploads.poll();
+            if (oldest != null) {
+                this.await(oldest);
+            }
+            this.current = this.freeBuffers.poll();
+        }
+        this.position = 0;
+    }
+
+    private void uploadCurrent() throws IOException {
+        final byte[] block = this.current;
+        final int length = this.position;
+        final int index = this.blockCount++;
+        final long offset = this.size;
+        this.size += length;
+        this.current = null;
+        this.position = 0;
+
+        this.uploads.add(this.executor.submit(() -> {
+            try {
+                this.uploader.upload(index, offset, block, length);
+            } finally {
+                this.freeBuffers.add(block);
+            }
+            return null;
+        }));
+        log.debug("Block {} ({} bytes at {}) submitted.", index, length, offset);
+
+        // fail fast on uploads that are already done.
+        while (!this.uploads.isEmpty() && this.uploads.peek().isDone()) {
+            this.await(this.uploads.poll());
+        }
+    }
+
+    private void await(final Future<?> upload) throws IOException {
+        try {
+            upload.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.failure = new IOException("Upload interrupted.", e);
+            throw this.failure;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            this.failure = cause instanceof IOException ? (IOException) cause
+                    : new IOException(cause.getMessage(), cause);
+            throw this.failure;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.upload;
+
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write Parquet files straight to upload streams, without local file. A file stays open across batches, its row
+ * groups are uploaded as they are written; once the file reaches the maximum file size it is closed, committed, and
+ * next records go to a new file.
+ * If writing fails, abort() must be called instead of close() so that the partial file is not committed.
+ */
+@Slf4j
+public class ParquetUploadWriter implements AutoCloseable {
+
+    /**
+     * Storage specific creation of a file.
+     */
+    @FunctionalInterface
+    public interface FileOpener {
+
+        /**
+         * Create a new file.
+         *
+         * @return upload stream of the file, closing it commits the file.
+         */
+        BlockUploadOutputStream open() throws IOException;
+    }
+
+    private final Schema schema;
+
+    private final int rowGroupSize;
+
+    private final long maxFileSize;
+
+    private final FileOpener opener;
+
+    private BlockUploadOutputStream stream;
+
+    private ParquetWriter<GenericRecord> writer;
+
+    /**
+     * @param schema : Avro schema of the records.
+     * @param rowGroupSize : size of the row groups (bytes), buffered in memory before being written.
+     * @param maxFileSize : size (bytes) from which a file is closed and next records go to a new one, 0 for a single
+     * file.
+     * @param opener : creates the files.
+     */
+    public ParquetUploadWriter(final Schema schema, final int rowGroupSize, final long maxFileSize,
+            final FileOpener opener) {
+        this.schema = schema;
+        this.rowGroupSize = rowGroupSize;
+        this.maxFileSize = maxFileSize;
+        this.opener = opener;
+    }
+
+    public void write(final GenericRecord rec) throws IOException {
+        if (this.writer == null) {
+            this.stream = this.opener.open();
+            this.writer = AvroParquetWriter
+                    .<GenericRecord> builder(new StreamOutputFile(this.stream))
+                    .withSchema(this.schema)
+                    .withRowGroupSize(this.rowGroupSize)
+                    .build();
+        }
+        this.writer.write(rec);
+        if (this.maxFileSize > 0 && this.writer.getDataSize() >= this.maxFileSize) {
+            log.debug("Parquet file reached {} bytes, next records go to a new file.", this.writer.getDataSize());
+            this.close();
+        }
+    }
+
+    /**
+     * Write the last row group and the footer of the current file, and commit it.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.writer == null) {
+            return;
+        }
+        try {
+            this.writer.close();
+        } finally {
+            this.abort();
+        }
+    }
+
+    /**
+     * Stop uploads of the current file without committing it, does nothing if it is already closed.
+     */
+    public void abort() {
+        if (this.stream != null) {
+            this.stream.abort();
+        }
+        this.stream = null;
+        this.writer = null;
+    }
+
+    /**
+     * Parquet output file on an upload stream, it can only be created once.
+     */
+    private static class StreamOutputFile implements OutputFile {
+
+        private final BlockUploadOutputStream out;
+
+        StreamOutputFile(final BlockUploadOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public PositionOutputStream create(final long blockSizeHint) {
+            return new PositionOutputStream() {
+
+                @Override
+                public long getPos() {
+                    return out.size();
+                }
+
+                @Override
+                public void write(final int b) throws IOException {
+                    out.write(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void flush() {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(final long blockSizeHint) {
+            return this.create(blockSizeHint);
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.converters;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroup;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import io.delta.standalone.types.ArrayType;
+import io.delta.standalone.types.DateType;
+import io.delta.standalone.types.DecimalType;
+import io.delta.standalone.types.IntegerType;
+import io.delta.standalone.types.StringType;
+import io.delta.standalone.types.StructField;
+import io.delta.standalone.types.StructType;
+import io.delta.standalone.types.TimestampType;
+
+class DeltaGroupConverterTest {
+
+    private static final MessageType FILE_SCHEMA = MessageTypeParser
+            .parseMessageType("message spark_schema {\n" //
+                    + "  optional binary name (UTF8);\n" //
+                    + "  optional int64 created (TIMESTAMP_MICROS);\n" //
+                    + "  optional int32 birth (DATE);\n" //
+                    + "  optional int64 amount (DECIMAL(10,2));\n" //
+                    + "  optional group tags (LIST) {\n" //
+                    + "    repeated group list {\n" //
+                    + "      optional binary element (UTF8);\n" //
+                    + "    }\n" //
+                    + "  }\n" //
+                    + "}");
+
+    private final StructType structure = new StructType(new StructField[] { //
+            new StructField("name", new StringType(), true), //
+            new StructField("created", new TimestampType(), true), //
+            new StructField("birth", new DateType(), true), //
+            new StructField("amount", new DecimalType(10, 2), true), //
+            new StructField("tags", new ArrayType(new StringType(), true), true), //
+            new StructField("added", new StringType(), true), //
+            new StructField("year", new IntegerType(), true) });
+
+    @Test
+    void convertGroup() {
+        final DeltaGroupConverter converter = new DeltaGroupConverter(new RecordBuilderFactoryImpl("test"),
+                structure, new HashSet<>(Collections.singletonList("year")));
+
+        final Group group = new SimpleGroup(FILE_SCHEMA);
+        group.add("name", "delta");
+        group.add("created", 1_622_542_530_123_456L);
+        group.add("birth", (int) LocalDate.of(2000, 2, 29).toEpochDay());
+        group.add("amount", 12345L);
+        final Group tags = group.addGroup("tags");
+        tags.addGroup("list").add("element", "a");
+        tags.addGroup("list").add("element", "b");
+
+        final Record record = converter.toRecord(group, Collections.singletonMap("year", "2021"));
+
+        Assertions.assertEquals("delta", record.getString("name"));
+        Assertions.assertEquals(1_622_542_530_123L, record.getDateTime("created").toInstant().toEpochMilli());
+        Assertions.assertEquals(java.sql.Date.valueOf(LocalDate.of(2000, 2, 29)).getTime(),
+                record.getDateTime("birth").toInstant().toEpochMilli());
+        Assertions.assertEquals(new BigDecimal("123.45").toPlainString(), record.getString("amount"));
+        final List<String> values = new ArrayList<>(record.getArray(String.class, "tags"));
+        Assertions.assertEquals(2, values.size());
+        Assertions.assertEquals("b", values.get(1));
+        // column added after the file was written.
+        Assertions.assertNull(record.getString("added"));
+        Assertions.assertEquals(2021, record.getInt("year"));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.formats;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParquetInputReaderTest {
+
+    private static final long START = Instant.parse("2021-06-01T00:00:00Z").toEpochMilli();
+
+    private static final long HOUR = 3_600_000L;
+
+    private final Configuration conf = new Configuration();
+
+    @Test
+    void readColumnsAndFilter(@TempDir final java.nio.file.Path directory) throws IOException {
+        final HadoopInputFile file = this.write(directory);
+
+        final ParquetInputOptions options = new ParquetInputOptions();
+        options.setColumns(Arrays.asList("ID", "created"));
+        options.setFilters(Arrays.asList(
+                new ColumnFilter("created", ColumnFilter.Operator.GREATER_OR_EQUAL, "2021-06-02T00:00:00Z"),
+                new ColumnFilter("country", ColumnFilter.Operator.EQUAL, "FR")));
+
+        final List<GenericRecord> records = this.read(file, options);
+        // 24 hours of the second day, one of two in FR.
+        Assertions.assertEquals(12, records.size());
+        for (GenericRecord rec : records) {
+            Assertions.assertEquals(2, rec.getSchema().getFields().size());
+            Assertions.assertTrue((Long) rec.get("created") >= START + 24 * HOUR);
+            Assertions.assertEquals(0, (Integer) rec.get("id") % 2);
+        }
+    }
+
+    @Test
+    void filterIn(@TempDir final java.nio.file.Path directory) throws IOException {
+        final HadoopInputFile file = this.write(directory);
+
+        final ParquetInputOptions options = new ParquetInputOptions();
+        options.setColumns(Collections.singletonList("id"));
+        options.setFilters(Collections.singletonList(new ColumnFilter("id", ColumnFilter.Operator.IN, "1, 5, 100")));
+
+        final List<GenericRecord> records = this.read(file, options);
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals(1, records.get(0).getSchema().getFields().size());
+    }
+
+    @Test
+    void readAll(@TempDir final java.nio.file.Path directory) throws IOException {
+        final HadoopInputFile file = this.write(directory);
+
+        final List<GenericRecord> records = this.read(file, new ParquetInputOptions());
+        Assertions.assertEquals(48, records.size());
+        Assertions.assertEquals(4, records.get(0).getSchema().getFields().size());
+    }
+
+    @Test
+    void invalidFilters(@TempDir final java.nio.file.Path directory) throws IOException {
+        final HadoopInputFile file = this.write(directory);
+
+        final ParquetInputOptions unknown = new ParquetInputOptions();
+        unknown.setFilters(Collections.singletonList(new ColumnFilter("unknown", ColumnFilter.Operator.EQUAL, "1")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> this.read(file, unknown));
+
+        final ParquetInputOptions invalid = new ParquetInputOptions();
+        invalid.setFilters(Collections.singletonList(new ColumnFilter("id", ColumnFilter.Operator.LOWER, "ten")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> this.read(file, invalid));
+    }
+
+    private List<GenericRecord> read(final HadoopInputFile file, final ParquetInputOptions options)
+            throws IOException {
+        final List<GenericRecord> records = new ArrayList<>();
+        try (ParquetReader<GenericRecord> reader = ParquetInputReader.open(file, conf, options)) {
+            GenericRecord rec;
+            while ((rec = reader.read()) != null) {
+                records.add(rec);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * One row per hour for two days, in small row groups.
+     */
+    private HadoopInputFile write(final java.nio.file.Path directory) throws IOException {
+        final Schema schema = SchemaBuilder
+                .record("event")
+                .fields()
+                .requiredInt("id")
+                .requiredString("country")
+                .name("created")
+                .type(LogicalTypes.timestampMillis().addToSchema(Schema.create(Schema.Type.LONG)))
+                .noDefault()
+                .optionalString("comment")
+                .endRecord();
+        final Path path = new Path(directory.resolve("events.parquet").toUri());
+        try (ParquetWriter<GenericRecord> writer = AvroParquetWriter
+                .<GenericRecord> builder(path)
+                .withSchema(schema)
+                .withConf(conf)
+                .withRowGroupSize(1024)
+                .withPageSize(512)
+                .build()) {
+            for (int i = 0; i < 48; i++) {
+                final GenericRecord rec = new GenericData.Record(schema);
+                rec.put("id", i);
+                rec.put("country", i % 2 == 0 ? "FR" : "DE");
+                rec.put("created", START + i * HOUR);
+                rec.put("comment", "event " + i);
+                writer.write(rec);
+            }
+        }
+        return HadoopInputFile.fromPath(path, conf);
+    }
+}
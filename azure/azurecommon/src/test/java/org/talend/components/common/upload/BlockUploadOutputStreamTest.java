@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.upload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BlockUploadOutputStreamTest {
+
+    @Test
+    void blocksAreUploadedAtTheirOffset() throws IOException {
+        final Map<Long, String> blocks = new ConcurrentHashMap<>();
+        final AtomicLong committedSize = new AtomicLong(-1);
+        final AtomicInteger committedBlocks = new AtomicInteger();
+        final BlockUploadOutputStream out = new BlockUploadOutputStream(4, 2,
+                new BlockUploadOutputStream.BlockUploader() {
+
+                    @Override
+                    public void upload(int index, long offset, byte[] data, int length) {
+                        blocks.put(offset, new String(data, 0, length, StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public void commit(int blockCount, long size) {
+                        committedBlocks.set(blockCount);
+                        committedSize.set(size);
+                    }
+                });
+
+        out.write("0123456789".getBytes(StandardCharsets.UTF_8));
+        out.write('a');
+        Assertions.assertEquals(11, out.size());
+        Assertions.assertEquals(-1, committedSize.get());
+        out.close();
+
+        Assertions.assertEquals(3, committedBlocks.get());
+        Assertions.assertEquals(11, committedSize.get());
+        Assertions.assertEquals("0123", blocks.get(0L));
+        Assertions.assertEquals("4567", blocks.get(4L));
+        Assertions.assertEquals("89a", blocks.get(8L));
+    }
+
+    @Test
+    void failedUploadIsNotCommitted() {
+        final AtomicInteger commits = new AtomicInteger();
+        final BlockUploadOutputStream out = new BlockUploadOutputStream(2, 1,
+                new BlockUploadOutputStream.BlockUploader() {
+
+                    @Override
+                    public void upload(int index, long offset, byte[] data, int length) {
+                        throw new IllegalStateException("upload failed " + index);
+                    }
+
+                    @Override
+                    public void commit(int blockCount, long size) {
+                        commits.incrementAndGet();
+                    }
+                });
+
+        final IOException e = Assertions.assertThrows(IOException.class, () -> {
+            out.write(new byte[10]);
+            out.close();
+        });
+        Assertions.assertEquals("upload failed 0", e.getMessage());
+        out.abort();
+        Assertions.assertEquals(0, commits.get());
+    }
+
+    @Test
+    void emptyStreamIsCommitted() throws IOException {
+        final AtomicInteger commits = new AtomicInteger();
+        final BlockUploadOutputStream out = new BlockUploadOutputStream(2, 1,
+                new BlockUploadOutputStream.BlockUploader() {
+
+                    @Override
+                    public void upload(int index, long offset, byte[] data, int length) {
+                        Assertions.fail("no block expected");
+                    }
+
+                    @Override
+                    public void commit(int blockCount, long size) {
+                        Assertions.assertEquals(0, blockCount);
+                        commits.incrementAndGet();
+                    }
+                });
+        out.close();
+        Assertions.assertEquals(1, commits.get());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.upload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParquetUploadWriterTest {
+
+    private final Schema schema = SchemaBuilder
+            .record("row")
+            .fields()
+            .requiredInt("id")
+            .requiredString("name")
+            .endRecord();
+
+    /** content of committed files */
+    private final List<byte[]> files = new ArrayList<>();
+
+    @Test
+    void filesRollOnSize(@TempDir final java.nio.file.Path directory) throws IOException {
+        try (ParquetUploadWriter writer = new ParquetUploadWriter(schema, 1024, 4096, this::open)) {
+            for (int i = 0; i < 2000; i++) {
+                writer.write(this.row(i));
+            }
+        }
+
+        Assertions.assertTrue(files.size() > 1);
+        int id = 0;
+        for (byte[] content : files) {
+            final java.nio.file.Path file = Files.write(directory.resolve("file" + id + ".parquet"), content);
+            try (ParquetReader<GenericRecord> reader = AvroParquetReader
+                    .<GenericRecord> builder(HadoopInputFile.fromPath(new Path(file.toUri()), new Configuration()))
+                    .build()) {
+                GenericRecord rec;
+                while ((rec = reader.read()) != null) {
+                    Assertions.assertEquals(id, rec.get("id"));
+                    id++;
+                }
+            }
+        }
+        Assertions.assertEquals(2000, id);
+    }
+
+    @Test
+    void abortedFileIsNotCommitted() throws IOException {
+        final ParquetUploadWriter writer = new ParquetUploadWriter(schema, 1024, 0, this::open);
+        writer.write(this.row(0));
+        writer.abort();
+        writer.close();
+
+        Assertions.assertTrue(files.isEmpty());
+    }
+
+    private GenericRecord row(final int id) {
+        final GenericRecord rec = new GenericData.Record(schema);
+        rec.put("id", id);
+        rec.put("name", "row number " + id);
+        return rec;
+    }
+
+    private BlockUploadOutputStream open() {
+        final Map<Long, byte[]> blocks = new TreeMap<>();
+        return new BlockUploadOutputStream(512, 1, new BlockUploadOutputStream.BlockUploader() {
+
+            @Override
+            public void upload(int index, long offset, byte[] data, int length) {
+                final byte[] block = new byte[length];
+                System.arraycopy(data, 0, block, 0, length);
+                synchronized (blocks) {
+                    blocks.put(offset, block);
+                }
+            }
+
+            @Override
+            public void commit(int blockCount, long size) throws IOException {
+                final ByteArrayOutputStream content = new ByteArrayOutputStream();
+                synchronized (blocks) {
+                    for (byte[] block : blocks.values()) {
+                        content.write(block);
+                    }
+                }
+                Assertions.assertEquals(size, content.size());
+                files.add(content.toByteArray());
+            }
+        });
+    }
+}
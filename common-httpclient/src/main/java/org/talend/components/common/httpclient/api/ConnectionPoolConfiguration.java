@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of the pool of clients shared by queries with same base URL, TLS, proxy & authentication settings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionPoolConfiguration {
+
+    /**
+     * Max number of queries running at the same time with a given pooled client configuration.
+     */
+    private int maxConnectionsPerHost = DefaultConfigurationValues.HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST_VALUE;
+
+    /**
+     * Idle duration after which a pooled client is closed, in millisecond.
+     */
+    private long idleTimeout = DefaultConfigurationValues.HTTP_CLIENT_POOL_IDLE_TIMEOUT_VALUE;
+
+}
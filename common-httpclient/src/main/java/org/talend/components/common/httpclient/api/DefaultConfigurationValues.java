@@ -58,6 +58,42 @@ public final class DefaultConfigurationValues {
     public static final String HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN =
             "org.talend.http.client.oauth.token.forced.expires_in";
 
+    /**
+     * Max number of connections in use at the same time for a pooled client (base URL + TLS/proxy/auth settings).
+     */
+    public static final String HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST =
+            "org.talend.http.client.pool.max.connections.per.host";
+
+    /**
+     * Duration after which an unused pooled client is evicted, in millisecond.
+     */
+    public static final String HTTP_CLIENT_POOL_IDLE_TIMEOUT = "org.talend.http.client.pool.idle.timeout";
+
+    /**
+     * Duration during which a cached response is used without querying the server, in millisecond.
+     */
+    public static final String HTTP_CLIENT_CACHE_TTL = "org.talend.http.client.cache.ttl";
+
+    /**
+     * Max number of responses kept in memory by a response cache.
+     */
+    public static final String HTTP_CLIENT_CACHE_MAX_ENTRIES = "org.talend.http.client.cache.max.entries";
+
+    /**
+     * Max size of payloads kept in memory by a response cache, in byte.
+     */
+    public static final String HTTP_CLIENT_CACHE_MAX_MEMORY_SIZE = "org.talend.http.client.cache.max.memory.size";
+
+    /**
+     * Directory where cached responses are also stored, no disk tier if not set.
+     */
+    public static final String HTTP_CLIENT_CACHE_DISK_DIRECTORY = "org.talend.http.client.cache.disk.directory";
+
+    /**
+     * Max size of responses stored on disk by a response cache, in byte.
+     */
+    public static final String HTTP_CLIENT_CACHE_MAX_DISK_SIZE = "org.talend.http.client.cache.max.disk.size";
+
     // Need to wait for https://issues.apache.org/jira/browse/CXF-8752
     /*
      * public static String HTTP_CLIENT_ALLOWED_REDIRECTED_VERBS =
@@ -87,6 +123,20 @@ public final class DefaultConfigurationValues {
 
     public static long HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN_VALUE;
 
+    public static int HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST_VALUE;
+
+    public static long HTTP_CLIENT_POOL_IDLE_TIMEOUT_VALUE;
+
+    public static long HTTP_CLIENT_CACHE_TTL_VALUE;
+
+    public static int HTTP_CLIENT_CACHE_MAX_ENTRIES_VALUE;
+
+    public static long HTTP_CLIENT_CACHE_MAX_MEMORY_SIZE_VALUE;
+
+    public static String HTTP_CLIENT_CACHE_DISK_DIRECTORY_VALUE;
+
+    public static long HTTP_CLIENT_CACHE_MAX_DISK_SIZE_VALUE;
+
     public static final int HTTP_CLIENT_CONNECT_TIMEOUT_DEFAULT_VALUE = 30000;
 
     public static final int HTTP_CLIENT_RECEIVE_TIMEOUT_DEFAULT_VALUE = 120000;
@@ -107,6 +157,18 @@ public final class DefaultConfigurationValues {
 
     public static final String HTTP_CLIENT_URL_PLACE_HOLDER_END_DEFAULT_VALUE = "}";
 
+    public static final int HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST_DEFAULT_VALUE = 20;
+
+    public static final long HTTP_CLIENT_POOL_IDLE_TIMEOUT_DEFAULT_VALUE = 60000;
+
+    public static final long HTTP_CLIENT_CACHE_TTL_DEFAULT_VALUE = 300000;
+
+    public static final int HTTP_CLIENT_CACHE_MAX_ENTRIES_DEFAULT_VALUE = 1000;
+
+    public static final long HTTP_CLIENT_CACHE_MAX_MEMORY_SIZE_DEFAULT_VALUE = 32L * 1024 * 1024;
+
+    public static final long HTTP_CLIENT_CACHE_MAX_DISK_SIZE_DEFAULT_VALUE = 256L * 1024 * 1024;
+
     static {
         reload();
     }
@@ -142,6 +204,20 @@ public final class DefaultConfigurationValues {
 
         HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN_VALUE = getValueAsLong(HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN,
                 HTTP_CLIENT_OAUTH_TOKEN_FORCED_EXPIRES_IN_DEFAULT_VALUE);
+
+        HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST_VALUE = getValueAsInt(HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST,
+                HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST_DEFAULT_VALUE);
+        HTTP_CLIENT_POOL_IDLE_TIMEOUT_VALUE =
+                getValueAsLong(HTTP_CLIENT_POOL_IDLE_TIMEOUT, HTTP_CLIENT_POOL_IDLE_TIMEOUT_DEFAULT_VALUE);
+
+        HTTP_CLIENT_CACHE_TTL_VALUE = getValueAsLong(HTTP_CLIENT_CACHE_TTL, HTTP_CLIENT_CACHE_TTL_DEFAULT_VALUE);
+        HTTP_CLIENT_CACHE_MAX_ENTRIES_VALUE =
+                getValueAsInt(HTTP_CLIENT_CACHE_MAX_ENTRIES, HTTP_CLIENT_CACHE_MAX_ENTRIES_DEFAULT_VALUE);
+        HTTP_CLIENT_CACHE_MAX_MEMORY_SIZE_VALUE =
+                getValueAsLong(HTTP_CLIENT_CACHE_MAX_MEMORY_SIZE, HTTP_CLIENT_CACHE_MAX_MEMORY_SIZE_DEFAULT_VALUE);
+        HTTP_CLIENT_CACHE_DISK_DIRECTORY_VALUE = getValue(HTTP_CLIENT_CACHE_DISK_DIRECTORY, null);
+        HTTP_CLIENT_CACHE_MAX_DISK_SIZE_VALUE =
+                getValueAsLong(HTTP_CLIENT_CACHE_MAX_DISK_SIZE, HTTP_CLIENT_CACHE_MAX_DISK_SIZE_DEFAULT_VALUE);
     }
 
     private static Map<String, String> varEnvNameCache;
@@ -108,6 +108,11 @@ public class QueryConfiguration {
      */
     private boolean decompressResponsePayload;
 
+    /**
+     * Compress request payload (Content-Encoding: gzip), while it is sent.
+     */
+    private boolean compressRequestPayload;
+
     /**
      * OAuth2.0 HTTP call configuration.
      * It is the HTTP call configuration to retrieve the token.
@@ -152,4 +157,64 @@ public class QueryConfiguration {
 
     private OffsetLimitPagination offsetLimitPagination;
 
+    /**
+     * Reuse configured clients & keep-alive connections between queries, null to create a new client for each query.
+     */
+    private ConnectionPoolConfiguration connectionPool;
+
+    /**
+     * Cache GET/HEAD responses, null to always query the server.
+     */
+    private ResponseCacheConfiguration responseCache;
+
+    /**
+     * Copy this configuration, parameters & headers are copied so that they can be changed without impacting this one
+     * (to query several pages in parallel for instance); other values are shared.
+     *
+     * @return the copy.
+     */
+    public QueryConfiguration copy() {
+        QueryConfiguration copy = new QueryConfiguration();
+        copy.url = this.url;
+        copy.method = this.method;
+        copy.connectionTimeout = this.connectionTimeout;
+        copy.receiveTimeout = this.receiveTimeout;
+        copy.bypassCertificateValidation = this.bypassCertificateValidation;
+        copy.authenticationType = this.authenticationType;
+        copy.loginPassword = this.loginPassword;
+        copy.authorizationToken = this.authorizationToken;
+        copy.urlPathParams = this.urlPathParams == null ? null : new HashMap<>(this.urlPathParams);
+        copy.queryParams = copyKeyValuePairs(this.queryParams);
+        copy.headers = copyKeyValuePairs(this.headers);
+        copy.bodyType = this.bodyType;
+        copy.bodyQueryParams = copyKeyValuePairs(this.bodyQueryParams);
+        copy.plainTextBody = this.plainTextBody;
+        copy.decompressResponsePayload = this.decompressResponsePayload;
+        copy.compressRequestPayload = this.compressRequestPayload;
+        copy.oauthCall = this.oauthCall;
+        copy.oAuthTokenCacheKey = this.oAuthTokenCacheKey;
+        copy.acceptRedirections = this.acceptRedirections;
+        copy.maxNumberOfAcceptedRedirectionsOnSameURI = this.maxNumberOfAcceptedRedirectionsOnSameURI;
+        copy.acceptOnlySameHostRedirection = this.acceptOnlySameHostRedirection;
+        copy.acceptRelativeURLRedirection = this.acceptRelativeURLRedirection;
+        copy.allowedURIRedirection = this.allowedURIRedirection;
+        copy.responseFormat = this.responseFormat;
+        copy.proxy = this.proxy;
+        copy.attachments = this.attachments == null ? null : new ArrayList<>(this.attachments);
+        copy.initPaginationDone = this.initPaginationDone;
+        copy.offsetLimitPagination = this.offsetLimitPagination;
+        copy.connectionPool = this.connectionPool;
+        copy.responseCache = this.responseCache;
+        return copy;
+    }
+
+    private static List<KeyValuePair> copyKeyValuePairs(List<KeyValuePair> keyValuePairs) {
+        if (keyValuePairs == null) {
+            return null;
+        }
+        List<KeyValuePair> copy = new ArrayList<>(keyValuePairs.size());
+        keyValuePairs.forEach(kvp -> copy.add(new KeyValuePair(kvp.getKey(), kvp.getValue())));
+        return copy;
+    }
+
 }
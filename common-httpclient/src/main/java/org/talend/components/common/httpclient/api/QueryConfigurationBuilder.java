@@ -272,6 +272,11 @@ public class QueryConfigurationBuilder {
         return this;
     }
 
+    public QueryConfigurationBuilder compressRequestPayload(boolean compress) {
+        this.queryConfiguration.setCompressRequestPayload(compress);
+        return this;
+    }
+
     /**
      * Define the body as application/x-www-form-urlencoded, and add a key/value parameter.
      *
@@ -358,12 +363,55 @@ public class QueryConfigurationBuilder {
         return this;
     }
 
+    public QueryConfigurationBuilder usePooledConnections() {
+        return this.usePooledConnections(DefaultConfigurationValues.HTTP_CLIENT_POOL_MAX_CONNECTIONS_PER_HOST_VALUE,
+                DefaultConfigurationValues.HTTP_CLIENT_POOL_IDLE_TIMEOUT_VALUE);
+    }
+
+    public QueryConfigurationBuilder usePooledConnections(int maxConnectionsPerHost, long idleTimeout) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "http.configuration.pool.maxConnectionsPerHost value must be at least 1: %s",
+                    maxConnectionsPerHost));
+        }
+        notNegative("http.configuration.pool.idleTimeout", idleTimeout);
+        queryConfiguration.setConnectionPool(new ConnectionPoolConfiguration(maxConnectionsPerHost, idleTimeout));
+        return this;
+    }
+
+    public QueryConfigurationBuilder useResponseCache() {
+        return this.useResponseCache(new ResponseCacheConfiguration());
+    }
+
+    public QueryConfigurationBuilder useResponseCache(long ttl) {
+        ResponseCacheConfiguration responseCache = new ResponseCacheConfiguration();
+        responseCache.setTtl(ttl);
+        return this.useResponseCache(responseCache);
+    }
+
+    public QueryConfigurationBuilder useResponseCache(ResponseCacheConfiguration responseCache) {
+        notNull("http.configuration.responseCache", responseCache);
+        notNegative("http.configuration.responseCache.ttl", responseCache.getTtl());
+        notNegative("http.configuration.responseCache.maxEntries", responseCache.getMaxEntries());
+        notNegative("http.configuration.responseCache.maxMemorySize", responseCache.getMaxMemorySize());
+        notNegative("http.configuration.responseCache.maxDiskSize", responseCache.getMaxDiskSize());
+        queryConfiguration.setResponseCache(responseCache);
+        return this;
+    }
+
     public QueryConfigurationBuilder setOffsetLimitPagination(PaginationParametersLocation location,
             String offsetParamName, String offsetValue, String limitParamName,
             String limitValue, String elementsPath) {
+        return this.setOffsetLimitPagination(location, offsetParamName, offsetValue, limitParamName, limitValue,
+                elementsPath, null);
+    }
+
+    public QueryConfigurationBuilder setOffsetLimitPagination(PaginationParametersLocation location,
+            String offsetParamName, String offsetValue, String limitParamName,
+            String limitValue, String elementsPath, String totalPath) {
 
         OffsetLimitPagination offsetLimitPagination = new OffsetLimitPagination(location, offsetParamName,
-                offsetValue, limitParamName, limitValue, elementsPath);
+                offsetValue, limitParamName, limitValue, elementsPath, totalPath);
 
         queryConfiguration.setOffsetLimitPagination(offsetLimitPagination);
 
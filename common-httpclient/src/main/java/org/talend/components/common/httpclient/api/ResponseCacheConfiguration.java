@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of the cache of GET/HEAD responses, shared by all queries with the same settings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseCacheConfiguration {
+
+    /**
+     * Duration during which a cached response is used without querying the server, in millisecond.
+     * After it, the response is revalidated with ETag/Last-Modified if the server gave them.
+     */
+    private long ttl = DefaultConfigurationValues.HTTP_CLIENT_CACHE_TTL_VALUE;
+
+    /**
+     * Max number of responses kept in memory, least recently used are evicted first.
+     */
+    private int maxEntries = DefaultConfigurationValues.HTTP_CLIENT_CACHE_MAX_ENTRIES_VALUE;
+
+    /**
+     * Max size of payloads kept in memory, in byte.
+     */
+    private long maxMemorySize = DefaultConfigurationValues.HTTP_CLIENT_CACHE_MAX_MEMORY_SIZE_VALUE;
+
+    /**
+     * Directory where responses are also stored, null for a memory only cache.
+     */
+    private String diskDirectory = DefaultConfigurationValues.HTTP_CLIENT_CACHE_DISK_DIRECTORY_VALUE;
+
+    /**
+     * Max size of responses stored on disk, in byte.
+     */
+    private long maxDiskSize = DefaultConfigurationValues.HTTP_CLIENT_CACHE_MAX_DISK_SIZE_VALUE;
+
+}
@@ -31,4 +31,14 @@ public class OffsetLimitPagination {
 
     private String elementsPath;
 
+    /**
+     * Path to the total number of elements in the response (simplified DSSL as elementsPath), null if not provided.
+     */
+    private String totalPath;
+
+    public OffsetLimitPagination(PaginationParametersLocation location, String offsetParamName, String offsetValue,
+            String limitParamName, String limitValue, String elementsPath) {
+        this(location, offsetParamName, offsetValue, limitParamName, limitValue, elementsPath, null);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A cached HTTP response, with its validators (ETag, Last-Modified) and expiration.
+ */
+@Getter
+@RequiredArgsConstructor
+class CacheEntry {
+
+    /** version of the disk format */
+    private static final int FORMAT_VERSION = 1;
+
+    /** memory used by an entry, in addition to its payload */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final int status;
+
+    private final String reason;
+
+    private final String family;
+
+    private final Map<String, String> headers;
+
+    private final String encoding;
+
+    private final byte[] payload;
+
+    private final String etag;
+
+    private final String lastModified;
+
+    /** time after which the entry must be revalidated, in millisecond since epoch */
+    @Setter
+    private volatile long expiresAt;
+
+    boolean isFresh(final long now) {
+        return now < this.expiresAt;
+    }
+
+    boolean canRevalidate() {
+        return this.etag != null || this.lastModified != null;
+    }
+
+    long size() {
+        return this.payload.length + ENTRY_OVERHEAD;
+    }
+
+    void write(final DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(this.status);
+        writeString(out, this.reason);
+        writeString(out, this.family);
+        out.writeInt(this.headers.size());
+        for (Map.Entry<String, String> header : this.headers.entrySet()) {
+            writeString(out, header.getKey());
+            writeString(out, header.getValue());
+        }
+        writeString(out, this.encoding);
+        writeString(out, this.etag);
+        writeString(out, this.lastModified);
+        out.writeLong(this.expiresAt);
+        out.writeInt(this.payload.length);
+        out.write(this.payload);
+    }
+
+    static CacheEntry read(final DataInputStream in) throws IOException {
+        final int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported cache entry version " + version);
+        }
+        final int status = in.readInt();
+        final String reason = readString(in);
+        final String family = readString(in);
+        final int nbHeaders = in.readInt();
+        final Map<String, String> headers = new HashMap<>();
+        for (int i = 0; i < nbHeaders; i++) {
+            headers.put(readString(in), readString(in));
+        }
+        final String encoding = readString(in);
+        final String etag = readString(in);
+        final String lastModified = readString(in);
+        final long expiresAt = in.readLong();
+        final byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+
+        final CacheEntry entry =
+                new CacheEntry(status, reason, family, headers, encoding, payload, etag, lastModified);
+        entry.setExpiresAt(expiresAt);
+        return entry;
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hit/miss counters of a response cache.
+ */
+public class CacheStatistics {
+
+    /** responses served from cache without querying the server */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** cached responses loaded from the disk tier */
+    private final AtomicLong diskHits = new AtomicLong();
+
+    /** queries sent to the server without usable cached response */
+    private final AtomicLong misses = new AtomicLong();
+
+    /** cached responses confirmed by the server (304 Not Modified) */
+    private final AtomicLong revalidations = new AtomicLong();
+
+    /** responses removed from memory to respect size limits */
+    private final AtomicLong evictions = new AtomicLong();
+
+    void hit() {
+        this.hits.incrementAndGet();
+    }
+
+    void diskHit() {
+        this.diskHits.incrementAndGet();
+    }
+
+    void miss() {
+        this.misses.incrementAndGet();
+    }
+
+    void revalidation() {
+        this.revalidations.incrementAndGet();
+    }
+
+    void eviction() {
+        this.evictions.incrementAndGet();
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getDiskHits() {
+        return this.diskHits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getRevalidations() {
+        return this.revalidations.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * @return ratio of queries answered without downloading the payload (hits & revalidations).
+     */
+    public double getHitRatio() {
+        final long served = this.getHits() + this.getRevalidations();
+        final long total = served + this.getMisses();
+        return total == 0 ? 0d : (double) served / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d (disk=%d), revalidations=%d, misses=%d, evictions=%d", this.getHits(),
+                this.getDiskHits(), this.getRevalidations(), this.getMisses(), this.getEvictions());
+    }
+}
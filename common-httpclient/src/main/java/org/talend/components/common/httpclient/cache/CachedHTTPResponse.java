@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.ws.rs.core.Response;
+
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.authentication.Token;
+import org.talend.components.common.httpclient.pagination.PaginationStrategy;
+
+/**
+ * HTTP response served from cache.
+ */
+class CachedHTTPResponse implements HTTPClient.HTTPResponse<Response> {
+
+    private final CacheEntry entry;
+
+    private final PaginationStrategy paginationStrategy;
+
+    private Response response;
+
+    private Token token;
+
+    CachedHTTPResponse(final CacheEntry entry, final PaginationStrategy paginationStrategy) {
+        this.entry = entry;
+        this.paginationStrategy = paginationStrategy;
+    }
+
+    @Override
+    public HTTPClient.Status getStatus() {
+        return new HTTPClient.Status(entry.getStatus(), entry.getReason(), entry.getFamily());
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return entry.getStatus() / 100 == 2;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return entry.getHeaders();
+    }
+
+    @Override
+    public String getBodyAsString() throws HTTPClientException {
+        try {
+            return new String(entry.getPayload(), this.getEncoding());
+        } catch (UnsupportedEncodingException e) {
+            throw new HTTPClientException(
+                    String.format("Can't convert HTTP response payload to string with that encoding '%s' : %s",
+                            this.getEncoding(), e.getMessage()),
+                    e);
+        }
+    }
+
+    @Override
+    public InputStream getBodyAsStream() {
+        return new ByteArrayInputStream(entry.getPayload());
+    }
+
+    /**
+     * @return a response rebuilt from cached status & headers, without entity.
+     */
+    @Override
+    public Response getNestedResponse() {
+        if (this.response == null) {
+            final Response.ResponseBuilder builder = Response.status(entry.getStatus());
+            entry.getHeaders().forEach(builder::header);
+            this.response = builder.build();
+        }
+        return this.response;
+    }
+
+    @Override
+    public String getEncoding() {
+        return entry.getEncoding() == null ? "UTF-8" : entry.getEncoding();
+    }
+
+    @Override
+    public void setOAuth20Token(final Token token) {
+        this.token = token;
+    }
+
+    @Override
+    public Optional<Token> getOAuth20Token() {
+        return Optional.ofNullable(this.token);
+    }
+
+    @Override
+    public Optional<QueryConfiguration> nextPageQueryConfiguration() throws HTTPClientException {
+        return this.paginationStrategy.getNextPageConfiguration(this);
+    }
+
+    @Override
+    public int getLastPageCount() throws HTTPClientException {
+        return this.paginationStrategy.getLastCount(this);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.KeyValuePair;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.authentication.Token;
+import org.talend.components.common.httpclient.pagination.PaginationStrategyFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HTTPClient decorator that serves GET/HEAD responses from a ResponseCache.
+ * A fresh cached response is returned without querying the server; an expired one is revalidated with
+ * If-None-Match/If-Modified-Since when the server gave an ETag/Last-Modified, and reused on 304 Not Modified.
+ *
+ * @param <C> The class of the real underlying client.
+ */
+@Slf4j
+public class CachingHTTPClient<C> implements HTTPClient<C> {
+
+    private static final int NOT_MODIFIED = 304;
+
+    /**
+     * Configuration shared with the delegate, conditional headers are added to it during revalidation.
+     */
+    private final QueryConfiguration queryConfiguration;
+
+    private final HTTPClient<C> delegate;
+
+    private final ResponseCache cache;
+
+    public CachingHTTPClient(final QueryConfiguration queryConfiguration, final HTTPClient<C> delegate) {
+        this.queryConfiguration = queryConfiguration;
+        this.delegate = delegate;
+        this.cache = ResponseCache.forConfiguration(queryConfiguration.getResponseCache());
+    }
+
+    @Override
+    public C getNestedClient() {
+        return this.delegate.getNestedClient();
+    }
+
+    @Override
+    public void setOAuth20Token(final Token token) {
+        this.delegate.setOAuth20Token(token);
+    }
+
+    @Override
+    public HTTPResponse invoke() throws HTTPClientException {
+        if (!this.isCacheable()) {
+            return this.delegate.invoke();
+        }
+
+        final String key = ResponseCache.key(this.queryConfiguration);
+        final long now = System.currentTimeMillis();
+        Optional<CacheEntry> cached = this.cache.get(key);
+        if (cached.isPresent() && cached.get().isFresh(now)) {
+            this.cache.getStatistics().hit();
+            log.debug("HTTP Query '{}' served from cache.", this.queryConfiguration.getUrl());
+            return this.fromCache(cached.get());
+        }
+        if (cached.isPresent() && !cached.get().canRevalidate()) {
+            this.cache.remove(key);
+            cached = Optional.empty();
+        }
+
+        final HTTPResponse response =
+                cached.isPresent() ? this.revalidate(cached.get()) : this.delegate.invoke();
+        if (cached.isPresent() && response.getStatus().getCode() == NOT_MODIFIED) {
+            this.cache.getStatistics().revalidation();
+            final CacheEntry entry = cached.get();
+            entry.setExpiresAt(now + this.ttl(response.getHeaders()));
+            this.cache.put(key, entry);
+            return this.fromCache(entry);
+        }
+
+        this.cache.getStatistics().miss();
+        this.store(key, response, now);
+        return response;
+    }
+
+    private boolean isCacheable() {
+        final String method = this.queryConfiguration.getMethod();
+        final boolean readMethod = method == null || "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+        return readMethod && (this.queryConfiguration.getAttachments() == null
+                || this.queryConfiguration.getAttachments().isEmpty());
+    }
+
+    private HTTPResponse revalidate(final CacheEntry entry) throws HTTPClientException {
+        final List<KeyValuePair> conditions = new ArrayList<>();
+        if (entry.getEtag() != null) {
+            conditions.add(new KeyValuePair("If-None-Match", entry.getEtag()));
+        }
+        if (entry.getLastModified() != null) {
+            conditions.add(new KeyValuePair("If-Modified-Since", entry.getLastModified()));
+        }
+
+        final List<KeyValuePair> headers = this.queryConfiguration.getHeaders();
+        headers.addAll(conditions);
+        try {
+            return this.delegate.invoke();
+        } finally {
+            // remove the exact instances added, a same header could have been set by the user.
+            headers.removeIf((KeyValuePair h) -> conditions.stream().anyMatch((KeyValuePair c) -> c == h));
+        }
+    }
+
+    private void store(final String key, final HTTPResponse response, final long now) throws HTTPClientException {
+        final int status = response.getStatus().getCode();
+        if (status != 200 && status != 203) {
+            return;
+        }
+        final Map<String, String> headers = response.getHeaders() == null ? new HashMap<>() : response.getHeaders();
+        final String cacheControl = header(headers, "Cache-Control");
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store")) {
+            return;
+        }
+
+        final CacheEntry entry = new CacheEntry(status, response.getStatus().getReason(),
+                response.getStatus().getFamily(), new HashMap<>(headers), response.getEncoding(),
+                this.payload(response), header(headers, "ETag"), header(headers, "Last-Modified"));
+        entry.setExpiresAt(now + this.ttl(headers));
+        if (entry.isFresh(now) || entry.canRevalidate()) {
+            this.cache.put(key, entry);
+        }
+    }
+
+    /**
+     * Time to live of a response: the configured one, reduced by Cache-Control max-age or no-cache if present.
+     */
+    private long ttl(final Map<String, String> headers) {
+        long ttl = this.queryConfiguration.getResponseCache().getTtl();
+        final String cacheControl = header(headers, "Cache-Control");
+        if (cacheControl == null) {
+            return ttl;
+        }
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split("[,;]")) {
+            final String value = directive.trim();
+            if ("no-cache".equals(value)) {
+                return 0L;
+            }
+            if (value.startsWith("max-age=")) {
+                try {
+                    ttl = Math.min(ttl, TimeUnit.SECONDS.toMillis(Long.parseLong(value.substring(8).trim())));
+                } catch (NumberFormatException e) {
+                    log.debug("Invalid Cache-Control max-age '{}'.", value);
+                }
+            }
+        }
+        return ttl;
+    }
+
+    private byte[] payload(final HTTPResponse response) throws HTTPClientException {
+        try (InputStream in = response.getBodyAsStream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new HTTPClientException("Can't load HTTP response payload: " + e.getMessage(), e);
+        }
+    }
+
+    private HTTPResponse fromCache(final CacheEntry entry) {
+        return new CachedHTTPResponse(entry, PaginationStrategyFactory.getPaginationStrategy(this.queryConfiguration));
+    }
+
+    private static String header(final Map<String, String> headers, final String name) {
+        return headers.entrySet()
+                .stream()
+                .filter((Map.Entry<String, String> e) -> name.equalsIgnoreCase(e.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
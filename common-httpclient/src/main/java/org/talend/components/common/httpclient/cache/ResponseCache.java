@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.talend.components.common.httpclient.api.KeyValuePair;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.ResponseCacheConfiguration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of HTTP responses: a size-bounded LRU in memory, and optionally a directory on disk as second tier.
+ * Caches are shared by all queries of the JVM that have the same cache configuration.
+ */
+@Slf4j
+public class ResponseCache {
+
+    private static final Map<ResponseCacheConfiguration, ResponseCache> CACHES = new ConcurrentHashMap<>();
+
+    private static final String FILE_EXTENSION = ".cache";
+
+    private final ResponseCacheConfiguration configuration;
+
+    /** entries in access order, least recently used first */
+    private final LinkedHashMap<String, CacheEntry> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memorySize = 0L;
+
+    private final Path directory;
+
+    private final AtomicLong diskSize = new AtomicLong();
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    ResponseCache(final ResponseCacheConfiguration configuration) {
+        this.configuration = configuration;
+        this.directory = this.initDirectory(configuration.getDiskDirectory());
+    }
+
+    /**
+     * Get the cache for the configuration, created at first call.
+     *
+     * @param configuration : cache configuration.
+     * @return shared cache.
+     */
+    public static ResponseCache forConfiguration(final ResponseCacheConfiguration configuration) {
+        final ResponseCacheConfiguration key = new ResponseCacheConfiguration(configuration.getTtl(),
+                configuration.getMaxEntries(), configuration.getMaxMemorySize(), configuration.getDiskDirectory(),
+                configuration.getMaxDiskSize());
+        return CACHES.computeIfAbsent(key, ResponseCache::new);
+    }
+
+    public CacheStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Remove all entries, in memory & on disk.
+     */
+    public synchronized void clear() {
+        this.memory.clear();
+        this.memorySize = 0L;
+        if (this.directory != null) {
+            this.diskFiles(this.directory).forEach(this::deleteFile);
+        }
+    }
+
+    /**
+     * Build the key of a query from its method, URL, parameters, headers, authentication & body.
+     *
+     * @param config : query configuration.
+     * @return hash of the query.
+     */
+    public static String key(final QueryConfiguration config) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, config.getMethod() == null ? "GET" : config.getMethod().toUpperCase());
+            update(digest, config.getUrl());
+            if (config.getUrlPathParams() != null) {
+                new TreeMap<>(config.getUrlPathParams()).forEach((String k, String v) -> {
+                    update(digest, k);
+                    update(digest, v);
+                });
+            }
+            update(digest, config.getQueryParams());
+            // header names are case insensitive, their order is not significant.
+            if (config.getHeaders() != null) {
+                update(digest, config.getHeaders()
+                        .stream()
+                        .sorted(Comparator.comparing((KeyValuePair h) -> h.getKey().toLowerCase()))
+                        .map((KeyValuePair h) -> new KeyValuePair(h.getKey().toLowerCase(), h.getValue()))
+                        .collect(Collectors.toList()));
+            }
+            update(digest, String.valueOf(config.getAuthenticationType()));
+            if (config.getLoginPassword() != null) {
+                update(digest, config.getLoginPassword().getLogin());
+                update(digest, config.getLoginPassword().getPassword());
+            }
+            update(digest, config.getAuthorizationToken());
+            update(digest, config.getOAuthTokenCacheKey().orElse(null));
+            update(digest, String.valueOf(config.getResponseFormat()));
+            update(digest, String.valueOf(config.getBodyType()));
+            update(digest, config.getPlainTextBody());
+            update(digest, config.getBodyQueryParams());
+            update(digest, String.valueOf(config.isDecompressResponsePayload()));
+
+            final StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Get an entry, from memory or from disk.
+     *
+     * @param key : query key.
+     * @return the entry if present, fresh or not.
+     */
+    Optional<CacheEntry> get(final String key) {
+        synchronized (this) {
+            final CacheEntry entry = this.memory.get(key);
+            if (entry != null) {
+                return Optional.of(entry);
+            }
+        }
+
+        final Optional<CacheEntry> fromDisk = this.readFromDisk(key);
+        if (fromDisk.isPresent()) {
+            this.statistics.diskHit();
+            this.putInMemory(key, fromDisk.get());
+        }
+        return fromDisk;
+    }
+
+    void put(final String key, final CacheEntry entry) {
+        this.putInMemory(key, entry);
+        this.writeToDisk(key, entry);
+    }
+
+    void remove(final String key) {
+        synchronized (this) {
+            final CacheEntry removed = this.memory.remove(key);
+            if (removed != null) {
+                this.memorySize -= removed.size();
+            }
+        }
+        if (this.directory != null) {
+            this.deleteFile(this.file(key));
+        }
+    }
+
+    private synchronized void putInMemory(final String key, final CacheEntry entry) {
+        if (entry.size() > this.configuration.getMaxMemorySize()) {
+            // too big for memory, only kept on disk if enabled.
+            return;
+        }
+        final CacheEntry previous = this.memory.put(key, entry);
+        if (previous != null) {
+            this.memorySize -= previous.size();
+        }
+        this.memorySize += entry.size();
+
+        final Iterator<Map.Entry<String, CacheEntry>> eldest = this.memory.entrySet().iterator();
+        while (eldest.hasNext() && (this.memory.size() > this.configuration.getMaxEntries()
+                || this.memorySize > this.configuration.getMaxMemorySize())) {
+            this.memorySize -= eldest.next().getValue().size();
+            eldest.remove();
+            this.statistics.eviction();
+        }
+    }
+
+    private Path initDirectory(final String diskDirectory) {
+        if (diskDirectory == null || diskDirectory.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            final Path dir = Files.createDirectories(Paths.get(diskDirectory.trim()));
+            this.diskSize.set(this.diskFiles(dir).stream().mapToLong(this::fileSize).sum());
+            return dir;
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Can't use '{}' as HTTP response cache directory, responses are only cached in memory: {}",
+                    diskDirectory, e.getMessage());
+            return null;
+        }
+    }
+
+    private Optional<CacheEntry> readFromDisk(final String key) {
+        if (this.directory == null) {
+            return Optional.empty();
+        }
+        final Path file = this.file(key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return Optional.of(CacheEntry.read(in));
+        } catch (IOException e) {
+            log.debug("Can't read cached HTTP response {}: {}", file, e.getMessage());
+            this.deleteFile(file);
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(final String key, final CacheEntry entry) {
+        if (this.directory == null || entry.size() > this.configuration.getMaxDiskSize()) {
+            return;
+        }
+        final Path file = this.file(key);
+        try {
+            final Path tmp = Files.createTempFile(this.directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                entry.write(out);
+            }
+            final long previousSize = this.fileSize(file);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (this.diskSize.addAndGet(this.fileSize(file) - previousSize) > this.configuration.getMaxDiskSize()) {
+                this.pruneDisk();
+            }
+        } catch (IOException e) {
+            log.debug("Can't write cached HTTP response {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete least recently written files until disk size is under the limit.
+     */
+    private synchronized void pruneDisk() {
+        final List<Path> files = this.diskFiles(this.directory);
+        files.sort(Comparator.comparingLong(this::lastModified));
+        final Iterator<Path> oldest = files.iterator();
+        while (oldest.hasNext() && this.diskSize.get() > this.configuration.getMaxDiskSize()) {
+            this.deleteFile(oldest.next());
+        }
+    }
+
+    private List<Path> diskFiles(final Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter((Path p) -> p.getFileName().toString().endsWith(FILE_EXTENSION))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path file(final String key) {
+        return this.directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private void deleteFile(final Path file) {
+        final long size = this.fileSize(file);
+        try {
+            if (Files.deleteIfExists(file)) {
+                this.diskSize.addAndGet(-size);
+            }
+        } catch (IOException e) {
+            log.debug("Can't delete cached HTTP response {}: {}", file, e.getMessage());
+        }
+    }
+
+    private long fileSize(final Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private long lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void update(final MessageDigest digest, final List<KeyValuePair> keyValuePairs) {
+        if (keyValuePairs == null) {
+            update(digest, (String) null);
+            return;
+        }
+        keyValuePairs.forEach((KeyValuePair kvp) -> {
+            update(digest, kvp.getKey());
+            update(digest, kvp.getValue());
+        });
+        update(digest, "\u0001");
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // separator, so that ("ab", "c") & ("a", "bc") don't give same key.
+        digest.update((byte) 0);
+    }
+}
@@ -14,6 +14,7 @@ package org.talend.components.common.httpclient.factory;
 
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.cache.CachingHTTPClient;
 import org.talend.components.common.httpclient.impl.cxf.CXFHTTPClientImpl;
 
 /**
@@ -27,6 +28,12 @@ public class HTTPClientFactory {
     }
 
     public static HTTPClient create(QueryConfiguration queryConfiguration) {
+        if (queryConfiguration.getResponseCache() != null) {
+            // The caching client adds conditional headers to the configuration, so it works on its own copy.
+            QueryConfiguration cachedQueryConfiguration = queryConfiguration.copy();
+            return new CachingHTTPClient<>(cachedQueryConfiguration,
+                    new CXFHTTPClientImpl(cachedQueryConfiguration));
+        }
         return new CXFHTTPClientImpl(queryConfiguration);
     }
 
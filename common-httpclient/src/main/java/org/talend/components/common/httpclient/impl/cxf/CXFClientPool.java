@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.impl.cxf;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.talend.components.common.httpclient.api.ConnectionPoolConfiguration;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.ProxyConfiguration;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.authentication.AuthenticationType;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool of configured CXF web clients.
+ * Clients are shared by queries that have same base URL (scheme, host, port), TLS, proxy, authentication,
+ * redirection & compression settings; so conduit configuration & keep-alive connections are reused between queries.
+ * Pools without client in use nor idle client are removed, credentials are only kept hashed in pool keys.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class CXFClientPool {
+
+    private static final CXFClientPool INSTANCE = new CXFClientPool();
+
+    private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+
+    static CXFClientPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Borrow a client for the query, waiting at most connection timeout if all clients of the pool are in use.
+     *
+     * @param config : query configuration (must have a connection pool configuration).
+     * @param factory : create and configure a new client for the URL.
+     * @return pooled client, to be released after use.
+     */
+    PooledClient borrow(final QueryConfiguration config, final Function<String, WebClient> factory)
+            throws HTTPClientException {
+        final ConnectionPoolConfiguration poolConfig = config.getConnectionPool();
+        final PoolKey key = PoolKey.of(config);
+        // registered as user atomically with the lookup, so that the pool is not pruned meanwhile.
+        final Pool pool = this.pools.compute(key, (PoolKey k, Pool existing) -> {
+            final Pool current = existing == null
+                    ? new Pool(poolConfig.getMaxConnectionsPerHost(), poolConfig.getIdleTimeout())
+                    : existing;
+            current.addUser();
+            return current;
+        });
+        try {
+            pool.acquire(config.getConnectionTimeout(), key);
+        } catch (HTTPClientException ex) {
+            pool.removeUser();
+            throw ex;
+        }
+
+        try {
+            this.prune();
+            PooledClient client = pool.poll();
+            if (client == null) {
+                client = new PooledClient(pool, factory.apply(config.getUrl()), false);
+            } else {
+                client.getClient().reset();
+                client.getClient().to(config.getUrl(), false);
+                client = new PooledClient(pool, client.getClient(), true);
+            }
+            return client;
+        } catch (RuntimeException ex) {
+            pool.getPermits().release();
+            pool.removeUser();
+            throw ex;
+        }
+    }
+
+    /**
+     * Close all idle clients.
+     */
+    void clear() {
+        this.pools.values().forEach((Pool pool) -> pool.evictIdle(-1L));
+        this.prune();
+    }
+
+    /**
+     * Close clients idle for too long, and remove unused pools.
+     */
+    private void prune() {
+        for (PoolKey key : this.pools.keySet()) {
+            this.pools.computeIfPresent(key, (PoolKey k, Pool pool) -> {
+                pool.evictIdle(pool.getIdleTimeout());
+                return pool.isUnused() ? null : pool;
+            });
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    static class PooledClient {
+
+        private final Pool pool;
+
+        private final WebClient client;
+
+        /** true if client comes from pool, so its conduit is already configured */
+        private final boolean reused;
+
+        private volatile long lastUse;
+
+        /**
+         * Give client back to pool.
+         */
+        void release() {
+            this.lastUse = System.currentTimeMillis();
+            this.pool.offer(this);
+            this.pool.getPermits().release();
+            this.pool.removeUser();
+        }
+    }
+
+    @Getter
+    static class Pool {
+
+        private final Semaphore permits;
+
+        private final long idleTimeout;
+
+        /** borrowers waiting for or using a client, guarded by the pool */
+        @Getter(AccessLevel.NONE)
+        private int users;
+
+        /** idle clients, last used first, guarded by the pool */
+        @Getter(AccessLevel.NONE)
+        private final Deque<PooledClient> idle = new ArrayDeque<>();
+
+        Pool(final int maxConnections, final long idleTimeout) {
+            this.permits = new Semaphore(maxConnections, true);
+            this.idleTimeout = idleTimeout;
+        }
+
+        synchronized PooledClient poll() {
+            return this.idle.pollFirst();
+        }
+
+        synchronized void offer(final PooledClient client) {
+            this.idle.addFirst(client);
+        }
+
+        synchronized void addUser() {
+            this.users++;
+        }
+
+        synchronized void removeUser() {
+            this.users--;
+        }
+
+        /**
+         * @return true if no client is in use nor idle.
+         */
+        synchronized boolean isUnused() {
+            return this.users == 0 && this.idle.isEmpty();
+        }
+
+        void acquire(final long timeout, final PoolKey key) throws HTTPClientException {
+            try {
+                final long waitTimeout = timeout > 0 ? timeout : Long.MAX_VALUE;
+                if (!this.permits.tryAcquire(waitTimeout, TimeUnit.MILLISECONDS)) {
+                    throw new HTTPClientException(
+                            String.format("Timeout while waiting for a pooled HTTP connection to '%s'.",
+                                    key.getBaseAddress()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HTTPClientException("Interrupted while waiting for a pooled HTTP connection.", e);
+            }
+        }
+
+        void evictIdle(final long timeout) {
+            final long limit = System.currentTimeMillis() - timeout;
+            final List<PooledClient> evicted = new ArrayList<>();
+            synchronized (this) {
+                // clients are removed under the lock, so that a borrower can't take a client being closed.
+                final Iterator<PooledClient> clients = this.idle.iterator();
+                while (clients.hasNext()) {
+                    final PooledClient client = clients.next();
+                    if (timeout < 0 || client.getLastUse() < limit) {
+                        clients.remove();
+                        evicted.add(client);
+                    }
+                }
+            }
+            for (PooledClient client : evicted) {
+                try {
+                    client.getClient().close();
+                } catch (RuntimeException ex) {
+                    log.debug("Error while closing idle HTTP client: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Settings that are applied on CXF conduit and can't change between queries that share a client.
+     */
+    @Value
+    static class PoolKey {
+
+        String baseAddress;
+
+        boolean bypassCertificateValidation;
+
+        ProxyConfiguration.ProxyType proxyType;
+
+        String proxyHost;
+
+        int proxyPort;
+
+        AuthenticationType authenticationType;
+
+        /** hash of proxy and authentication credentials */
+        String credentials;
+
+        boolean acceptRedirections;
+
+        boolean acceptOnlySameHostRedirection;
+
+        boolean acceptRelativeURLRedirection;
+
+        int maxNumberOfAcceptedRedirectionsOnSameURI;
+
+        String allowedURIRedirection;
+
+        boolean decompressResponsePayload;
+
+        boolean compressRequestPayload;
+
+        static PoolKey of(final QueryConfiguration config) {
+            final URI uri = URI.create(config.getUrl());
+            final String baseAddress = String.format("%s://%s:%s", uri.getScheme(), uri.getHost(), uri.getPort());
+
+            final ProxyConfiguration proxy = config.getProxy();
+            final boolean loginAuth = config.getLoginPassword() != null
+                    && (config.getAuthenticationType() == AuthenticationType.Basic
+                            || config.getAuthenticationType() == AuthenticationType.Digest
+                            || config.getAuthenticationType() == AuthenticationType.NTLM);
+
+            return new PoolKey(baseAddress,
+                    config.isBypassCertificateValidation(),
+                    proxy == null ? null : proxy.getType(),
+                    proxy == null ? null : proxy.getHost(),
+                    proxy == null ? -1 : proxy.getPort(),
+                    config.getAuthenticationType(),
+                    hash(proxy == null ? null : proxy.getCredentials().getLogin(),
+                            proxy == null ? null : proxy.getCredentials().getPassword(),
+                            loginAuth ? config.getLoginPassword().getLogin() : null,
+                            loginAuth ? config.getLoginPassword().getPassword() : null),
+                    config.isAcceptRedirections(),
+                    config.isAcceptOnlySameHostRedirection(),
+                    config.isAcceptRelativeURLRedirection(),
+                    config.getMaxNumberOfAcceptedRedirectionsOnSameURI(),
+                    config.getAllowedURIRedirection(),
+                    config.isDecompressResponsePayload(),
+                    config.isCompressRequestPayload());
+        }
+
+        private static String hash(final String... values) {
+            try {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (String value : values) {
+                    if (value != null) {
+                        digest.update(value.getBytes(StandardCharsets.UTF_8));
+                    }
+                    // separator, so that ("ab", "c") and ("a", "bc") differ.
+                    digest.update((byte) (value == null ? 1 : 0));
+                }
+                return Base64.getEncoder().encodeToString(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
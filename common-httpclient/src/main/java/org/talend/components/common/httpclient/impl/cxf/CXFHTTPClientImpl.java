@@ -33,8 +33,10 @@ import org.apache.cxf.jaxrs.ext.multipart.AttachmentBuilder;
 import org.apache.cxf.jaxrs.ext.multipart.ContentDisposition;
 import org.apache.cxf.jaxrs.ext.multipart.MultipartBody;
 import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
 import org.apache.cxf.transport.http.HTTPConduit;
 import org.apache.cxf.transport.http.auth.HttpAuthHeader;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
 import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
 import org.apache.cxf.transports.http.configuration.ProxyServerType;
 import org.talend.components.common.httpclient.api.BodyFormat;
@@ -60,6 +62,9 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
 
     private Token token;
 
+    /** set when the caller took the nested client: it is configured for this instance, out of the pool */
+    private boolean detached;
+
     public CXFHTTPClientImpl(final QueryConfiguration queryConfiguration) {
         // This is to force the use of the same classloader of this class
         // If not, it uses the cxf tries to load the Bus with the current thread contextclassloader
@@ -70,16 +75,58 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
             Thread.currentThread().setContextClassLoader(this.getClass().getClassLoader());
 
             this.queryConfiguration = queryConfiguration;
-            String url = configureURL();
-            this.webClient = WebClient.create(url);
+            if (!this.isPooled()) {
+                String url = configureURL();
+                this.webClient = WebClient.create(url);
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(backupThreadContextClassLoader);
+        }
+
+    }
+
+    /**
+     * Create a client for the pool, with its conduit configured once for all queries that will use it.
+     */
+    private WebClient createPooledClient(final String url) {
+        this.webClient = this.createClient(url);
+
+        certificateValidation();
+        manageProxy();
+        manageRedirections();
+        manageDecompression();
+        manageCompression();
+
+        final HTTPClientPolicy policy = WebClient.getConfig(webClient).getHttpConduit().getClient();
+        policy.setConnection(ConnectionType.KEEP_ALIVE);
+        return this.webClient;
+    }
+
+    private WebClient createClient(final String url) {
+        ClassLoader backupThreadContextClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(this.getClass().getClassLoader());
+            return WebClient.create(url);
         } finally {
             Thread.currentThread().setContextClassLoader(backupThreadContextClassLoader);
         }
+    }
 
+    private boolean isPooled() {
+        return !this.detached && this.queryConfiguration.getConnectionPool() != null;
     }
 
+    /**
+     * With pooled connections, a pooled client is only bound to this instance during invoke(): asking for the nested
+     * client outside of it gives this instance its own client, so that the caller configuration applies to the next
+     * invoke(), which doesn't use the pool anymore.
+     */
     @Override
     public WebClient getNestedClient() {
+        if (this.webClient == null && this.isPooled()) {
+            this.detached = true;
+            this.webClient = this.createClient(configureURL());
+        }
         return this.webClient;
     }
 
@@ -92,9 +139,28 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
     public HTTPResponse invoke() throws HTTPClientException {
         validateURL();
 
+        if (!this.isPooled()) {
+            return this.doInvoke(false);
+        }
+
+        final CXFClientPool.PooledClient pooledClient =
+                CXFClientPool.getInstance().borrow(this.queryConfiguration, this::createPooledClient);
+        try {
+            this.webClient = pooledClient.getClient();
+            return this.doInvoke(true);
+        } finally {
+            // response payload doesn't depend on client, it can be given back to the pool
+            this.webClient = null;
+            pooledClient.release();
+        }
+    }
+
+    private HTTPResponse doInvoke(final boolean pooled) throws HTTPClientException {
         manageAuthentication();
 
-        certificateValidation();
+        if (!pooled) {
+            certificateValidation();
+        }
 
         if (queryConfiguration.getBodyType() != null) {
             webClient
@@ -116,9 +182,15 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
         // Set URL query parameters
         queryConfiguration.getQueryParams().stream().forEach(q -> webClient.query(q.getKey(), q.getValue()));
 
-        manageProxy();
+        if (!pooled) {
+            manageProxy();
 
-        manageRedirections();
+            manageRedirections();
+
+            manageDecompression();
+
+            manageCompression();
+        }
 
         try {
             Response invoke = getResponse();
@@ -320,12 +392,6 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
     private Response getResponse() {
         Response invoke;
 
-        ClientConfiguration config = WebClient.getConfig(webClient);
-
-        if (queryConfiguration.isDecompressResponsePayload()) {
-            config.getInInterceptors().add(new GZIPInInterceptor());
-        }
-
         BodyFormat bodyType = queryConfiguration.getBodyType();
         if (bodyType == BodyFormat.FORM_DATA) {
             invoke = webClient.invoke(getHTTPMethod(), buildMultiPartBody());
@@ -338,6 +404,22 @@ public class CXFHTTPClientImpl implements HTTPClient<WebClient> {
         return invoke;
     }
 
+    private void manageDecompression() {
+        if (queryConfiguration.isDecompressResponsePayload()) {
+            ClientConfiguration config = WebClient.getConfig(webClient);
+            config.getInInterceptors().add(new GZIPInInterceptor());
+        }
+    }
+
+    private void manageCompression() {
+        if (queryConfiguration.isCompressRequestPayload()) {
+            // threshold 0 and forced: the body is always gzipped while it is written to the connection
+            GZIPOutInterceptor gzipOutInterceptor = new GZIPOutInterceptor(0);
+            gzipOutInterceptor.setForce(true);
+            WebClient.getConfig(webClient).getOutInterceptors().add(gzipOutInterceptor);
+        }
+    }
+
     private MultipartBody buildMultiPartBody() {
         List<Attachment> attachments = queryConfiguration.getBodyQueryParams().stream().map(p -> {
             AttachmentBuilder attachmentBuilder = new AttachmentBuilder();
@@ -15,10 +15,14 @@ package org.talend.components.common.httpclient.pagination;
 import java.io.StringReader;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import javax.json.JsonReader;
+import javax.json.JsonValue;
 
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
@@ -100,6 +104,104 @@ public class OffsetLimitPaginationStrategy implements PaginationStrategy {
         return this.lastCount;
     }
 
+    /**
+     * Read the total number of elements, when the API gives it in the response (totalPath of the pagination).
+     *
+     * @param response The HTTP response of a page.
+     * @return The total number of elements, empty if no total path or if not found in the response.
+     */
+    public OptionalLong getTotal(HTTPClient.HTTPResponse response) throws HTTPClientException {
+        String totalPath = this.queryConfiguration.getOffsetLimitPagination().getTotalPath();
+        if (totalPath == null || totalPath.trim().isEmpty()) {
+            return OptionalLong.empty();
+        }
+
+        try (JsonReader jsonReader = Json.createReader(new StringReader(response.getBodyAsString()))) {
+            JsonValue current = jsonReader.readObject();
+            for (String segment : totalPath.trim().split("\\.")) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (current.getValueType() != JsonValue.ValueType.OBJECT) {
+                    return OptionalLong.empty();
+                }
+                current = current.asJsonObject().get(segment);
+                if (current == null) {
+                    return OptionalLong.empty();
+                }
+            }
+            if (current.getValueType() != JsonValue.ValueType.NUMBER) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(((JsonNumber) current).longValue());
+        } catch (JsonException | IllegalStateException e) {
+            // Not a json object: no total.
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Build the configuration to retrieve the page starting at the given offset, the given configuration is not
+     * updated. So pages can be retrieved in parallel.
+     *
+     * @param queryConfiguration The configuration of the 1st page (pagination initiated).
+     * @param offset The offset of the page.
+     * @return A new configuration.
+     */
+    public static QueryConfiguration pageConfiguration(QueryConfiguration queryConfiguration, long offset) {
+        QueryConfiguration page = queryConfiguration.copy();
+        OffsetLimitPagination offsetLimitPagination = page.getOffsetLimitPagination();
+        List<KeyValuePair> keyValuePairs = getPaginationKeyValuePairs(page);
+
+        Optional<KeyValuePair> existingOffset = keyValuePairs.stream()
+                .filter(h -> h.getKey().equals(offsetLimitPagination.getOffsetParamName()))
+                .findFirst();
+        if (existingOffset.isPresent()) {
+            existingOffset.get().setValue(String.valueOf(offset));
+        } else {
+            keyValuePairs.add(new KeyValuePair(offsetLimitPagination.getOffsetParamName(), String.valueOf(offset)));
+        }
+
+        return page;
+    }
+
+    /**
+     * @param queryConfiguration The configuration with pagination initiated.
+     * @return The current offset value, empty if not set or not a number.
+     */
+    public static OptionalLong getOffset(QueryConfiguration queryConfiguration) {
+        return getPaginationValue(queryConfiguration,
+                queryConfiguration.getOffsetLimitPagination().getOffsetParamName());
+    }
+
+    /**
+     * @param queryConfiguration The configuration with pagination initiated.
+     * @return The current limit value, empty if not set or not a number.
+     */
+    public static OptionalLong getLimit(QueryConfiguration queryConfiguration) {
+        return getPaginationValue(queryConfiguration,
+                queryConfiguration.getOffsetLimitPagination().getLimitParamName());
+    }
+
+    private static OptionalLong getPaginationValue(QueryConfiguration queryConfiguration, String paramName) {
+        Optional<String> value = getPaginationKeyValuePairs(queryConfiguration).stream()
+                .filter(h -> h.getKey().equals(paramName))
+                .map(KeyValuePair::getValue)
+                .findFirst();
+        try {
+            return value.isPresent() ? OptionalLong.of(Long.parseLong(value.get().trim())) : OptionalLong.empty();
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static List<KeyValuePair> getPaginationKeyValuePairs(QueryConfiguration queryConfiguration) {
+        if (queryConfiguration.getOffsetLimitPagination().getLocation() == PaginationParametersLocation.HEADERS) {
+            return queryConfiguration.getHeaders();
+        }
+        return queryConfiguration.getQueryParams();
+    }
+
     private List<KeyValuePair> initKeyValuePairs(final List<KeyValuePair> kvps,
             final OffsetLimitPagination offsetLimitPagination) {
         kvps.add(new KeyValuePair(offsetLimitPagination.getOffsetParamName(), offsetLimitPagination.getOffsetValue()));
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.httpclient.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.QueryConfigurationBuilder;
+import org.talend.components.common.httpclient.api.ResponseCacheConfiguration;
+
+class ResponseCacheTest {
+
+    @Test
+    void lruEviction() {
+        final ResponseCacheConfiguration configuration = new ResponseCacheConfiguration();
+        configuration.setMaxEntries(2);
+        configuration.setDiskDirectory(null);
+        final ResponseCache cache = new ResponseCache(configuration);
+
+        cache.put("a", this.entry("A"));
+        cache.put("b", this.entry("B"));
+        Assertions.assertTrue(cache.get("a").isPresent()); // 'a' is now the most recently used
+        cache.put("c", this.entry("C"));
+
+        Assertions.assertTrue(cache.get("a").isPresent());
+        Assertions.assertFalse(cache.get("b").isPresent());
+        Assertions.assertTrue(cache.get("c").isPresent());
+        Assertions.assertEquals(1, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    void diskTier(@TempDir final Path directory) {
+        final ResponseCacheConfiguration configuration = new ResponseCacheConfiguration();
+        configuration.setMaxEntries(1);
+        configuration.setDiskDirectory(directory.toString());
+        final ResponseCache cache = new ResponseCache(configuration);
+
+        cache.put("a", this.entry("A"));
+        cache.put("b", this.entry("B"));
+
+        // 'a' evicted from memory is loaded back from disk.
+        final Optional<CacheEntry> a = cache.get("a");
+        Assertions.assertTrue(a.isPresent());
+        Assertions.assertEquals("A", new String(a.get().getPayload(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("\"A\"", a.get().getEtag());
+        Assertions.assertEquals(1, cache.getStatistics().getDiskHits());
+
+        // disk tier survives the memory one.
+        final ResponseCache other = new ResponseCache(configuration);
+        Assertions.assertTrue(other.get("b").isPresent());
+        other.clear();
+        Assertions.assertFalse(new ResponseCache(configuration).get("b").isPresent());
+    }
+
+    @Test
+    void keys() {
+        final QueryConfiguration query = QueryConfigurationBuilder.create("http://localhost/resource")
+                .setMethod("GET")
+                .addHeader("Accept", "application/json")
+                .addHeader("X-Trace", "1")
+                .addQueryParam("q", "a")
+                .build();
+        final QueryConfiguration sameHeadersOtherOrder = QueryConfigurationBuilder.create("http://localhost/resource")
+                .setMethod("get")
+                .addHeader("x-trace", "1")
+                .addHeader("Accept", "application/json")
+                .addQueryParam("q", "a")
+                .build();
+        final QueryConfiguration otherParam = QueryConfigurationBuilder.create("http://localhost/resource")
+                .setMethod("GET")
+                .addHeader("Accept", "application/json")
+                .addHeader("X-Trace", "1")
+                .addQueryParam("q", "b")
+                .build();
+
+        Assertions.assertEquals(ResponseCache.key(query), ResponseCache.key(sameHeadersOtherOrder));
+        Assertions.assertNotEquals(ResponseCache.key(query), ResponseCache.key(otherParam));
+    }
+
+    private CacheEntry entry(final String content) {
+        final CacheEntry entry = new CacheEntry(200, "OK", "SUCCESSFUL", Collections.singletonMap("ETag",
+                "\"" + content + "\""), "UTF-8", content.getBytes(StandardCharsets.UTF_8), "\"" + content + "\"", null);
+        entry.setExpiresAt(System.currentTimeMillis() + 60_000L);
+        return entry;
+    }
+}
@@ -28,6 +28,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 
 import org.apache.cxf.helpers.HttpHeaderHelper;
+import org.apache.cxf.jaxrs.client.WebClient;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -42,11 +43,15 @@ import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.common.httpclient.api.QueryConfigurationBuilder;
+import org.talend.components.common.httpclient.api.ResponseCacheConfiguration;
 import org.talend.components.common.httpclient.api.ResponseFormat;
 import org.talend.components.common.httpclient.api.authentication.OAuth20;
 import org.talend.components.common.httpclient.api.authentication.Token;
 import org.talend.components.common.httpclient.api.pagination.PaginationParametersLocation;
+import org.talend.components.common.httpclient.cache.CacheStatistics;
+import org.talend.components.common.httpclient.cache.ResponseCache;
 import org.talend.components.common.httpclient.factory.HTTPClientFactory;
+import org.talend.components.common.httpclient.pagination.OffsetLimitPaginationStrategy;
 import org.talend.components.common.httpclient.impl.cxf.servers.AbstractHTTPServerFactory;
 import org.talend.components.common.httpclient.impl.cxf.servers.BasicHTTPServerFactory;
 
@@ -70,6 +75,74 @@ class CXFHTTPClientImplWithBasicHTTPServerTest {
 
     }
 
+    @Test
+    void pooledClientTest() throws HTTPClientException {
+        QueryConfiguration config = QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_SIMPLE))
+                .usePooledConnections(2, 60000)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            HTTPClient.HTTPResponse response = HTTPClientFactory.create(config).invoke();
+            Assertions.assertEquals(ResourcesUtils.loadResource("/responses/simple.json"), response.getBodyAsString());
+        }
+
+        // Client configured by previous calls is given back by the pool
+        CXFClientPool.PooledClient pooled = CXFClientPool.getInstance().borrow(config, url -> {
+            throw new IllegalStateException("A pooled client should have been reused.");
+        });
+        Assertions.assertTrue(pooled.isReused());
+        pooled.release();
+        CXFClientPool.getInstance().clear();
+    }
+
+    @Test
+    void pooledClientNestedClient() throws HTTPClientException {
+        QueryConfiguration config = QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_SIMPLE))
+                .usePooledConnections(2, 60000)
+                .build();
+
+        HTTPClient<WebClient> httpClient = HTTPClientFactory.create(config);
+        WebClient nested = httpClient.getNestedClient();
+        Assertions.assertNotNull(nested);
+        Assertions.assertSame(nested, httpClient.getNestedClient());
+
+        HTTPClient.HTTPResponse response = httpClient.invoke();
+        Assertions.assertEquals(ResourcesUtils.loadResource("/responses/simple.json"), response.getBodyAsString());
+        Assertions.assertSame(nested, httpClient.getNestedClient());
+        CXFClientPool.getInstance().clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "60000,1,0", "0,3,2" })
+    void responseCacheTest(long ttl, int expectedQueries, int expectedNotModified) throws HTTPClientException {
+        ResponseCacheConfiguration cacheConfiguration = new ResponseCacheConfiguration();
+        cacheConfiguration.setTtl(ttl);
+        QueryConfiguration config = QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_ETAG))
+                .useResponseCache(cacheConfiguration)
+                .build();
+        ResponseCache cache = ResponseCache.forConfiguration(cacheConfiguration);
+        cache.clear();
+        BasicHTTPServerFactory.HTTP_ETAG_QUERIES.set(0);
+        BasicHTTPServerFactory.HTTP_ETAG_NOT_MODIFIED.set(0);
+        CacheStatistics statistics = cache.getStatistics();
+        long hits = statistics.getHits();
+        long revalidations = statistics.getRevalidations();
+
+        for (int i = 0; i < 3; i++) {
+            HTTPClient.HTTPResponse response = HTTPClientFactory.create(config).invoke();
+            Assertions.assertEquals(200, response.getStatus().getCode());
+            Assertions.assertEquals(ResourcesUtils.loadResource("/responses/simple.json"), response.getBodyAsString());
+        }
+
+        // Fresh responses are not queried again, expired ones are revalidated with their ETag.
+        Assertions.assertEquals(expectedQueries, BasicHTTPServerFactory.HTTP_ETAG_QUERIES.get());
+        Assertions.assertEquals(expectedNotModified, BasicHTTPServerFactory.HTTP_ETAG_NOT_MODIFIED.get());
+        Assertions.assertEquals(3 - expectedQueries, statistics.getHits() - hits);
+        Assertions.assertEquals(expectedNotModified, statistics.getRevalidations() - revalidations);
+        // Conditional headers are not kept in the configuration
+        Assertions.assertTrue(config.getHeaders().isEmpty());
+    }
+
     @Test
     void urlEncodedForm() throws HTTPClientException {
         String comment = "<p>This is a <em>description</emp> &to check URL encode of form parameters: !=&éè.</p>";
@@ -426,6 +499,22 @@ class CXFHTTPClientImplWithBasicHTTPServerTest {
         }
     }
 
+    @ParameterizedTest
+    @CsvSource({ "true", "false" })
+    void compressRequestPayload(boolean compress) throws HTTPClientException {
+        final QueryConfiguration config =
+                QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_GUNZIP))
+                        .setMethod("POST")
+                        .setJSONBody("{\"event\":\"" + BasicHTTPServerFactory.HELLO_WORLD + "\"}")
+                        .compressRequestPayload(compress)
+                        .build();
+
+        HTTPClient.HTTPResponse response = HTTPClientFactory.create(config).invoke();
+        String expectedEncoding = compress ? "gzip" : "null";
+        Assertions.assertEquals(expectedEncoding + ":{\"event\":\"" + BasicHTTPServerFactory.HELLO_WORLD + "\"}",
+                response.getBodyAsString());
+    }
+
     @ParameterizedTest
     @EnumSource(ResponseFormat.class)
     void responseFormatTest(ResponseFormat f) throws HTTPClientException {
@@ -493,6 +582,41 @@ class CXFHTTPClientImplWithBasicHTTPServerTest {
 
     }
 
+    @Test
+    void offsetLimitPageConfiguration() throws HTTPClientException {
+        QueryConfiguration config =
+                QueryConfigurationBuilder.create(getUrl(BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT))
+                        .setMethod("GET")
+                        .setOffsetLimitPagination(PaginationParametersLocation.QUERY_PARAMETERS,
+                                BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_OFFSETNAME, "5",
+                                BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_LIMITNAME, "10",
+                                BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_ELEMENTS,
+                                "." + BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_TOTAL)
+                        .build();
+        Assertions.assertEquals(5L, OffsetLimitPaginationStrategy.getOffset(config).getAsLong());
+        Assertions.assertEquals(10L, OffsetLimitPaginationStrategy.getLimit(config).getAsLong());
+
+        HTTPClient.HTTPResponse first = HTTPClientFactory.create(config).invoke();
+        long total = new OffsetLimitPaginationStrategy(config).getTotal(first).getAsLong();
+        Assertions.assertEquals(53L, total);
+
+        // Pages are built from the first one, without updating it.
+        int nbElements = first.getLastPageCount();
+        for (long offset = 15; offset < total; offset += 10) {
+            QueryConfiguration page = OffsetLimitPaginationStrategy.pageConfiguration(config, offset);
+            Assertions.assertEquals(offset, OffsetLimitPaginationStrategy.getOffset(page).getAsLong());
+            Assertions.assertEquals(5L, OffsetLimitPaginationStrategy.getOffset(config).getAsLong());
+
+            HTTPClient.HTTPResponse response = HTTPClientFactory.create(page).invoke();
+            JsonReader reader = Json.createReader(new StringReader(response.getBodyAsString()));
+            JsonArray elements =
+                    reader.readObject().getJsonArray(BasicHTTPServerFactory.HTTP_PAGINATION_OFFSET_LIMIT_ELEMENTS);
+            Assertions.assertEquals(offset + 1, elements.getJsonObject(0).getInt("id"));
+            nbElements += response.getLastPageCount();
+        }
+        Assertions.assertEquals(53 - 5, nbElements);
+    }
+
     private static String getUrl(String endPoint) {
         return getBaseURL() + endPoint;
     }
@@ -14,6 +14,7 @@ package org.talend.components.common.httpclient.impl.cxf.servers;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
@@ -24,7 +25,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import javax.json.Json;
@@ -71,8 +74,19 @@ public class BasicHTTPServerFactory implements AbstractHTTPServerFactory<BasicHT
 
     public final static String HTTP_GZIP = "/gzip";
 
+    public final static String HTTP_GUNZIP = "/gunzip";
+
     public final static String HTTP_PAGINATION_OFFSET_LIMIT = "/pagination/offsetlimit/";
 
+    public final static String HTTP_ETAG = "/etag";
+
+    public final static String HTTP_ETAG_VALUE = "\"v1\"";
+
+    /** number of queries received by HTTP_ETAG end point, and number of 304 returned */
+    public final static AtomicInteger HTTP_ETAG_QUERIES = new AtomicInteger();
+
+    public final static AtomicInteger HTTP_ETAG_NOT_MODIFIED = new AtomicInteger();
+
     public final static String HTTP_OAUTH_CLIENT_CREDENTIALS_TOKEN_CLIENT_ID = "1234567890";
 
     public final static String HTTP_OAUTH_CLIENT_CREDENTIALS_TOKEN_CLIENT_SECRET = "SECRET1234567890SECRET";
@@ -83,6 +97,8 @@ public class BasicHTTPServerFactory implements AbstractHTTPServerFactory<BasicHT
 
     public final static String HTTP_PAGINATION_OFFSET_LIMIT_ELEMENTS = "elts";
 
+    public final static String HTTP_PAGINATION_OFFSET_LIMIT_TOTAL = "total";
+
     public final static String HTTP_PAGINATION_OFFSET_LIMIT_LOCALISATION = "confLocalisation";
 
     private static BasicHTTPServerFactory instance;
@@ -125,7 +141,9 @@ public class BasicHTTPServerFactory implements AbstractHTTPServerFactory<BasicHT
         oauth20ClientCredentialBasicAuthentToken(server);
         oauth20ClientCredentialResource(server);
         gzippedPayload(server);
+        gzippedRequest(server);
         paginationOffsetLimit(server);
+        etagContext(server);
     }
 
     private static void paginationOffsetLimit(HttpServer server) {
@@ -162,7 +180,8 @@ public class BasicHTTPServerFactory implements AbstractHTTPServerFactory<BasicHT
 
                 JsonObjectBuilder jsonObjectBuilder = Json.createObjectBuilder()
                         .add(HTTP_PAGINATION_OFFSET_LIMIT_OFFSETNAME, iOffsetValue)
-                        .add(HTTP_PAGINATION_OFFSET_LIMIT_LIMITNAME, iLimitValue);
+                        .add(HTTP_PAGINATION_OFFSET_LIMIT_LIMITNAME, iLimitValue)
+                        .add(HTTP_PAGINATION_OFFSET_LIMIT_TOTAL, elements.size());
 
                 JsonArrayBuilder arrayBuilder = Json.createArrayBuilder();
                 for (int i = iOffsetValue; i < (iOffsetValue + iLimitValue) && i < elements.size(); i++) {
@@ -209,6 +228,35 @@ public class BasicHTTPServerFactory implements AbstractHTTPServerFactory<BasicHT
 
     }
 
+    /**
+     * Answer the request Content-Encoding header and the request body, decompressed if gzipped.
+     */
+    private static void gzippedRequest(HttpServer server) {
+        server.createContext(HTTP_GUNZIP, new HttpHandler() {
+
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                InputStream in = exchange.getRequestBody();
+                if ("gzip".equalsIgnoreCase(encoding)) {
+                    in = new GZIPInputStream(in);
+                }
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    body.write(buffer, 0, n);
+                }
+
+                byte[] bb = (encoding + ":" + body.toString("UTF-8")).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bb.length);
+                OutputStream os = exchange.getResponseBody();
+                os.write(bb);
+                os.close();
+            }
+        });
+    }
+
     private static void oauth20ClientCredentialFormAuthentToken(HttpServer server) {
         server.createContext(HTTP_OAUTH_CLIENT_CREDENTIALS_FORM_TOKEN, new FormOAuthClientCredentialHandler());
     }
@@ -344,6 +392,29 @@ public class BasicHTTPServerFactory implements AbstractHTTPServerFactory<BasicHT
         });
     }
 
+    private static void etagContext(HttpServer server) {
+        server.createContext(HTTP_ETAG, new HttpHandler() {
+
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                HTTP_ETAG_QUERIES.incrementAndGet();
+                exchange.getResponseHeaders().add("ETag", HTTP_ETAG_VALUE);
+                if (HTTP_ETAG_VALUE.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    HTTP_ETAG_NOT_MODIFIED.incrementAndGet();
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+                    exchange.close();
+                    return;
+                }
+
+                byte[] content = ResourcesUtils.loadResource("/responses/simple.json").getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, content.length);
+                OutputStream os = exchange.getResponseBody();
+                os.write(content);
+                os.close();
+            }
+        });
+    }
+
     private static void simpleContext(HttpServer server) {
         server.createContext(HTTP_SIMPLE, new HttpHandler() {
 
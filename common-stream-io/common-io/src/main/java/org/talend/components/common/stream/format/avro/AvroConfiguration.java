@@ -13,14 +13,44 @@
 package org.talend.components.common.stream.format.avro;
 
 import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
 
 import lombok.Data;
 
 @Data
+@GridLayout({ @GridLayout.Row("codec") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("codecLevel") })
 public class AvroConfiguration implements ContentFormat {
 
+    /** use codec default level */
+    public static final int DEFAULT_CODEC_LEVEL = -1;
+
+    /** avro container file block codecs */
+    public enum Codec {
+        NULL,
+        DEFLATE,
+        SNAPPY,
+        ZSTANDARD
+    }
+
     private boolean attachSchema = true;
 
     private String avroSchema;
 
+    @Option
+    @Documentation("Avro container file block codec for writing (files are read with any codec).")
+    private AvroConfiguration.Codec codec = AvroConfiguration.Codec.NULL;
+
+    @Option
+    @Min(-1)
+    @Max(22)
+    @ActiveIf(target = "codec", value = { "DEFLATE", "ZSTANDARD" })
+    @Documentation("Codec level for writing, 1 to 9 for deflate, 1 to 22 for zstandard (-1 for codec default).")
+    private int codecLevel = DEFAULT_CODEC_LEVEL;
+
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.format.compression;
+
+import java.io.Serializable;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import lombok.Data;
+
+/**
+ * Compression applied on stream around any content format (csv, json, avro ...).
+ */
+@Data
+@GridLayout({ @GridLayout.Row("compressionType") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "level", "workers" }) })
+@Documentation("Stream compression configuration.")
+public class CompressionConfiguration implements Serializable {
+
+    private static final long serialVersionUID = 2917450218640315577L;
+
+    /** use codec default level */
+    public static final int DEFAULT_LEVEL = -1;
+
+    public enum Type {
+        /** plain stream */
+        NONE,
+        /** detect codec from stream magic bytes (for read only, write as plain stream) */
+        AUTO,
+        GZIP,
+        ZSTD,
+        SNAPPY
+    }
+
+    @Option
+    @Documentation("Compression codec.")
+    private CompressionConfiguration.Type compressionType = CompressionConfiguration.Type.NONE;
+
+    @Option
+    @Min(-1)
+    @Max(22)
+    @ActiveIf(target = "compressionType", value = { "GZIP", "ZSTD" })
+    @Documentation("Compression level for writing, 1 to 9 for gzip, 1 to 22 for zstd (-1 for codec default).")
+    private int level = DEFAULT_LEVEL;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "compressionType", value = { "GZIP", "ZSTD" })
+    @Documentation("Number of threads used to compress while writing.")
+    private int workers = 1;
+
+    public static CompressionConfiguration none() {
+        return new CompressionConfiguration();
+    }
+
+    public static CompressionConfiguration of(final CompressionConfiguration.Type type) {
+        final CompressionConfiguration config = new CompressionConfiguration();
+        config.setCompressionType(type);
+        return config;
+    }
+
+    public boolean isCompressed() {
+        return this.compressionType != null && this.compressionType != CompressionConfiguration.Type.NONE;
+    }
+}
@@ -26,9 +26,12 @@ import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonValue;
 
+import org.talend.components.common.stream.api.compression.CompressedReaderSupplier;
+import org.talend.components.common.stream.api.compression.CompressedWriterSupplier;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
 import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
 import org.talend.sdk.component.api.service.Service;
 
 import lombok.extern.slf4j.Slf4j;
@@ -174,4 +177,37 @@ public class RecordIORepository {
         return writer;
     }
 
+    /**
+     * Find reader for format, that decompress input stream before reading it.
+     * 
+     * @param clazz : content format class.
+     * @param compression : compression of input streams (AUTO to detect it from stream).
+     * @return reader supplier.
+     */
+    public <T extends ContentFormat> RecordReaderSupplier findReader(Class<T> clazz,
+            CompressionConfiguration compression) {
+        final RecordReaderSupplier reader = this.findReader(clazz);
+        if (compression == null || !compression.isCompressed()) {
+            return reader;
+        }
+        return new CompressedReaderSupplier(reader, compression);
+    }
+
+    /**
+     * Find writer for format, that compress content written.
+     * 
+     * @param clazz : content format class.
+     * @param compression : compression of output streams.
+     * @return writer supplier.
+     */
+    public <T extends ContentFormat> RecordWriterSupplier findWriter(Class<T> clazz,
+            CompressionConfiguration compression) {
+        final RecordWriterSupplier writer = this.findWriter(clazz);
+        if (compression == null || !compression.isCompressed()
+                || compression.getCompressionType() == CompressionConfiguration.Type.AUTO) {
+            return writer;
+        }
+        return new CompressedWriterSupplier(writer, compression);
+    }
+
 }
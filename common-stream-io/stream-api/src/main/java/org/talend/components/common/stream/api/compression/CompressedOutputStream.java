@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Compressing output stream, that can end compressed content (trailer) without closing destination.
+ */
+public class CompressedOutputStream extends FilterOutputStream {
+
+    /** real destination (not compressed) */
+    private final OutputStream destination;
+
+    private boolean finished = false;
+
+    /**
+     * @param compressor : codec stream, built over a non closing view of destination.
+     * @param destination : destination stream.
+     */
+    CompressedOutputStream(final OutputStream compressor, final OutputStream destination) {
+        super(compressor);
+        this.destination = destination;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.out.write(b, off, len);
+    }
+
+    /**
+     * Write codec trailer, destination stay opened.
+     */
+    public void finish() throws IOException {
+        if (!this.finished) {
+            this.finished = true;
+            this.out.close();
+            this.destination.flush();
+        }
+    }
+
+    public boolean isFinished() {
+        return this.finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.finish();
+        } finally {
+            this.destination.close();
+        }
+    }
+
+    /**
+     * Protect destination from being closed by codec stream.
+     */
+    static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.out.flush();
+        }
+    }
+}
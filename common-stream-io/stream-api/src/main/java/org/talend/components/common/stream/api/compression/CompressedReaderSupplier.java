@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.api.input.RecordReaderSupplier;
+import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reader supplier that decompress input stream before giving it to format reader.
+ */
+@RequiredArgsConstructor
+public class CompressedReaderSupplier implements RecordReaderSupplier {
+
+    /** format reader supplier */
+    private final RecordReaderSupplier delegate;
+
+    private final CompressionConfiguration compression;
+
+    @Override
+    public RecordReader getReader(final RecordBuilderFactory factory, final ContentFormat config,
+            final Object extraParameter) {
+        final RecordReader reader = this.delegate.getReader(factory, config, extraParameter);
+        return new CompressedRecordReader(reader, this.compression);
+    }
+
+    @RequiredArgsConstructor
+    private static class CompressedRecordReader implements RecordReader {
+
+        private final RecordReader reader;
+
+        private final CompressionConfiguration compression;
+
+        @Override
+        public Iterator<Record> read(final InputStream input) {
+            try {
+                return this.reader.read(Compressions.decompress(input, this.compression));
+            } catch (IOException exIO) {
+                throw new UncheckedIOException("Unable to decompress input stream", exIO);
+            }
+        }
+
+        @Override
+        public void close() {
+            this.reader.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.talend.components.common.stream.api.output.RecordWriter;
+import org.talend.components.common.stream.api.output.RecordWriterSupplier;
+import org.talend.components.common.stream.api.output.TargetFinder;
+import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writer supplier that compress what format writer produce.
+ */
+@RequiredArgsConstructor
+public class CompressedWriterSupplier implements RecordWriterSupplier {
+
+    /** format writer supplier */
+    private final RecordWriterSupplier delegate;
+
+    private final CompressionConfiguration compression;
+
+    @Override
+    public RecordWriter getWriter(final TargetFinder target, final ContentFormat config) {
+        final CompressedTarget compressedTarget = new CompressedTarget(target, this.compression);
+        return new CompressedRecordWriter(this.delegate.getWriter(compressedTarget, config), compressedTarget);
+    }
+
+    @Override
+    public RecordWriter getWriter(final TargetFinder target, final ContentFormat config, final Object extraParameter) {
+        final CompressedTarget compressedTarget = new CompressedTarget(target, this.compression);
+        return new CompressedRecordWriter(this.delegate.getWriter(compressedTarget, config, extraParameter),
+                compressedTarget);
+    }
+
+    /**
+     * Wrap target stream with compressor, keeping same compressor while target stream doesn't change.
+     */
+    @RequiredArgsConstructor
+    private static class CompressedTarget implements TargetFinder {
+
+        private final TargetFinder target;
+
+        private final CompressionConfiguration compression;
+
+        private OutputStream current;
+
+        private CompressedOutputStream compressed;
+
+        @Override
+        public OutputStream find() throws IOException {
+            final OutputStream output = this.target.find();
+            if (output != this.current) {
+                this.finish();
+                this.current = output;
+                this.compressed = Compressions.compress(output, this.compression);
+            }
+            return this.compressed == null ? output : this.compressed;
+        }
+
+        void flush() throws IOException {
+            if (this.compressed != null && !this.compressed.isFinished()) {
+                this.compressed.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (this.compressed != null) {
+                this.compressed.finish();
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class CompressedRecordWriter implements RecordWriter {
+
+        private final RecordWriter writer;
+
+        private final CompressedTarget target;
+
+        @Override
+        public void init(final ContentFormat config) throws IOException {
+            this.writer.init(config);
+        }
+
+        @Override
+        public void add(final Record rec) throws IOException {
+            this.writer.add(rec);
+        }
+
+        @Override
+        public void add(final Iterable<Record> records) throws IOException {
+            this.writer.add(records);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.writer.flush();
+            this.target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.writer.close();
+            } finally {
+                this.target.finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
+import org.xerial.snappy.SnappyFramedInputStream;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+/**
+ * Build compressed/decompressed stream for a compression configuration.
+ */
+public final class Compressions {
+
+    /** gzip magic header (RFC 1952) */
+    private static final byte[] GZIP_MAGIC = new byte[] { (byte) 0x1f, (byte) 0x8b };
+
+    /** zstd frame magic number (little endian 0xFD2FB528) */
+    private static final byte[] ZSTD_MAGIC = new byte[] { (byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd };
+
+    /** snappy framing format stream identifier chunk */
+    private static final byte[] SNAPPY_MAGIC =
+            new byte[] { (byte) 0xff, 0x06, 0x00, 0x00, 0x73, 0x4e, 0x61, 0x50, 0x70, 0x59 };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** highest zstd level */
+    private static final int ZSTD_MAX_LEVEL = 22;
+
+    private Compressions() {
+    }
+
+    /**
+     * Decompress input stream.
+     *
+     * @param input : raw input (compressed or not).
+     * @param config : compression config, with AUTO, codec is guessed from magic bytes.
+     * @return decompressed input stream.
+     */
+    public static InputStream decompress(final InputStream input, final CompressionConfiguration config)
+            throws IOException {
+        if (config == null || !config.isCompressed()) {
+            return input;
+        }
+        CompressionConfiguration.Type type = config.getCompressionType();
+        InputStream source = input;
+        if (type == CompressionConfiguration.Type.AUTO) {
+            final BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+            type = Compressions.detect(buffered);
+            source = buffered;
+        }
+        switch (type) {
+        case GZIP:
+            return new GZIPInputStream(source, BUFFER_SIZE);
+        case ZSTD:
+            return new ZstdInputStream(source);
+        case SNAPPY:
+            return new SnappyFramedInputStream(source);
+        default:
+            return source;
+        }
+    }
+
+    /**
+     * Guess compression codec from stream first bytes.
+     *
+     * @param input : stream (must support mark).
+     * @return codec found, NONE if no compression recognized.
+     */
+    public static CompressionConfiguration.Type detect(final InputStream input) throws IOException {
+        if (!input.markSupported()) {
+            throw new IllegalArgumentException("Compression detection needs an input stream that supports mark");
+        }
+        final byte[] head = new byte[SNAPPY_MAGIC.length];
+        input.mark(head.length);
+        int read = 0;
+        try {
+            int n = 0;
+            while (read < head.length && (n = input.read(head, read, head.length - read)) > 0) {
+                read += n;
+            }
+        } finally {
+            input.reset();
+        }
+        if (Compressions.startsWith(head, read, GZIP_MAGIC)) {
+            return CompressionConfiguration.Type.GZIP;
+        }
+        if (Compressions.startsWith(head, read, ZSTD_MAGIC)) {
+            return CompressionConfiguration.Type.ZSTD;
+        }
+        if (Compressions.startsWith(head, read, SNAPPY_MAGIC)) {
+            return CompressionConfiguration.Type.SNAPPY;
+        }
+        return CompressionConfiguration.Type.NONE;
+    }
+
+    /**
+     * Compress output stream.
+     *
+     * @param output : destination.
+     * @param config : compression config (AUTO & NONE means no compression).
+     * @return compressing stream, or null if no compression needed.
+     */
+    public static CompressedOutputStream compress(final OutputStream output, final CompressionConfiguration config)
+            throws IOException {
+        if (config == null || !config.isCompressed()
+                || config.getCompressionType() == CompressionConfiguration.Type.AUTO) {
+            return null;
+        }
+        final OutputStream protectedOutput = new CompressedOutputStream.NonClosingOutputStream(output);
+        final int workers = Math.max(1, config.getWorkers());
+        final OutputStream compressor;
+        switch (config.getCompressionType()) {
+        case GZIP:
+            final int gzipLevel = Compressions.checkLevel(config, Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION);
+            if (workers > 1) {
+                compressor = new ParallelGzipOutputStream(protectedOutput, gzipLevel, workers);
+            } else {
+                compressor = new ParallelGzipOutputStream.LeveledGzipOutputStream(protectedOutput, gzipLevel);
+            }
+            break;
+        case ZSTD:
+            final ZstdOutputStream zstd = new ZstdOutputStream(protectedOutput);
+            final int zstdLevel = Compressions.checkLevel(config, 1, ZSTD_MAX_LEVEL);
+            if (zstdLevel != CompressionConfiguration.DEFAULT_LEVEL) {
+                zstd.setLevel(zstdLevel);
+            }
+            if (workers > 1) {
+                zstd.setWorkers(workers);
+            }
+            compressor = zstd;
+            break;
+        case SNAPPY:
+            compressor = new SnappyFramedOutputStream(protectedOutput);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown compression " + config.getCompressionType());
+        }
+        return new CompressedOutputStream(compressor, output);
+    }
+
+    /**
+     * Check compression level is in codec range.
+     *
+     * @param config : compression config.
+     * @param min : lowest level for codec.
+     * @param max : highest level for codec.
+     * @return level, or DEFAULT_LEVEL (-1) for codec default.
+     */
+    static int checkLevel(final CompressionConfiguration config, final int min, final int max) {
+        final int level = config.getLevel();
+        if (level != CompressionConfiguration.DEFAULT_LEVEL && (level < min || level > max)) {
+            throw new IllegalArgumentException("Compression level " + level + " is out of range for "
+                    + config.getCompressionType() + " (" + min + " to " + max + ", or -1 for default)");
+        }
+        return level;
+    }
+
+    private static boolean startsWith(final byte[] head, final int length, final byte[] magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (head[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip output that compress blocks of data on several threads (pigz like).
+ * Each block is written as an independent gzip member; concatenated members are a valid gzip stream
+ * (RFC 1952), readable by any gzip decoder.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /** default size of uncompressed block (1 Mb) */
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private final OutputStream destination;
+
+    private final int level;
+
+    private final int blockSize;
+
+    /** max number of block being compressed at the same time */
+    private final int maxPending;
+
+    private final ExecutorService executor;
+
+    /** compressed blocks, in write order */
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    private byte[] block;
+
+    private int blockLength = 0;
+
+    private boolean closed = false;
+
+    public ParallelGzipOutputStream(final OutputStream destination, final int level, final int workers) {
+        this(destination, level, workers, DEFAULT_BLOCK_SIZE);
+    }
+
+    public ParallelGzipOutputStream(final OutputStream destination, final int level, final int workers,
+            final int blockSize) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of gzip workers should be positive : " + workers);
+        }
+        this.destination = destination;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxPending = workers * 2;
+        this.block = new byte[blockSize];
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, (Runnable r) -> {
+            final Thread thread = new Thread(r, "gzip-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            final int size = Math.min(remaining, this.blockSize - this.blockLength);
+            System.arraycopy(b, offset, this.block, this.blockLength, size);
+            this.blockLength += size;
+            offset += size;
+            remaining -= size;
+            if (this.blockLength == this.blockSize) {
+                this.submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Flush ends current gzip member, so that all data written until now can be decoded by reader.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.ensureOpen();
+        this.submitBlock();
+        while (!this.pending.isEmpty()) {
+            this.writeFirstPending();
+        }
+        this.destination.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        try {
+            this.flush();
+        } finally {
+            this.closed = true;
+            this.executor.shutdownNow();
+            this.destination.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        if (this.blockLength == 0) {
+            return;
+        }
+        final byte[] data = this.block;
+        final int length = this.blockLength;
+        this.pending.addLast(this.executor.submit(() -> this.compress(data, length)));
+        this.block = new byte[this.blockSize];
+        this.blockLength = 0;
+
+        while (this.pending.size() >= this.maxPending) {
+            this.writeFirstPending();
+        }
+    }
+
+    private void writeFirstPending() throws IOException {
+        final Future<byte[]> first = this.pending.removeFirst();
+        try {
+            this.destination.write(first.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting gzip block");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException("Error while compressing gzip block", ex.getCause());
+        }
+    }
+
+    private byte[] compress(final byte[] data, final int length) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+        try (final GZIPOutputStream gzip = new LeveledGzipOutputStream(out, this.level)) {
+            gzip.write(data, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Gzip output stream with compression level.
+     */
+    static class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(final OutputStream out, final int level) throws IOException {
+            super(out, 64 * 1024);
+            if (level != Deflater.DEFAULT_COMPRESSION) {
+                this.def.setLevel(level);
+            }
+        }
+    }
+}
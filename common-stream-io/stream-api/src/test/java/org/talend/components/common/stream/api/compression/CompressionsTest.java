@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.api.compression;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
+
+class CompressionsTest {
+
+    @ParameterizedTest
+    @EnumSource(value = CompressionConfiguration.Type.class, names = { "GZIP", "ZSTD", "SNAPPY" })
+    void roundTrip(final CompressionConfiguration.Type type) throws IOException {
+        final byte[] content = this.content();
+        final byte[] compressed = this.compress(CompressionConfiguration.of(type), content);
+        Assertions.assertTrue(compressed.length < content.length);
+
+        Assertions
+                .assertEquals(type,
+                        Compressions.detect(new BufferedInputStream(new ByteArrayInputStream(compressed))));
+
+        Assertions.assertArrayEquals(content, this.decompress(compressed, CompressionConfiguration.of(type)));
+        Assertions
+                .assertArrayEquals(content,
+                        this.decompress(compressed, CompressionConfiguration.of(CompressionConfiguration.Type.AUTO)));
+    }
+
+    @Test
+    void parallelGzip() throws IOException {
+        final byte[] content = this.content();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final OutputStream gzip = new ParallelGzipOutputStream(out, 6, 3, 4 * 1024)) {
+            gzip.write(content, 0, 1000);
+            gzip.flush();
+            gzip.write(content, 1000, content.length - 1000);
+        }
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            this.copy(in, result);
+        }
+        Assertions.assertArrayEquals(content, result.toByteArray());
+    }
+
+    @Test
+    void plainStream() throws IOException {
+        final byte[] content = this.content();
+        Assertions.assertNull(Compressions.compress(new ByteArrayOutputStream(), CompressionConfiguration.none()));
+        Assertions
+                .assertEquals(CompressionConfiguration.Type.NONE,
+                        Compressions.detect(new BufferedInputStream(new ByteArrayInputStream(content))));
+        Assertions
+                .assertArrayEquals(content,
+                        this.decompress(content, CompressionConfiguration.of(CompressionConfiguration.Type.AUTO)));
+    }
+
+    @Test
+    void finishWithoutClose() throws IOException {
+        final CompressionConfiguration config = CompressionConfiguration.of(CompressionConfiguration.Type.GZIP);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final CompressedOutputStream compressed = Compressions.compress(out, config);
+        compressed.write("Hello".getBytes(StandardCharsets.UTF_8));
+        compressed.finish();
+        Assertions.assertTrue(compressed.isFinished());
+        Assertions
+                .assertEquals("Hello", new String(this.decompress(out.toByteArray(), config), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void levelOutOfCodecRange() throws IOException {
+        final CompressionConfiguration gzip = CompressionConfiguration.of(CompressionConfiguration.Type.GZIP);
+        gzip.setLevel(12);
+        Assertions
+                .assertThrows(IllegalArgumentException.class,
+                        () -> Compressions.compress(new ByteArrayOutputStream(), gzip));
+
+        final CompressionConfiguration zstd = CompressionConfiguration.of(CompressionConfiguration.Type.ZSTD);
+        zstd.setLevel(12);
+        final byte[] content = this.content();
+        Assertions.assertArrayEquals(content, this.decompress(this.compress(zstd, content), zstd));
+    }
+
+    private byte[] compress(final CompressionConfiguration config, final byte[] content) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final OutputStream compressed = Compressions.compress(out, config)) {
+            compressed.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] decompress(final byte[] content, final CompressionConfiguration config) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (final InputStream in = Compressions.decompress(new ByteArrayInputStream(content), config)) {
+            this.copy(in, result);
+        }
+        return result.toByteArray();
+    }
+
+    private void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+    }
+
+    private byte[] content() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            builder.append("line;").append(i).append(";some repeated content\n");
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
@@ -37,7 +38,7 @@ public abstract class AvroOutput implements AutoCloseable {
 
     public static AvroOutput buildOutput(final AvroConfiguration avroConfig, final TargetFinder destinationFinder) {
         if (avroConfig.isAttachSchema()) {
-            return new WithHead(destinationFinder);
+            return new WithHead(destinationFinder, AvroOutput.codecFactory(avroConfig));
         } else {
             final Schema schema =
                     avroConfig.getAvroSchema() != null
@@ -47,6 +48,38 @@ public abstract class AvroOutput implements AutoCloseable {
         }
     }
 
+    static CodecFactory codecFactory(final AvroConfiguration avroConfig) {
+        final AvroConfiguration.Codec codec = avroConfig.getCodec();
+        if (codec == null) {
+            return CodecFactory.nullCodec();
+        }
+        switch (codec) {
+        case DEFLATE:
+            return CodecFactory
+                    .deflateCodec(AvroOutput.codecLevel(avroConfig, 1, 9, CodecFactory.DEFAULT_DEFLATE_LEVEL));
+        case SNAPPY:
+            return CodecFactory.snappyCodec();
+        case ZSTANDARD:
+            return CodecFactory
+                    .zstandardCodec(AvroOutput.codecLevel(avroConfig, 1, 22, CodecFactory.DEFAULT_ZSTANDARD_LEVEL));
+        default:
+            return CodecFactory.nullCodec();
+        }
+    }
+
+    private static int codecLevel(final AvroConfiguration avroConfig, final int min, final int max,
+            final int defaultLevel) {
+        final int level = avroConfig.getCodecLevel();
+        if (level == AvroConfiguration.DEFAULT_CODEC_LEVEL) {
+            return defaultLevel;
+        }
+        if (level < min || level > max) {
+            throw new IllegalArgumentException("Avro codec level " + level + " is out of range for "
+                    + avroConfig.getCodec() + " (" + min + " to " + max + ", or -1 for default)");
+        }
+        return level;
+    }
+
     protected AvroOutput(final TargetFinder destination) {
         this.destination = destination;
     }
@@ -76,10 +109,11 @@ public abstract class AvroOutput implements AutoCloseable {
 
         private final DataFileWriter<GenericRecord> dataFileWriter;
 
-        public WithHead(final TargetFinder destination) {
+        public WithHead(final TargetFinder destination, final CodecFactory codec) {
             super(destination);
             final DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
             this.dataFileWriter = new DataFileWriter<>(datumWriter);
+            this.dataFileWriter.setCodec(codec);
         }
 
         @Override
@@ -12,6 +12,7 @@
  */
 package org.talend.components.common.stream.output.avro;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -21,6 +22,9 @@ import java.util.Arrays;
 
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.output.RecordWriter;
@@ -62,6 +66,36 @@ class AvroRecordWriterTest {
         }
     }
 
+    @Test
+    void addWithCodec() throws IOException {
+        final AvroConfiguration cfg = new AvroConfiguration();
+        cfg.setCodec(AvroConfiguration.Codec.DEFLATE);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final RecordWriterSupplier writerSupplier = new AvroWriterSupplier();
+        prepareTestRecords();
+        try (RecordWriter writer = writerSupplier.getWriter(() -> out, cfg)) {
+            writer.add(versatileRecord);
+            writer.add(versatileRecord);
+        }
+        try (DataFileStream<GenericRecord> reader =
+                new DataFileStream<>(new ByteArrayInputStream(out.toByteArray()), new GenericDatumReader<>())) {
+            Assertions.assertEquals("deflate", reader.getMetaString("avro.codec"));
+            Assertions.assertTrue(reader.hasNext());
+            Assertions.assertEquals("Bonjour", reader.next().get("string1").toString());
+        }
+    }
+
+    @Test
+    void codecLevelOutOfRange() {
+        final AvroConfiguration cfg = new AvroConfiguration();
+        cfg.setCodec(AvroConfiguration.Codec.DEFLATE);
+        cfg.setCodecLevel(12);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> AvroOutput.codecFactory(cfg));
+
+        cfg.setCodec(AvroConfiguration.Codec.ZSTANDARD);
+        Assertions.assertNotNull(AvroOutput.codecFactory(cfg));
+    }
+
     @Test
     void addHeadLess() throws IOException {
         final ByteArrayOutputStream out = new ByteArrayOutputStream();
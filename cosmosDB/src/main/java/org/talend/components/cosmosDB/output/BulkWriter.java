@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.output;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.talend.sdk.component.api.record.Record;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write records concurrently with a data action parser.
+ * Records are grouped by partition key value, so that concurrent tasks spread the load on physical partitions.
+ * A throttled request (429) pauses all the writers for the retry-after delay given by the server, then is retried.
+ */
+@Slf4j
+class BulkWriter implements AutoCloseable {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /** records of a same partition key written in a row by a task */
+    static final int TASK_SIZE = 100;
+
+    /** pause when the server doesn't give a retry-after delay */
+    private static final long DEFAULT_RETRY_AFTER = 100L;
+
+    private final OutputParserFactory.IOutputParser parser;
+
+    private final String partitionKeyField;
+
+    private final int maxThrottleRetries;
+
+    private final ExecutorService executor;
+
+    /** time (ms) until which writers wait, after the server throttled a request */
+    private final AtomicLong resumeAt = new AtomicLong();
+
+    BulkWriter(final OutputParserFactory.IOutputParser parser, final String partitionKeyField,
+            final int maxConcurrentWrites, final int maxThrottleRetries) {
+        this.parser = parser;
+        this.partitionKeyField = partitionKeyField;
+        this.maxThrottleRetries = maxThrottleRetries;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentWrites, (Runnable r) -> {
+            final Thread thread = new Thread(r, "cosmosdb-bulk-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Write all records, returns when all are written or failed.
+     *
+     * @param records : records to write.
+     * @return records that can't be written, with the cause.
+     */
+    List<Failure> write(final List<Record> records) {
+        final List<Callable<List<Failure>>> tasks = new ArrayList<>();
+        for (List<Record> chunk : this.chunks(records)) {
+            tasks.add(() -> this.writeAll(chunk));
+        }
+        final List<Failure> failures = new ArrayList<>();
+        try {
+            for (Future<List<Failure>> future : this.executor.invokeAll(tasks)) {
+                failures.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk write interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return failures;
+    }
+
+    /**
+     * Group records by partition key value in chunks of at most TASK_SIZE records,
+     * chunks of the different partition keys alternate so that concurrent tasks target different partitions.
+     */
+    List<List<Record>> chunks(final List<Record> records) {
+        final Map<Object, List<Record>> byPartitionKey = new LinkedHashMap<>();
+        for (Record rec : records) {
+            final Object key = this.partitionKeyField == null ? null : rec.get(Object.class, this.partitionKeyField);
+            byPartitionKey.computeIfAbsent(key, k -> new ArrayList<>()).add(rec);
+        }
+
+        final List<Iterator<List<Record>>> groups = new ArrayList<>();
+        for (List<Record> group : byPartitionKey.values()) {
+            final List<List<Record>> groupChunks = new ArrayList<>();
+            for (int i = 0; i < group.size(); i += TASK_SIZE) {
+                groupChunks.add(group.subList(i, Math.min(i + TASK_SIZE, group.size())));
+            }
+            groups.add(groupChunks.iterator());
+        }
+        final List<List<Record>> chunks = new ArrayList<>();
+        while (!groups.isEmpty()) {
+            final Iterator<Iterator<List<Record>>> it = groups.iterator();
+            while (it.hasNext()) {
+                final Iterator<List<Record>> group = it.next();
+                chunks.add(group.next());
+                if (!group.hasNext()) {
+                    it.remove();
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private List<Failure> writeAll(final List<Record> records) {
+        final List<Failure> failures = new ArrayList<>();
+        for (Record rec : records) {
+            try {
+                this.writeOne(rec);
+            } catch (RuntimeException e) {
+                failures.add(new Failure(rec, e));
+            }
+        }
+        return failures;
+    }
+
+    private void writeOne(final Record rec) {
+        int retries = 0;
+        while (true) {
+            this.awaitThrottling();
+            try {
+                this.parser.output(rec);
+                return;
+            } catch (IllegalArgumentException e) {
+                if (!(e.getCause() instanceof DocumentClientException)
+                        || ((DocumentClientException) e.getCause()).getStatusCode() != TOO_MANY_REQUESTS
+                        || retries >= this.maxThrottleRetries) {
+                    throw e;
+                }
+                retries++;
+                final long retryAfter = ((DocumentClientException) e.getCause()).getRetryAfterInMilliseconds();
+                final long until = System.currentTimeMillis() + (retryAfter > 0 ? retryAfter : DEFAULT_RETRY_AFTER);
+                this.resumeAt.accumulateAndGet(until, Math::max);
+                log.debug("Request throttled, retry {}/{} in {} ms.", retries, this.maxThrottleRetries, retryAfter);
+            }
+        }
+    }
+
+    private void awaitThrottling() {
+        long wait = this.resumeAt.get() - System.currentTimeMillis();
+        while (wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk write interrupted.", e);
+            }
+            wait = this.resumeAt.get() - System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Name of the field holding the partition key value, from the first path of the partition key definition.
+     *
+     * @param partitionKey : partition key definition, like '/city'.
+     * @return field name, null if no partition key.
+     */
+    static String partitionKeyField(final String partitionKey) {
+        if (partitionKey == null || partitionKey.trim().isEmpty()) {
+            return null;
+        }
+        final String path = partitionKey.split(",")[0].trim();
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    @Value
+    static class Failure {
+
+        Record rec;
+
+        RuntimeException error;
+
+        /**
+         * @return message of the underlying CosmosDB error if any.
+         */
+        String getMessage() {
+            final Throwable cause = this.error.getCause() instanceof DocumentClientException ? this.error.getCause()
+                    : this.error;
+            return String.valueOf(cause.getMessage());
+        }
+    }
+}
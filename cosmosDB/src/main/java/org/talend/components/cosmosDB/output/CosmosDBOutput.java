@@ -13,7 +13,9 @@
 package org.talend.components.cosmosDB.output;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -24,8 +26,11 @@ import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.record.Record;
 
@@ -56,6 +61,10 @@ public class CosmosDBOutput implements Serializable {
 
     private OutputParserFactory.IOutputParser out;
 
+    private transient BulkWriter bulkWriter;
+
+    private transient List<Record> buffer;
+
     public CosmosDBOutput(@Option("configuration") final CosmosDBOutputConfiguration configuration,
             final CosmosDBService service) {
         this.configuration = configuration;
@@ -71,15 +80,50 @@ public class CosmosDBOutput implements Serializable {
             createDocumentCollectionIfNotExists();
         }
         out = new OutputParserFactory(configuration, client).getOutputParser();
+        if (configuration.isBulkWrite()) {
+            String partitionKey = configuration.getDataAction() == DataAction.DELETE
+                    ? configuration.getPartitionKeyForDelete()
+                    : configuration.getPartitionKey();
+            bulkWriter = new BulkWriter(out, BulkWriter.partitionKeyField(partitionKey),
+                    configuration.getMaxConcurrentWrites(), configuration.getMaxThrottleRetries());
+            buffer = new ArrayList<>();
+        }
     }
 
     @ElementListener
-    public void onNext(@Input final Record rec) {
-        out.output(rec);
+    public void onNext(@Input final Record rec, @Output("reject") final OutputEmitter<Record> reject) {
+        if (bulkWriter == null) {
+            out.output(rec);
+            return;
+        }
+        buffer.add(rec);
+        if (buffer.size() >= configuration.getBatchSize()) {
+            flush(reject);
+        }
+    }
+
+    @AfterGroup
+    public void afterGroup(@Output("reject") final OutputEmitter<Record> reject) {
+        flush(reject);
+    }
+
+    private void flush(final OutputEmitter<Record> reject) {
+        if (buffer == null || buffer.isEmpty()) {
+            return;
+        }
+        List<BulkWriter.Failure> failures = bulkWriter.write(buffer);
+        if (!failures.isEmpty()) {
+            log.warn(service.rejectedRecordsMessage(failures.size(), buffer.size()));
+            failures.forEach(f -> reject.emit(service.toRejectRecord(f.getRec(), f.getMessage())));
+        }
+        buffer.clear();
     }
 
     @PreDestroy
     public void release() {
+        if (bulkWriter != null) {
+            bulkWriter.close();
+        }
         if (client != null) {
             client.close();
         }
@@ -21,6 +21,7 @@ import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayouts;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -36,7 +37,8 @@ import lombok.Data;
 }),
         @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }),
                 @GridLayout.Row({ "offerThroughput" }), @GridLayout.Row({ "partitionKey" }),
-                @GridLayout.Row({ "partitionKeyForDelete" }) }) })
+                @GridLayout.Row({ "partitionKeyForDelete" }), @GridLayout.Row({ "bulkWrite" }),
+                @GridLayout.Row({ "batchSize", "maxConcurrentWrites" }), @GridLayout.Row({ "maxThrottleRetries" }) }) })
 @Documentation("cosmosDB output configuration")
 public class CosmosDBOutputConfiguration implements Serializable {
 
@@ -75,4 +77,26 @@ public class CosmosDBOutputConfiguration implements Serializable {
     @ActiveIf(target = "dataAction", value = { "INSERT", "UPSERT" })
     private boolean autoIDGeneration;
 
+    @Option
+    @Documentation("Write records concurrently, grouped by partition key. Failed records are sent to the reject flow")
+    private boolean bulkWrite;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkWrite", value = "true")
+    @Documentation("Number of records buffered before a bulk write")
+    private int batchSize = 1000;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkWrite", value = "true")
+    @Documentation("Maximum number of concurrent write requests")
+    private int maxConcurrentWrites = 10;
+
+    @Option
+    @Min(0)
+    @ActiveIf(target = "bulkWrite", value = "true")
+    @Documentation("Maximum number of retries of a throttled (429) request, after the delay given by the server")
+    private int maxThrottleRetries = 10;
+
 }
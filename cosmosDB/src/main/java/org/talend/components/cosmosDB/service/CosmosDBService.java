@@ -57,6 +57,8 @@ public class CosmosDBService {
 
     public static final String ACTION_SUGGESTION_TABLE_COLUMNS_NAMES = "ACTION_SUGGESTION_TABLE_COLUMNS_NAMES";
 
+    public static final String ERROR_MESSAGE_FIELD = "errorMessage";
+
     /*
      * Create a document client from specified configuration.
      */
@@ -126,6 +128,26 @@ public class CosmosDBService {
         return rec.getSchema();
     }
 
+    /**
+     * Warning for the records of a bulk write sent to the reject flow.
+     */
+    public String rejectedRecordsMessage(final int rejected, final int total) {
+        return i18n.recordsRejected(rejected, total);
+    }
+
+    /**
+     * Copy of a record that could not be written, with the error message.
+     */
+    public Record toRejectRecord(final Record rec, final String errorMessage) {
+        final Record.Builder builder = builderFactory.newRecordBuilder();
+        rec.getSchema()
+                .getEntries()
+                .stream()
+                .filter(e -> !ERROR_MESSAGE_FIELD.equals(e.getName()))
+                .forEach(e -> builder.with(e, rec.get(Object.class, e.getName())));
+        return builder.withString(ERROR_MESSAGE_FIELD, errorMessage).build();
+    }
+
     @Suggestions(ACTION_SUGGESTION_TABLE_COLUMNS_NAMES)
     public SuggestionValues getTableColumns(@Option("schema") final List<String> schema) {
         if (!schema.isEmpty()) {
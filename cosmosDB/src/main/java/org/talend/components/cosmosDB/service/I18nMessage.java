@@ -30,4 +30,6 @@ public interface I18nMessage {
     String connectionSuccess();
 
     String notValidAddress(String endpoint);
+
+    String recordsRejected(int rejected, int total);
 }
\ No newline at end of file
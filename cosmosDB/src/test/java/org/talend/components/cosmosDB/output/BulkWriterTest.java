@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.output;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+
+class BulkWriterTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void chunksAlternatePartitionKeys() {
+        final List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 2 * BulkWriter.TASK_SIZE; i++) {
+            records.add(this.record("a" + i, "A"));
+        }
+        records.add(this.record("b", "B"));
+
+        try (BulkWriter writer = new BulkWriter(rec -> {
+        }, BulkWriter.partitionKeyField("/city"), 2, 0)) {
+            final List<List<Record>> chunks = writer.chunks(records);
+            Assertions.assertEquals(3, chunks.size());
+            Assertions.assertEquals("A", chunks.get(0).get(0).getString("city"));
+            Assertions.assertEquals("B", chunks.get(1).get(0).getString("city"));
+            Assertions.assertEquals(BulkWriter.TASK_SIZE, chunks.get(2).size());
+        }
+    }
+
+    @Test
+    void retryThrottledAndRejectFailed() {
+        final Set<String> written = ConcurrentHashMap.newKeySet();
+        final AtomicInteger throttled = new AtomicInteger();
+        final OutputParserFactory.IOutputParser parser = rec -> {
+            final String id = rec.getString("id");
+            if ("throttled".equals(id) && throttled.incrementAndGet() < 3) {
+                throw new IllegalArgumentException(new DocumentClientException(429));
+            }
+            if ("conflict".equals(id)) {
+                throw new IllegalArgumentException(new DocumentClientException(409));
+            }
+            written.add(id);
+        };
+
+        final List<Record> records = new ArrayList<>();
+        records.add(this.record("ok", "A"));
+        records.add(this.record("throttled", "B"));
+        records.add(this.record("conflict", "C"));
+        try (BulkWriter writer = new BulkWriter(parser, "city", 3, 5)) {
+            final List<BulkWriter.Failure> failures = writer.write(records);
+
+            Assertions.assertEquals(1, failures.size());
+            Assertions.assertEquals("conflict", failures.get(0).getRec().getString("id"));
+            Assertions.assertEquals(3, throttled.get());
+            Assertions.assertTrue(written.contains("ok"));
+            Assertions.assertTrue(written.contains("throttled"));
+        }
+    }
+
+    private Record record(final String id, final String city) {
+        return this.factory.newRecordBuilder().withString("id", id).withString("city", city).build();
+    }
+}
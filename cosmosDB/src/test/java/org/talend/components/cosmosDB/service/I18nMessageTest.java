@@ -65,4 +65,10 @@ class I18nMessageTest {
 
         Assertions.assertTrue(msg.matches("^.*http://1234.*true.*true.*true.*$"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void recordsRejected() {
+        final String msg = i18n.recordsRejected(3, 10);
+        Assertions.assertTrue(msg.contains("3") && msg.contains("10"), "Error on recordsRejected msg");
+    }
+}
@@ -15,6 +15,7 @@ package org.talend.components.couchbase.output;
 import static com.couchbase.client.java.kv.MutateInSpec.upsert;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
@@ -26,29 +27,40 @@ import javax.annotation.PreDestroy;
 
 import org.talend.components.couchbase.dataset.DocumentType;
 import org.talend.components.couchbase.service.CouchbaseService;
+import org.talend.components.couchbase.service.I18nMessage;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.Cluster;
 import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.ReactiveCollection;
 import com.couchbase.client.java.codec.RawBinaryTranscoder;
 import com.couchbase.client.java.codec.RawStringTranscoder;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.kv.MutateInSpec;
 import com.couchbase.client.java.kv.UpsertOptions;
 import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.ReactiveQueryResult;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Version(1)
 @Slf4j
@@ -61,18 +73,35 @@ public class CouchbaseOutput implements Serializable {
 
     private transient Collection collection;
 
+    /** records waiting to be written when batch write is enabled */
+    private transient List<Record> buffer;
+
     private String idFieldName;
 
+    /** record column to N1QL named parameter, computed once */
+    private transient Map<String, String> queryParameterMappings;
+
     private final CouchbaseOutputConfiguration configuration;
 
     private final CouchbaseService service;
 
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private final I18nMessage i18n;
+
     private static final String CONTENT_FIELD_NAME = "content";
 
+    static final String ERROR_MESSAGE_FIELD_NAME = "errorMessage";
+
+    /** server limit of sub-document operations in a single mutateIn */
+    private static final int MAX_SPECS_PER_MUTATION = 16;
+
     public CouchbaseOutput(@Option("configuration") final CouchbaseOutputConfiguration configuration,
-            final CouchbaseService service) {
+            final CouchbaseService service, final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18n) {
         this.configuration = configuration;
         this.service = service;
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.i18n = i18n;
     }
 
     @PostConstruct
@@ -81,19 +110,26 @@ public class CouchbaseOutput implements Serializable {
         Bucket bucket = cluster.bucket(configuration.getDataSet().getBucket());
         collection = bucket.defaultCollection();
         idFieldName = configuration.getIdFieldName();
-    }
-
-    @ElementListener
-    public void onNext(@Input final Record rec) {
+        buffer = new ArrayList<>();
         if (configuration.isUseN1QLQuery()) {
-            Map<String, String> mappings = configuration
+            queryParameterMappings = configuration
                     .getQueryParams()
                     .stream()
-                    .collect(
-                            Collectors.toMap(N1QLQueryParameter::getColumn, N1QLQueryParameter::getQueryParameterName));
-            JsonObject namedParams = buildJsonObject(rec, mappings);
+                    .collect(Collectors.toMap(N1QLQueryParameter::getColumn,
+                            N1QLQueryParameter::getQueryParameterName));
+        }
+    }
+
+    @ElementListener
+    public void onNext(@Input final Record rec, @Output("reject") final OutputEmitter<Record> reject) {
+        if (configuration.isBatchWrite()) {
+            buffer.add(rec);
+            if (buffer.size() >= configuration.getBatchSize()) {
+                flush(reject);
+            }
+        } else if (configuration.isUseN1QLQuery()) {
             try {
-                cluster.query(configuration.getQuery(), QueryOptions.queryOptions().parameters(namedParams));
+                cluster.query(configuration.getQuery(), queryOptions(Collections.singletonList(rec)));
             } catch (CouchbaseException ex) {
                 log.error("N1QL failed: {}.", ex.getMessage());
                 throw new ComponentException(ex.getMessage());
@@ -115,19 +151,129 @@ public class CouchbaseOutput implements Serializable {
         }
     }
 
+    @AfterGroup
+    public void afterGroup(@Output("reject") final OutputEmitter<Record> reject) {
+        flush(reject);
+    }
+
     @PreDestroy
     public void release() {
         service.closeConnection(configuration.getDataSet().getDatastore());
     }
 
-    private void updatePartiallyDocument(Record rec) {
+    /**
+     * Write buffered records with the reactive API, at most maxConcurrentWrites documents or statements in flight.
+     * Records that can't be written are sent to the reject flow instead of failing the whole batch.
+     */
+    private void flush(final OutputEmitter<Record> reject) {
+        if (buffer == null || buffer.isEmpty()) {
+            return;
+        }
+        final List<List<Record>> units = partition(buffer,
+                configuration.isUseN1QLQuery() ? configuration.getRecordsPerStatement() : 1);
+        final List<WriteFailure> failures = Flux
+                .fromIterable(units)
+                .flatMap(unit -> write(unit)
+                        .thenMany(Flux.<WriteFailure> empty())
+                        .onErrorResume(e -> Flux.fromIterable(unit).map(rec -> new WriteFailure(rec, e))),
+                        configuration.getMaxConcurrentWrites())
+                .collectList()
+                .block();
+        if (failures != null && !failures.isEmpty()) {
+            log.warn(i18n.batchWriteFailures(failures.size(), buffer.size()));
+            failures.forEach(f -> {
+                log.debug("Document not written: {}.", f.getError().getMessage());
+                reject.emit(toReject(f.getRec(), f.getError()));
+            });
+        }
+        buffer.clear();
+    }
+
+    private Mono<Void> write(final List<Record> records) {
+        // deferred so that errors raised while converting records reject these records only.
+        return Mono.defer(() -> {
+            if (configuration.isUseN1QLQuery()) {
+                return cluster
+                        .reactive()
+                        .query(configuration.getQuery(), queryOptions(records))
+                        .flatMapMany(ReactiveQueryResult::rowsAsObject)
+                        .then();
+            }
+            final ReactiveCollection reactiveCollection = collection.reactive();
+            final Record rec = records.get(0);
+            final String id = rec.getString(idFieldName);
+            if (configuration.isPartialUpdate()) {
+                return Flux
+                        .fromIterable(mutationSpecs(rec))
+                        .concatMap(specs -> reactiveCollection.mutateIn(id, specs))
+                        .then();
+            }
+            if (configuration.getDataSet().getDocumentType() == DocumentType.BINARY) {
+                return reactiveCollection
+                        .upsert(id, rec.getBytes(CONTENT_FIELD_NAME),
+                                UpsertOptions.upsertOptions().transcoder(RawBinaryTranscoder.INSTANCE))
+                        .then();
+            } else if (configuration.getDataSet().getDocumentType() == DocumentType.STRING) {
+                return reactiveCollection
+                        .upsert(id, rec.getString(CONTENT_FIELD_NAME),
+                                UpsertOptions.upsertOptions().transcoder(RawStringTranscoder.INSTANCE))
+                        .then();
+            }
+            return reactiveCollection.upsert(id, buildJsonObjectWithoutId(rec)).then();
+        });
+    }
+
+    /**
+     * Statement options: the query is prepared once by the SDK and reused (adhoc=false).
+     * Without statement batching a record gives its values as named parameters, otherwise records are bound as an
+     * array of objects to the batch parameter.
+     */
+    private QueryOptions queryOptions(final List<Record> records) {
+        final JsonObject namedParams;
+        if (!configuration.isBatchWrite() || configuration.getRecordsPerStatement() <= 1) {
+            namedParams = buildJsonObject(records.get(0), queryParameterMappings);
+        } else {
+            final JsonArray batch = JsonArray.create();
+            records.forEach(rec -> batch.add(buildJsonObject(rec, queryParameterMappings)));
+            namedParams = JsonObject.create().put(configuration.getBatchParameterName(), batch);
+        }
+        return QueryOptions.queryOptions().adhoc(false).parameters(namedParams);
+    }
+
+    private Record toReject(final Record rec, final Throwable error) {
+        final Record.Builder builder = recordBuilderFactory.newRecordBuilder();
         rec.getSchema()
+                .getEntries()
+                .stream()
+                .filter(e -> !ERROR_MESSAGE_FIELD_NAME.equals(e.getName()))
+                .forEach(e -> builder.with(e, rec.get(Object.class, e.getName())));
+        return builder.withString(ERROR_MESSAGE_FIELD_NAME, String.valueOf(error.getMessage())).build();
+    }
+
+    private void updatePartiallyDocument(Record rec) {
+        String id = rec.getString(idFieldName);
+        mutationSpecs(rec).forEach(specs -> collection.mutateIn(id, specs));
+    }
+
+    /**
+     * Sub-document upserts of all fields but the id, grouped to send as few mutateIn as the server allows.
+     */
+    private List<List<MutateInSpec>> mutationSpecs(Record rec) {
+        List<MutateInSpec> specs = rec.getSchema()
                 .getEntries()
                 .stream()
                 .filter(e -> !idFieldName.equals(e.getName()))
-                .forEach(
-                        e -> collection.mutateIn(rec.getString(idFieldName), Collections
-                                .singletonList(upsert(e.getName(), jsonValueFromRecordValue(e, rec)))));
+                .<MutateInSpec> map(e -> upsert(e.getName(), jsonValueFromRecordValue(e, rec)))
+                .collect(Collectors.toList());
+        return partition(specs, MAX_SPECS_PER_MUTATION);
+    }
+
+    private static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> groups = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            groups.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return groups;
     }
 
     private Object jsonValueFromRecordValue(Schema.Entry entry, Record rec) {
@@ -203,4 +349,12 @@ public class CouchbaseOutput implements Serializable {
         return value;
     }
 
+    @Value
+    private static class WriteFailure {
+
+        Record rec;
+
+        Throwable error;
+    }
+
 }
@@ -12,6 +12,8 @@
  */
 package org.talend.components.couchbase.output;
 
+import static org.talend.sdk.component.api.configuration.condition.ActiveIfs.Operator.AND;
+
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +22,8 @@ import org.talend.components.couchbase.dataset.CouchbaseDataSet;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.widget.Code;
 import org.talend.sdk.component.api.configuration.ui.widget.TextArea;
@@ -33,7 +37,9 @@ import lombok.Data;
         @GridLayout.Row({ "idFieldName", "partialUpdate" }), @GridLayout.Row({ "useN1QLQuery" }),
         @GridLayout.Row({ "query" }),
         @GridLayout.Row({ "queryParams" }), })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }),
+        @GridLayout.Row({ "batchWrite" }), @GridLayout.Row({ "batchSize", "maxConcurrentWrites" }),
+        @GridLayout.Row({ "recordsPerStatement", "batchParameterName" }) })
 @Documentation("Couchbase output configuration.")
 public class CouchbaseOutputConfiguration implements Serializable {
 
@@ -67,4 +73,35 @@ public class CouchbaseOutputConfiguration implements Serializable {
     @Documentation("N1QL Query Parameters.")
     private List<N1QLQueryParameter> queryParams = Collections.emptyList();
 
+    @Option
+    @Documentation("Buffer records and write them asynchronously, failed records are sent to the reject flow.")
+    private boolean batchWrite = false;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "batchWrite", value = "true")
+    @Documentation("Number of records written together.")
+    private int batchSize = 1000;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "batchWrite", value = "true")
+    @Documentation("Maximum number of concurrent write operations or statements of a batch.")
+    private int maxConcurrentWrites = 32;
+
+    @Option
+    @Min(1)
+    @ActiveIfs(operator = AND, value = { @ActiveIf(target = "useN1QLQuery", value = "true"),
+            @ActiveIf(target = "batchWrite", value = "true") })
+    @Documentation("Number of records bound to one execution of the N1QL query. When greater than 1, the records "
+            + "parameters are bound as an array of objects to the batch parameter, "
+            + "e.g. 'INSERT INTO b (KEY k, VALUE v) SELECT r.id AS k, r AS v FROM $records AS r'.")
+    private int recordsPerStatement = 1;
+
+    @Option
+    @ActiveIfs(operator = AND, value = { @ActiveIf(target = "useN1QLQuery", value = "true"),
+            @ActiveIf(target = "batchWrite", value = "true") })
+    @Documentation("Name of the N1QL query parameter receiving the array of records parameters.")
+    private String batchParameterName = "records";
+
 }
@@ -277,6 +277,27 @@ class CouchbaseOutputTest extends CouchbaseUtilTest {
         }
     }
 
+    @Test
+    @DisplayName("N1QL query with batched records")
+    void executeBatchedN1QLQuery() {
+        log.info("Test start: executeBatchedN1QLQuery");
+        final String N1QL_BATCH_ID_PREFIX = "n1qlBatchIdPrefix";
+        CouchbaseOutputConfiguration configuration = getOutputConfiguration();
+        configuration.setUseN1QLQuery(true);
+        configuration.setBatchWrite(true);
+        configuration.setRecordsPerStatement(2);
+        configuration.setQuery(String.format(
+                "INSERT INTO `%s` (KEY k, VALUE v) SELECT r.t_string AS k, r AS v FROM $records AS r", BUCKET_NAME));
+
+        componentsHandler.setInputData(createRecords(new TestData(), N1QL_BATCH_ID_PREFIX));
+        executeJob(configuration);
+        List<JsonObject> resultList = retrieveDataFromDatabase(N1QL_BATCH_ID_PREFIX, 2);
+        assertEquals(2, resultList.size());
+        for (JsonObject json : resultList) {
+            assertJsonEquals(new TestData(), json);
+        }
+    }
+
     private List<Record> createPartialUpdateRecords(String idPrefix) {
         final Schema.Entry.Builder entryBuilder = recordBuilderFactory.newEntryBuilder();
         List<Record> records = new ArrayList<>();
@@ -350,6 +371,41 @@ class CouchbaseOutputTest extends CouchbaseUtilTest {
         });
     }
 
+    @Test
+    @DisplayName("Batch write sends failed documents to reject")
+    void batchWriteWithReject() {
+        log.info("Test start: batchWriteWithReject");
+        final String BATCH_WRITE_ID_PREFIX = "batchWrite";
+        // only first document exists, partial update of the second one fails
+        Collection collection = couchbaseCluster.bucket(BUCKET_NAME).defaultCollection();
+        collection.insert(generateDocId(BATCH_WRITE_ID_PREFIX, 0), new TestData().createJson(BATCH_WRITE_ID_PREFIX));
+
+        CouchbaseOutputConfiguration config = getOutputConfiguration();
+        config.setPartialUpdate(true);
+        config.setBatchWrite(true);
+        config.setBatchSize(10);
+        componentsHandler.setInputData(createPartialUpdateRecords(BATCH_WRITE_ID_PREFIX));
+        final String outputConfig = configurationByExample().forInstance(config).configured().toQueryString();
+        Job.components()
+                .component("Couchbase_Output", "Couchbase://Output?" + outputConfig)
+                .component("emitter", "test://emitter")
+                .component("collector", "test://collector")
+                .connections()
+                .from("emitter")
+                .to("Couchbase_Output")
+                .from("Couchbase_Output", "reject")
+                .to("collector")
+                .build()
+                .run();
+
+        assertEquals(1971,
+                collection.get(generateDocId(BATCH_WRITE_ID_PREFIX, 0)).contentAsObject().getInt("t_int_min"));
+        final List<Record> rejects = componentsHandler.getCollectedData(Record.class);
+        assertEquals(1, rejects.size());
+        assertEquals(generateDocId(BATCH_WRITE_ID_PREFIX, 1), rejects.get(0).getString("t_string"));
+        Assertions.assertNotNull(rejects.get(0).getString(CouchbaseOutput.ERROR_MESSAGE_FIELD_NAME));
+    }
+
     private CouchbaseOutputConfiguration getOutputConfiguration() {
         CouchbaseDataSet couchbaseDataSet = new CouchbaseDataSet();
         couchbaseDataSet.setBucket(BUCKET_NAME);
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.Header;
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.ODataClientErrorException;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.request.batch.ODataChangeset;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.talend.components.dynamicscrm.service.DynamicsCrmService;
+import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.ms.crm.odata.DynamicsCRMClient;
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Send record operations as OData $batch requests, each record in its own change set so that a failed record
+ * doesn't roll back the others. Several batches can be in flight, batches throttled by the service protection
+ * limits (429) are resent after the Retry-After delay.
+ */
+@Slf4j
+public class BatchWriter implements AutoCloseable {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int BAD_REQUEST = 400;
+
+    private final DynamicsCRMClient client;
+
+    private final String serviceRootUrl;
+
+    private final RecordProcessor processor;
+
+    private final I18n i18n;
+
+    private final int maxConcurrentBatches;
+
+    private final int maxRetries;
+
+    private final ExecutorService executor;
+
+    /** batches sent, oldest first */
+    private final Deque<Future<List<Failure>>> inFlight = new ArrayDeque<>();
+
+    public BatchWriter(final DynamicsCRMClient client, final String serviceRootUrl, final RecordProcessor processor,
+            final I18n i18n, final int maxConcurrentBatches, final int maxRetries) {
+        this.client = client;
+        this.serviceRootUrl = serviceRootUrl;
+        this.processor = processor;
+        this.i18n = i18n;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.maxRetries = maxRetries;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrentBatches, (Runnable r) -> {
+            final Thread thread = new Thread(r, "dynamics-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Send records in a batch, in background. Waits for the oldest batch if maxConcurrentBatches are in flight.
+     *
+     * @param records records to write.
+     * @return failed records of this batch that could not be converted, and of previous batches completed meanwhile.
+     */
+    public List<Failure> submit(final List<Record> records) {
+        final List<Failure> failures = new ArrayList<>();
+        final List<Record> batched = new ArrayList<>();
+        final List<List<ODataBatchableRequest>> requests = new ArrayList<>();
+        // requests are built in the caller thread, processors are not thread safe.
+        for (Record rec : records) {
+            try {
+                requests.add(this.processor.createBatchRequests(rec, this.serviceRootUrl));
+                batched.add(rec);
+            } catch (RuntimeException e) {
+                failures.add(new Failure(rec, e.getMessage()));
+            }
+        }
+        if (!batched.isEmpty()) {
+            while (this.inFlight.size() >= this.maxConcurrentBatches) {
+                failures.addAll(this.await(this.inFlight.poll()));
+            }
+            this.inFlight.add(this.executor.submit(() -> this.send(batched, requests)));
+        }
+        while (!this.inFlight.isEmpty() && this.inFlight.peek().isDone()) {
+            failures.addAll(this.await(this.inFlight.poll()));
+        }
+        return failures;
+    }
+
+    /**
+     * Wait for all batches in flight.
+     *
+     * @return failed records.
+     */
+    public List<Failure> flush() {
+        final List<Failure> failures = new ArrayList<>();
+        while (!this.inFlight.isEmpty()) {
+            failures.addAll(this.await(this.inFlight.poll()));
+        }
+        return failures;
+    }
+
+    private List<Failure> await(final Future<List<Failure>> batch) {
+        try {
+            return batch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private List<Failure> send(final List<Record> records, final List<List<ODataBatchableRequest>> requests) {
+        int retry = 0;
+        while (true) {
+            try {
+                return this.doSend(records, requests);
+            } catch (ODataClientErrorException e) {
+                if (e.getStatusLine().getStatusCode() != TOO_MANY_REQUESTS || retry >= this.maxRetries) {
+                    return this.failAll(records, e.getMessage());
+                }
+                retry++;
+                final long delay = this.retryAfter(e, retry);
+                log.debug("Batch throttled, retry {}/{} in {} ms.", retry, this.maxRetries, delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return this.failAll(records, ie.getMessage());
+                }
+            } catch (RuntimeException e) {
+                return this.failAll(records, e.getMessage());
+            }
+        }
+    }
+
+    private List<Failure> doSend(final List<Record> records, final List<List<ODataBatchableRequest>> requests) {
+        final ODataClient odataClient = this.client.getClient();
+        final ODataBatchRequest request = odataClient.getBatchRequestFactory().getBatchRequest(this.serviceRootUrl);
+        final String authorization = this.client
+                .createRequest(odataClient.newURIBuilder(this.serviceRootUrl))
+                .getHeader(HttpHeader.AUTHORIZATION);
+        if (authorization != null) {
+            request.addCustomHeader(HttpHeader.AUTHORIZATION, authorization);
+        }
+        request.setPrefer(odataClient.newPreferences().continueOnError());
+
+        final BatchManager payload = request.payloadManager();
+        for (List<ODataBatchableRequest> recordRequests : requests) {
+            final ODataChangeset changeset = payload.addChangeset();
+            recordRequests.forEach(changeset::addRequest);
+        }
+        final ODataBatchResponse response = payload.getResponse();
+
+        final List<Failure> failures = new ArrayList<>();
+        final Iterator<ODataBatchResponseItem> items = response.getBody();
+        int index = 0;
+        while (items.hasNext() && index < records.size()) {
+            // one item per change set, so per record.
+            final ODataBatchResponseItem item = items.next();
+            String error = null;
+            while (item.hasNext()) {
+                final ODataResponse operation = item.next();
+                if (error == null && operation.getStatusCode() >= BAD_REQUEST) {
+                    error = this.i18n.batchOperationFailed(operation.getStatusCode(), this.body(operation));
+                }
+            }
+            item.close();
+            if (error != null) {
+                failures.add(new Failure(records.get(index), error));
+            }
+            index++;
+        }
+        response.close();
+        for (; index < records.size(); index++) {
+            failures.add(new Failure(records.get(index), this.i18n.noBatchResponse()));
+        }
+        return failures;
+    }
+
+    private List<Failure> failAll(final List<Record> records, final String message) {
+        final List<Failure> failures = new ArrayList<>();
+        records.forEach(rec -> failures.add(new Failure(rec, message)));
+        return failures;
+    }
+
+    /**
+     * Delay given by the Retry-After header, exponential backoff if not present.
+     */
+    private long retryAfter(final ODataClientErrorException e, final int retry) {
+        if (e.getHeaderInfo() != null) {
+            for (Header header : e.getHeaderInfo()) {
+                if ("Retry-After".equalsIgnoreCase(header.getName())) {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(header.getValue().trim()));
+                    } catch (NumberFormatException nfe) {
+                        log.debug("Invalid Retry-After header '{}'.", header.getValue());
+                    }
+                }
+            }
+        }
+        return (long) DynamicsCrmService.INTERVAL_TIME << Math.min(retry - 1, 6);
+    }
+
+    private String body(final ODataResponse response) {
+        try (InputStream in = response.getRawResponse()) {
+            if (in == null) {
+                return response.getStatusMessage();
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.size() == 0 ? response.getStatusMessage() : out.toString(StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            return response.getStatusMessage();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    @Value
+    public static class Failure {
+
+        Record rec;
+
+        String message;
+    }
+}
@@ -12,8 +12,13 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
 import javax.naming.ServiceUnavailableException;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
 import org.talend.components.dynamicscrm.service.I18n;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
@@ -39,4 +44,19 @@ public class DeleteRecordProcessor implements RecordProcessor {
         String keyName = entitySet.getEntityType().getKeyPropertyRefs().get(0).getName();
         client.deleteEntity(rec.getString(keyName));
     }
+
+    @Override
+    public List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl) {
+        String keyName = entitySet.getEntityType().getKeyPropertyRefs().get(0).getName();
+        return Collections
+                .singletonList(client
+                        .getClient()
+                        .getCUDRequestFactory()
+                        .getDeleteRequest(client
+                                .getClient()
+                                .newURIBuilder(serviceRootUrl)
+                                .appendEntitySetSegment(entitySet.getName())
+                                .appendKeySegment(UUID.fromString(rec.getString(keyName)))
+                                .build()));
+    }
 }
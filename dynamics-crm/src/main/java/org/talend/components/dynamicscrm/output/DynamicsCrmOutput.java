@@ -13,6 +13,7 @@
 package org.talend.components.dynamicscrm.output;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -37,10 +38,14 @@ import org.talend.sdk.component.api.component.Icon.IconType;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 @Version(value = 2, migrationHandler = DynamicsRuntimeMigrationHandler.class)
 @Icon(value = IconType.CUSTOM, custom = "azure-dynamics-connector")
@@ -64,11 +69,20 @@ public class DynamicsCrmOutput implements Serializable {
 
     private RecordProcessor processor;
 
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private transient BatchWriter batchWriter;
+
+    private transient List<Record> buffer;
+
+    public static final String ERROR_MESSAGE_FIELD = "errorMessage";
+
     public DynamicsCrmOutput(@Option("configuration") final DynamicsCrmOutputConfiguration configuration,
-            final DynamicsCrmService service, final I18n i18n) {
+            final DynamicsCrmService service, final I18n i18n, final RecordBuilderFactory recordBuilderFactory) {
         this.configuration = configuration;
         this.service = service;
         this.i18n = i18n;
+        this.recordBuilderFactory = recordBuilderFactory;
     }
 
     @PostConstruct
@@ -79,7 +93,7 @@ public class DynamicsCrmOutput implements Serializable {
         } catch (AuthenticationException e) {
             throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
         }
-        metadata = service.getMetadata(client);
+        metadata = service.getMetadata(client, configuration.getDataset().getDatastore());
         entitySet = metadata.getEntityContainer().getEntitySet(configuration.getDataset().getEntitySet());
         Set<String> possibleColumns = service
                 .getPropertiesValidationData(client, configuration.getDataset().getDatastore(),
@@ -98,6 +112,12 @@ public class DynamicsCrmOutput implements Serializable {
                 .filter(s -> possibleColumns.contains(client.extractNavigationLinkName(s)))
                 .collect(Collectors.toList());
         processor = createProcessor(configuration.getAction());
+        if (configuration.isBatchMode()) {
+            Integer maxRetries = configuration.getDataset().getDatastore().getMaxRetries();
+            batchWriter = new BatchWriter(client, configuration.getDataset().getDatastore().getServiceRootUrl(),
+                    processor, i18n, configuration.getMaxConcurrentBatches(), maxRetries == null ? 0 : maxRetries);
+            buffer = new ArrayList<>();
+        }
     }
 
     private Predicate<? super PropertyValidationData> getFilter() {
@@ -125,7 +145,15 @@ public class DynamicsCrmOutput implements Serializable {
     }
 
     @ElementListener
-    public void onNext(@Input final Record defaultInput) {
+    public void onNext(@Input final Record defaultInput, @Output("reject") final OutputEmitter<Record> reject) {
+        if (batchWriter != null) {
+            buffer.add(defaultInput);
+            if (buffer.size() >= configuration.getBatchSize()) {
+                emitRejects(batchWriter.submit(new ArrayList<>(buffer)), reject);
+                buffer.clear();
+            }
+            return;
+        }
         try {
             processor.processRecord(defaultInput);
         } catch (ServiceUnavailableException e) {
@@ -133,8 +161,37 @@ public class DynamicsCrmOutput implements Serializable {
         }
     }
 
+    @AfterGroup
+    public void afterGroup(@Output("reject") final OutputEmitter<Record> reject) {
+        if (batchWriter == null) {
+            return;
+        }
+        if (!buffer.isEmpty()) {
+            emitRejects(batchWriter.submit(new ArrayList<>(buffer)), reject);
+            buffer.clear();
+        }
+        emitRejects(batchWriter.flush(), reject);
+    }
+
+    private void emitRejects(List<BatchWriter.Failure> failures, OutputEmitter<Record> reject) {
+        for (BatchWriter.Failure failure : failures) {
+            Record rec = failure.getRec();
+            Record.Builder builder = recordBuilderFactory.newRecordBuilder();
+            rec
+                    .getSchema()
+                    .getEntries()
+                    .stream()
+                    .filter(e -> !ERROR_MESSAGE_FIELD.equals(e.getName()))
+                    .forEach(e -> builder.with(e, rec.get(Object.class, e.getName())));
+            reject.emit(builder.withString(ERROR_MESSAGE_FIELD, String.valueOf(failure.getMessage())).build());
+        }
+    }
+
     @PreDestroy
     public void release() {
+        if (batchWriter != null) {
+            batchWriter.close();
+        }
         client = null;
     }
 }
\ No newline at end of file
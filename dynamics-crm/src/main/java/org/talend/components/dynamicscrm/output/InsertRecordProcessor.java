@@ -12,6 +12,7 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
@@ -20,6 +21,7 @@ import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.naming.ServiceUnavailableException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +34,22 @@ public class InsertRecordProcessor extends AbstractToEntityRecordProcessor {
 
     @Override
     protected void doProcessRecord(ClientEntity entity, Record rec) throws ServiceUnavailableException {
+        addNavigationLinks(entity, rec);
+        client.insertEntity(entity);
+    }
+
+    @Override
+    protected List<ODataBatchableRequest> doCreateBatchRequests(ClientEntity entity, Record rec,
+            String serviceRootUrl) {
+        addNavigationLinks(entity, rec);
+        return Collections
+                .singletonList(client
+                        .getClient()
+                        .getCUDRequestFactory()
+                        .getEntityCreateRequest(entitySetURIBuilder(serviceRootUrl).build(), entity));
+    }
+
+    private void addNavigationLinks(ClientEntity entity, Record rec) {
         for (Map.Entry<String, String> lookupEntry : lookupMapping.entrySet()) {
             if (columnNames.contains(lookupEntry.getKey())) {
                 client
@@ -41,6 +59,5 @@ public class InsertRecordProcessor extends AbstractToEntityRecordProcessor {
                                 configuration.isEmptyStringToNull(), configuration.isIgnoreNull());
             }
         }
-        client.insertEntity(entity);
     }
 }
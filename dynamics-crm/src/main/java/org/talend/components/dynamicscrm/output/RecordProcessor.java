@@ -12,12 +12,23 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.naming.ServiceUnavailableException;
+import java.util.List;
 
 public interface RecordProcessor {
 
     void processRecord(Record rec) throws ServiceUnavailableException;
 
+    /**
+     * Build the requests doing the same as {@link #processRecord(Record)}, to be sent in an OData $batch change set.
+     *
+     * @param rec record to process
+     * @param serviceRootUrl service root URL of the Web API
+     * @return requests of the record, in execution order
+     */
+    List<ODataBatchableRequest> createBatchRequests(Record rec, String serviceRootUrl);
+
 }
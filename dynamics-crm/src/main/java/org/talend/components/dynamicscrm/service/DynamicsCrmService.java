@@ -12,8 +12,13 @@
  */
 package org.talend.components.dynamicscrm.service;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import javax.naming.AuthenticationException;
@@ -46,6 +51,8 @@ public class DynamicsCrmService {
     @Service
     private I18n i18n;
 
+    private final MetadataCache metadataCache = new MetadataCache();
+
     public DynamicsCRMClient createClient(DynamicsCrmConnection connection, String entitySet)
             throws AuthenticationException {
         ClientConfiguration clientConfig;
@@ -89,21 +96,49 @@ public class DynamicsCrmService {
     }
 
     public DynamicsCrmQueryResultsIterator getEntitySetIterator(DynamicsCRMClient client, QueryOptionConfig config) {
+        return getEntitySetIterator(client, config, null);
+    }
+
+    /**
+     * @param prefetchExecutor executor retrieving the next page in background, pages retrieved on demand if null.
+     */
+    public DynamicsCrmQueryResultsIterator getEntitySetIterator(DynamicsCRMClient client, QueryOptionConfig config,
+            ExecutorService prefetchExecutor) {
         ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(config);
         ODataRetrieveResponse<ClientEntitySet> response = request.execute();
-        return new DynamicsCrmQueryResultsIterator(client, config, response.getBody());
+        return new DynamicsCrmQueryResultsIterator(client, config, response.getBody(), prefetchExecutor);
     }
 
-    public Edm getMetadata(DynamicsCRMClient client) {
-        EdmMetadataRequest metadataRequest = client.createMetadataRetrieveRequest();
-        Edm metadata;
+    /**
+     * Get the metadata of the connection's service, from cache if loaded recently.
+     */
+    public Edm getMetadata(DynamicsCRMClient client, DynamicsCrmConnection connection) {
         try {
-            ODataRetrieveResponse<Edm> metadataResponse = metadataRequest.execute();
-            metadata = metadataResponse.getBody();
+            return metadataCache
+                    .getMetadata(connection.getServiceRootUrl(), client.getClient(), () -> downloadMetadata(client));
         } catch (Exception e) {
+            // a corrupted cached document must not make next requests fail too
+            metadataCache.invalidate(connection.getServiceRootUrl());
             throw new DynamicsCrmException(i18n.metadataRetrieveFailed(e.getMessage()), e);
         }
-        return metadata;
+    }
+
+    private byte[] downloadMetadata(DynamicsCRMClient client) {
+        EdmMetadataRequest metadataRequest = client.createMetadataRetrieveRequest();
+        ODataRetrieveResponse<Edm> metadataResponse = metadataRequest.execute();
+        try (InputStream in = metadataResponse.getRawResponse()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            metadataResponse.close();
+        }
     }
 
     protected URIBuilder createUriBuilderForValidProps(DynamicsCRMClient client, DynamicsCrmConnection datastore,
@@ -120,6 +155,13 @@ public class DynamicsCrmService {
     public List<PropertyValidationData> getPropertiesValidationData(DynamicsCRMClient client,
             DynamicsCrmConnection datastore,
             String logicalTypeName) {
+        return metadataCache
+                .getPropertiesValidationData(datastore.getServiceRootUrl(), logicalTypeName,
+                        () -> loadPropertiesValidationData(client, datastore, logicalTypeName));
+    }
+
+    private List<PropertyValidationData> loadPropertiesValidationData(DynamicsCRMClient client,
+            DynamicsCrmConnection datastore, String logicalTypeName) {
         ODataEntitySetRequest<ClientEntitySet> validationDataRequest = client
                 .createRequest(createUriBuilderForValidProps(client, datastore, logicalTypeName));
         ODataRetrieveResponse<ClientEntitySet> validationDataResponse = validationDataRequest.execute();
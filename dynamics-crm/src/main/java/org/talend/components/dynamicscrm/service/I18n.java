@@ -34,4 +34,10 @@ public interface I18n {
     String failedToInsertEntity(String message);
 
     String idCannotBeNull(String keyFieldName);
+
+    String batchOperationFailed(int status, String message);
+
+    String noBatchResponse();
+
+    String invalidCreatedOnWindow(String start, String end);
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.commons.api.edm.Edm;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of Dynamics CRM metadata, keyed by service root URL (organization URL and Web API version).
+ * Entries expire after a TTL. The EDMX document can also be kept in a directory, so that other JVMs parse it from
+ * disk instead of downloading it. The parsed model is kept, so the document is downloaded and parsed once per entry
+ * rather than once per component.
+ */
+@Slf4j
+public class MetadataCache {
+
+    /** time to live in milliseconds, 0 disables the cache */
+    public static final String TTL_PROPERTY = "talend.dynamicscrm.metadata.cache.ttl";
+
+    /** directory where EDMX documents are kept, not kept on disk if not set */
+    public static final String DIRECTORY_PROPERTY = "talend.dynamicscrm.metadata.cache.dir";
+
+    private static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(1);
+
+    private static final String FILE_EXTENSION = ".edmx";
+
+    private final long ttl;
+
+    private final Path directory;
+
+    private final Map<String, Entry<Edm>> metadata = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry<List<PropertyValidationData>>> properties = new ConcurrentHashMap<>();
+
+    /** one lock per key, so that concurrent components load metadata once */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public MetadataCache() {
+        this(Long.getLong(TTL_PROPERTY, DEFAULT_TTL),
+                Optional.ofNullable(System.getProperty(DIRECTORY_PROPERTY)).map(Paths::get).orElse(null));
+    }
+
+    MetadataCache(final long ttl, final Path directory) {
+        this.ttl = ttl;
+        this.directory = directory;
+    }
+
+    /**
+     * Get the metadata model of a service.
+     *
+     * @param serviceRootUrl service root URL
+     * @param odataClient client used to parse the EDMX document
+     * @param download download the EDMX document when not cached
+     * @return metadata model
+     */
+    public Edm getMetadata(final String serviceRootUrl, final ODataClient odataClient,
+            final Supplier<byte[]> download) {
+        final String key = key(serviceRootUrl);
+        return get(metadata, key, () -> {
+            byte[] edmx = readFromDisk(key).orElse(null);
+            if (edmx == null) {
+                edmx = download.get();
+                writeToDisk(key, edmx);
+            }
+            return odataClient.getReader().readMetadata(new ByteArrayInputStream(edmx));
+        });
+    }
+
+    /**
+     * Get the properties validation data (readable, creatable, updatable) of an entity type.
+     *
+     * @param serviceRootUrl service root URL
+     * @param logicalTypeName entity type name
+     * @param load load the properties when not cached
+     * @return properties validation data
+     */
+    public List<PropertyValidationData> getPropertiesValidationData(final String serviceRootUrl,
+            final String logicalTypeName, final Supplier<List<PropertyValidationData>> load) {
+        return get(properties, key(serviceRootUrl) + '|' + logicalTypeName, load);
+    }
+
+    /**
+     * Remove all cached entries of a service, in memory and on disk.
+     *
+     * @param serviceRootUrl service root URL
+     */
+    public void invalidate(final String serviceRootUrl) {
+        final String key = key(serviceRootUrl);
+        metadata.remove(key);
+        properties.keySet().removeIf(k -> k.startsWith(key + '|'));
+        if (directory != null) {
+            try {
+                Files.deleteIfExists(file(key));
+            } catch (IOException e) {
+                log.debug("Can't delete cached metadata {}: {}", file(key), e.getMessage());
+            }
+        }
+    }
+
+    private <T> T get(final Map<String, Entry<T>> cache, final String key, final Supplier<T> load) {
+        if (ttl <= 0) {
+            return load.get();
+        }
+        Entry<T> entry = cache.get(key);
+        if (entry != null && entry.isFresh()) {
+            return entry.value;
+        }
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            entry = cache.get(key);
+            if (entry == null || !entry.isFresh()) {
+                entry = new Entry<>(load.get(), System.currentTimeMillis() + ttl);
+                cache.put(key, entry);
+            }
+            return entry.value;
+        }
+    }
+
+    private Optional<byte[]> readFromDisk(final String key) {
+        if (directory == null) {
+            return Optional.empty();
+        }
+        final Path file = file(key);
+        try {
+            if (Files.exists(file)
+                    && Files.getLastModifiedTime(file).toMillis() + ttl > System.currentTimeMillis()) {
+                return Optional.of(Files.readAllBytes(file));
+            }
+        } catch (IOException e) {
+            log.debug("Can't read cached metadata {}: {}", file, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private void writeToDisk(final String key, final byte[] edmx) {
+        if (directory == null) {
+            return;
+        }
+        final Path file = file(key);
+        try {
+            Files.createDirectories(directory);
+            final Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.write(tmp, edmx);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.debug("Can't write cached metadata {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path file(final String key) {
+        return directory.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + FILE_EXTENSION);
+    }
+
+    private static String key(final String serviceRootUrl) {
+        String key = serviceRootUrl.trim().toLowerCase(Locale.ROOT);
+        while (key.endsWith("/")) {
+            key = key.substring(0, key.length() - 1);
+        }
+        return key;
+    }
+
+    private static class Entry<T> {
+
+        private final T value;
+
+        private final long expiresAt;
+
+        Entry(final T value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
@@ -12,14 +12,22 @@
  */
 package org.talend.components.dynamicscrm.source;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import javax.naming.AuthenticationException;
+
+import org.apache.olingo.commons.api.edm.Edm;
 import org.talend.components.dynamicscrm.migration.DynamicsRuntimeMigrationHandler;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
 import org.talend.components.dynamicscrm.service.DynamicsCrmService;
 import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.components.dynamicscrm.source.DynamicsCrmInputMapperConfiguration.Partitioning;
+import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Icon.IconType;
 import org.talend.sdk.component.api.component.Version;
@@ -46,13 +54,23 @@ public class DynamicsCrmInputMapper implements Serializable {
 
     private final I18n i18n;
 
+    /** range of the entity set read by this mapper, empty for the whole entity set */
+    private final List<FilterCondition> partitionConditions;
+
     public DynamicsCrmInputMapper(@Option("configuration") final DynamicsCrmInputMapperConfiguration configuration,
             final DynamicsCrmService service, final RecordBuilderFactory recordBuilderFactory,
             final I18n i18n) {
+        this(configuration, service, recordBuilderFactory, i18n, emptyList());
+    }
+
+    private DynamicsCrmInputMapper(final DynamicsCrmInputMapperConfiguration configuration,
+            final DynamicsCrmService service, final RecordBuilderFactory recordBuilderFactory, final I18n i18n,
+            final List<FilterCondition> partitionConditions) {
         this.configuration = configuration;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
         this.i18n = i18n;
+        this.partitionConditions = partitionConditions;
     }
 
     @Assessor
@@ -62,11 +80,38 @@ public class DynamicsCrmInputMapper implements Serializable {
 
     @Split
     public List<DynamicsCrmInputMapper> split(@PartitionSize final long bundles) {
-        return singletonList(this);
+        if (configuration.getPartitioning() == null || configuration.getPartitioning() == Partitioning.NONE
+                || configuration.getPartitions() <= 1 || !partitionConditions.isEmpty()) {
+            return singletonList(this);
+        }
+        return new QueryPartitioner(i18n)
+                .partitions(configuration, this::getKeyField)
+                .stream()
+                .map(conditions -> new DynamicsCrmInputMapper(configuration, service, recordBuilderFactory, i18n,
+                        conditions))
+                .collect(Collectors.toList());
+    }
+
+    private String getKeyField() {
+        DynamicsCRMClient client;
+        try {
+            client = service
+                    .createClient(configuration.getDataset().getDatastore(), configuration.getDataset().getEntitySet());
+        } catch (AuthenticationException e) {
+            throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
+        }
+        Edm metadata = service.getMetadata(client, configuration.getDataset().getDatastore());
+        return metadata
+                .getEntityContainer()
+                .getEntitySet(configuration.getDataset().getEntitySet())
+                .getEntityType()
+                .getKeyPredicateList()
+                .get(0)
+                .getName();
     }
 
     @Emitter
     public DynamicsCrmInputSource createWorker() {
-        return new DynamicsCrmInputSource(configuration, service, recordBuilderFactory, i18n);
+        return new DynamicsCrmInputSource(configuration, service, recordBuilderFactory, i18n, partitionConditions);
     }
 }
\ No newline at end of file
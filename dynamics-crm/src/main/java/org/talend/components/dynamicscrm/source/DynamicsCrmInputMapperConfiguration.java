@@ -20,6 +20,8 @@ import java.util.List;
 import org.talend.components.dynamicscrm.dataset.DynamicsCrmDataset;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -29,7 +31,8 @@ import lombok.Data;
 @GridLayout({ @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "customFilter" }), @GridLayout.Row({ "operator" }),
         @GridLayout.Row({ "filterConditions" }), @GridLayout.Row({ "filter" }),
         @GridLayout.Row({ "orderByConditionsList" }) })
-@GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row({ "partitioning", "partitions" }),
+        @GridLayout.Row({ "createdOnStart", "createdOnEnd" }), @GridLayout.Row("prefetchNextPage") })
 @Documentation("Dynamics CRM input configuration")
 public class DynamicsCrmInputMapperConfiguration implements Serializable {
 
@@ -65,9 +68,42 @@ public class DynamicsCrmInputMapperConfiguration implements Serializable {
     @Documentation("Fields to get from CRM")
     private List<String> columns;
 
+    @Option
+    @Documentation("Split the query into several queries on ranges of the primary key or windows of creation date")
+    private Partitioning partitioning = Partitioning.NONE;
+
+    @Option
+    @Min(1)
+    @Max(256)
+    @ActiveIf(target = "partitioning", value = "NONE", negate = true)
+    @Documentation("Number of queries the input is split into")
+    private int partitions = 4;
+
+    @Option
+    @ActiveIf(target = "partitioning", value = "CREATED_ON")
+    @Documentation("Start of the first creation date window, like 2015-01-01T00:00:00Z. "
+            + "Older records are read by the first query")
+    private String createdOnStart;
+
+    @Option
+    @ActiveIf(target = "partitioning", value = "CREATED_ON")
+    @Documentation("End of the last creation date window, current time if empty. "
+            + "Newer records are read by the last query")
+    private String createdOnEnd;
+
+    @Option
+    @Documentation("Retrieve the next page of results while the current one is read")
+    private boolean prefetchNextPage = true;
+
     public enum Operator {
         AND,
         OR;
     }
 
+    public enum Partitioning {
+        NONE,
+        KEY_RANGE,
+        CREATED_ON;
+    }
+
 }
\ No newline at end of file
@@ -13,8 +13,11 @@
 package org.talend.components.dynamicscrm.source;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -57,13 +60,25 @@ public class DynamicsCrmInputSource implements Serializable {
 
     private final InputHelper helper;
 
+    private final List<FilterCondition> partitionConditions;
+
+    /** retrieves the next page while the current one is converted */
+    private transient ExecutorService prefetchExecutor;
+
     public DynamicsCrmInputSource(@Option("configuration") final DynamicsCrmInputMapperConfiguration configuration,
             final DynamicsCrmService service, final RecordBuilderFactory builderFactory, final I18n i18n) {
+        this(configuration, service, builderFactory, i18n, Collections.emptyList());
+    }
+
+    public DynamicsCrmInputSource(final DynamicsCrmInputMapperConfiguration configuration,
+            final DynamicsCrmService service, final RecordBuilderFactory builderFactory, final I18n i18n,
+            final List<FilterCondition> partitionConditions) {
         this.configuration = configuration;
         this.service = service;
         this.builderFactory = builderFactory;
         this.i18n = i18n;
         this.helper = new InputHelper(i18n);
+        this.partitionConditions = partitionConditions;
     }
 
     @PostConstruct
@@ -75,7 +90,7 @@ public class DynamicsCrmInputSource implements Serializable {
             throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
         }
 
-        metadata = service.getMetadata(client);
+        metadata = service.getMetadata(client, configuration.getDataset().getDatastore());
         EdmEntitySet entitySet = metadata.getEntityContainer().getEntitySet(configuration.getDataset().getEntitySet());
         Set<String> readableColumns = service
                 .getPropertiesValidationData(client, configuration.getDataset().getDatastore(),
@@ -96,7 +111,16 @@ public class DynamicsCrmInputSource implements Serializable {
         schema = helper
                 .getSchemaFromMetadata(metadata, configuration.getDataset().getEntitySet(), columnNames,
                         builderFactory);
-        iterator = service.getEntitySetIterator(client, helper.createQueryOptionConfig(schema, configuration));
+        if (configuration.isPrefetchNextPage()) {
+            prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "dynamics-prefetch-" + configuration.getDataset().getEntitySet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        iterator = service
+                .getEntitySetIterator(client,
+                        helper.createQueryOptionConfig(schema, configuration, partitionConditions), prefetchExecutor);
     }
 
     @Producer
@@ -111,5 +135,9 @@ public class DynamicsCrmInputSource implements Serializable {
     @PreDestroy
     public void release() {
         iterator = null;
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
     }
 }
\ No newline at end of file
@@ -14,6 +14,9 @@ package org.talend.components.dynamicscrm.source;
 
 import java.net.URI;
 import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetRequest;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
@@ -22,28 +25,42 @@ import org.apache.olingo.client.api.domain.ClientEntitySet;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.ms.crm.odata.QueryOptionConfig;
 
+/**
+ * Iterate over the entities of all the pages of a query. With a prefetch executor, the next page is retrieved in
+ * background as soon as the current page is received.
+ */
 public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
 
     private final DynamicsCRMClient client;
 
     private final QueryOptionConfig queryOptionConfig;
 
+    private final ExecutorService prefetchExecutor;
+
     private URI nextPageUri;
 
     private Iterator<ClientEntity> entityIterator;
 
+    private Future<ClientEntitySet> nextPage;
+
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig,
             ClientEntitySet clientEntitySet) {
-        this.entityIterator = clientEntitySet.getEntities().iterator();
-        this.nextPageUri = clientEntitySet.getNext();
+        this(client, queryOptionConfig, clientEntitySet, null);
+    }
+
+    public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig,
+            ClientEntitySet clientEntitySet, ExecutorService prefetchExecutor) {
         this.client = client;
         this.queryOptionConfig = queryOptionConfig;
+        this.prefetchExecutor = prefetchExecutor;
+        setPage(clientEntitySet);
     }
 
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig) {
         this.client = client;
         this.queryOptionConfig = queryOptionConfig;
-        requestNext();
+        this.prefetchExecutor = null;
+        setPage(retrieve(null));
     }
 
     @Override
@@ -53,7 +70,7 @@ public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
 
     @Override
     public ClientEntity next() {
-        if (entityIterator == null || (!entityIterator.hasNext() && nextPageUri != null)) {
+        while (!entityIterator.hasNext() && nextPageUri != null) {
             requestNext();
         }
         if (entityIterator.hasNext()) {
@@ -63,13 +80,39 @@ public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
     }
 
     private void requestNext() {
-        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
-        if (nextPageUri != null) {
-            request.setURI(nextPageUri);
+        if (nextPage == null) {
+            setPage(retrieve(nextPageUri));
+            return;
         }
-        ODataRetrieveResponse<ClientEntitySet> response = request.execute();
-        ClientEntitySet entitySet = response.getBody();
+        try {
+            setPage(nextPage.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void setPage(ClientEntitySet entitySet) {
         entityIterator = entitySet.getEntities().iterator();
         nextPageUri = entitySet.getNext();
+        nextPage = null;
+        if (nextPageUri != null && prefetchExecutor != null) {
+            final URI uri = nextPageUri;
+            nextPage = prefetchExecutor.submit(() -> retrieve(uri));
+        }
+    }
+
+    private ClientEntitySet retrieve(URI pageUri) {
+        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
+        if (pageUri != null) {
+            request.setURI(pageUri);
+        }
+        ODataRetrieveResponse<ClientEntitySet> response = request.execute();
+        return response.getBody();
     }
 }
@@ -18,8 +18,11 @@ import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import org.apache.olingo.client.api.domain.ClientComplexValue;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientValue;
@@ -42,6 +45,7 @@ import org.apache.olingo.commons.core.edm.primitivetype.EdmPrimitiveTypeFactory;
 import org.talend.components.dynamicscrm.service.DynamicsCrmException;
 import org.talend.components.dynamicscrm.service.I18n;
 import org.talend.components.dynamicscrm.source.DynamicsCrmInputMapperConfiguration.Operator;
+import org.talend.components.dynamicscrm.source.DynamicsCrmInputMapperConfiguration.Partitioning;
 import org.talend.components.dynamicscrm.source.OrderByCondition.Order;
 import org.talend.ms.crm.odata.QueryOptionConfig;
 import org.talend.sdk.component.api.record.Record;
@@ -59,10 +63,23 @@ public class InputHelper {
     }
 
     public QueryOptionConfig createQueryOptionConfig(Schema schema, DynamicsCrmInputMapperConfiguration configuration) {
+        return createQueryOptionConfig(schema, configuration, Collections.emptyList());
+    }
+
+    /**
+     * Query options, the filter of the configuration being restricted to a partition of the entity set.
+     */
+    public QueryOptionConfig createQueryOptionConfig(Schema schema, DynamicsCrmInputMapperConfiguration configuration,
+            List<FilterCondition> partitionConditions) {
         QueryOptionConfig config = new QueryOptionConfig();
         final String[] names = schema.getEntries().stream().map(Schema.Entry::getName).toArray(String[]::new);
         config.setReturnEntityProperties(names);
         String filterString = getFilterQuery(schema, configuration);
+        String partitionFilterString = getPartitionFilterQuery(configuration.getPartitioning(), partitionConditions);
+        if (partitionFilterString != null) {
+            filterString = filterString == null ? partitionFilterString
+                    : "(" + filterString + ") and " + partitionFilterString;
+        }
         if (filterString != null) {
             config.setFilter(filterString);
         }
@@ -106,13 +123,31 @@ public class InputHelper {
         return null;
     }
 
+    /**
+     * Filter of partition conditions, values are primary key GUIDs or creation dates depending on the partitioning.
+     */
+    public String getPartitionFilterQuery(Partitioning partitioning, List<FilterCondition> partitionConditions) {
+        if (partitionConditions == null || partitionConditions.isEmpty()) {
+            return null;
+        }
+        return convertFilterConditionsTableToString(partitionConditions, Operator.AND,
+                condition -> partitioning == Partitioning.KEY_RANGE ? UUID.fromString(condition.getValue())
+                        : Instant.parse(condition.getValue()));
+    }
+
     public String convertFilterConditionsTableToString(Schema schema,
             List<FilterCondition> filterConditions, Operator operator) {
+        return convertFilterConditionsTableToString(filterConditions, operator,
+                condition -> convertStringValueIfNeeded(schema, condition.getField(), condition.getValue()));
+    }
+
+    private String convertFilterConditionsTableToString(List<FilterCondition> filterConditions, Operator operator,
+            Function<FilterCondition, Object> valueConverter) {
         FilterFactory filterFactory = new FilterFactoryImpl();
         List<URIFilter> uriFilters = new ArrayList<>();
         for (FilterCondition condition : filterConditions) {
             String field = condition.getField();
-            Object value = convertStringValueIfNeeded(schema, field, condition.getValue());
+            Object value = valueConverter.apply(condition);
             switch (condition.getFilterOperator()) {
             case EQUAL:
                 uriFilters.add(filterFactory.eq(field, value));
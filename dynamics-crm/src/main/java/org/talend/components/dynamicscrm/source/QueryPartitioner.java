@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.source;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
+import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.components.dynamicscrm.source.FilterCondition.FilterOperator;
+
+/**
+ * Split an entity set query into queries on disjoint ranges, each range being given by filter conditions.
+ * The first range has no lower bound and the last one no upper bound, so that all the records are read whatever the
+ * bounds.
+ */
+class QueryPartitioner {
+
+    static final String CREATED_ON_FIELD = "createdon";
+
+    /** number of values of the leading 16 bits of the primary key, in the server sort order */
+    private static final int KEY_PREFIX_RANGE = 1 << 16;
+
+    private final I18n i18n;
+
+    QueryPartitioner(final I18n i18n) {
+        this.i18n = i18n;
+    }
+
+    /**
+     * @param configuration input configuration, with partitioning and number of partitions.
+     * @param keyField name of the primary key, only called for a key range partitioning.
+     * @return filter conditions of each partition.
+     */
+    List<List<FilterCondition>> partitions(final DynamicsCrmInputMapperConfiguration configuration,
+            final Supplier<String> keyField) {
+        switch (configuration.getPartitioning()) {
+        case KEY_RANGE:
+            return keyRanges(keyField.get(), configuration.getPartitions());
+        case CREATED_ON:
+            return createdOnWindows(configuration.getCreatedOnStart(), configuration.getCreatedOnEnd(),
+                    configuration.getPartitions());
+        default:
+            throw new IllegalArgumentException("Unsupported partitioning:" + configuration.getPartitioning());
+        }
+    }
+
+    /**
+     * SQL Server sorts uniqueidentifier values on the last group first, so the ranges split the 2 first bytes of
+     * the last group. Ranges are even for random keys, sequential keys generated by the platform share their last
+     * group and rather suit creation date windows.
+     */
+    List<List<FilterCondition>> keyRanges(final String keyField, final int partitions) {
+        final List<String> bounds = new ArrayList<>();
+        for (int i = 1; i < partitions; i++) {
+            bounds.add(String.format("00000000-0000-0000-0000-%04x00000000", (long) i * KEY_PREFIX_RANGE / partitions));
+        }
+        return ranges(keyField, bounds);
+    }
+
+    List<List<FilterCondition>> createdOnWindows(final String start, final String end, final int partitions) {
+        if (start == null || start.trim().isEmpty()) {
+            throw new DynamicsCrmException(i18n.invalidCreatedOnWindow(start, end));
+        }
+        final Instant from;
+        final Instant to;
+        try {
+            from = Instant.parse(start.trim());
+            to = end == null || end.trim().isEmpty() ? Instant.now() : Instant.parse(end.trim());
+        } catch (DateTimeParseException e) {
+            throw new DynamicsCrmException(i18n.invalidCreatedOnWindow(start, end));
+        }
+        if (!from.isBefore(to)) {
+            throw new DynamicsCrmException(i18n.invalidCreatedOnWindow(start, end));
+        }
+        final long width = to.toEpochMilli() - from.toEpochMilli();
+        final List<String> bounds = new ArrayList<>();
+        for (int i = 1; i < partitions; i++) {
+            bounds.add(Instant.ofEpochMilli(from.toEpochMilli() + width * i / partitions).toString());
+        }
+        return ranges(CREATED_ON_FIELD, bounds);
+    }
+
+    private static List<List<FilterCondition>> ranges(final String field, final List<String> bounds) {
+        final List<List<FilterCondition>> ranges = new ArrayList<>();
+        for (int i = 0; i <= bounds.size(); i++) {
+            final List<FilterCondition> conditions = new ArrayList<>();
+            if (i > 0) {
+                conditions.add(new FilterCondition(field, FilterOperator.GREATER_OR_EQUAL, bounds.get(i - 1)));
+            }
+            if (i < bounds.size()) {
+                conditions.add(new FilterCondition(field, FilterOperator.LESS_THAN, bounds.get(i)));
+            }
+            ranges.add(conditions);
+        }
+        return ranges;
+    }
+}
@@ -94,6 +94,32 @@ class DynamicsCrmOutputTestIT extends DynamicsCrmTestBase {
         assertEquals(date.toString(), entity.getProperty("birthdate").getValue().asPrimitive().toString());
     }
 
+    @Test
+    void testInsertBatch() {
+        final DynamicsCrmOutputConfiguration configuration = new DynamicsCrmOutputConfiguration();
+        configuration.setDataset(createDataset());
+        configuration.setIgnoreNull(true);
+        configuration.setEmptyStringToNull(true);
+        configuration.setAction(Action.INSERT);
+        configuration.setBatchMode(true);
+        configuration.setBatchSize(2);
+        configuration
+                .setColumns(Arrays
+                        .asList("annualincome", "assistantname", "business2", "callback", "childrensnames",
+                                "company", "creditonhold", "_transactioncurrencyid_value", "birthdate"));
+        configuration
+                .setLookupMapping(
+                        Arrays.asList(new LookupMapping("_transactioncurrencyid_value", "transactioncurrencies")));
+
+        final String config = configurationByExample().forInstance(configuration).configured().toQueryString();
+        components.setInputData(Arrays.asList(createTestRecord(), createTestRecord(), createTestRecord()));
+        runOutputPipeline(config);
+
+        List<ClientEntity> data = getData(client);
+        assertEquals(3, data.size());
+        assertEquals("assistant", data.get(0).getProperty("assistantname").getPrimitiveValue().toString());
+    }
+
     @Test
     void testInsertWithEmptyGuid() {
         Record testRecord = createTestRecordWithEmptyGuid();
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MetadataCacheTest {
+
+    private static final String SERVICE_ROOT = "https://org.crm.dynamics.com/api/data/v9.2";
+
+    private static final String EDMX = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<edmx:Edmx Version=\"4.0\" xmlns:edmx=\"http://docs.oasis-open.org/odata/ns/edmx\">"
+            + "<edmx:DataServices>"
+            + "<Schema Namespace=\"Microsoft.Dynamics.CRM\" Alias=\"mscrm\" "
+            + "xmlns=\"http://docs.oasis-open.org/odata/ns/edm\">"
+            + "<EntityType Name=\"account\"><Key><PropertyRef Name=\"accountid\"/></Key>"
+            + "<Property Name=\"accountid\" Type=\"Edm.Guid\"/><Property Name=\"name\" Type=\"Edm.String\"/>"
+            + "</EntityType>"
+            + "<EntityContainer Name=\"System\">"
+            + "<EntitySet Name=\"accounts\" EntityType=\"Microsoft.Dynamics.CRM.account\"/>"
+            + "</EntityContainer>"
+            + "</Schema></edmx:DataServices></edmx:Edmx>";
+
+    private final ODataClient odataClient = ODataClientFactory.getClient();
+
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    private final Supplier<byte[]> download = () -> {
+        downloads.incrementAndGet();
+        return EDMX.getBytes(StandardCharsets.UTF_8);
+    };
+
+    @Test
+    void metadataIsDownloadedOnce() {
+        final MetadataCache cache = new MetadataCache(TimeUnit.MINUTES.toMillis(1), null);
+
+        final Edm edm = cache.getMetadata(SERVICE_ROOT, odataClient, download);
+        Assertions.assertNotNull(edm.getEntityContainer().getEntitySet("accounts"));
+        Assertions.assertSame(edm, cache.getMetadata(SERVICE_ROOT.toUpperCase() + "/", odataClient, download));
+        Assertions.assertEquals(1, downloads.get());
+
+        cache.invalidate(SERVICE_ROOT);
+        cache.getMetadata(SERVICE_ROOT, odataClient, download);
+        Assertions.assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void disabledWithoutTTL() {
+        final MetadataCache cache = new MetadataCache(0, null);
+
+        cache.getMetadata(SERVICE_ROOT, odataClient, download);
+        cache.getMetadata(SERVICE_ROOT, odataClient, download);
+        Assertions.assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void metadataIsReadFromDisk(@TempDir final Path directory) {
+        new MetadataCache(TimeUnit.MINUTES.toMillis(1), directory).getMetadata(SERVICE_ROOT, odataClient, download);
+
+        // another JVM, same directory.
+        final Edm edm = new MetadataCache(TimeUnit.MINUTES.toMillis(1), directory)
+                .getMetadata(SERVICE_ROOT, odataClient, download);
+        Assertions.assertEquals(1, downloads.get());
+        Assertions.assertNotNull(edm.getEntityContainer().getEntitySet("accounts"));
+    }
+
+    @Test
+    void invalidateDropsCorruptedDocument(@TempDir final Path directory) {
+        final MetadataCache broken = new MetadataCache(TimeUnit.MINUTES.toMillis(1), directory);
+        Assertions.assertThrows(RuntimeException.class, () -> broken
+                .getMetadata(SERVICE_ROOT, odataClient, () -> "<broken".getBytes(StandardCharsets.UTF_8)));
+
+        // another JVM reads the corrupted document, until the service invalidates it on failure.
+        final MetadataCache cache = new MetadataCache(TimeUnit.MINUTES.toMillis(1), directory);
+        Assertions.assertThrows(RuntimeException.class, () -> cache.getMetadata(SERVICE_ROOT, odataClient, download));
+        Assertions.assertEquals(0, downloads.get());
+        cache.invalidate(SERVICE_ROOT);
+        final Edm edm = cache.getMetadata(SERVICE_ROOT, odataClient, download);
+        Assertions.assertEquals(1, downloads.get());
+        Assertions.assertNotNull(edm.getEntityContainer().getEntitySet("accounts"));
+    }
+
+    @Test
+    void propertiesAreCachedByEntityType() {
+        final MetadataCache cache = new MetadataCache(TimeUnit.MINUTES.toMillis(1), null);
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<List<PropertyValidationData>> load = () -> {
+            loads.incrementAndGet();
+            return Collections.singletonList(new PropertyValidationData("name", true, true, true));
+        };
+
+        cache.getPropertiesValidationData(SERVICE_ROOT, "account", load);
+        cache.getPropertiesValidationData(SERVICE_ROOT, "account", load);
+        cache.getPropertiesValidationData(SERVICE_ROOT, "contact", load);
+        Assertions.assertEquals(2, loads.get());
+    }
+}
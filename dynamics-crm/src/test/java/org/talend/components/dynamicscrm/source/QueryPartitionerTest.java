@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.source;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
+import org.talend.components.dynamicscrm.service.I18n;
+import org.talend.components.dynamicscrm.source.DynamicsCrmInputMapperConfiguration.Partitioning;
+import org.talend.components.dynamicscrm.source.FilterCondition.FilterOperator;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.junit5.WithComponents;
+
+@WithComponents("org.talend.components.dynamicscrm")
+class QueryPartitionerTest {
+
+    @Service
+    private I18n i18n;
+
+    @Test
+    void keyRanges() {
+        List<List<FilterCondition>> ranges = new QueryPartitioner(i18n).keyRanges("accountid", 4);
+
+        Assertions.assertEquals(4, ranges.size());
+        Assertions.assertEquals(1, ranges.get(0).size());
+        Assertions.assertEquals(FilterOperator.LESS_THAN, ranges.get(0).get(0).getFilterOperator());
+        Assertions.assertEquals("00000000-0000-0000-0000-400000000000", ranges.get(0).get(0).getValue());
+        Assertions.assertEquals(2, ranges.get(1).size());
+        Assertions.assertEquals(FilterOperator.GREATER_OR_EQUAL, ranges.get(1).get(0).getFilterOperator());
+        Assertions.assertEquals("00000000-0000-0000-0000-400000000000", ranges.get(1).get(0).getValue());
+        Assertions.assertEquals("00000000-0000-0000-0000-800000000000", ranges.get(1).get(1).getValue());
+        Assertions.assertEquals(1, ranges.get(3).size());
+        Assertions.assertEquals("00000000-0000-0000-0000-c00000000000", ranges.get(3).get(0).getValue());
+        ranges.forEach(r -> r.forEach(c -> UUID.fromString(c.getValue())));
+    }
+
+    @Test
+    void createdOnWindows() {
+        List<List<FilterCondition>> windows = new QueryPartitioner(i18n)
+                .createdOnWindows("2020-01-01T00:00:00Z", "2020-01-05T00:00:00Z", 2);
+
+        Assertions.assertEquals(2, windows.size());
+        Assertions.assertEquals(QueryPartitioner.CREATED_ON_FIELD, windows.get(0).get(0).getField());
+        Assertions.assertEquals("2020-01-03T00:00:00Z", windows.get(0).get(0).getValue());
+        Assertions.assertEquals("2020-01-03T00:00:00Z", windows.get(1).get(0).getValue());
+    }
+
+    @Test
+    void invalidCreatedOnWindow() {
+        QueryPartitioner partitioner = new QueryPartitioner(i18n);
+        Assertions.assertThrows(DynamicsCrmException.class, () -> partitioner.createdOnWindows(null, null, 2));
+        Assertions.assertThrows(DynamicsCrmException.class,
+                () -> partitioner.createdOnWindows("2020-01-05T00:00:00Z", "2020-01-01T00:00:00Z", 2));
+    }
+
+    @Test
+    void partitionFilterValuesAreNotQuoted() {
+        InputHelper helper = new InputHelper(i18n);
+        QueryPartitioner partitioner = new QueryPartitioner(i18n);
+
+        String createdOnFilter = helper
+                .getPartitionFilterQuery(Partitioning.CREATED_ON,
+                        partitioner.createdOnWindows("2020-01-01T00:00:00Z", "2020-01-05T00:00:00Z", 3).get(1));
+        String keyFilter = helper
+                .getPartitionFilterQuery(Partitioning.KEY_RANGE, partitioner.keyRanges("accountid", 3).get(1));
+
+        Assertions.assertTrue(createdOnFilter.startsWith("(createdon ge "));
+        Assertions.assertTrue(createdOnFilter.contains(" and (createdon lt "));
+        Assertions.assertFalse(createdOnFilter.contains("'"));
+        Assertions.assertTrue(keyFilter.startsWith("(accountid ge "));
+        Assertions.assertFalse(keyFilter.contains("'"));
+        Assertions.assertNull(helper.getPartitionFilterQuery(Partitioning.NONE, null));
+    }
+}
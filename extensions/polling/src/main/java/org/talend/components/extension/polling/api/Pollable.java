@@ -25,6 +25,20 @@ public @interface Pollable {
 
     String icon() default "";
 
+    /**
+     * Method called before reading the batch input, it takes the current watermark (null if none yet).
+     */
     String resumeMethod() default "";
 
+    /**
+     * Field of the read records whose max value is kept as watermark (a timestamp or an increasing id).
+     */
+    String watermarkField() default "";
+
+    /**
+     * Method without parameter returning an opaque cursor, called after each read.
+     * A non null cursor replaces the watermark.
+     */
+    String checkpointMethod() default "";
+
 }
@@ -18,6 +18,7 @@ import lombok.NoArgsConstructor;
 
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.DefaultValue;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -29,7 +30,10 @@ import java.io.Serializable;
 @AllArgsConstructor
 @NoArgsConstructor
 @GridLayout(names = GridLayout.FormType.MAIN, value = { @GridLayout.Row({ "delay" }), })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "maxRead" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row({ "maxRead" }), @GridLayout.Row({ "adaptive" }), @GridLayout.Row({ "maxDelay" }),
+                @GridLayout.Row({ "watermarkStore" }), @GridLayout.Row({ "watermarkFile" }),
+                @GridLayout.Row({ "deduplicate" }) })
 public class PollingConfiguration implements Serializable {
 
     @Option
@@ -42,4 +46,38 @@ public class PollingConfiguration implements Serializable {
     @DefaultValue("1")
     private Integer maxRead = 1;
 
+    @Option
+    @Documentation("Wait for the next poll without busy polling, and adapt the delay to the data: "
+            + "shorter while polls return max read records, longer while they return nothing.")
+    @DefaultValue("false")
+    private Boolean adaptive = false;
+
+    @Option
+    @ActiveIf(target = "adaptive", value = "true")
+    @Documentation("Max delay between two calls (in ms) when polls return nothing.")
+    @DefaultValue("60000")
+    private Integer maxDelay = 60000;
+
+    @Option
+    @Documentation("Where the watermark of the input is kept between polls, it is given to the resume method.")
+    @DefaultValue("NONE")
+    private WatermarkStore watermarkStore = WatermarkStore.NONE;
+
+    @Option
+    @ActiveIf(target = "watermarkStore", value = "FILE")
+    @Documentation("File where the watermark is saved, so that a new execution starts from it.")
+    private String watermarkFile;
+
+    @Option
+    @ActiveIf(target = "watermarkStore", value = { "MEMORY", "FILE" })
+    @Documentation("Skip the records having the watermark value which have already been read by a previous poll.")
+    @DefaultValue("false")
+    private Boolean deduplicate = false;
+
+    public enum WatermarkStore {
+        NONE,
+        MEMORY,
+        FILE
+    }
+
 }
\ No newline at end of file
@@ -42,8 +42,25 @@ public class PollingInput implements Input, Serializable {
 
     private AtomicInteger currentRead = new AtomicInteger(0);
 
+    private PollingScheduler scheduler;
+
+    private PollingWatermark watermark;
+
+    private String checkpointMethodName;
+
+    private transient Method checkpointMethod;
+
+    /** a poll of the batch input is running, it has been resumed from the watermark */
+    private boolean polling;
+
+    private int pollReads;
+
     @Override
     public Object next() {
+        if (Boolean.TRUE.equals(pollingConfiguration.getAdaptive())) {
+            return scheduledNext();
+        }
+
         long currentTime = System.currentTimeMillis();
         final int n = this.currentRead.incrementAndGet();
 
@@ -56,20 +73,83 @@ public class PollingInput implements Input, Serializable {
             log.info("Call batch input from polling after {} ms.", duration);
         }
 
+        final Object next = read();
+        this.lastExec.set(currentTime);
+
+        return next;
+    }
+
+    /**
+     * Park the caller until the next poll is due, rather than returning null until the delay is elapsed.
+     */
+    private Object scheduledNext() {
+        if (scheduler == null) {
+            scheduler = new PollingScheduler(pollingConfiguration.getDelay(), pollingConfiguration.getMaxDelay(),
+                    pollingConfiguration.getMaxRead());
+        }
+        if (!scheduler.awaitPoll()) {
+            return null; // interrupted, the runtime is stopping: the input is not read anymore
+        }
+        final Object next = read();
+        scheduler.read(next);
+        return next;
+    }
+
+    private Object read() {
         final Object delegate = Delegated.class.cast(input).getDelegate();
         if (resumeMethodName == null) {
-            resumeMethodName = delegate.getClass().getAnnotation(Pollable.class).resumeMethod();
+            final Pollable pollable = delegate.getClass().getAnnotation(Pollable.class);
+            resumeMethodName = pollable.resumeMethod();
+            checkpointMethodName = pollable.checkpointMethod();
         }
 
-        // Resumable.class.cast(Delegated.class.cast(input).getDelegate()).resume(null);
-        resume(delegate, resumeMethodName, null);
-
-        final Object next = input.next();
-        this.lastExec.set(currentTime);
+        if (watermark == null) {
+            // Resumable.class.cast(Delegated.class.cast(input).getDelegate()).resume(null);
+            resume(delegate, resumeMethodName, null);
+        } else if (!polling) {
+            // the watermark moves while reading, the input is resumed once per poll from its value at poll start
+            resume(delegate, resumeMethodName, watermark.getValue());
+            polling = true;
+        }
 
+        Object next = input.next();
+        if (watermark != null) {
+            while (next != null && !watermark.accept(next)) {
+                next = input.next(); // already read by a previous poll
+            }
+            watermark.checkpoint(checkpoint(delegate));
+        }
+        pollReads++;
+        if (next == null || (pollingConfiguration.getMaxRead() > 0 && pollReads >= pollingConfiguration.getMaxRead())) {
+            endPoll();
+        }
         return next;
     }
 
+    private void endPoll() {
+        polling = false;
+        pollReads = 0;
+        if (watermark != null) {
+            watermark.save();
+        }
+    }
+
+    private Object checkpoint(final Object delegate) {
+        if (checkpointMethodName.isEmpty()) {
+            return null;
+        }
+        try {
+            if (checkpointMethod == null) {
+                checkpointMethod = delegate.getClass().getMethod(checkpointMethodName);
+            }
+            return checkpointMethod.invoke(delegate);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Can't find checkpoint method for delegate", e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException("Can't invoke checkpoint method for delegate", e);
+        }
+    }
+
     private void resume(final Object delegate, final String resumeMethodName, final Object configuration) {
         if (resumeMethodName.isEmpty()) {
             return; // No resume method defined
@@ -77,8 +157,7 @@ public class PollingInput implements Input, Serializable {
 
         try {
             if (resumeMethod == null) {
-                Class clazz = configuration == null ? Object.class : configuration.getClass();
-                resumeMethod = delegate.getClass().getMethod(resumeMethodName, clazz);
+                resumeMethod = findResumeMethod(delegate, resumeMethodName, configuration);
             }
         } catch (NoSuchMethodException e) {
             throw new IllegalArgumentException("Can't find resume method for delegate", e);
@@ -91,6 +170,18 @@ public class PollingInput implements Input, Serializable {
         }
     }
 
+    private Method findResumeMethod(final Object delegate, final String resumeMethodName,
+            final Object configuration) throws NoSuchMethodException {
+        try {
+            return delegate.getClass().getMethod(resumeMethodName, Object.class);
+        } catch (NoSuchMethodException e) {
+            if (configuration == null) {
+                throw e;
+            }
+            return delegate.getClass().getMethod(resumeMethodName, configuration.getClass());
+        }
+    }
+
     @Override
     public String plugin() {
         return input.plugin();
@@ -109,10 +200,32 @@ public class PollingInput implements Input, Serializable {
     @Override
     public void start() {
         input.start();
+        final PollingConfiguration.WatermarkStore store = pollingConfiguration.getWatermarkStore();
+        if (store != null && store != PollingConfiguration.WatermarkStore.NONE) {
+            final String file = store == PollingConfiguration.WatermarkStore.FILE
+                    ? pollingConfiguration.getWatermarkFile()
+                    : null;
+            if (store == PollingConfiguration.WatermarkStore.FILE && (file == null || file.trim().isEmpty())) {
+                throw new IllegalArgumentException("A watermark file is required to save the polling watermark.");
+            }
+            final Object delegate = Delegated.class.cast(input).getDelegate();
+            watermark = new PollingWatermark(delegate.getClass().getAnnotation(Pollable.class).watermarkField(),
+                    Boolean.TRUE.equals(pollingConfiguration.getDeduplicate()), file == null ? null : file.trim());
+            watermark.load();
+        }
     }
 
     @Override
     public void stop() {
-        input.stop();
+        try {
+            if (scheduler != null) {
+                log.info("Polling stopped after {}.", scheduler.getMetrics());
+            }
+            if (watermark != null) {
+                watermark.save();
+            }
+        } finally {
+            input.stop();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.extension.polling.internal.impl;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Schedule polls of the batch input: the caller is parked until the next poll is due, instead of spinning.
+ * The interval adapts to the data: it is halved, down to the min delay, while polls return a full batch,
+ * and doubled, up to the max delay, while polls return nothing.
+ */
+@Slf4j
+class PollingScheduler implements Serializable {
+
+    private final long minDelay;
+
+    private final long maxDelay;
+
+    private final int maxRead;
+
+    /** current interval between the end of a poll and the start of the next one, in ms */
+    @Getter
+    private long interval;
+
+    /** nano time when the next poll is due, the first poll is not delayed */
+    private long nextDue;
+
+    /** nano time when the current poll started, -1 if no poll is running */
+    private long pollStart = -1;
+
+    private int pollReads;
+
+    private int pollRecords;
+
+    private boolean pollExhausted;
+
+    /** the caller has been interrupted, no poll is started anymore */
+    @Getter
+    private boolean stopped;
+
+    @Getter
+    private final PollingMetrics metrics = new PollingMetrics();
+
+    PollingScheduler(final long minDelay, final long maxDelay, final int maxRead) {
+        this.minDelay = Math.max(0, minDelay);
+        this.maxDelay = Math.max(this.minDelay, maxDelay);
+        this.maxRead = maxRead;
+        this.interval = this.minDelay;
+    }
+
+    /**
+     * Start a poll if none is running, parking the caller until it is due.
+     *
+     * @return false if the caller has been interrupted, then polling is stopped.
+     */
+    boolean awaitPoll() {
+        if (stopped) {
+            return false;
+        }
+        if (pollStart >= 0 && !pollExhausted && (maxRead <= 0 || pollReads < maxRead)) {
+            return true;
+        }
+        if (pollStart >= 0) {
+            completePoll(now());
+        }
+        long remaining;
+        while (metrics.getPolls() > 0 && (remaining = nextDue - now()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                stopped = true;
+                Thread.currentThread().interrupt(); // keep the flag for the runtime
+                log.info("Polling interrupted, no more polls.");
+                return false;
+            }
+        }
+        pollStart = now();
+        pollReads = 0;
+        pollRecords = 0;
+        pollExhausted = false;
+        return true;
+    }
+
+    /**
+     * Record a read of the running poll, the poll ends when the input returns nothing.
+     *
+     * @param record the record read, null if the input has no more data.
+     */
+    void read(final Object record) {
+        pollReads++;
+        if (record == null) {
+            pollExhausted = true;
+        } else {
+            pollRecords++;
+        }
+    }
+
+    void completePoll(final long end) {
+        final long latency = end - pollStart;
+        metrics.record(latency, pollRecords);
+        if (pollRecords == 0) {
+            interval = Math.min(maxDelay, Math.max(1, interval) * 2);
+        } else if (maxRead > 0 && pollRecords >= maxRead) {
+            interval = Math.max(minDelay, interval / 2);
+        }
+        nextDue = end + TimeUnit.MILLISECONDS.toNanos(interval);
+        pollStart = -1;
+        log.debug("Poll read {} records in {} ms, next poll in {} ms.", pollRecords,
+                TimeUnit.NANOSECONDS.toMillis(latency), interval);
+    }
+
+    long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Latency and yield of the polls.
+     */
+    @Getter
+    static class PollingMetrics implements Serializable {
+
+        private long polls;
+
+        private long emptyPolls;
+
+        private long records;
+
+        /** duration of the last poll, in ns */
+        private long lastLatency;
+
+        /** total duration of the polls, in ns */
+        private long totalLatency;
+
+        private int lastRecords;
+
+        void record(final long latency, final int pollRecords) {
+            polls++;
+            if (pollRecords == 0) {
+                emptyPolls++;
+            }
+            records += pollRecords;
+            lastLatency = latency;
+            totalLatency += latency;
+            lastRecords = pollRecords;
+        }
+
+        /**
+         * @return average duration of a poll, in ms.
+         */
+        double getAverageLatency() {
+            return polls == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatency) / 1000d / polls;
+        }
+
+        /**
+         * @return average number of records per poll.
+         */
+        double getAverageYield() {
+            return polls == 0 ? 0 : (double) records / polls;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d polls (%d empty), %d records, %.1f records/poll, %.1f ms/poll", polls,
+                    emptyPolls, records, getAverageYield(), getAverageLatency());
+        }
+    }
+}
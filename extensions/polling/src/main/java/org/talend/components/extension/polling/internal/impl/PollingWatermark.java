@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.extension.polling.internal.impl;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.talend.sdk.component.api.record.Record;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Watermark of a pollable input, kept between polls so that the input only reads new data.
+ * It is either the max value of a field of the read records, or a cursor given by the input.
+ * Records having the watermark value are remembered, so that they can be skipped when a poll reads them again.
+ * The watermark is saved as a properties text file: the value, its type, and the keys of the boundary records.
+ */
+@Slf4j
+class PollingWatermark implements Serializable {
+
+    private final String field;
+
+    private final boolean deduplicate;
+
+    /** file where the watermark is saved, null to keep it in memory */
+    private final String file;
+
+    @Getter
+    private Object value;
+
+    /** records having the watermark value */
+    private HashSet<String> boundary = new HashSet<>();
+
+    /** the watermark changed since it has been saved */
+    private boolean dirty;
+
+    PollingWatermark(final String field, final boolean deduplicate, final String file) {
+        this.field = field;
+        this.deduplicate = deduplicate;
+        this.file = file;
+    }
+
+    /**
+     * Move the watermark with a read record.
+     *
+     * @param record record read by the input.
+     * @return false if the record has already been read by a previous poll.
+     */
+    boolean accept(final Object record) {
+        if (field == null || field.isEmpty()) {
+            return true;
+        }
+        final Object recordValue = valueOf(record, field);
+        if (recordValue == null) {
+            return true;
+        }
+        final int comparison = value == null ? 1 : compare(recordValue, value);
+        if (comparison > 0) {
+            value = recordValue;
+            boundary.clear();
+            boundary.add(key(record));
+            dirty = true;
+            return true;
+        }
+        if (comparison == 0) {
+            dirty = true;
+            return boundary.add(key(record)) || !deduplicate;
+        }
+        return true;
+    }
+
+    /**
+     * Replace the watermark with a cursor given by the input.
+     *
+     * @param cursor opaque cursor, ignored if null.
+     */
+    void checkpoint(final Object cursor) {
+        if (cursor != null && !cursor.equals(value)) {
+            value = cursor;
+            boundary.clear();
+            dirty = true;
+        }
+    }
+
+    void load() {
+        if (file == null || !Files.exists(Paths.get(file))) {
+            return;
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Paths.get(file))) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't read polling watermark " + file, e);
+        }
+        final String text = properties.getProperty("value");
+        try {
+            value = text == null ? null : parse(properties.getProperty("type", String.class.getName()), text);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Can't read polling watermark " + file, e);
+        }
+        boundary = new HashSet<>();
+        final int size = Integer.parseInt(properties.getProperty("boundary.size", "0"));
+        for (int i = 0; i < size; i++) {
+            boundary.add(properties.getProperty("boundary." + i));
+        }
+        log.info("Polling resumed from watermark {}.", value);
+    }
+
+    void save() {
+        if (file == null || !dirty) {
+            return;
+        }
+        final Path target = Paths.get(file).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            final Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            final Properties properties = new Properties();
+            if (value != null) {
+                properties.setProperty("type", typeOf(value));
+                properties.setProperty("value", format(value));
+            }
+            int i = 0;
+            for (String key : boundary) {
+                properties.setProperty("boundary." + i++, key);
+            }
+            properties.setProperty("boundary.size", String.valueOf(i));
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "Polling watermark");
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't write polling watermark " + file, e);
+        }
+    }
+
+    private static Object valueOf(final Object record, final String name) {
+        if (record instanceof Record) {
+            return ((Record) record).get(Object.class, name);
+        }
+        if (record instanceof Map) {
+            return ((Map<?, ?>) record).get(name);
+        }
+        for (Class<?> type = record.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                final Field declared = type.getDeclaredField(name);
+                declared.setAccessible(true);
+                return declared.get(record);
+            } catch (NoSuchFieldException e) {
+                // look in the parent class
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Can't read watermark field " + name, e);
+            }
+        }
+        throw new IllegalArgumentException("Can't find watermark field " + name + " in " + record.getClass());
+    }
+
+    private static String key(final Object record) {
+        if (record instanceof Record) {
+            final Record rec = (Record) record;
+            return rec
+                    .getSchema()
+                    .getEntries()
+                    .stream()
+                    .map(e -> String.valueOf(rec.get(Object.class, e.getName())))
+                    .collect(Collectors.joining("\u0000"));
+        }
+        if (record instanceof Map || record instanceof CharSequence || record instanceof Number) {
+            return String.valueOf(record);
+        }
+        // POJO: its fields values, toString() is rarely value based
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> type = record.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field declared : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(declared.getModifiers()) && !declared.isSynthetic()) {
+                    fields.add(declared);
+                }
+            }
+        }
+        fields.sort(Comparator.comparing(Field::getName));
+        final StringBuilder key = new StringBuilder();
+        for (Field field : fields) {
+            try {
+                field.setAccessible(true);
+                key.append(field.getName()).append('=').append(field.get(record)).append('\u0000');
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Can't read field " + field.getName() + " of " + record.getClass(),
+                        e);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return type name of a watermark value, values of other types than the supported ones are saved as strings.
+     */
+    private static String typeOf(final Object value) {
+        if (value instanceof Date) {
+            return Date.class.getName(); // also for sql dates and timestamps
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Double
+                || value instanceof Float || value instanceof BigDecimal || value instanceof BigInteger
+                || value instanceof Instant || value instanceof ZonedDateTime || value instanceof OffsetDateTime
+                || value instanceof LocalDateTime || value instanceof LocalDate) {
+            return value.getClass().getName();
+        }
+        return String.class.getName();
+    }
+
+    private static String format(final Object value) {
+        if (value instanceof Date) {
+            return String.valueOf(((Date) value).getTime());
+        }
+        return String.valueOf(value);
+    }
+
+    private static Object parse(final String type, final String text) {
+        switch (type) {
+        case "java.lang.Long":
+            return Long.valueOf(text);
+        case "java.lang.Integer":
+            return Integer.valueOf(text);
+        case "java.lang.Short":
+            return Short.valueOf(text);
+        case "java.lang.Double":
+            return Double.valueOf(text);
+        case "java.lang.Float":
+            return Float.valueOf(text);
+        case "java.math.BigDecimal":
+            return new BigDecimal(text);
+        case "java.math.BigInteger":
+            return new BigInteger(text);
+        case "java.time.Instant":
+            return Instant.parse(text);
+        case "java.time.ZonedDateTime":
+            return ZonedDateTime.parse(text);
+        case "java.time.OffsetDateTime":
+            return OffsetDateTime.parse(text);
+        case "java.time.LocalDateTime":
+            return LocalDateTime.parse(text);
+        case "java.time.LocalDate":
+            return LocalDate.parse(text);
+        case "java.util.Date":
+            return new Date(Long.parseLong(text));
+        default:
+            return text;
+        }
+    }
+
+    private static int compare(final Object a, final Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            try {
+                return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+            } catch (NumberFormatException e) {
+                return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+            }
+        }
+        if (a instanceof Comparable && a.getClass().isInstance(b)) {
+            return ((Comparable<Object>) a).compareTo(b);
+        }
+        return String.valueOf(a).compareTo(String.valueOf(b));
+    }
+}
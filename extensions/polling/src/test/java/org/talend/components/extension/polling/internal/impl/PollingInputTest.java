@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.extension.polling.internal.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.components.extension.polling.api.Pollable;
+import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.input.Input;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollingInputTest {
+
+    @Test
+    void resumeOncePerPollFromWatermark() {
+        final PollingConfiguration configuration = new PollingConfiguration();
+        configuration.setDelay(0);
+        configuration.setMaxRead(2);
+        configuration.setWatermarkStore(PollingConfiguration.WatermarkStore.MEMORY);
+        final Source source = new Source(1, 2, 3);
+        final PollingInput input = new PollingInput(configuration, new DelegatedInput(source));
+        input.start();
+
+        assertEquals(1, id(input.next()));
+        assertEquals(2, id(input.next())); // max read ends the poll
+        assertEquals(3, id(input.next()));
+        assertNull(input.next());
+        input.stop();
+
+        assertEquals(Arrays.asList(null, 2), source.resumes);
+        assertTrue(source.stopped);
+    }
+
+    @Test
+    void resumeOnEachReadWithoutWatermark() {
+        final PollingConfiguration configuration = new PollingConfiguration();
+        configuration.setDelay(0);
+        configuration.setMaxRead(3);
+        configuration.setWatermarkStore(PollingConfiguration.WatermarkStore.NONE);
+        final Source source = new Source(1, 2);
+        final PollingInput input = new PollingInput(configuration, new DelegatedInput(source));
+        input.start();
+
+        // batch input is resumed before each read, as without watermark it can't know what was already read
+        assertEquals(1, id(input.next()));
+        assertEquals(1, id(input.next()));
+        assertEquals(1, id(input.next()));
+        input.stop();
+
+        assertEquals(Arrays.asList(null, null, null), source.resumes);
+    }
+
+    @Test
+    void stopDelegateWhenSaveFails(@TempDir final Path directory) throws IOException {
+        final Path notDirectory = Files.createFile(directory.resolve("file"));
+        final PollingConfiguration configuration = new PollingConfiguration();
+        configuration.setMaxRead(2);
+        configuration.setWatermarkStore(PollingConfiguration.WatermarkStore.FILE);
+        configuration.setWatermarkFile(notDirectory.resolve("watermark").toString());
+        final Source source = new Source(1);
+        final PollingInput input = new PollingInput(configuration, new DelegatedInput(source));
+        input.start();
+        input.next();
+
+        assertThrows(IllegalStateException.class, input::stop);
+        assertTrue(source.stopped);
+    }
+
+    private static Object id(final Object row) {
+        return ((Map<?, ?>) row).get("id");
+    }
+
+    @Pollable(resumeMethod = "resume", watermarkField = "id")
+    public static class Source {
+
+        private final List<Integer> ids;
+
+        private final List<Object> resumes = new ArrayList<>();
+
+        private Iterator<Integer> iterator;
+
+        private boolean stopped;
+
+        Source(final Integer... ids) {
+            this.ids = Arrays.asList(ids);
+        }
+
+        public void resume(final Object watermark) {
+            resumes.add(watermark);
+            final int from = watermark == null ? Integer.MIN_VALUE : (Integer) watermark;
+            final List<Integer> next = new ArrayList<>();
+            ids.stream().filter(id -> id > from).forEach(next::add);
+            iterator = next.iterator();
+        }
+
+        Object next() {
+            return iterator.hasNext() ? Collections.singletonMap("id", iterator.next()) : null;
+        }
+    }
+
+    private static class DelegatedInput implements Input, Delegated {
+
+        private final Source source;
+
+        DelegatedInput(final Source source) {
+            this.source = source;
+        }
+
+        @Override
+        public Object getDelegate() {
+            return source;
+        }
+
+        @Override
+        public Object next() {
+            return source.next();
+        }
+
+        @Override
+        public String plugin() {
+            return "test";
+        }
+
+        @Override
+        public String rootName() {
+            return "test";
+        }
+
+        @Override
+        public String name() {
+            return "source";
+        }
+
+        @Override
+        public void start() {
+            // no-op
+        }
+
+        @Override
+        public void stop() {
+            source.stopped = true;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.extension.polling.internal.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollingSchedulerTest {
+
+    @Test
+    void backOffWhileEmptyAndShrinkWhileFull() {
+        final FakeClockScheduler scheduler = new FakeClockScheduler(100, 500, 2);
+
+        poll(scheduler, null);
+        assertEquals(200, scheduler.getInterval());
+        poll(scheduler, null);
+        assertEquals(400, scheduler.getInterval());
+        poll(scheduler, null);
+        assertEquals(500, scheduler.getInterval()); // capped
+
+        poll(scheduler, "a", null); // partial poll, interval is kept
+        assertEquals(500, scheduler.getInterval());
+        poll(scheduler, "a", "b");
+        assertEquals(250, scheduler.getInterval());
+        poll(scheduler, "a", "b");
+        assertEquals(125, scheduler.getInterval());
+        poll(scheduler, "a", "b");
+        assertEquals(100, scheduler.getInterval()); // min delay
+
+        final PollingScheduler.PollingMetrics metrics = scheduler.getMetrics();
+        assertEquals(7, metrics.getPolls());
+        assertEquals(3, metrics.getEmptyPolls());
+        assertEquals(7, metrics.getRecords());
+        assertEquals(2, metrics.getLastRecords());
+        assertEquals(1d, metrics.getAverageYield());
+    }
+
+    @Test
+    void parkUntilNextPoll() {
+        final PollingScheduler scheduler = new PollingScheduler(50, 50, 1);
+
+        assertTrue(scheduler.awaitPoll());
+        scheduler.read("a");
+        final long start = System.nanoTime();
+        assertTrue(scheduler.awaitPoll()); // first poll ends, the caller waits for the second one
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, scheduler.getMetrics().getPolls());
+        assertEquals(1, scheduler.getMetrics().getLastRecords());
+    }
+
+    @Test
+    void stopWhenInterrupted() {
+        final PollingScheduler scheduler = new PollingScheduler(60_000, 60_000, 1);
+        assertTrue(scheduler.awaitPoll());
+        scheduler.read("a");
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(scheduler.awaitPoll());
+            assertTrue(scheduler.isStopped());
+            assertTrue(Thread.currentThread().isInterrupted()); // flag is kept for the caller
+        } finally {
+            Thread.interrupted();
+        }
+        assertFalse(scheduler.awaitPoll()); // no more polls, even once the flag is cleared
+    }
+
+    private void poll(final FakeClockScheduler scheduler, final Object... records) {
+        scheduler.time += TimeUnit.MINUTES.toNanos(1); // next poll is due
+        assertTrue(scheduler.awaitPoll());
+        for (Object record : records) {
+            scheduler.read(record);
+        }
+        scheduler.completePoll(scheduler.now());
+    }
+
+    private static class FakeClockScheduler extends PollingScheduler {
+
+        private long time;
+
+        FakeClockScheduler(final long minDelay, final long maxDelay, final int maxRead) {
+            super(minDelay, maxDelay, maxRead);
+        }
+
+        @Override
+        long now() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.extension.polling.internal.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollingWatermarkTest {
+
+    @Test
+    void keepMaxValueAndSkipBoundaryRecords() {
+        final PollingWatermark watermark = new PollingWatermark("id", true, null);
+        assertNull(watermark.getValue());
+
+        assertTrue(watermark.accept(row(1, "a")));
+        assertTrue(watermark.accept(row(3L, "b")));
+        assertTrue(watermark.accept(row(2, "c")));
+        assertEquals(3L, watermark.getValue());
+
+        // next poll reads again from the watermark
+        assertFalse(watermark.accept(row(3, "b")));
+        assertTrue(watermark.accept(row(3, "d")));
+        assertTrue(watermark.accept(row(4, "e")));
+        assertEquals(4, watermark.getValue());
+    }
+
+    @Test
+    void keepBoundaryRecordsWithoutDeduplication() {
+        final PollingWatermark watermark = new PollingWatermark("id", false, null);
+
+        assertTrue(watermark.accept(row(1, "a")));
+        assertTrue(watermark.accept(row(1, "a")));
+    }
+
+    @Test
+    void cursorReplacesWatermark() {
+        final PollingWatermark watermark = new PollingWatermark("", true, null);
+
+        assertTrue(watermark.accept(row(1, "a")));
+        assertNull(watermark.getValue());
+        watermark.checkpoint("page-2");
+        watermark.checkpoint(null);
+        assertEquals("page-2", watermark.getValue());
+    }
+
+    @Test
+    void saveAndLoad(@TempDir final Path directory) {
+        final String file = directory.resolve("state").resolve("watermark").toString();
+        final PollingWatermark watermark = new PollingWatermark("id", true, file);
+        watermark.load();
+        watermark.accept(row(5, "a"));
+        watermark.save();
+
+        // another execution
+        final PollingWatermark resumed = new PollingWatermark("id", true, file);
+        resumed.load();
+        assertEquals(5, resumed.getValue());
+        assertFalse(resumed.accept(row(5, "a")));
+    }
+
+    @Test
+    void saveAsText(@TempDir final Path directory) throws IOException {
+        final String file = directory.resolve("watermark").toString();
+        final PollingWatermark watermark = new PollingWatermark("", true, file);
+        watermark.checkpoint(Instant.parse("2024-01-02T03:04:05Z"));
+        watermark.save();
+        assertTrue(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.ISO_8859_1)
+                .contains("value=2024-01-02T03\\:04\\:05Z"));
+
+        final PollingWatermark resumed = new PollingWatermark("", true, file);
+        resumed.load();
+        assertEquals(Instant.parse("2024-01-02T03:04:05Z"), resumed.getValue());
+    }
+
+    @Test
+    void skipBoundaryPojos() {
+        final PollingWatermark watermark = new PollingWatermark("id", true, null);
+
+        assertTrue(watermark.accept(new Pojo(1, "a")));
+        assertFalse(watermark.accept(new Pojo(1, "a")));
+        assertTrue(watermark.accept(new Pojo(1, "b")));
+    }
+
+    private Map<String, Object> row(final Number id, final String name) {
+        final Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        return row;
+    }
+
+    private static class Pojo {
+
+        private final int id;
+
+        private final String name;
+
+        Pojo(final int id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.talend.components.common.stream.format.ContentFormat;
 import org.talend.components.common.stream.format.avro.AvroConfiguration;
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
 import org.talend.components.common.stream.format.csv.CSVConfiguration;
 import org.talend.components.common.stream.format.excel.ExcelConfiguration;
 import org.talend.sdk.component.api.configuration.Option;
@@ -33,7 +34,8 @@ import lombok.extern.slf4j.Slf4j;
 @GridLayout({ @GridLayout.Row("contentFormat"), //
         @GridLayout.Row({ "csvConfiguration", "avroConfiguration", "excelConfiguration", "jsonConfiguration" }) })
 @GridLayout(names = GridLayout.FormType.ADVANCED,
-        value = { @GridLayout.Row({ "csvConfiguration", "jsonConfiguration" }) })
+        value = { @GridLayout.Row({ "csvConfiguration", "avroConfiguration", "jsonConfiguration" }),
+                @GridLayout.Row("compression") })
 @Documentation("Stream content configuration.")
 public class FormatConfiguration implements Serializable {
 
@@ -70,6 +72,18 @@ public class FormatConfiguration implements Serializable {
     @Documentation("Json format.")
     private JsonAllConfiguration jsonConfiguration = new JsonAllConfiguration();
 
+    @Option
+    @ActiveIf(target = "contentFormat", value = "AVRO", negate = true)
+    @Documentation("Blob content compression (avro blobs use the avro codec instead).")
+    private CompressionConfiguration compression = new CompressionConfiguration();
+
+    public CompressionConfiguration findCompression() {
+        if (this.compression == null || this.contentFormat == FormatConfiguration.Type.AVRO) {
+            return CompressionConfiguration.none();
+        }
+        return this.compression;
+    }
+
     public ContentFormat findFormat() {
         if (this.contentFormat == FormatConfiguration.Type.CSV) {
             return this.csvConfiguration;
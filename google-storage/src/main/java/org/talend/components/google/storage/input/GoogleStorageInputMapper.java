@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import static java.util.Collections.singletonList;
+
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
+import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.service.BlobPart;
+import org.talend.components.google.storage.service.GSService;
+import org.talend.components.google.storage.service.StorageFacade;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Assign blobs to workers, from their size given by blob metadata.
+ * Small blobs are grouped, large CSV blobs are split in byte ranges aligned on lines.
+ */
+@Version
+@Slf4j
+@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
+@PartitionMapper(family = "GoogleStorage", name = "Input")
+@Documentation("This component read content file from google cloud storage.")
+public class GoogleStorageInputMapper implements Serializable {
+
+    private static final long serialVersionUID = -3207937393829961474L;
+
+    static final int MB = 1024 * 1024;
+
+    /** smallest size of data read by a worker */
+    static final long MIN_SPLIT_SIZE = 16L * MB;
+
+    private final InputConfiguration config;
+
+    private final RecordBuilderFactory factory;
+
+    private final RecordIORepository ioRepository;
+
+    private final GSService services;
+
+    /** blobs (or ranges) read by this mapper, all blobs of data set if null */
+    private final List<BlobPart> parts;
+
+    /** blobs of data set, listed once for assessor and split */
+    private transient List<BlobPart> blobs;
+
+    public GoogleStorageInputMapper(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null);
+    }
+
+    private GoogleStorageInputMapper(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services, final List<BlobPart> parts) {
+        this.config = config;
+        this.factory = factory;
+        this.ioRepository = ioRepository;
+        this.services = services;
+        this.parts = parts;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        final List<BlobPart> blobParts = this.parts == null ? this.getBlobs() : this.parts;
+        return Math.max(1L, blobParts.stream().mapToLong((BlobPart part) -> Math.max(part.length(), 0L)).sum());
+    }
+
+    @Split
+    public List<GoogleStorageInputMapper> split(@PartitionSize final long bundles) {
+        if (this.parts != null) {
+            return singletonList(this);
+        }
+        final List<List<BlobPart>> groups = this.groups(this.getBlobs(), Math.max(bundles, MIN_SPLIT_SIZE));
+        if (groups.size() <= 1) {
+            return singletonList(this);
+        }
+        log.debug("Google storage input split in {} parts.", groups.size());
+        return groups
+                .stream()
+                .map((List<BlobPart> group) -> new GoogleStorageInputMapper(this.config, this.factory,
+                        this.ioRepository, this.services, group))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Group blobs in parts of about bundleSize bytes, large blobs are cut in ranges if format allows it.
+     */
+    List<List<BlobPart>> groups(final List<BlobPart> blobParts, final long bundleSize) {
+        final boolean splittable = this.isLineSplittable();
+        final List<List<BlobPart>> groups = new ArrayList<>();
+        List<BlobPart> group = new ArrayList<>();
+        long groupSize = 0L;
+        for (BlobPart blob : blobParts) {
+            if (splittable && !blob.isCompressed() && blob.getSize() > bundleSize) {
+                for (long start = 0L; start < blob.getSize(); start += bundleSize) {
+                    groups.add(singletonList(blob.range(start, Math.min(blob.getSize(), start + bundleSize))));
+                }
+            } else {
+                group.add(blob);
+                groupSize += Math.max(blob.getSize(), 0L);
+                if (groupSize >= bundleSize) {
+                    groups.add(group);
+                    group = new ArrayList<>();
+                    groupSize = 0L;
+                }
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Blobs can be read by ranges of lines for CSV, with an encoding where line separator bytes can't be part of
+     * another character, and if they are not compressed.
+     * Ranges are cut at line separators without looking at quotes, so it has to be enabled in configuration.
+     */
+    private boolean isLineSplittable() {
+        final FormatConfiguration format = this.config.getDataset().getContentFormat();
+        if (!this.config.isSplitBlobs() || format.getContentFormat() != FormatConfiguration.Type.CSV
+                || format.findCompression().isCompressed()) {
+            return false;
+        }
+        final LineConfiguration lineConfig = format.getCsvConfiguration().getLineConfiguration();
+        if (lineConfig.getLineSeparator() == null || lineConfig.getLineSeparator().isEmpty()) {
+            return false;
+        }
+        try {
+            final Charset charset = lineConfig.getEncodingCharset();
+            return StandardCharsets.UTF_8.equals(charset) || charset.newEncoder().maxBytesPerChar() == 1.0f;
+        } catch (IllegalArgumentException | UnsupportedOperationException ex) {
+            log.debug("Encoding doesn't allow to split blobs: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private List<BlobPart> getBlobs() {
+        if (this.blobs == null) {
+            final GSDataSet dataset = this.config.getDataset();
+            final StorageFacade storage = this.services.buildStorage(dataset.getDataStore());
+            this.services.checkBucket(storage, dataset.getBucket());
+            this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
+            this.blobs = storage.findBlobs(dataset.getBucket(), dataset.getBlob()).collect(Collectors.toList());
+        }
+        return this.blobs;
+    }
+
+    @Emitter
+    public GoogleStorageSource createWorker() {
+        return new GoogleStorageSource(this.config, this.factory, this.ioRepository, this.services, this.parts);
+    }
+}
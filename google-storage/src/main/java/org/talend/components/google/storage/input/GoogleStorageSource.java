@@ -12,37 +12,38 @@
  */
 package org.talend.components.google.storage.input;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 import org.talend.components.common.collections.IteratorComposer;
 import org.talend.components.common.stream.api.RecordIORepository;
 import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
 import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.service.BlobPart;
 import org.talend.components.google.storage.service.GSService;
 import org.talend.components.google.storage.service.StorageFacade;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
-import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.input.Producer;
-import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@Version
+/**
+ * Read blobs, or byte ranges of blobs, assigned by {@link GoogleStorageInputMapper}.
+ */
 @Slf4j
-@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
-@Emitter(family = "GoogleStorage", name = "Input")
-@Documentation("This component read content file from google cloud storage.")
-@RequiredArgsConstructor
 public class GoogleStorageSource implements Serializable {
 
     private static final long serialVersionUID = 7373818898514942128L;
@@ -57,9 +58,26 @@ public class GoogleStorageSource implements Serializable {
 
     private final GSService services;
 
+    /** blobs (or ranges) to read, all blobs of data set if null */
+    private final List<BlobPart> parts;
+
     /** current record iterator */
     private transient Iterator<Record> recordIterator = null;
 
+    public GoogleStorageSource(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null);
+    }
+
+    public GoogleStorageSource(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services, final List<BlobPart> parts) {
+        this.config = config;
+        this.factory = factory;
+        this.ioRepository = ioRepository;
+        this.services = services;
+        this.parts = parts;
+    }
+
     @Producer
     public Record next() {
         if (recordIterator == null) {
@@ -72,29 +90,82 @@ public class GoogleStorageSource implements Serializable {
     }
 
     private Iterator<Record> buildRecordIterator() {
-        // blob name list
+        // blob list
         final GSDataSet dataset = this.getDataSet();
         final StorageFacade storage = this.services.buildStorage(dataset.getDataStore());
-        this.services.checkBucket(storage, dataset.getBucket());
-        this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
-        final Stream<String> blobsName = storage.findBlobsName(dataset.getBucket(), dataset.getBlob());
+        final Iterator<BlobPart> blobParts;
+        if (this.parts == null) {
+            this.services.checkBucket(storage, dataset.getBucket());
+            this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
+            blobParts = storage.findBlobs(dataset.getBucket(), dataset.getBlob()).iterator();
+        } else {
+            blobParts = this.parts.iterator();
+        }
 
         // reader depending on format.
         final RecordReader recordReader = this.buildReader();
 
         // build iterator on record for each input
         return IteratorComposer
-                .of(blobsName.iterator()) //
-                .map((String name) -> storage.buildInput(dataset.getBucket(), name)) // create input stream
+                .of(blobParts) //
+                .map((BlobPart part) -> this.buildInput(storage, part)) // create input stream
                 .map((Supplier<InputStream> input) -> new RecordsInputStream(recordReader, input)) //
                 .flatmap(RecordsInputStream::records) //
                 .build();
     }
 
+    private Supplier<InputStream> buildInput(final StorageFacade storage, final BlobPart part) {
+        final String bucket = this.getDataSet().getBucket();
+        final int chunkSize = this.config.getChunkSize() * GoogleStorageInputMapper.MB;
+        final int parallelReads = this.config.getParallelReads();
+        if (part.isWhole()) {
+            return storage.buildInput(bucket, part, chunkSize, parallelReads);
+        }
+
+        // range of lines, read from separator before range start to detect first line.
+        final LineConfiguration lineConfig = ((CSVConfiguration) this.getDataSet().getContentFormat().findFormat())
+                .getLineConfiguration();
+        final byte[] separator = lineConfig.getLineSeparator().getBytes(lineConfig.getEncodingCharset());
+        return () -> {
+            try {
+                final byte[] header = this.readHeader(storage, part, separator, lineConfig.calcHeader());
+                final long start = Math.max(part.getStart(), header.length);
+                final long from = Math.max(0L, start - separator.length);
+                final InputStream content = storage
+                        .buildInput(bucket, part.range(from, part.getSize()), chunkSize, parallelReads)
+                        .get();
+                final InputStream lines =
+                        new LineRangeInputStream(content, separator, start - from, part.getEnd() - from);
+                if (header.length == 0) {
+                    return lines;
+                }
+                return new SequenceInputStream(new ByteArrayInputStream(header), lines);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    /**
+     * Header lines of blob, for ranges after the first one; the first range reads them itself.
+     */
+    private byte[] readHeader(final StorageFacade storage, final BlobPart part, final byte[] separator,
+            final int headerLines) throws IOException {
+        if (part.getStart() == 0L || headerLines <= 0) {
+            return new byte[0];
+        }
+        final int chunkSize = this.config.getChunkSize() * GoogleStorageInputMapper.MB;
+        final InputStream content = storage.buildInput(this.getDataSet().getBucket(),
+                part.range(0L, Math.min(part.getSize(), chunkSize)), chunkSize, 1).get();
+        return LineRangeInputStream.readLines(content, separator, headerLines);
+    }
+
     private RecordReader buildReader() {
         // reader depending on format.
-        final ContentFormat format = this.getDataSet().getContentFormat().findFormat();
-        final RecordReaderSupplier recordReaderSupplier = this.ioRepository.findReader(format.getClass());
+        final FormatConfiguration formatConfig = this.getDataSet().getContentFormat();
+        final ContentFormat format = formatConfig.findFormat();
+        final RecordReaderSupplier recordReaderSupplier =
+                this.ioRepository.findReader(format.getClass(), formatConfig.findCompression());
         return recordReaderSupplier.getReader(this.factory, format);
     }
 
@@ -16,6 +16,8 @@ import java.io.Serializable;
 
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,7 +25,9 @@ import lombok.Data;
 
 @Data
 @GridLayout({ @GridLayout.Row("dataset") })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row("dataset"), @GridLayout.Row({ "chunkSize", "parallelReads" }),
+                @GridLayout.Row("splitBlobs") })
 public class InputConfiguration implements Serializable {
 
     /** serialization */
@@ -33,4 +37,21 @@ public class InputConfiguration implements Serializable {
     @Documentation("Google storage data set.")
     private GSDataSet dataset;
 
+    @Option
+    @Min(1)
+    @Max(64)
+    @Documentation("Size (MB) of the blob chunks fetched by request.")
+    private int chunkSize = 2;
+
+    @Option
+    @Min(1)
+    @Max(32)
+    @Documentation("Number of blob chunks fetched ahead concurrently.")
+    private int parallelReads = 4;
+
+    @Option
+    @Documentation("Read large CSV blobs by byte ranges in parallel, cut at line separators. "
+            + "Only for blobs without line separator inside quoted values.")
+    private boolean splitBlobs = false;
+
 }
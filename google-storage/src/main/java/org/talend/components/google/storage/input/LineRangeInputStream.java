@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lines of a byte range of a blob: a line belongs to the range where its first byte is.
+ * So the stream skips the end of the line started in the previous range, and reads the last line
+ * after the end of range.
+ */
+public class LineRangeInputStream extends InputStream {
+
+    private final InputStream input;
+
+    private final byte[] separator;
+
+    /** last bytes read, to detect separator */
+    private final byte[] window;
+
+    /** position in input from where a new line ends the range */
+    private final long end;
+
+    /** bytes read from input */
+    private long position = 0L;
+
+    private boolean finished = false;
+
+    /**
+     * @param input : blob content from (start - separator length), or from 0 for the first range.
+     * @param separator : line separator bytes.
+     * @param start : position of the range start in input (0 for the first range, else separator length).
+     * @param end : position of the range end in input.
+     */
+    public LineRangeInputStream(final InputStream input, final byte[] separator, final long start, final long end)
+            throws IOException {
+        this.input = new BufferedInputStream(input);
+        this.separator = separator;
+        this.window = new byte[separator.length];
+        this.end = end;
+        if (start > 0L) {
+            this.skipToLineStart(start);
+        }
+        this.finished = this.position >= this.end;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.finished) {
+            return -1;
+        }
+        final int b = this.next();
+        if (b < 0) {
+            this.finished = true;
+        } else if (this.position >= this.end && this.isLineStart()) {
+            this.finished = true;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len) {
+            final int value = this.read();
+            if (value < 0) {
+                break;
+            }
+            b[off + count] = (byte) value;
+            count++;
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    /**
+     * Skip bytes until the first line that starts at or after start.
+     */
+    private void skipToLineStart(final long start) throws IOException {
+        while (this.position < start || !this.isLineStart()) {
+            if (this.next() < 0) {
+                return;
+            }
+        }
+    }
+
+    private int next() throws IOException {
+        final int b = this.input.read();
+        if (b >= 0) {
+            System.arraycopy(this.window, 1, this.window, 0, this.window.length - 1);
+            this.window[this.window.length - 1] = (byte) b;
+            this.position++;
+        }
+        return b;
+    }
+
+    /**
+     * @return true if last bytes read are a separator.
+     */
+    private boolean isLineStart() {
+        if (this.position < this.separator.length) {
+            return false;
+        }
+        for (int i = 0; i < this.separator.length; i++) {
+            if (this.window[i] != this.separator[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read first lines of a blob, to prepend the header to the other ranges.
+     *
+     * @param input : blob content, closed after read.
+     * @param separator : line separator bytes.
+     * @param lines : number of lines.
+     * @return lines bytes, with their separator.
+     */
+    public static byte[] readLines(final InputStream input, final byte[] separator, final int lines)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LineRangeInputStream in = new LineRangeInputStream(input, separator, 0L, Long.MAX_VALUE)) {
+            int count = 0;
+            while (count < lines) {
+                final int b = in.read();
+                if (b < 0) {
+                    break;
+                }
+                out.write(b);
+                if (in.isLineStart()) {
+                    count++;
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+}
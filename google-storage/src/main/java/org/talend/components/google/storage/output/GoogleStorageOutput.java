@@ -25,8 +25,10 @@ import org.talend.components.common.stream.api.RecordIORepository;
 import org.talend.components.common.stream.api.output.RecordWriter;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
 import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.components.google.storage.service.BlobNameBuilder;
+import org.talend.components.google.storage.service.ComposeOutputStream;
 import org.talend.components.google.storage.service.GSService;
 import org.talend.components.google.storage.service.I18nMessage;
 import org.talend.components.google.storage.service.StorageFacade;
@@ -53,6 +55,8 @@ public class GoogleStorageOutput implements Serializable {
 
     private static final long serialVersionUID = -5829580591413555957L;
 
+    private static final int MB = 1024 * 1024;
+
     private final OutputConfiguration config;
 
     private final RecordIORepository ioRepository;
@@ -63,6 +67,11 @@ public class GoogleStorageOutput implements Serializable {
 
     private transient RecordWriter recordWriter;
 
+    /** blob stream, aborted if writing fails so that no partial blob is published */
+    private transient OutputStream output;
+
+    private transient boolean failed;
+
     @AfterGroup
     public void write(final Collection<Record> records) {
         if (this.recordWriter == null) {
@@ -72,24 +81,45 @@ public class GoogleStorageOutput implements Serializable {
             this.recordWriter.add(records);
             this.recordWriter.flush();
         } catch (IOException exIO) {
+            this.abort();
             String errorLib =
                     this.i18n.writeError(this.getDataSet().getBucket(), this.getDataSet().getBlob(), exIO.getMessage());
             log.error(errorLib);
             throw new UncheckedIOException(errorLib, exIO);
+        } catch (RuntimeException ex) {
+            this.abort();
+            throw ex;
         }
     }
 
     @PreDestroy
     public void release() {
-        try {
-            if (this.recordWriter != null) {
+        if (this.recordWriter == null) {
+            return;
+        }
+        if (this.failed) {
+            // blob stream is aborted, the writer is only closed.
+            try {
                 this.recordWriter.end();
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Can't close aborted google storage writer: {}", ex.getMessage());
             }
+            return;
+        }
+        try {
+            this.recordWriter.end();
         } catch (IOException ex) {
             throw new UncheckedIOException("Can't close google storage writer", ex);
         }
     }
 
+    private void abort() {
+        this.failed = true;
+        if (this.output instanceof ComposeOutputStream) {
+            ((ComposeOutputStream) this.output).abort();
+        }
+    }
+
     @PostConstruct
     public void init() throws IOException {
         this.services.checkBucket(this.buildStorage(), this.getDataSet().getBucket());
@@ -101,8 +131,10 @@ public class GoogleStorageOutput implements Serializable {
     }
 
     private RecordWriter buildWriter() throws IOException {
-        final ContentFormat contentFormat = this.getDataSet().getContentFormat().findFormat();
-        final RecordWriterSupplier recordWriterSupplier = this.ioRepository.findWriter(contentFormat.getClass());
+        final FormatConfiguration formatConfig = this.getDataSet().getContentFormat();
+        final ContentFormat contentFormat = formatConfig.findFormat();
+        final RecordWriterSupplier recordWriterSupplier =
+                this.ioRepository.findWriter(contentFormat.getClass(), formatConfig.findCompression());
 
         final RecordWriter writer = recordWriterSupplier.getWriter(this::buildOutputStream, contentFormat);
         writer.init(contentFormat);
@@ -114,7 +146,9 @@ public class GoogleStorageOutput implements Serializable {
 
         final StorageFacade storage = this.buildStorage();
         final String blobOutputName = new BlobNameBuilder().generateName(dataSet.getBlob());
-        return storage.buildOuput(dataSet.getBucket(), blobOutputName);
+        this.output = storage.buildOuput(dataSet.getBucket(), blobOutputName, this.config.getChunkSize() * MB,
+                this.config.isParallelUpload() ? this.config.getParallelUploads() : 0);
+        return this.output;
     }
 
     private StorageFacade buildStorage() {
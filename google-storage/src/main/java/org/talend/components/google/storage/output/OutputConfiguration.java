@@ -16,6 +16,9 @@ import java.io.Serializable;
 
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,7 +26,8 @@ import lombok.Data;
 
 @Data
 @GridLayout(@GridLayout.Row("dataset"))
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("chunkSize"),
+        @GridLayout.Row({ "parallelUpload", "parallelUploads" }) })
 public class OutputConfiguration implements Serializable {
 
     /** serialization */
@@ -32,4 +36,21 @@ public class OutputConfiguration implements Serializable {
     @Option
     @Documentation("Google storage data set.")
     private GSDataSet dataset;
+
+    @Option
+    @Min(1)
+    @Max(256)
+    @Documentation("Size (MB) of the chunks sent by request, or of the parts for a parallel upload.")
+    private int chunkSize = 16;
+
+    @Option
+    @Documentation("Upload the blob as parts in parallel, composed in one blob at end.")
+    private boolean parallelUpload = false;
+
+    @Option
+    @Min(1)
+    @Max(32)
+    @ActiveIf(target = "parallelUpload", value = "true")
+    @Documentation("Number of parts uploaded in parallel.")
+    private int parallelUploads = 4;
 }
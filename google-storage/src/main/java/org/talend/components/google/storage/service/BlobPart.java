@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.service;
+
+import java.io.Serializable;
+
+import lombok.Value;
+
+/**
+ * A byte range [start, end) of a blob. The generation, when known, pins the blob version read by all the ranges.
+ */
+@Value
+public class BlobPart implements Serializable {
+
+    private static final long serialVersionUID = -2836157049536261473L;
+
+    /** blob name */
+    String name;
+
+    /** blob generation, null if unknown */
+    Long generation;
+
+    /** blob size, -1 if unknown */
+    long size;
+
+    /** first byte of the range */
+    long start;
+
+    /** end of the range (exclusive), -1 if unknown */
+    long end;
+
+    /** blob content is gzip encoded, so served decompressed and can't be read by range */
+    boolean compressed;
+
+    public static BlobPart whole(final String name, final Long generation, final long size,
+            final boolean compressed) {
+        return new BlobPart(name, generation, size, 0L, size, compressed);
+    }
+
+    public static BlobPart whole(final String name) {
+        return BlobPart.whole(name, null, -1L, false);
+    }
+
+    /**
+     * Range of the same blob.
+     *
+     * @param rangeStart : first byte.
+     * @param rangeEnd : end of range (exclusive).
+     * @return blob part.
+     */
+    public BlobPart range(final long rangeStart, final long rangeEnd) {
+        return new BlobPart(this.name, this.generation, this.size, rangeStart, rangeEnd, this.compressed);
+    }
+
+    public boolean isWhole() {
+        return this.start == 0L && this.end == this.size;
+    }
+
+    public long length() {
+        return this.end - this.start;
+    }
+}
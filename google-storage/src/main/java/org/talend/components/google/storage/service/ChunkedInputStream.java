@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read a byte range of a blob chunk by chunk, next chunks are fetched in background while the current one is read.
+ */
+public class ChunkedInputStream extends InputStream {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /** threads shared by all streams, a stream has at most parallelReads chunks in flight */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool((Runnable r) -> {
+        final Thread thread = new Thread(r, "google-storage-read-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @FunctionalInterface
+    public interface ChunkReader {
+
+        /**
+         * Read a chunk.
+         *
+         * @param offset : position of first byte.
+         * @param length : chunk length.
+         * @return bytes read, shorter than length only at end of blob.
+         */
+        byte[] read(long offset, int length) throws IOException;
+    }
+
+    private final ChunkReader reader;
+
+    private final long end;
+
+    private final int chunkSize;
+
+    private final int parallelReads;
+
+    /** chunks fetched, oldest first */
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    /** position of the next chunk to fetch */
+    private long nextOffset;
+
+    private byte[] current = new byte[0];
+
+    private int position = 0;
+
+    private boolean closed = false;
+
+    /**
+     * @param reader : read a chunk of the blob.
+     * @param start : first byte to read.
+     * @param end : end of range (exclusive).
+     * @param chunkSize : bytes fetched by request.
+     * @param parallelReads : chunks fetched ahead concurrently.
+     */
+    public ChunkedInputStream(final ChunkReader reader, final long start, final long end, final int chunkSize,
+            final int parallelReads) {
+        this.reader = reader;
+        this.nextOffset = start;
+        this.end = end;
+        this.chunkSize = chunkSize;
+        this.parallelReads = Math.max(1, parallelReads);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!this.hasRemaining()) {
+            return -1;
+        }
+        return this.current[this.position++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!this.hasRemaining()) {
+            return -1;
+        }
+        final int count = Math.min(len, this.current.length - this.position);
+        System.arraycopy(this.current, this.position, b, off, count);
+        this.position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return this.current.length - this.position;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.cancelPending();
+    }
+
+    private void cancelPending() {
+        this.pending.forEach((Future<byte[]> chunk) -> chunk.cancel(true));
+        this.pending.clear();
+    }
+
+    private boolean hasRemaining() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        while (this.position >= this.current.length) {
+            this.fetchAhead();
+            final Future<byte[]> next = this.pending.poll();
+            if (next == null) {
+                return false;
+            }
+            this.current = this.await(next);
+            this.position = 0;
+            if (this.current.length == 0) { // blob shorter than expected.
+                this.cancelPending();
+                this.nextOffset = this.end;
+                return false;
+            }
+            this.fetchAhead();
+        }
+        return true;
+    }
+
+    private void fetchAhead() {
+        while (this.pending.size() < this.parallelReads && this.nextOffset < this.end) {
+            final long offset = this.nextOffset;
+            final int length = (int) Math.min(this.chunkSize, this.end - offset);
+            this.pending.add(EXECUTOR.submit(() -> this.reader.read(offset, length)));
+            this.nextOffset += length;
+        }
+    }
+
+    private byte[] await(final Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Read a chunk from a stream that starts at the blob beginning.
+     *
+     * @param input : blob content, closed after read.
+     * @param offset : position of first byte.
+     * @param length : chunk length.
+     * @return bytes read.
+     */
+    public static byte[] readChunk(final InputStream input, final long offset, final int length) throws IOException {
+        try (InputStream in = input) {
+            long skipped = 0L;
+            while (skipped < offset) {
+                final long n = in.skip(offset - skipped);
+                if (n <= 0) {
+                    if (in.read() < 0) {
+                        return new byte[0];
+                    }
+                    skipped++;
+                } else {
+                    skipped += n;
+                }
+            }
+            final byte[] chunk = new byte[length];
+            int count = 0;
+            while (count < length) {
+                final int n = in.read(chunk, count, length - count);
+                if (n < 0) {
+                    return Arrays.copyOf(chunk, count);
+                }
+                count += n;
+            }
+            return chunk;
+        }
+    }
+}
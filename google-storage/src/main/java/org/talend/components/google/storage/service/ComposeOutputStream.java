@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write a blob as independent parts, uploaded in parallel while next parts are written, then composed in the target
+ * blob on close. Parts are temporary blobs, deleted once composed or if upload fails.
+ * Memory is bounded: at most parallelUploads + 1 buffers of chunk size.
+ * A composite blob can't have more than MAX_COMPONENTS parts, so the chunk size bounds the blob size. If a write
+ * fails, the stream is aborted: close() doesn't publish a partial target blob.
+ */
+@Slf4j
+public class ComposeOutputStream extends OutputStream {
+
+    /** max number of sources in a compose request */
+    static final int MAX_COMPOSE_SOURCES = 32;
+
+    /** max number of parts of a composite blob */
+    static final int MAX_COMPONENTS = 1024;
+
+    private static final int MAX_PART_RETRIES = 3;
+
+    private static final long RETRY_DELAY = 500L;
+
+    /** operations on blobs of the bucket */
+    public interface PartStore {
+
+        void upload(String name, byte[] data, int length) throws IOException;
+
+        void compose(List<String> sources, String target) throws IOException;
+
+        void delete(Collection<String> names);
+    }
+
+    private final PartStore store;
+
+    private final String target;
+
+    private final String partPrefix;
+
+    private final int chunkSize;
+
+    private final int parallelUploads;
+
+    private final ExecutorService executor;
+
+    /** free buffers */
+    private final BlockingQueue<byte[]> buffers = new LinkedBlockingQueue<>();
+
+    /** uploads in flight, oldest first */
+    private final Deque<Future<?>> uploads = new ArrayDeque<>();
+
+    /** temporary blobs created, to delete at end */
+    private final List<String> temporaries = new ArrayList<>();
+
+    private int buffersCreated = 0;
+
+    private byte[] current;
+
+    private int position = 0;
+
+    private int partCount = 0;
+
+    private boolean closed = false;
+
+    public ComposeOutputStream(final PartStore store, final String target, final int chunkSize,
+            final int parallelUploads) {
+        this.store = store;
+        this.target = target;
+        this.partPrefix = target + ".part-" + UUID.randomUUID().toString() + "-";
+        this.chunkSize = chunkSize;
+        this.parallelUploads = Math.max(1, parallelUploads);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelUploads, (Runnable r) -> {
+            final Thread thread = new Thread(r, "google-storage-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        this.checkOpen();
+        try {
+            this.doWrite(b, off, len);
+        } catch (IOException | RuntimeException ex) {
+            this.abort();
+            throw ex;
+        }
+    }
+
+    private void doWrite(final byte[] b, final int off, final int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (this.current == null) {
+                this.current = this.nextBuffer();
+                this.position = 0;
+            }
+            final int count = Math.min(remaining, this.chunkSize - this.position);
+            System.arraycopy(b, offset, this.current, this.position, count);
+            this.position += count;
+            offset += count;
+            remaining -= count;
+            if (this.position == this.chunkSize) {
+                this.uploadCurrent();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            if (this.partCount == 0) {
+                // small blob, uploaded directly.
+                this.store.upload(this.target, this.current == null ? new byte[0] : this.current, this.position);
+                return;
+            }
+            if (this.position > 0) {
+                this.uploadCurrent();
+            }
+            while (!this.uploads.isEmpty()) {
+                this.await(this.uploads.poll());
+            }
+            this.compose();
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Stop uploads and remove temporary blobs, target blob is not written.
+     */
+    public void abort() {
+        if (!this.closed) {
+            this.closed = true;
+            this.release();
+        }
+    }
+
+    private void compose() throws IOException {
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < this.partCount; i++) {
+            sources.add(this.partPrefix + i);
+        }
+        int level = 0;
+        while (sources.size() > MAX_COMPOSE_SOURCES) {
+            // compose tree, each level divides number of blobs by MAX_COMPOSE_SOURCES.
+            final List<String> composed = new ArrayList<>();
+            for (int i = 0; i < sources.size(); i += MAX_COMPOSE_SOURCES) {
+                final String name = this.partPrefix + "c" + level + "-" + composed.size();
+                this.temporaries.add(name);
+                this.store.compose(sources.subList(i, Math.min(sources.size(), i + MAX_COMPOSE_SOURCES)), name);
+                composed.add(name);
+            }
+            sources = composed;
+            level++;
+        }
+        this.store.compose(sources, this.target);
+        log.debug("Blob {} composed from {} parts.", this.target, this.partCount);
+    }
+
+    private void uploadCurrent() throws IOException {
+        if (this.partCount >= MAX_COMPONENTS) {
+            throw new IOException("Blob " + this.target + " exceeds " + MAX_COMPONENTS + " parts of " + this.chunkSize
+                    + " bytes, a larger chunk size is needed.");
+        }
+        final byte[] data = this.current;
+        final int length = this.position;
+        final String name = this.partPrefix + this.partCount;
+        this.temporaries.add(name);
+        this.partCount++;
+        this.current = null;
+        this.position = 0;
+        while (this.uploads.size() >= this.parallelUploads) {
+            this.await(this.uploads.poll());
+        }
+        this.uploads.add(this.executor.submit(() -> {
+            try {
+                this.uploadPart(name, data, length);
+            } finally {
+                this.buffers.offer(data);
+            }
+            return null;
+        }));
+        // fail fast on uploads already done.
+        while (!this.uploads.isEmpty() && this.uploads.peek().isDone()) {
+            this.await(this.uploads.poll());
+        }
+    }
+
+    private void uploadPart(final String name, final byte[] data, final int length) throws IOException {
+        int retry = 0;
+        while (true) {
+            try {
+                this.store.upload(name, data, length);
+                return;
+            } catch (IOException | RuntimeException ex) {
+                if (retry >= MAX_PART_RETRIES) {
+                    throw ex;
+                }
+                retry++;
+                log.debug("Upload of part {} failed, retry {}/{}: {}", name, retry, MAX_PART_RETRIES,
+                        ex.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY << (retry - 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ie);
+                }
+            }
+        }
+    }
+
+    private byte[] nextBuffer() throws IOException {
+        final byte[] buffer = this.buffers.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        if (this.buffersCreated <= this.parallelUploads) {
+            this.buffersCreated++;
+            return new byte[this.chunkSize];
+        }
+        try {
+            return this.buffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private void await(final Future<?> upload) throws IOException {
+        try {
+            upload.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void release() {
+        this.uploads.forEach((Future<?> upload) -> upload.cancel(true));
+        this.uploads.clear();
+        this.executor.shutdownNow();
+        try {
+            this.executor.awaitTermination(1L, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!this.temporaries.isEmpty()) {
+            this.store.delete(this.temporaries);
+        }
+    }
+}
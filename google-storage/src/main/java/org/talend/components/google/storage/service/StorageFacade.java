@@ -29,6 +29,20 @@ public interface StorageFacade extends Serializable {
      */
     OutputStream buildOuput(final String bucket, final String blob);
 
+    /**
+     * Build output to write on bucket/blob.
+     *
+     * @param bucket : bucket to write.
+     * @param blob : blob to write.
+     * @param chunkSize : bytes sent by request.
+     * @param parallelUploads : number of parts uploaded in parallel and composed at close, 0 for a single upload.
+     * @return output stream correspond to bucket/blob.
+     */
+    default OutputStream buildOuput(final String bucket, final String blob, final int chunkSize,
+            final int parallelUploads) {
+        return this.buildOuput(bucket, blob);
+    }
+
     /**
      * Build input stream getter on bucket/blob
      * 
@@ -38,6 +52,26 @@ public interface StorageFacade extends Serializable {
      */
     Supplier<InputStream> buildInput(final String bucket, final String blob);
 
+    /**
+     * Build input stream getter on a range of bucket/blob.
+     *
+     * @param bucket : bucket.
+     * @param part : blob range.
+     * @param chunkSize : bytes fetched by request.
+     * @param parallelReads : chunks fetched ahead concurrently.
+     * @return input stream getter to read data.
+     */
+    default Supplier<InputStream> buildInput(final String bucket, final BlobPart part, final int chunkSize,
+            final int parallelReads) {
+        final Supplier<InputStream> input = this.buildInput(bucket, part.getName());
+        if (input == null || part.isWhole() || part.getEnd() < 0L) {
+            return input;
+        }
+        return () -> new ChunkedInputStream(
+                (long offset, int length) -> ChunkedInputStream.readChunk(input.get(), offset, length),
+                part.getStart(), part.getEnd(), chunkSize, parallelReads);
+    }
+
     /**
      * Find all blob for a given bucket that match name.
      * 
@@ -47,6 +81,18 @@ public interface StorageFacade extends Serializable {
      */
     Stream<String> findBlobsName(final String bucket, final String blobStartName);
 
+    /**
+     * Find all blob for a given bucket that match name, with their size.
+     *
+     * @param bucket : bucket name.
+     * @param blobStartName : start name of blob.
+     * @return whole blobs that match, size is -1 if unknown.
+     */
+    default Stream<BlobPart> findBlobs(final String bucket, final String blobStartName) {
+        final Stream<String> names = this.findBlobsName(bucket, blobStartName);
+        return names == null ? Stream.empty() : names.map(BlobPart::whole);
+    }
+
     /**
      * Check if a bucket exist.
      * 
@@ -12,9 +12,14 @@
  */
 package org.talend.components.google.storage.service;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -22,11 +27,14 @@ import java.util.stream.StreamSupport;
 
 import com.google.api.gax.paging.Page;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.Storage.BlobListOption;
+import com.google.cloud.storage.Storage.ComposeRequest;
 import com.google.cloud.storage.StorageException;
 
 import org.talend.sdk.component.api.exception.ComponentException;
@@ -72,6 +80,10 @@ public class StorageImpl implements StorageFacade {
 
     @Override
     public OutputStream buildOuput(final String bucket, final String blob) {
+        return this.buildOuput(bucket, blob, 0);
+    }
+
+    private OutputStream buildOuput(final String bucket, final String blob, final int chunkSize) {
         final Storage st = this.getStorage();
 
         final BlobInfo blobInfo = BlobInfo.newBuilder(bucket, blob).build();
@@ -82,9 +94,49 @@ public class StorageImpl implements StorageFacade {
 
         // write channel from blob
         final WriteChannel writer = blobObject.writer();
+        if (chunkSize > 0) {
+            writer.setChunkSize(chunkSize);
+        }
         return Channels.newOutputStream(writer);
     }
 
+    @Override
+    public OutputStream buildOuput(final String bucket, final String blob, final int chunkSize,
+            final int parallelUploads) {
+        if (parallelUploads <= 0) {
+            return this.buildOuput(bucket, blob, chunkSize);
+        }
+        return new ComposeOutputStream(new ComposeOutputStream.PartStore() {
+
+            @Override
+            public void upload(final String name, final byte[] data, final int length) {
+                StorageImpl.this.getStorage().create(BlobInfo.newBuilder(bucket, name).build(), data, 0, length);
+            }
+
+            @Override
+            public void compose(final List<String> sources, final String target) {
+                StorageImpl.this
+                        .getStorage()
+                        .compose(ComposeRequest
+                                .newBuilder()
+                                .addSource(sources)
+                                .setTarget(BlobInfo.newBuilder(bucket, target).build())
+                                .build());
+            }
+
+            @Override
+            public void delete(final Collection<String> names) {
+                for (String name : names) {
+                    try {
+                        StorageImpl.this.getStorage().delete(BlobId.of(bucket, name));
+                    } catch (StorageException ex) {
+                        log.warn("Can't delete temporary blob {}: {}", name, ex.getMessage());
+                    }
+                }
+            }
+        }, blob, chunkSize, parallelUploads);
+    }
+
     @Override
     public Supplier<InputStream> buildInput(final String bucket, final String blob) {
         final BlobInfo blobInfo = BlobInfo.newBuilder(bucket, blob).build();
@@ -98,16 +150,57 @@ public class StorageImpl implements StorageFacade {
         return () -> Channels.newInputStream(blobObject.reader());
     }
 
+    @Override
+    public Supplier<InputStream> buildInput(final String bucket, final BlobPart part, final int chunkSize,
+            final int parallelReads) {
+        final BlobId blobId = BlobId.of(bucket, part.getName(), part.getGeneration());
+        if (part.isCompressed() || part.getEnd() < 0L) {
+            // whole content, decompressed by the server.
+            return () -> {
+                final ReadChannel reader = this.getStorage().reader(blobId);
+                reader.setChunkSize(chunkSize);
+                return Channels.newInputStream(reader);
+            };
+        }
+        return () -> new ChunkedInputStream((long offset, int length) -> this.readChunk(blobId, offset, length),
+                part.getStart(), part.getEnd(), chunkSize, parallelReads);
+    }
+
+    private byte[] readChunk(final BlobId blobId, final long offset, final int length) throws IOException {
+        try (ReadChannel reader = this.getStorage().reader(blobId)) {
+            // one request for the whole chunk.
+            reader.setChunkSize(length);
+            reader.seek(offset);
+            final ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining() && reader.read(buffer) >= 0) {
+                // until chunk is full or end of blob.
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+    }
+
     @Override
     public Stream<String> findBlobsName(final String bucket, final String blobStartName) {
+        return this.listBlobs(bucket, blobStartName).map(Blob::getName);
+    }
+
+    @Override
+    public Stream<BlobPart> findBlobs(final String bucket, final String blobStartName) {
+        return this
+                .listBlobs(bucket, blobStartName) //
+                .map((Blob blob) -> BlobPart
+                        .whole(blob.getName(), blob.getGeneration(), blob.getSize() == null ? -1L : blob.getSize(),
+                                "gzip".equalsIgnoreCase(blob.getContentEncoding())));
+    }
+
+    private Stream<Blob> listBlobs(final String bucket, final String blobStartName) {
         final BlobListOption blobListOption = Storage.BlobListOption.prefix(basename(blobStartName));
         final Page<Blob> blobPage = this.getStorage().list(bucket, blobListOption);
 
         return StreamSupport
                 .stream(blobPage.iterateAll().spliterator(), false) //
-                .map(Blob::getName) //
-                .filter((String name) -> Objects.equals(blobStartName, name)
-                        || this.nameBuilder.isGenerated(blobStartName, name));
+                .filter((Blob blob) -> Objects.equals(blobStartName, blob.getName())
+                        || this.nameBuilder.isGenerated(blobStartName, blob.getName()));
     }
 
     /**
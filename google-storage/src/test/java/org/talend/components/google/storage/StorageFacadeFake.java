@@ -26,6 +26,7 @@ import java.util.TreeMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.talend.components.google.storage.service.BlobPart;
 import org.talend.components.google.storage.service.StorageFacade;
 
 import lombok.Getter;
@@ -118,6 +119,17 @@ public class StorageFacadeFake implements StorageFacade {
         return null;
     }
 
+    @Override
+    public Stream<BlobPart> findBlobs(String bucket, String blobStartName) {
+        if (Objects.equals(this.bucket.getName(), bucket)) {
+            return this.bucket
+                    .list(blobStartName)
+                    .stream()
+                    .map((String name) -> BlobPart.whole(name, null, this.bucket.getBlob(name).length(), false));
+        }
+        return Stream.empty();
+    }
+
     @Override
     public boolean isBucketExist(String bucketName) {
         return Objects.equals(this.bucket.name, bucketName);
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
+import org.talend.components.google.storage.GSServiceFake;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
+import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.datastore.GSDataStore;
+import org.talend.components.google.storage.service.BlobPart;
+import org.talend.components.google.storage.service.GSService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+@WithComponents(value = "org.talend.components.google.storage")
+class GoogleStorageInputMapperTest {
+
+    @Service
+    private RecordIORepository repository;
+
+    @Service
+    private RecordBuilderFactory factory;
+
+    @Service
+    private GSService services;
+
+    private GSService fake;
+
+    private InputConfiguration config;
+
+    @BeforeEach
+    void init() throws IOException {
+        final URL resource = Thread.currentThread().getContextClassLoader().getResource("./bucketSource");
+        this.fake = new GSServiceFake(this.services, new File(resource.getPath()), "test");
+
+        final GSDataStore dataStore = new GSDataStore();
+        final URL jwt = Thread.currentThread().getContextClassLoader().getResource("./engineering-test.json");
+        dataStore.setJsonCredentials(new String(Files.readAllBytes(new File(jwt.getPath()).toPath())));
+
+        final GSDataSet dataset = new GSDataSet();
+        dataset.setBucket("test");
+        dataset.setBlob("blob");
+        dataset.setDataStore(dataStore);
+        final FormatConfiguration format = new FormatConfiguration();
+        format.setContentFormat(FormatConfiguration.Type.CSV);
+        dataset.setContentFormat(format);
+
+        this.config = new InputConfiguration();
+        this.config.setDataset(dataset);
+    }
+
+    @Test
+    void smallBlobsInOnePart() {
+        final GoogleStorageInputMapper mapper =
+                new GoogleStorageInputMapper(this.config, this.factory, this.repository, this.fake);
+
+        Assertions.assertEquals(34L, mapper.estimateSize());
+        final List<GoogleStorageInputMapper> mappers = mapper.split(1L);
+        Assertions.assertEquals(1, mappers.size());
+        Assertions.assertEquals(6, this.count(mappers.get(0).createWorker()));
+    }
+
+    @Test
+    void rangesReadAllRecords() {
+        this.config.setSplitBlobs(true);
+        final GoogleStorageInputMapper mapper =
+                new GoogleStorageInputMapper(this.config, this.factory, this.repository, this.fake);
+        final List<BlobPart> blobs = this.fake
+                .buildStorage(this.config.getDataset().getDataStore())
+                .findBlobs("test", "blob")
+                .collect(Collectors.toList());
+
+        for (long rangeSize = 1L; rangeSize <= 17L; rangeSize++) {
+            final List<List<BlobPart>> groups = mapper.groups(blobs, rangeSize);
+            int count = 0;
+            for (List<BlobPart> group : groups) {
+                count += this.count(
+                        new GoogleStorageSource(this.config, this.factory, this.repository, this.fake, group));
+            }
+            Assertions.assertEquals(6, count, "range size " + rangeSize);
+        }
+    }
+
+    @Test
+    void quotedMultiLineRecordIsNotCut() {
+        final URL resource = Thread.currentThread().getContextClassLoader().getResource("./bucketQuoted");
+        final GSService quotedFake = new GSServiceFake(this.services, new File(resource.getPath()), "test");
+        this.config.getDataset().setBlob("quoted");
+        final GoogleStorageInputMapper mapper =
+                new GoogleStorageInputMapper(this.config, this.factory, this.repository, quotedFake);
+        final List<BlobPart> blobs = quotedFake
+                .buildStorage(this.config.getDataset().getDataStore())
+                .findBlobs("test", "quoted")
+                .collect(Collectors.toList());
+
+        // range boundary (12) is inside the quoted value "two\nlines" of the second record.
+        final List<List<BlobPart>> groups = mapper.groups(blobs, 12L);
+        Assertions.assertTrue(groups.stream().flatMap(List::stream).allMatch(BlobPart::isWhole));
+
+        final List<Record> records = new ArrayList<>();
+        for (List<BlobPart> group : groups) {
+            final GoogleStorageSource source =
+                    new GoogleStorageSource(this.config, this.factory, this.repository, quotedFake, group);
+            for (Record record = source.next(); record != null; record = source.next()) {
+                records.add(record);
+            }
+        }
+        Assertions.assertEquals(3, records.size());
+        Assertions.assertTrue(records
+                .get(1)
+                .getSchema()
+                .getEntries()
+                .stream()
+                .anyMatch(e -> "two\nlines".equals(records.get(1).getString(e.getName()))));
+    }
+
+    @Test
+    void jsonBlobsAreNotCut() {
+        this.config.getDataset().getContentFormat().setContentFormat(FormatConfiguration.Type.JSON);
+        final GoogleStorageInputMapper mapper =
+                new GoogleStorageInputMapper(this.config, this.factory, this.repository, this.fake);
+        final List<BlobPart> blobs = this.fake
+                .buildStorage(this.config.getDataset().getDataStore())
+                .findBlobs("test", "blob")
+                .collect(Collectors.toList());
+
+        final List<List<BlobPart>> groups = mapper.groups(blobs, 5L);
+        Assertions.assertEquals(2, groups.size());
+        Assertions.assertTrue(groups.stream().flatMap(List::stream).allMatch(BlobPart::isWhole));
+    }
+
+    @Test
+    void compressedBlobsAreNotCut() {
+        this.config
+                .getDataset()
+                .getContentFormat()
+                .setCompression(CompressionConfiguration.of(CompressionConfiguration.Type.AUTO));
+        final GoogleStorageInputMapper mapper =
+                new GoogleStorageInputMapper(this.config, this.factory, this.repository, this.fake);
+        final List<BlobPart> blobs = this.fake
+                .buildStorage(this.config.getDataset().getDataStore())
+                .findBlobs("test", "blob")
+                .collect(Collectors.toList());
+
+        final List<List<BlobPart>> groups = mapper.groups(blobs, 5L);
+        Assertions.assertTrue(groups.stream().flatMap(List::stream).allMatch(BlobPart::isWhole));
+        int count = 0;
+        for (List<BlobPart> group : groups) {
+            count += this.count(new GoogleStorageSource(this.config, this.factory, this.repository, this.fake, group));
+        }
+        Assertions.assertEquals(6, count); // plain blobs are read as is
+    }
+
+    private int count(final GoogleStorageSource source) {
+        int count = 0;
+        Record record = source.next();
+        while (record != null) {
+            Assertions.assertEquals('b', record.getString("field_1").charAt(0));
+            count++;
+            record = source.next();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LineRangeInputStreamTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "\n", "\r\n", "##" })
+    void rangesReadEachLineOnce(final String separator) throws IOException {
+        final String content = String.join(separator, "h1,h2", "a,1", "", "bb,22", "ccc,333", "d") + separator;
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final byte[] sep = separator.getBytes(StandardCharsets.UTF_8);
+
+        for (int rangeSize = 1; rangeSize <= bytes.length; rangeSize++) {
+            final ByteArrayOutputStream all = new ByteArrayOutputStream();
+            for (int start = 0; start < bytes.length; start += rangeSize) {
+                final int end = Math.min(bytes.length, start + rangeSize);
+                final int from = Math.max(0, start - sep.length);
+                final InputStream input = new ByteArrayInputStream(Arrays.copyOfRange(bytes, from, bytes.length));
+                try (LineRangeInputStream range = new LineRangeInputStream(input, sep, start - from, end - from)) {
+                    this.copy(range, all);
+                }
+            }
+            Assertions.assertEquals(content, all.toString(StandardCharsets.UTF_8.name()), "range size " + rangeSize);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "\n", "\r\n" })
+    void readLines(final String separator) throws IOException {
+        final String content = String.join(separator, "h1", "h2", "a", "b");
+        final byte[] header = LineRangeInputStream
+                .readLines(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                        separator.getBytes(StandardCharsets.UTF_8), 2);
+        Assertions.assertEquals("h1" + separator + "h2" + separator, new String(header, StandardCharsets.UTF_8));
+    }
+
+    private void copy(final InputStream in, final ByteArrayOutputStream out) throws IOException {
+        final byte[] buffer = new byte[3];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+    }
+}
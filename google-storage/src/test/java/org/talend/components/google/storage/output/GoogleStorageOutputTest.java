@@ -13,6 +13,7 @@
 package org.talend.components.google.storage.output;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
@@ -22,10 +23,15 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.google.cloud.storage.Storage;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.format.avro.AvroConfiguration;
+import org.talend.components.common.stream.format.compression.CompressionConfiguration;
 import org.talend.components.google.storage.FakeStorage;
 import org.talend.components.google.storage.GSServiceFake;
 import org.talend.components.google.storage.dataset.FormatConfiguration;
@@ -104,6 +110,77 @@ class GoogleStorageOutputTest {
         Assertions.assertTrue(first.isPresent());
     }
 
+    @Test
+    void writeCompressed() throws IOException {
+        final URL resource = Thread.currentThread().getContextClassLoader().getResource("./bucketTarget");
+        final File target = new File(resource.getPath());
+        final GSService fake = new GSServiceFake(this.services, target, "test");
+
+        final GSDataSet dataset = new GSDataSet();
+        dataset.setDataStore(new GSDataStore());
+        final FormatConfiguration format = dataset.getContentFormat();
+        format.setContentFormat(FormatConfiguration.Type.JSON);
+        format.setJsonConfiguration(new JsonAllConfiguration());
+        format.setCompression(CompressionConfiguration.of(CompressionConfiguration.Type.GZIP));
+        dataset.getDataStore().setJsonCredentials(this.getContentFile("./engineering-test.json"));
+        dataset.setBucket("test");
+        dataset.setBlob("gzblob");
+
+        final OutputConfiguration config = new OutputConfiguration();
+        config.setDataset(dataset);
+        final GoogleStorageOutput output = new GoogleStorageOutput(config, this.repository, i18n, fake);
+        output.init();
+        output.write(buildRecords());
+        output.release();
+
+        final Optional<File> written = Stream
+                .of(target.listFiles()) //
+                .filter((File f) -> f.getName().startsWith("gzblob")) //
+                .findFirst(); //
+        Assertions.assertTrue(written.isPresent());
+        final byte[] content = Files.readAllBytes(written.get().toPath());
+        written.get().delete();
+        Assertions.assertEquals((byte) 0x1f, content[0]); // gzip magic bytes
+        Assertions.assertEquals((byte) 0x8b, content[1]);
+    }
+
+    @Test
+    void writeAvroWithCodec() throws IOException {
+        final URL resource = Thread.currentThread().getContextClassLoader().getResource("./bucketTarget");
+        final File target = new File(resource.getPath());
+        final GSService fake = new GSServiceFake(this.services, target, "test");
+
+        final GSDataSet dataset = new GSDataSet();
+        dataset.setDataStore(new GSDataStore());
+        final FormatConfiguration format = dataset.getContentFormat();
+        format.setContentFormat(FormatConfiguration.Type.AVRO);
+        format.getAvroConfiguration().setCodec(AvroConfiguration.Codec.DEFLATE);
+        format.setCompression(CompressionConfiguration.of(CompressionConfiguration.Type.GZIP));
+        dataset.getDataStore().setJsonCredentials(this.getContentFile("./engineering-test.json"));
+        dataset.setBucket("test");
+        dataset.setBlob("avroblob");
+
+        final OutputConfiguration config = new OutputConfiguration();
+        config.setDataset(dataset);
+        final GoogleStorageOutput output = new GoogleStorageOutput(config, this.repository, i18n, fake);
+        output.init();
+        output.write(Arrays.asList(factory.newRecordBuilder().withString("Hello", "World").build()));
+        output.release();
+
+        final Optional<File> written = Stream
+                .of(target.listFiles()) //
+                .filter((File f) -> f.getName().startsWith("avroblob")) //
+                .findFirst(); //
+        Assertions.assertTrue(written.isPresent());
+        try (DataFileStream<GenericRecord> reader =
+                new DataFileStream<>(new FileInputStream(written.get()), new GenericDatumReader<>())) {
+            Assertions.assertEquals("deflate", reader.getMetaString("avro.codec"));
+            Assertions.assertEquals("World", reader.next().get("Hello").toString());
+        } finally {
+            written.get().delete();
+        }
+    }
+
     private Collection<Record> buildRecords() {
         final Record record1 = factory
                 .newRecordBuilder()
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ChunkedInputStreamTest {
+
+    private final byte[] content = new byte[1000];
+
+    ChunkedInputStreamTest() {
+        for (int i = 0; i < this.content.length; i++) {
+            this.content[i] = (byte) i;
+        }
+    }
+
+    @Test
+    void readRangeByChunks() throws IOException {
+        final Set<Long> offsets = ConcurrentHashMap.newKeySet();
+        final ChunkedInputStream.ChunkReader reader = (long offset, int length) -> {
+            offsets.add(offset);
+            return ChunkedInputStream.readChunk(new ByteArrayInputStream(this.content), offset, length);
+        };
+
+        try (InputStream in = new ChunkedInputStream(reader, 100L, 950L, 64, 3)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[50];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            Assertions.assertArrayEquals(Arrays.copyOfRange(this.content, 100, 950), out.toByteArray());
+        }
+        Assertions.assertEquals(14, offsets.size());
+        Assertions.assertTrue(offsets.contains(100L + 13 * 64));
+    }
+
+    @Test
+    void stopAtEndOfBlob() throws IOException {
+        final ChunkedInputStream.ChunkReader reader = (long offset, int length) -> ChunkedInputStream
+                .readChunk(new ByteArrayInputStream(this.content), offset, length);
+
+        try (InputStream in = new ChunkedInputStream(reader, 990L, 2000L, 8, 2)) {
+            int count = 0;
+            while (in.read() >= 0) {
+                count++;
+            }
+            Assertions.assertEquals(10, count);
+        }
+    }
+
+    @Test
+    void chunkErrorIsThrown() {
+        final ChunkedInputStream.ChunkReader reader = (long offset, int length) -> {
+            throw new IOException("unavailable");
+        };
+
+        final IOException error = Assertions.assertThrows(IOException.class, () -> {
+            try (InputStream in = new ChunkedInputStream(reader, 0L, 100L, 10, 2)) {
+                in.read();
+            }
+        });
+        Assertions.assertEquals("unavailable", error.getMessage());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ComposeOutputStreamTest {
+
+    /** blobs in memory */
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+
+    private final AtomicInteger composeCount = new AtomicInteger();
+
+    private final ComposeOutputStream.PartStore store = new ComposeOutputStream.PartStore() {
+
+        @Override
+        public void upload(String name, byte[] data, int length) {
+            blobs.put(name, Arrays.copyOf(data, length));
+        }
+
+        @Override
+        public void compose(List<String> sources, String target) throws IOException {
+            Assertions.assertTrue(sources.size() <= ComposeOutputStream.MAX_COMPOSE_SOURCES);
+            composeCount.incrementAndGet();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (String source : sources) {
+                out.write(blobs.get(source));
+            }
+            blobs.put(target, out.toByteArray());
+        }
+
+        @Override
+        public void delete(Collection<String> names) {
+            names.forEach(blobs::remove);
+        }
+    };
+
+    @Test
+    void partsAreComposed() throws IOException {
+        final byte[] content = this.content(10_000);
+        try (ComposeOutputStream out = new ComposeOutputStream(this.store, "target", 10, 4)) {
+            for (int i = 0; i < content.length; i += 7) {
+                out.write(content, i, Math.min(7, content.length - i));
+            }
+        }
+
+        // 1000 parts -> 32 composed blobs -> target.
+        Assertions.assertEquals(33, this.composeCount.get());
+        Assertions.assertArrayEquals(content, this.blobs.get("target"));
+        Assertions.assertEquals(1, this.blobs.size(), "temporary blobs are deleted");
+    }
+
+    @Test
+    void smallBlobIsUploadedDirectly() throws IOException {
+        try (ComposeOutputStream out = new ComposeOutputStream(this.store, "target", 100, 2)) {
+            out.write(this.content(50));
+        }
+
+        Assertions.assertEquals(0, this.composeCount.get());
+        Assertions.assertArrayEquals(this.content(50), this.blobs.get("target"));
+    }
+
+    @Test
+    void failedPartIsRetried() throws IOException {
+        final AtomicInteger failures = new AtomicInteger();
+        final ComposeOutputStream.PartStore failOnce = new ComposeOutputStream.PartStore() {
+
+            @Override
+            public void upload(String name, byte[] data, int length) throws IOException {
+                if (name.endsWith("-1") && failures.getAndIncrement() == 0) {
+                    throw new IOException("timeout");
+                }
+                store.upload(name, data, length);
+            }
+
+            @Override
+            public void compose(List<String> sources, String target) throws IOException {
+                store.compose(sources, target);
+            }
+
+            @Override
+            public void delete(Collection<String> names) {
+                store.delete(names);
+            }
+        };
+
+        try (ComposeOutputStream out = new ComposeOutputStream(failOnce, "target", 10, 2)) {
+            out.write(this.content(35));
+        }
+
+        Assertions.assertEquals(2, failures.get());
+        Assertions.assertArrayEquals(this.content(35), this.blobs.get("target"));
+    }
+
+    @Test
+    void abortDeletesParts() throws IOException {
+        final ComposeOutputStream out = new ComposeOutputStream(this.store, "target", 10, 2);
+        out.write(this.content(35));
+        out.abort();
+
+        Assertions.assertTrue(this.blobs.isEmpty());
+        Assertions.assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    @Test
+    void failedWriteIsNotComposed() throws IOException {
+        final ComposeOutputStream out = new ComposeOutputStream(this.store, "target", 1, 2);
+        final byte[] content = this.content(ComposeOutputStream.MAX_COMPONENTS + 1);
+        Assertions.assertThrows(IOException.class, () -> out.write(content));
+        out.close();
+
+        Assertions.assertEquals(0, this.composeCount.get());
+        Assertions.assertTrue(this.blobs.isEmpty(), "no target blob, temporary blobs are deleted");
+    }
+
+    private byte[] content(final int size) {
+        final byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i % 127);
+        }
+        return content;
+    }
+}
@@ -61,7 +61,8 @@ import java.util.List;
         @GridLayout.Row({ "pagination" }), //
         // @GridLayout.Row({ "force302Redirect" }), // TODO: https://jira.talendforge.org/browse/TDI-48326
         @GridLayout.Row({ "jsonForceDouble" }),
-        @GridLayout.Row({ "enforceNumberAsString" }) })
+        @GridLayout.Row({ "enforceNumberAsString" }),
+        @GridLayout.Row({ "compressBody" }) })
 @Documentation("HTTP dataset configuration.")
 public class Dataset implements Serializable {
 
@@ -165,6 +166,12 @@ public class Dataset implements Serializable {
     @Documentation("Request body.")
     private RequestBody body;
 
+    @Option
+    @ActiveIf(target = "hasBody", value = "true")
+    @DefaultValue("false")
+    @Documentation("Compress the request body with gzip (Content-Encoding header), the server must support it.")
+    private boolean compressBody = false;
+
     @Option
     @Required
     @Documentation("Define the content of the returned record.")
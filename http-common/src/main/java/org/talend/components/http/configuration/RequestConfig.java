@@ -19,6 +19,7 @@ import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.UIScope;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 import lombok.Data;
@@ -28,7 +29,10 @@ import lombok.Data;
 @GridLayout({ @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "downloadFile", "directoryToSave" }) })
 @GridLayout(names = GridLayout.FormType.ADVANCED,
         value = { @GridLayout.Row({ "dataset" }), @GridLayout.Row("uploadFiles"),
-                @GridLayout.Row("uploadFileTable"), @GridLayout.Row("dieOnError") })
+                @GridLayout.Row("uploadFileTable"), @GridLayout.Row("dieOnError"),
+                @GridLayout.Row({ "concurrentRequests", "orderedEmission" }), @GridLayout.Row("maxRequestsPerSecond"),
+                @GridLayout.Row({ "maxRetries", "retryBackoff" }),
+                @GridLayout.Row("pooledConnections"), @GridLayout.Row({ "cacheResponses", "cacheTTL" }) })
 public class RequestConfig implements Serializable {
 
     @Option
@@ -59,4 +63,43 @@ public class RequestConfig implements Serializable {
     @Documentation("Table to attach files.")
     @ActiveIf(target = "uploadFiles", value = "true")
     private List<UploadFile> uploadFileTable;
+
+    @Option
+    @Min(1)
+    @Documentation("Maximum number of requests in flight at the same time (only used by processors).")
+    private int concurrentRequests = 1;
+
+    @Option
+    @Documentation("Emit results in the same order as input records, otherwise as soon as requests complete "
+            + "(only used by processors).")
+    private boolean orderedEmission = true;
+
+    @Option
+    @Min(0)
+    @Documentation("Maximum number of requests per second sent to the host, 0 for no limit.")
+    private int maxRequestsPerSecond = 0;
+
+    @Option
+    @Min(0)
+    @Documentation("Number of retries when the server answers 429 (Too many requests) or 503 (Service unavailable).")
+    private int maxRetries = 0;
+
+    @Option
+    @Min(0)
+    @Documentation("Initial wait between retries (ms), doubled at each retry without 'Retry-After' header.")
+    private long retryBackoff = 1000L;
+
+    @Option
+    @Documentation("Reuse HTTP clients and keep-alive connections between requests to the same host.")
+    private boolean pooledConnections = true;
+
+    @Option
+    @Documentation("Cache GET responses, so that a same query is not sent again to the server while it is fresh.")
+    private boolean cacheResponses = false;
+
+    @Option
+    @Min(0)
+    @ActiveIf(target = "cacheResponses", value = "true")
+    @Documentation("Duration a cached response is used (s), it is then revalidated with ETag/Last-Modified if given.")
+    private long cacheTTL = 300L;
 }
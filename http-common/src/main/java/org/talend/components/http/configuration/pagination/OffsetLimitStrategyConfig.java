@@ -14,6 +14,7 @@ package org.talend.components.http.configuration.pagination;
 
 import lombok.Data;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.DefaultValue;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -24,7 +25,9 @@ import java.io.Serializable;
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "location" }),
         @GridLayout.Row({ "offsetParamName", "offsetValue" }),
         @GridLayout.Row({ "limitParamName", "limitValue" }),
-        @GridLayout.Row({ "elementsPath" })
+        @GridLayout.Row({ "elementsPath" }),
+        @GridLayout.Row({ "totalPath" }),
+        @GridLayout.Row({ "prefetchPages" })
 })
 @Documentation("Offset/max HTTP pagination strategy configuration.")
 public class OffsetLimitStrategyConfig implements Serializable {
@@ -54,6 +57,15 @@ public class OffsetLimitStrategyConfig implements Serializable {
     @Documentation("Path to the list of element contained by the page.")
     private String elementsPath;
 
+    @Option
+    @Documentation("Path to the total number of elements, if given by the API, to plan all pages after the first one.")
+    private String totalPath;
+
+    @Option
+    @Min(1)
+    @Documentation("Number of pages retrieved in parallel, ahead of the page being read (1 to query pages one by one).")
+    private int prefetchPages = 1;
+
     public enum Location {
         QUERY_PARAMETERS,
         HEADERS
@@ -15,6 +15,7 @@ package org.talend.components.http.input;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.extension.polling.api.Pollable;
 import org.talend.components.http.configuration.RequestConfig;
@@ -22,14 +23,18 @@ import org.talend.components.http.service.I18n;
 import org.talend.components.http.service.RecordBuilderService;
 import org.talend.components.http.service.httpClient.HTTPClientService;
 import org.talend.components.http.service.httpClient.HTTPComponentException;
+import org.talend.components.http.service.httpClient.HostRateLimiter;
+import org.talend.components.http.service.httpClient.PagePrefetcher;
 import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 @Getter
 @Pollable(name = "Polling", resumeMethod = "resume")
@@ -52,6 +57,13 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
 
     private Optional<QueryConfiguration> queryConfiguration;
 
+    /** retrieve next pages in parallel, when page prefetch is enabled */
+    @Getter(AccessLevel.NONE)
+    private PagePrefetcher prefetcher;
+
+    @Getter(AccessLevel.NONE)
+    private ExecutorService prefetchExecutor;
+
     public AbstractHTTPInput(final T config, final HTTPClientService client,
             final RecordBuilderService recordBuilder, final I18n i18n) {
         this.config = translateConfiguration(config);
@@ -82,6 +94,25 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
     @PostConstruct
     public void postConstruct() {
         this.queryConfiguration = Optional.ofNullable(client.convertConfiguration(this.config, null));
+
+        int prefetchPages = PagePrefetcher.prefetchPages(this.config);
+        if (prefetchPages > 1 && this.queryConfiguration.isPresent() && this.prefetcher == null) {
+            this.prefetchExecutor = PagePrefetcher.newExecutor(prefetchPages);
+            this.prefetcher = new PagePrefetcher(this.queryConfiguration.get(), prefetchPages, this.prefetchExecutor,
+                    this::invoke);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (this.prefetcher != null) {
+            this.prefetcher.close();
+            this.prefetcher = null;
+        }
+        if (this.prefetchExecutor != null) {
+            this.prefetchExecutor.shutdownNow();
+            this.prefetchExecutor = null;
+        }
     }
 
     @Producer
@@ -89,12 +120,8 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
         if (items == null && !done) {
             done = true;
             try {
-                HTTPClient.HTTPResponse response =
-                        client.invoke(this.queryConfiguration.get(), this.config.isDieOnError());
-
-                this.queryConfiguration = response.nextPageQueryConfiguration();
-
-                if (response.getLastPageCount() <= 0) {
+                HTTPClient.HTTPResponse response = this.nextPage();
+                if (response == null || response.getLastPageCount() <= 0) {
                     // This getLastPageCount() has been added because DSSL doesn't deal with json empty array.
                     // Since dataset.dssl and dataset.pagination.OffsetLimit.elements dssl segments are contatenated
                     // we can have something like '.element.name' but, on the last pagination call, when an empty array
@@ -134,4 +161,27 @@ public abstract class AbstractHTTPInput<T> implements Serializable {
         return r;
 
     }
+
+    private HTTPClient.HTTPResponse nextPage() throws Exception {
+        if (this.prefetcher == null) {
+            HTTPClient.HTTPResponse response = this.invoke(this.queryConfiguration.get());
+            this.queryConfiguration = response.nextPageQueryConfiguration();
+            return response;
+        }
+
+        HTTPClient.HTTPResponse response = this.prefetcher.next();
+        if (!this.prefetcher.hasNext()) {
+            this.queryConfiguration = Optional.empty();
+        }
+        return response;
+    }
+
+    /**
+     * Send a page query, with the rate limit and the retries of the configuration.
+     */
+    private HTTPClient.HTTPResponse invoke(final QueryConfiguration page) throws HTTPClientException {
+        return client.invoke(page, this.config.isDieOnError(),
+                HostRateLimiter.forUrl(page.getUrl(), this.config.getMaxRequestsPerSecond()),
+                this.config.getMaxRetries(), this.config.getRetryBackoff());
+    }
 }
@@ -17,6 +17,7 @@ import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.http.configuration.RequestConfig;
 import org.talend.components.http.service.I18n;
 import org.talend.components.http.service.httpClient.HTTPClientService;
+import org.talend.components.http.service.httpClient.HostRateLimiter;
 import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.record.Record;
@@ -55,7 +56,9 @@ public abstract class AbstractHTTPOutput<T> implements Serializable {
             do {
                 QueryConfiguration queryConfiguration =
                         nextPageConfiguration.orElseGet(() -> client.convertConfiguration(config, input));
-                lastServerResponse = client.invoke(queryConfiguration, config.isDieOnError());
+                lastServerResponse = client.invoke(queryConfiguration, config.isDieOnError(),
+                        HostRateLimiter.forUrl(queryConfiguration.getUrl(), config.getMaxRequestsPerSecond()),
+                        config.getMaxRetries(), config.getRetryBackoff());
                 nextPageConfiguration = lastServerResponse.nextPageQueryConfiguration();
             } while (nextPageConfiguration.isPresent());
 
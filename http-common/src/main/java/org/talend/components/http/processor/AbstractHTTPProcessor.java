@@ -13,12 +13,16 @@
 package org.talend.components.http.processor;
 
 import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
 import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.http.configuration.RequestConfig;
 import org.talend.components.http.service.I18n;
 import org.talend.components.http.service.RecordBuilderService;
 import org.talend.components.http.service.httpClient.HTTPClientService;
+import org.talend.components.http.service.httpClient.HostRateLimiter;
+import org.talend.components.http.service.httpClient.PagePrefetcher;
 import org.talend.sdk.component.api.exception.ComponentException;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Output;
@@ -26,8 +30,14 @@ import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import javax.annotation.PreDestroy;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -45,6 +55,12 @@ public abstract class AbstractHTTPProcessor<T> implements Serializable {
 
     private final I18n i18n;
 
+    /** requests in flight, when concurrent requests are enabled */
+    private transient ConcurrentRequestExecutor<Record> executor;
+
+    /** page queries, when page prefetch is enabled */
+    private transient ExecutorService pageExecutor;
+
     public AbstractHTTPProcessor(final T config, final HTTPClientService client,
             final RecordBuilderService recordBuilder, final I18n i18n) {
         this.client = client;
@@ -55,32 +71,123 @@ public abstract class AbstractHTTPProcessor<T> implements Serializable {
 
     @ElementListener
     public void process(@Input final Record input, @Output final OutputEmitter<Record> main) {
+        try {
+            if (config.getConcurrentRequests() <= 1) {
+                this.fetch(input, main::emit);
+                return;
+            }
+
+            final QueryConfiguration queryConfiguration = client.convertConfiguration(config, input);
+            this.getExecutor().submit(() -> {
+                final List<Record> records = new ArrayList<>();
+                this.fetch(input, queryConfiguration, records::add);
+                return records;
+            }, main::emit);
+        } catch (Exception e) {
+            throw this.toComponentException(e);
+        }
+    }
 
+    /**
+     * Emit results of requests still in flight at the end of a group.
+     */
+    @AfterGroup
+    public void afterGroup(@Output final OutputEmitter<Record> main) {
+        if (this.executor == null) {
+            return;
+        }
         try {
-            Optional<QueryConfiguration> nextPageConfiguration = Optional.empty();
-
-            do {
-                QueryConfiguration queryConfiguration = nextPageConfiguration.isPresent() ? nextPageConfiguration.get()
-                        : client.convertConfiguration(config, input);
-                HTTPClient.HTTPResponse response = client.invoke(queryConfiguration, config.isDieOnError());
-                if (response.getLastPageCount() <= 0) {
-                    return;
-                }
+            this.executor.drain(main::emit);
+        } catch (Exception e) {
+            throw this.toComponentException(e);
+        }
+    }
 
-                Iterator<Record> items = recordBuilder.buildFixedRecord(input, response, config);
+    @PreDestroy
+    public void release() {
+        if (this.executor != null) {
+            this.executor.close();
+            this.executor = null;
+        }
+        if (this.pageExecutor != null) {
+            this.pageExecutor.shutdownNow();
+            this.pageExecutor = null;
+        }
+    }
+
+    private void fetch(final Record input, final Consumer<Record> emitter) throws HTTPClientException {
+        this.fetch(input, client.convertConfiguration(config, input), emitter);
+    }
+
+    /**
+     * Send query for the input record, and all its next pages.
+     */
+    private void fetch(final Record input, final QueryConfiguration firstPage, final Consumer<Record> emitter)
+            throws HTTPClientException {
+        final HostRateLimiter rateLimiter =
+                HostRateLimiter.forUrl(firstPage.getUrl(), config.getMaxRequestsPerSecond());
+        final int prefetchPages = PagePrefetcher.prefetchPages(config);
+        if (prefetchPages > 1) {
+            this.fetchPrefetched(input, firstPage, prefetchPages, rateLimiter, emitter);
+            return;
+        }
+        Optional<QueryConfiguration> nextPageConfiguration = Optional.empty();
+
+        do {
+            QueryConfiguration queryConfiguration = nextPageConfiguration.orElse(firstPage);
+            HTTPClient.HTTPResponse response = client.invoke(queryConfiguration, config.isDieOnError(), rateLimiter,
+                    config.getMaxRetries(), config.getRetryBackoff());
+            if (response.getLastPageCount() <= 0) {
+                return;
+            }
+
+            Iterator<Record> items = recordBuilder.buildFixedRecord(input, response, config);
+
+            while (items.hasNext()) {
+                emitter.accept(items.next());
+            }
+            nextPageConfiguration = response.nextPageQueryConfiguration();
+        } while (nextPageConfiguration.isPresent());
+    }
 
+    /**
+     * Send query for the input record, next pages being queried in parallel.
+     */
+    private void fetchPrefetched(final Record input, final QueryConfiguration firstPage, final int prefetchPages,
+            final HostRateLimiter rateLimiter, final Consumer<Record> emitter) throws HTTPClientException {
+        try (PagePrefetcher prefetcher = new PagePrefetcher(firstPage, prefetchPages,
+                this.getPageExecutor(prefetchPages), page -> client.invoke(page, config.isDieOnError(),
+                        rateLimiter, config.getMaxRetries(), config.getRetryBackoff()))) {
+            HTTPClient.HTTPResponse response = prefetcher.next();
+            while (response != null && response.getLastPageCount() > 0) {
+                Iterator<Record> items = recordBuilder.buildFixedRecord(input, response, config);
                 while (items.hasNext()) {
-                    main.emit(items.next());
+                    emitter.accept(items.next());
                 }
-                nextPageConfiguration = response.nextPageQueryConfiguration();
-            } while (nextPageConfiguration.isPresent());
+                response = prefetcher.next();
+            }
+        }
+    }
 
-        } catch (Exception e) {
-            ComponentException ce = new ComponentException(ComponentException.ErrorOrigin.BACKEND,
-                    i18n.httpClientException(String.valueOf(e.getClass()), e.getMessage()));
-            ce.setStackTrace(e.getStackTrace());
-            throw ce;
+    private synchronized ExecutorService getPageExecutor(final int prefetchPages) {
+        if (this.pageExecutor == null) {
+            this.pageExecutor = PagePrefetcher.newExecutor(prefetchPages * Math.max(1, config.getConcurrentRequests()));
         }
+        return this.pageExecutor;
+    }
+
+    private ConcurrentRequestExecutor<Record> getExecutor() {
+        if (this.executor == null) {
+            this.executor = new ConcurrentRequestExecutor<>(config.getConcurrentRequests(), config.isOrderedEmission());
+        }
+        return this.executor;
+    }
+
+    private ComponentException toComponentException(final Exception e) {
+        ComponentException ce = new ComponentException(ComponentException.ErrorOrigin.BACKEND,
+                i18n.httpClientException(String.valueOf(e.getClass()), e.getMessage()));
+        ce.setStackTrace(e.getStackTrace());
+        return ce;
     }
 
     protected abstract RequestConfig translateConfiguration(T config);
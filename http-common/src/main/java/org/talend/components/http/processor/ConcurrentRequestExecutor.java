@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.processor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keep up to N tasks in flight and give back their results, in submission order (reorder buffer) or as soon as they
+ * complete.
+ *
+ * @param <R> type of result element.
+ */
+@Slf4j
+class ConcurrentRequestExecutor<R> implements AutoCloseable {
+
+    private final int maxInFlight;
+
+    private final boolean ordered;
+
+    private final ExecutorService executor;
+
+    private final CompletionService<List<R>> completion;
+
+    /** futures in submission order (used in ordered mode) */
+    private final Deque<Future<List<R>>> inFlight = new ArrayDeque<>();
+
+    /** number of submitted tasks which result has not been consumed (used in unordered mode) */
+    private int pending = 0;
+
+    ConcurrentRequestExecutor(final int maxInFlight, final boolean ordered) {
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxInFlight, (Runnable r) -> {
+            final Thread thread = new Thread(r, "http-request-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.completion = new ExecutorCompletionService<>(this.executor);
+    }
+
+    /**
+     * Submit a task, waiting for a previous one to finish (and consuming its results) if too many are in flight.
+     *
+     * @param task : task to run.
+     * @param consumer : consumer of results of finished tasks.
+     */
+    void submit(final Callable<List<R>> task, final Consumer<R> consumer) throws Exception {
+        while (this.size() >= this.maxInFlight) {
+            this.consumeNext(consumer);
+        }
+        if (this.ordered) {
+            this.inFlight.addLast(this.executor.submit(task));
+        } else {
+            this.completion.submit(task);
+            this.pending++;
+        }
+        // emit what is already available without waiting.
+        this.consumeDone(consumer);
+    }
+
+    /**
+     * Wait for all tasks in flight and consume their results.
+     *
+     * @param consumer : consumer of results.
+     */
+    void drain(final Consumer<R> consumer) throws Exception {
+        while (this.size() > 0) {
+            this.consumeNext(consumer);
+        }
+    }
+
+    private int size() {
+        return this.ordered ? this.inFlight.size() : this.pending;
+    }
+
+    private void consumeDone(final Consumer<R> consumer) throws Exception {
+        if (this.ordered) {
+            while (!this.inFlight.isEmpty() && this.inFlight.peekFirst().isDone()) {
+                this.consume(this.inFlight.removeFirst(), consumer);
+            }
+        } else {
+            Future<List<R>> done = this.completion.poll();
+            while (done != null) {
+                this.pending--;
+                this.consume(done, consumer);
+                done = this.completion.poll();
+            }
+        }
+    }
+
+    private void consumeNext(final Consumer<R> consumer) throws Exception {
+        if (this.ordered) {
+            this.consume(this.inFlight.removeFirst(), consumer);
+        } else {
+            final Future<List<R>> next = this.completion.take();
+            this.pending--;
+            this.consume(next, consumer);
+        }
+    }
+
+    private void consume(final Future<List<R>> future, final Consumer<R> consumer) throws Exception {
+        try {
+            future.get().forEach(consumer);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.inFlight.forEach((Future<List<R>> f) -> f.cancel(true));
+        this.inFlight.clear();
+        this.pending = 0;
+        this.executor.shutdownNow();
+    }
+}
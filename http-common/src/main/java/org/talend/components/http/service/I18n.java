@@ -54,4 +54,6 @@ public interface I18n {
     String paginationNotCompliantWithStreamJob();
 
     String readerNotFound(String message);
+
+    String retryRequest(String codeWithReason, long wait, int retry, int maxRetries);
 }
@@ -15,17 +15,22 @@ package org.talend.components.http.service.httpClient;
 import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.UnaryOperator;
 
 import javax.activation.FileDataSource;
 import javax.json.stream.JsonParserFactory;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 
 import org.apache.cxf.jaxrs.ext.multipart.Attachment;
 import org.talend.components.common.httpclient.api.HTTPClient;
@@ -69,14 +74,127 @@ public class HTTPClientService {
     @Service
     private I18n messages;
 
-    private Map<String, Token> tokenCache = new HashMap<>();
+    /** Max wait between 2 retries, in millisecond */
+    private static final long MAX_RETRY_WAIT = 60_000L;
+
+    private Map<String, Token> tokenCache = new ConcurrentHashMap<>();
 
     public HTTPClient.HTTPResponse invoke(QueryConfiguration queryConfiguration, boolean isDieOnError) // final
                                                                                                        // RequestConfig
                                                                                                        // config, final
                                                                                                        // Record input)
             throws HTTPClientException {
+        HTTPClient.HTTPResponse response = this.doInvoke(queryConfiguration);
+        this.checkStatus(response, isDieOnError);
+        return response;
+    }
+
+    /**
+     * Invoke the query, retrying when server answers 429 (Too many requests) or 503 (Service unavailable).
+     * Wait between retries is given by 'Retry-After' response header if present, else backoff doubled at each retry.
+     *
+     * @param queryConfiguration : query to send.
+     * @param isDieOnError : throw exception if final status is not 2xx.
+     * @param rateLimiter : limiter applied before each call, may be null.
+     * @param maxRetries : max number of retries.
+     * @param backoff : initial wait between retries, in millisecond.
+     * @return the response.
+     */
+    public HTTPClient.HTTPResponse invoke(QueryConfiguration queryConfiguration, boolean isDieOnError,
+            HostRateLimiter rateLimiter, int maxRetries, long backoff) throws HTTPClientException {
+        int retry = 0;
+        while (true) {
+            this.acquire(rateLimiter);
+            HTTPClient.HTTPResponse response = this.doInvoke(queryConfiguration);
+            int code = response.getStatus().getCode();
+            if ((code != 429 && code != 503) || retry >= maxRetries) {
+                this.checkStatus(response, isDieOnError);
+                return response;
+            }
+            long wait = retryAfter(response).orElse(backoff << Math.min(retry, 20));
+            log.warn(messages.retryRequest(response.getStatus().getCodeWithReason(), wait, retry + 1, maxRetries));
+            this.close(response); // release the connection before waiting
+            this.sleep(Math.min(wait, MAX_RETRY_WAIT));
+            retry++;
+        }
+    }
+
+    /**
+     * Parse 'Retry-After' header, that can be a number of seconds or an HTTP date.
+     *
+     * @param response : http response.
+     * @return the wait in millisecond, if header is present and valid.
+     */
+    static Optional<Long> retryAfter(HTTPClient.HTTPResponse response) {
+        Map<String, String> headers = response.getHeaders();
+        if (headers == null) {
+            return Optional.empty();
+        }
+        Optional<String> retryAfter = headers.entrySet()
+                .stream()
+                .filter(e -> "Retry-After".equalsIgnoreCase(e.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(v -> v != null && !v.trim().isEmpty())
+                .findFirst();
+        if (!retryAfter.isPresent()) {
+            return Optional.empty();
+        }
+        String value = retryAfter.get().trim();
+        try {
+            return Optional.of(TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Optional.of(Math.max(0L, date.toInstant().toEpochMilli() - System.currentTimeMillis()));
+            } catch (DateTimeParseException ex) {
+                log.debug("Can't parse Retry-After header '{}'", value);
+                return Optional.empty();
+            }
+        }
+    }
+
+    private void close(HTTPClient.HTTPResponse response) {
+        Object nested = response.getNestedResponse();
+        if (nested instanceof Response) {
+            try {
+                ((Response) nested).close();
+            } catch (RuntimeException e) {
+                log.debug("Can't close discarded response: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void acquire(HostRateLimiter rateLimiter) throws HTTPClientException {
+        if (rateLimiter == null) {
+            return;
+        }
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HTTPClientException(e.getMessage(), e);
+        }
+    }
 
+    private void sleep(long wait) throws HTTPClientException {
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HTTPClientException(e.getMessage(), e);
+        }
+    }
+
+    private void checkStatus(HTTPClient.HTTPResponse response, boolean isDieOnError) {
+        if (isDieOnError && (response.getStatus().getCode() / 100) != 2) {
+            HTTPComponentException httpComponentException = new HTTPComponentException(
+                    messages.responseStatusIsNotOK(response.getStatus().getCodeWithReason()));
+            httpComponentException.setResponse(response);
+            throw httpComponentException;
+        }
+    }
+
+    private HTTPClient.HTTPResponse doInvoke(QueryConfiguration queryConfiguration) throws HTTPClientException {
         Optional<Token> oauthToken = Optional.empty();
         Optional<String> tokenCacheKey = queryConfiguration.getOAuthTokenCacheKey();
         if (tokenCacheKey.isPresent()) {
@@ -98,12 +216,6 @@ public class HTTPClientService {
             tokenCache.put(tokenCacheKey.get(), responseToken);
         }
 
-        if (isDieOnError && (response.getStatus().getCode() / 100) != 2) {
-            HTTPComponentException httpComponentException = new HTTPComponentException(
-                    messages.responseStatusIsNotOK(response.getStatus().getCodeWithReason()));
-            httpComponentException.setResponse(response);
-            throw httpComponentException;
-        }
         return response;
     }
 
@@ -226,6 +338,7 @@ public class HTTPClientService {
             default:
                 queryConfigurationBuilder.setRawTextBody(body.getTextContent());
             }
+            queryConfigurationBuilder.compressRequestPayload(config.getDataset().isCompressBody());
         }
 
         if (config.isUploadFiles()) {
@@ -273,11 +386,20 @@ public class HTTPClientService {
                                 : PaginationParametersLocation.QUERY_PARAMETERS,
                         offsetLimitStrategyConfig.getOffsetParamName(), offsetLimitStrategyConfig.getOffsetValue(),
                         offsetLimitStrategyConfig.getLimitParamName(), offsetLimitStrategyConfig.getLimitValue(),
-                        offsetLimitStrategyConfig.getElementsPath());
+                        offsetLimitStrategyConfig.getElementsPath(), offsetLimitStrategyConfig.getTotalPath());
                 break;
             }
         }
 
+        // Reuse clients & keep-alive connections between records/pages
+        if (config.isPooledConnections()) {
+            queryConfigurationBuilder.usePooledConnections();
+        }
+
+        if (config.isCacheResponses()) {
+            queryConfigurationBuilder.useResponseCache(TimeUnit.SECONDS.toMillis(config.getCacheTTL()));
+        }
+
         QueryConfiguration queryConfiguration;
         if (input == null) {
             queryConfiguration = queryConfigurationBuilder.build();
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.service.httpClient;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spread requests sent to a host, so that no more than a given number of requests per second are started.
+ * Limiters are shared by all components of the JVM that target the same host.
+ */
+public class HostRateLimiter {
+
+    private static final Map<String, HostRateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    /** minimal duration between 2 requests, in nanosecond */
+    private final long interval;
+
+    /** time at which next request can start */
+    private long nextSlot = System.nanoTime();
+
+    private HostRateLimiter(final int requestsPerSecond) {
+        this.interval = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+    }
+
+    /**
+     * Get rate limiter for the host of the URL.
+     *
+     * @param url : URL of the request.
+     * @param requestsPerSecond : max requests per second (0 or less means no limit).
+     * @return the limiter, null if no limit.
+     */
+    public static HostRateLimiter forUrl(final String url, final int requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            return null;
+        }
+        final URI uri = URI.create(url);
+        final String key = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort() + "/" + requestsPerSecond;
+        return LIMITERS.computeIfAbsent(key, k -> new HostRateLimiter(requestsPerSecond));
+    }
+
+    /**
+     * Wait until a request can be sent.
+     */
+    public void acquire() throws InterruptedException {
+        final long wait;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            final long slot = Math.max(now, this.nextSlot);
+            this.nextSlot = slot + this.interval;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
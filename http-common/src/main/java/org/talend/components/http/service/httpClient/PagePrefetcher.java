@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.service.httpClient;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.pagination.OffsetLimitPaginationStrategy;
+import org.talend.components.http.configuration.RequestConfig;
+import org.talend.components.http.configuration.pagination.Pagination;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retrieve pages of an offset/limit pagination in parallel: next pages are queried ahead of the one being read and
+ * kept in a bounded queue that gives them back in order.
+ * After the 1st page, if the API gives the total number of elements, only pages before this total are queried;
+ * else pages are queried speculatively and pagination stops at the first short or empty page.
+ */
+@Slf4j
+public class PagePrefetcher implements AutoCloseable {
+
+    private final QueryConfiguration firstPage;
+
+    private final int prefetchPages;
+
+    private final ExecutorService executor;
+
+    private final PageFetcher fetcher;
+
+    /** pages in flight, in offset order */
+    private final Deque<Future<HTTPClient.HTTPResponse>> pages = new ArrayDeque<>();
+
+    private boolean started = false;
+
+    /** true when last page has been found, so no more page to query */
+    private boolean last = false;
+
+    private long nextOffset;
+
+    private long pageSize;
+
+    /** total number of elements given by the API, -1 if unknown */
+    private long total = -1L;
+
+    /**
+     * @param firstPage : configuration of the first page (pagination initiated).
+     * @param prefetchPages : max number of pages queried ahead.
+     * @param executor : executor that runs page queries.
+     * @param fetcher : send the query of a page.
+     */
+    public PagePrefetcher(final QueryConfiguration firstPage, final int prefetchPages, final ExecutorService executor,
+            final PageFetcher fetcher) {
+        this.firstPage = firstPage;
+        this.prefetchPages = Math.max(1, prefetchPages);
+        this.executor = executor;
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Number of pages to query in parallel for the request configuration.
+     *
+     * @param config : request configuration.
+     * @return number of pages, 1 if prefetch is not enabled or pagination not compliant.
+     */
+    public static int prefetchPages(final RequestConfig config) {
+        if (!config.getDataset().isHasPagination() || config.getDataset().getPagination() == null) {
+            return 1;
+        }
+        final Pagination pagination = config.getDataset().getPagination();
+        if (pagination.getStrategy() != Pagination.Strategy.OFFSET_LIMIT
+                || pagination.getOffsetLimitStrategyConfig() == null) {
+            return 1;
+        }
+        return Math.max(1, pagination.getOffsetLimitStrategyConfig().getPrefetchPages());
+    }
+
+    /**
+     * Create an executor for page queries.
+     *
+     * @param threads : number of threads.
+     * @return executor with daemon threads.
+     */
+    public static ExecutorService newExecutor(final int threads) {
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, (Runnable r) -> {
+            final Thread thread = new Thread(r, "http-page-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get next page, waiting for its response if still in flight.
+     *
+     * @return response of the next page, null if no more page.
+     */
+    public HTTPClient.HTTPResponse next() throws HTTPClientException {
+        if (!this.started) {
+            this.started = true;
+            return this.start();
+        }
+        if (this.pages.isEmpty()) {
+            return null;
+        }
+
+        final HTTPClient.HTTPResponse response = this.get(this.pages.removeFirst());
+        if (response.getLastPageCount() < this.pageSize) {
+            // Short or empty page is the last one, pages queried after it are useless.
+            this.stop();
+        } else {
+            this.submitPages();
+        }
+        return response;
+    }
+
+    /**
+     * @return true if there may be a next page.
+     */
+    public boolean hasNext() {
+        return !this.started || !this.pages.isEmpty() || this.canSubmit();
+    }
+
+    @Override
+    public void close() {
+        this.stop();
+    }
+
+    private HTTPClient.HTTPResponse start() throws HTTPClientException {
+        final HTTPClient.HTTPResponse response = this.fetcher.fetch(this.firstPage);
+        final int count = response.getLastPageCount();
+        if (count <= 0) {
+            this.last = true;
+            return response;
+        }
+
+        final long offset = OffsetLimitPaginationStrategy.getOffset(this.firstPage)
+                .orElseThrow(() -> new HTTPClientException("Offset pagination parameter must be a number."));
+        final OptionalLong limit = OffsetLimitPaginationStrategy.getLimit(this.firstPage);
+        // Server may return less elements than asked (max page size), so 1st page size is the reference.
+        this.pageSize = limit.isPresent() && limit.getAsLong() > 0 ? Math.min(limit.getAsLong(), count) : count;
+        this.nextOffset = offset + count;
+        this.total = new OffsetLimitPaginationStrategy(this.firstPage).getTotal(response).orElse(-1L);
+        log.debug("Prefetch {} pages of {} elements from offset {}, total {}.", this.prefetchPages, this.pageSize,
+                this.nextOffset, this.total);
+
+        this.submitPages();
+        return response;
+    }
+
+    private boolean canSubmit() {
+        return !this.last && (this.total < 0 || this.nextOffset < this.total);
+    }
+
+    private void submitPages() {
+        while (this.pages.size() < this.prefetchPages && this.canSubmit()) {
+            final QueryConfiguration page =
+                    OffsetLimitPaginationStrategy.pageConfiguration(this.firstPage, this.nextOffset);
+            this.pages.addLast(this.executor.submit(() -> this.fetcher.fetch(page)));
+            this.nextOffset += this.pageSize;
+        }
+    }
+
+    private void stop() {
+        this.last = true;
+        this.pages.forEach((Future<HTTPClient.HTTPResponse> f) -> f.cancel(true));
+        this.pages.clear();
+    }
+
+    private HTTPClient.HTTPResponse get(final Future<HTTPClient.HTTPResponse> page) throws HTTPClientException {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HTTPClientException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HTTPClientException) {
+                throw (HTTPClientException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HTTPClientException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Send the query of a page.
+     */
+    @FunctionalInterface
+    public interface PageFetcher {
+
+        HTTPClient.HTTPResponse fetch(QueryConfiguration page) throws HTTPClientException;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.processor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.http.configuration.Param;
+import org.talend.components.http.configuration.RequestConfig;
+import org.talend.components.http.service.I18n;
+import org.talend.components.http.service.RecordBuilderService;
+import org.talend.components.http.service.RequestConfigBuilder;
+import org.talend.components.http.service.httpClient.HTTPClientService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@WithComponents(value = "org.talend.components.http")
+class AbstractHTTPProcessorTest {
+
+    private static final int NB_RECORDS = 10;
+
+    @Service
+    private HTTPClientService client;
+
+    @Service
+    private RecordBuilderService recordBuilder;
+
+    @Service
+    private I18n i18n;
+
+    @Service
+    private RecordBuilderFactory factory;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(0), 0);
+        this.serverExecutor = Executors.newFixedThreadPool(NB_RECORDS);
+        this.server.setExecutor(this.serverExecutor);
+        this.server.createContext("/item", this::answer);
+        this.server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentOrderedEmission() {
+        final List<String> bodies = this.process(true);
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < NB_RECORDS; i++) {
+            expected.add("item " + i);
+        }
+        Assertions.assertEquals(expected, bodies);
+        Assertions.assertTrue(this.maxInFlight.get() > 1, "requests were not concurrent");
+    }
+
+    @Test
+    void concurrentUnorderedEmission() {
+        final List<String> bodies = this.process(false);
+
+        Assertions.assertEquals(NB_RECORDS, bodies.size());
+        for (int i = 0; i < NB_RECORDS; i++) {
+            Assertions.assertTrue(bodies.contains("item " + i));
+        }
+        Assertions.assertNotEquals("item 0", bodies.get(0)); // first request is the slowest one
+        Assertions.assertTrue(this.maxInFlight.get() > 1, "requests were not concurrent");
+    }
+
+    private List<String> process(final boolean ordered) {
+        final RequestConfig config = RequestConfigBuilder.getEmptyProcessorRequestConfig();
+        config.getDataset().getDatastore().setBase("http://localhost:" + this.server.getAddress().getPort());
+        config.getDataset().setResource("item");
+        config.getDataset().setMethodType("GET");
+        config.getDataset().setHasQueryParams(true);
+        config.getDataset().setQueryParams(Collections.singletonList(new Param("id", "{.input.id}")));
+        config.setConcurrentRequests(4);
+        config.setOrderedEmission(ordered);
+
+        final AbstractHTTPProcessor<RequestConfig> processor =
+                new AbstractHTTPProcessor<RequestConfig>(config, this.client, this.recordBuilder, this.i18n) {
+
+                    @Override
+                    protected RequestConfig translateConfiguration(final RequestConfig requestConfig) {
+                        return requestConfig;
+                    }
+                };
+
+        final List<Record> emitted = new ArrayList<>();
+        try {
+            for (int i = 0; i < NB_RECORDS; i++) {
+                processor.process(this.factory.newRecordBuilder().withInt("id", i).build(), emitted::add);
+            }
+            processor.afterGroup(emitted::add);
+        } finally {
+            processor.release();
+        }
+        return emitted.stream().map((Record r) -> r.getString("body")).collect(Collectors.toList());
+    }
+
+    /**
+     * Answer 'item N' for id N, first items being the slowest ones.
+     */
+    private void answer(final HttpExchange exchange) throws IOException {
+        final int current = this.inFlight.incrementAndGet();
+        this.maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            final int id = Integer.parseInt(exchange.getRequestURI().getQuery().replace("id=", ""));
+            TimeUnit.MILLISECONDS.sleep((NB_RECORDS - id) * 30L);
+            final byte[] body = ("item " + id).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.inFlight.decrementAndGet();
+        }
+    }
+}
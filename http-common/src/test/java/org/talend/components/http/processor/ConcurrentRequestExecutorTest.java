@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.processor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentRequestExecutorTest {
+
+    @Test
+    void orderedEmission() throws Exception {
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        try (ConcurrentRequestExecutor<Integer> executor = new ConcurrentRequestExecutor<>(3, true)) {
+            for (int i = 0; i < 10; i++) {
+                final int value = i;
+                // first tasks are the slowest ones.
+                executor.submit(() -> {
+                    TimeUnit.MILLISECONDS.sleep((10 - value) * 5L);
+                    return Arrays.asList(value, value);
+                }, results::add);
+            }
+            executor.drain(results::add);
+        }
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(i);
+            expected.add(i);
+        }
+        Assertions.assertEquals(expected, results);
+    }
+
+    @Test
+    void unorderedEmission() throws Exception {
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        try (ConcurrentRequestExecutor<Integer> executor = new ConcurrentRequestExecutor<>(4, false)) {
+            for (int i = 0; i < 20; i++) {
+                final int value = i;
+                executor.submit(() -> {
+                    TimeUnit.MILLISECONDS.sleep(value % 3);
+                    return Collections.singletonList(value);
+                }, results::add);
+            }
+            executor.drain(results::add);
+        }
+        Assertions.assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertTrue(results.contains(i));
+        }
+    }
+
+    @Test
+    void taskFailure() {
+        final ConcurrentRequestExecutor<Integer> executor = new ConcurrentRequestExecutor<>(2, true);
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            executor.submit(() -> {
+                throw new IllegalStateException("failure");
+            }, v -> {
+            });
+            executor.drain(v -> {
+            });
+        });
+        executor.close();
+    }
+}
@@ -140,6 +140,17 @@ class HTTPClientServiceTest {
         }
     }
 
+    @Test
+    void retryUnavailable() throws HTTPClientException {
+        config.getDataset().setResource("/status/503");
+        config.getDataset().setMethodType("GET");
+
+        QueryConfiguration queryConfiguration = service.convertConfiguration(config, null);
+        // discarded responses are closed, so that retries don't wait for a pooled connection
+        HTTPClient.HTTPResponse response = service.invoke(queryConfiguration, false, null, 3, 1L);
+        Assertions.assertEquals(503, response.getStatus().getCode());
+    }
+
     @ParameterizedTest
     @CsvSource(value = { "get", "post", "patch" })
     void noAuth(String method) throws HTTPClientException {
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.http.service.httpClient;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.talend.components.common.httpclient.api.HTTPClient;
+import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
+import org.talend.components.common.httpclient.api.QueryConfigurationBuilder;
+import org.talend.components.common.httpclient.api.authentication.Token;
+import org.talend.components.common.httpclient.api.pagination.PaginationParametersLocation;
+import org.talend.components.common.httpclient.pagination.OffsetLimitPaginationStrategy;
+
+class PagePrefetcherTest {
+
+    private static final int NB_ELEMENTS = 53;
+
+    private ExecutorService executor;
+
+    /** offsets of queried pages */
+    private final List<Long> queried = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void init() {
+        this.executor = PagePrefetcher.newExecutor(4);
+        this.queried.clear();
+    }
+
+    @AfterEach
+    void release() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void withTotal() throws HTTPClientException {
+        final List<Long> elements = this.readAll(this.firstPage(".total", 10), 10);
+
+        Assertions.assertEquals(NB_ELEMENTS, elements.size());
+        for (int i = 0; i < NB_ELEMENTS; i++) {
+            Assertions.assertEquals(i, elements.get(i));
+        }
+        // all pages are planned with the total, no page queried after the end.
+        Assertions.assertEquals(6, this.queried.size());
+        Assertions.assertTrue(this.queried.stream().allMatch((Long offset) -> offset < NB_ELEMENTS));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3, 10 })
+    void withoutTotal(final int prefetchPages) throws HTTPClientException {
+        final List<Long> elements = this.readAll(this.firstPage(null, 10), prefetchPages);
+
+        Assertions.assertEquals(NB_ELEMENTS, elements.size());
+        for (int i = 0; i < NB_ELEMENTS; i++) {
+            Assertions.assertEquals(i, elements.get(i));
+        }
+    }
+
+    @Test
+    void serverMaxPageSize() throws HTTPClientException {
+        // ask 100 elements per page, but server returns only 10 per page.
+        final List<Long> elements = this.readAll(this.firstPage(".total", 100), 4);
+
+        Assertions.assertEquals(NB_ELEMENTS, elements.size());
+        for (int i = 0; i < NB_ELEMENTS; i++) {
+            Assertions.assertEquals(i, elements.get(i));
+        }
+    }
+
+    @Test
+    void emptyFirstPage() throws HTTPClientException {
+        final PagePrefetcher prefetcher = new PagePrefetcher(this.firstPage(null, 10), 4, this.executor,
+                (QueryConfiguration page) -> new FakeResponse(0, -1));
+        Assertions.assertEquals(0, prefetcher.next().getLastPageCount());
+        Assertions.assertFalse(prefetcher.hasNext());
+        Assertions.assertNull(prefetcher.next());
+    }
+
+    private List<Long> readAll(final QueryConfiguration firstPage, final int prefetchPages)
+            throws HTTPClientException {
+        final List<Long> elements = new ArrayList<>();
+        try (PagePrefetcher prefetcher =
+                new PagePrefetcher(firstPage, prefetchPages, this.executor, this::fetch)) {
+            HTTPClient.HTTPResponse response = prefetcher.next();
+            while (response != null && response.getLastPageCount() > 0) {
+                elements.addAll(((FakeResponse) response).getElements());
+                response = prefetcher.next();
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Fake server with NB_ELEMENTS elements, that returns at most 10 elements per page.
+     */
+    private HTTPClient.HTTPResponse fetch(final QueryConfiguration page) {
+        final long offset = OffsetLimitPaginationStrategy.getOffset(page).getAsLong();
+        final long limit = Math.min(10, OffsetLimitPaginationStrategy.getLimit(page).getAsLong());
+        this.queried.add(offset);
+        final int count = (int) Math.max(0, Math.min(limit, NB_ELEMENTS - offset));
+        return new FakeResponse(count, offset);
+    }
+
+    private QueryConfiguration firstPage(final String totalPath, final int limit) {
+        return QueryConfigurationBuilder.create("http://localhost/elements")
+                .setMethod("GET")
+                .setOffsetLimitPagination(PaginationParametersLocation.QUERY_PARAMETERS, "offset", "0", "limit",
+                        String.valueOf(limit), ".elements", totalPath)
+                .build();
+    }
+
+    private static class FakeResponse implements HTTPClient.HTTPResponse<Object> {
+
+        private final int count;
+
+        private final long offset;
+
+        FakeResponse(final int count, final long offset) {
+            this.count = count;
+            this.offset = offset;
+        }
+
+        List<Long> getElements() {
+            final List<Long> elements = new ArrayList<>();
+            for (long i = this.offset; i < this.offset + this.count; i++) {
+                elements.add(i);
+            }
+            return elements;
+        }
+
+        @Override
+        public HTTPClient.Status getStatus() {
+            return new HTTPClient.Status(200, "OK", "SUCCESSFUL");
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public Map<String, String> getHeaders() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public String getBodyAsString() {
+            return String.format("{\"total\": %s, \"elements\": %s}", NB_ELEMENTS, this.getElements());
+        }
+
+        @Override
+        public InputStream getBodyAsStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object getNestedResponse() {
+            return null;
+        }
+
+        @Override
+        public String getEncoding() {
+            return "UTF-8";
+        }
+
+        @Override
+        public void setOAuth20Token(final Token token) {
+            // no authentication
+        }
+
+        @Override
+        public Optional<Token> getOAuth20Token() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<QueryConfiguration> nextPageQueryConfiguration() {
+            return Optional.empty();
+        }
+
+        @Override
+        public int getLastPageCount() {
+            return this.count;
+        }
+    }
+}
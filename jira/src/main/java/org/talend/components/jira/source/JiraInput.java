@@ -128,6 +128,9 @@ public class JiraInput extends AbstractHTTPInput<JiraInputConfiguration> {
             paginationConfig.setLimitValue(String.valueOf(config.getBatchSize()));
             pagination.setOffsetLimitStrategyConfig(paginationConfig);
             paginationConfig.setElementsPath(".issues");
+            // Jira gives the total number of issues: all pages can be planned after the first one.
+            paginationConfig.setTotalPath(".total");
+            paginationConfig.setPrefetchPages(config.getParallelPages());
             requestConfigDataset.setPagination(pagination);
             requestConfigDataset.setHasPagination(true);
 
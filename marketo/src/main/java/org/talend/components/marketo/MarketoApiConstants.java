@@ -142,4 +142,53 @@ public class MarketoApiConstants {
     public static final int REST_API_LIMIT = 300;
 
     public static final int HTTP_STATUS_OK = 200;
+
+    /** calls per instance in a {@link #RATE_LIMIT_WINDOW} */
+    public static final int RATE_LIMIT_CALLS = 100;
+
+    public static final long RATE_LIMIT_WINDOW = 20_000L;
+
+    public static final int CONCURRENT_CALLS_LIMIT = 10;
+
+    public static final String ERROR_CODE_RATE_LIMIT = "606";
+
+    public static final String ERROR_CODE_CONCURRENT_CALLS_LIMIT = "615";
+
+    public static final String ERROR_CODE_INVALID_JSON = "609";
+
+    /*
+     * Bulk extract
+     */
+    public static final String ATTR_EXPORT_ID = "exportId";
+
+    public static final String ATTR_FORMAT = "format";
+
+    public static final String ATTR_FILTER = "filter";
+
+    public static final String ATTR_START_AT = "startAt";
+
+    public static final String ATTR_END_AT = "endAt";
+
+    public static final String ATTR_STATIC_LIST_ID = "staticListId";
+
+    public static final String ATTR_ACTIVITY_TYPE_IDS = "activityTypeIds";
+
+    public static final String BULK_FORMAT_CSV = "CSV";
+
+    public static final String BULK_ENTITY_LEADS = "leads";
+
+    public static final String BULK_ENTITY_ACTIVITIES = "activities";
+
+    public static final String BULK_STATUS_CREATED = "Created";
+
+    public static final String BULK_STATUS_COMPLETED = "Completed";
+
+    public static final String BULK_STATUS_FAILED = "Failed";
+
+    public static final String BULK_STATUS_CANCELLED = "Cancelled";
+
+    public static final String ERROR_CODE_EXPORT_QUEUE_FULL = "1029";
+
+    /** maximum date range of an export job */
+    public static final int BULK_EXPORT_MAX_DAYS = 31;
 }
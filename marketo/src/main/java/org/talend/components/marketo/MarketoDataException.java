@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo;
+
+import lombok.Getter;
+
+/**
+ * Call rejected by Marketo because of the sent data (invalid JSON or record level errors, codes from 1000), the
+ * records of the call can be rejected while the other calls go on.
+ */
+public class MarketoDataException extends MarketoRuntimeException {
+
+    @Getter
+    private final String code;
+
+    public MarketoDataException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public static boolean isDataError(final String code) {
+        return MarketoApiConstants.ERROR_CODE_INVALID_JSON.equals(code)
+                || (code != null && code.length() == 4 && code.charAt(0) == '1');
+    }
+}
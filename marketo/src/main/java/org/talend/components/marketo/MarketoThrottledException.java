@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo;
+
+import lombok.Getter;
+
+/**
+ * Call rejected by Marketo because of the rate limit (606) or of the concurrent calls limit (615), it can be retried
+ * later.
+ */
+public class MarketoThrottledException extends MarketoRuntimeException {
+
+    @Getter
+    private final String code;
+
+    public MarketoThrottledException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+}
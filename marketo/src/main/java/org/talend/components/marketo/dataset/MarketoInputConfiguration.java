@@ -15,16 +15,27 @@ package org.talend.components.marketo.dataset;
 import java.io.Serializable;
 
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
 import lombok.Data;
 import lombok.ToString;
 
+import static org.talend.components.marketo.MarketoApiConstants.BULK_EXPORT_MAX_DAYS;
+import static org.talend.sdk.component.api.configuration.ui.layout.GridLayout.FormType.ADVANCED;
+
 @Data
 @GridLayout({ //
         @GridLayout.Row({ "dataSet" }), //
 }) //
+@GridLayout(names = ADVANCED, value = { //
+        @GridLayout.Row({ "dataSet" }), //
+        @GridLayout.Row({ "bulkExtract" }), //
+        @GridLayout.Row({ "exportWindowDays", "exportPollInterval" }), //
+}) //
 @Documentation("Marketo Source Configuration")
 @ToString(callSuper = true)
 public class MarketoInputConfiguration implements Serializable {
@@ -38,4 +49,21 @@ public class MarketoInputConfiguration implements Serializable {
     @Documentation("Marketo DataSet")
     private MarketoDataSet dataSet;
 
+    @Option
+    @Documentation("Read with bulk extract export jobs instead of paging through the REST API")
+    private boolean bulkExtract;
+
+    @Option
+    @Min(1)
+    @Max(BULK_EXPORT_MAX_DAYS)
+    @ActiveIf(target = "bulkExtract", value = "true")
+    @Documentation("Days of activities in an export job, the date range is split in export jobs read in parallel")
+    private int exportWindowDays = BULK_EXPORT_MAX_DAYS;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkExtract", value = "true")
+    @Documentation("Seconds between two checks of the status of an export job")
+    private int exportPollInterval = 30;
+
 }
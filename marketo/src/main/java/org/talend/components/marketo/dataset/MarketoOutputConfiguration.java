@@ -17,13 +17,18 @@ import java.io.Serializable;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.action.Suggestable;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
 import lombok.Data;
 import lombok.ToString;
 
+import static org.talend.components.marketo.MarketoApiConstants.CONCURRENT_CALLS_LIMIT;
+import static org.talend.components.marketo.MarketoApiConstants.REST_API_LIMIT;
 import static org.talend.components.marketo.service.UIActionService.LEAD_KEY_NAME_LIST;
+import static org.talend.sdk.component.api.configuration.ui.layout.GridLayout.FormType.ADVANCED;
 
 @Data
 @GridLayout({ //
@@ -31,6 +36,11 @@ import static org.talend.components.marketo.service.UIActionService.LEAD_KEY_NAM
         @GridLayout.Row({ "action" }), //
         @GridLayout.Row({ "lookupField" }), //
 }) //
+@GridLayout(names = ADVANCED, value = { //
+        @GridLayout.Row({ "dataSet" }), //
+        @GridLayout.Row({ "batchSize", "maxConcurrentCalls", "maxRetries" }), //
+        @GridLayout.Row({ "dieOnError" }), //
+}) //
 @Documentation("Marketo Sink Configuration")
 @ToString(callSuper = true)
 public class MarketoOutputConfiguration implements Serializable {
@@ -65,4 +75,25 @@ public class MarketoOutputConfiguration implements Serializable {
     @Documentation("Lookup Field")
     private String lookupField;
 
+    @Option
+    @Min(1)
+    @Max(REST_API_LIMIT)
+    @Documentation("Number of records sent in an API call")
+    private int batchSize = REST_API_LIMIT;
+
+    @Option
+    @Min(1)
+    @Max(CONCURRENT_CALLS_LIMIT)
+    @Documentation("Maximum number of API calls running concurrently")
+    private int maxConcurrentCalls = 4;
+
+    @Option
+    @Min(0)
+    @Documentation("Number of retries of an API call rejected by the Marketo rate or concurrency limits")
+    private int maxRetries = 5;
+
+    @Option
+    @Documentation("Stop on the first record rejected by Marketo instead of sending it to the reject flow")
+    private boolean dieOnError = false;
+
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.PreDestroy;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.MarketoThrottledException;
+import org.talend.components.marketo.dataset.MarketoDataSet;
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
+import org.talend.components.marketo.dataset.MarketoInputConfiguration;
+import org.talend.components.marketo.service.BulkExtractClient;
+import org.talend.components.marketo.service.MarketoService;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.service.http.Response;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_TYPE_IDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CODE;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CREATED_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_END_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ERRORS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FIELDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FORMAT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_RESULT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_START_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATIC_LIST_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATUS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_SUCCESS;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_ENTITY_ACTIVITIES;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_ENTITY_LEADS;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_FORMAT_CSV;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_CANCELLED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_COMPLETED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_CREATED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_FAILED;
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_EXPORT_QUEUE_FULL;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE_APPLICATION_JSON;
+import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_OK;
+
+/**
+ * Read leads or activities with a bulk extract export job: the job is created and enqueued at init, its status is
+ * polled in background and the CSV file is parsed while records are read.
+ */
+@Slf4j
+public class BulkExtractSource extends MarketoSource {
+
+    private final BulkExtractClient bulkExtractClient;
+
+    /** creation date range of the activities, null for leads */
+    private final ExportWindow window;
+
+    private transient ScheduledExecutorService poller;
+
+    /** completed with the export id when the file is ready */
+    private transient CompletableFuture<String> export;
+
+    private transient CSVParser parser;
+
+    public BulkExtractSource(@Option("configuration") final MarketoInputConfiguration configuration, //
+            final MarketoService service, final ExportWindow window) {
+        super(configuration, service);
+        this.bulkExtractClient = service.getBulkExtractClient();
+        this.bulkExtractClient.base(this.configuration.getDataSet().getDataStore().getEndpoint());
+        this.window = window;
+    }
+
+    private boolean isActivities() {
+        return LeadAction.getLeadActivity.equals(configuration.getDataSet().getLeadAction());
+    }
+
+    private String entity() {
+        return isActivities() ? BULK_ENTITY_ACTIVITIES : BULK_ENTITY_LEADS;
+    }
+
+    /**
+     * Create the export job.
+     */
+    @Override
+    public JsonObject runAction() {
+        return handleResponse(bulkExtractClient
+                .createExport(HEADER_CONTENT_TYPE_APPLICATION_JSON, entity(), accessToken, getExportPayload()));
+    }
+
+    JsonObject getExportPayload() {
+        MarketoDataSet dataSet = configuration.getDataSet();
+        JsonObjectBuilder filter = jsonFactory.createObjectBuilder();
+        JsonObjectBuilder payload = jsonFactory.createObjectBuilder().add(ATTR_FORMAT, BULK_FORMAT_CSV);
+        if (isActivities()) {
+            ExportWindow range =
+                    window != null ? window : ExportWindow.between(ExportWindow.since(dataSet), ZonedDateTime.now());
+            filter
+                    .add(ATTR_CREATED_AT, jsonFactory
+                            .createObjectBuilder()
+                            .add(ATTR_START_AT, range.getStartAt())
+                            .add(ATTR_END_AT, range.getEndAt()));
+            if (!dataSet.getActivityTypeIds().isEmpty()) {
+                JsonArrayBuilder activityTypeIds = jsonFactory.createArrayBuilder();
+                dataSet.getActivityTypeIds().forEach(id -> activityTypeIds.add(Integer.parseInt(id.trim())));
+                filter.add(ATTR_ACTIVITY_TYPE_IDS, activityTypeIds);
+            }
+        } else {
+            payload.add(ATTR_FIELDS, jsonFactory.createArrayBuilder(schema.keySet()));
+        }
+        if (dataSet.getListId() != null && !dataSet.getListId().trim().isEmpty()) {
+            filter.add(ATTR_STATIC_LIST_ID, Integer.parseInt(dataSet.getListId().trim()));
+        }
+        return payload.add(ATTR_FILTER, filter).build();
+    }
+
+    /**
+     * Create the export job and start polling its status, the file is read at the first record.
+     */
+    @Override
+    public void processBatch() {
+        String exportId = runAction().getJsonArray(ATTR_RESULT).getJsonObject(0).getString(ATTR_EXPORT_ID);
+        log.info("[processBatch] export job {} created for {} {}.", exportId, entity(), window);
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "marketo-export-" + exportId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        export = new CompletableFuture<>();
+        ScheduledFuture<?> polling = poller
+                .scheduleWithFixedDelay(() -> poll(exportId), 0, Math.max(1, configuration.getExportPollInterval()),
+                        TimeUnit.SECONDS);
+        export.whenComplete((id, error) -> polling.cancel(false));
+    }
+
+    private void poll(final String exportId) {
+        try {
+            String status = handleResponse(bulkExtractClient.getExportStatus(entity(), exportId, accessToken))
+                    .getJsonArray(ATTR_RESULT)
+                    .getJsonObject(0)
+                    .getString(ATTR_STATUS);
+            log.debug("[poll] export job {}: {}.", exportId, status);
+            if (BULK_STATUS_CREATED.equals(status)) {
+                enqueue(exportId);
+            } else if (BULK_STATUS_COMPLETED.equals(status)) {
+                export.complete(exportId);
+            } else if (BULK_STATUS_FAILED.equals(status) || BULK_STATUS_CANCELLED.equals(status)) {
+                export.completeExceptionally(new MarketoRuntimeException(i18n.exportFailed(exportId, status)));
+            }
+        } catch (MarketoThrottledException e) {
+            log.debug("[poll] export job {}: {}, retried at next poll.", exportId, e.getMessage());
+        } catch (RuntimeException e) {
+            export.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Put the job in the export queue, a full queue is retried at next poll.
+     */
+    private void enqueue(final String exportId) {
+        Response<JsonObject> response = bulkExtractClient.enqueueExport(entity(), exportId, accessToken);
+        if (response.status() == HTTP_STATUS_OK && !response.body().getBoolean(ATTR_SUCCESS)
+                && response
+                        .body()
+                        .getJsonArray(ATTR_ERRORS)
+                        .getValuesAs(JsonObject.class)
+                        .stream()
+                        .anyMatch(error -> ERROR_CODE_EXPORT_QUEUE_FULL.equals(error.getString(ATTR_CODE, "")))) {
+            log.debug("[enqueue] export queue full, export job {} enqueued at next poll.", exportId);
+            return;
+        }
+        handleResponse(response);
+    }
+
+    @Producer
+    @Override
+    public Record next() {
+        if (resultIterator == null && export != null) {
+            openExportFile(awaitExport());
+        }
+        return super.next();
+    }
+
+    private String awaitExport() {
+        try {
+            return export.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoRuntimeException(i18n.exceptionOccured(e.getMessage()));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MarketoRuntimeException) {
+                throw (MarketoRuntimeException) e.getCause();
+            }
+            throw new MarketoRuntimeException(i18n.exceptionOccured(e.getCause().getMessage()));
+        } finally {
+            poller.shutdownNow();
+        }
+    }
+
+    private void openExportFile(final String exportId) {
+        Response<InputStream> response = bulkExtractClient.getExportFile(entity(), exportId, accessToken);
+        if (response.status() != HTTP_STATUS_OK) {
+            throw new MarketoRuntimeException(response.error(String.class));
+        }
+        try {
+            parser = CSVFormat.RFC4180
+                    .builder()
+                    .setHeader()
+                    .setSkipHeaderRecord(true)
+                    .build()
+                    .parse(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new MarketoRuntimeException(i18n.exceptionOccured(e.getMessage()));
+        }
+        resultIterator = StreamSupport
+                .stream(parser.spliterator(), false)
+                .map(row -> (JsonValue) toJson(row, schema, jsonFactory))
+                .iterator();
+    }
+
+    /**
+     * Convert a row of the export file to the json object given by the REST API, typed according to the schema.
+     */
+    static JsonObject toJson(final CSVRecord row, final Map<String, Entry> schema,
+            final JsonBuilderFactory jsonFactory) {
+        JsonObjectBuilder builder = jsonFactory.createObjectBuilder();
+        for (Entry entry : schema.values()) {
+            String name = entry.getName();
+            String value = row.isMapped(name) ? row.get(name) : null;
+            if (value == null || value.isEmpty() || "null".equals(value)) {
+                continue;
+            }
+            try {
+                switch (entry.getType()) {
+                case INT:
+                case LONG:
+                    builder.add(name, Long.parseLong(value));
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    builder.add(name, new BigDecimal(value));
+                    break;
+                case BOOLEAN:
+                    builder.add(name, Boolean.parseBoolean(value) || "1".equals(value));
+                    break;
+                case ARRAY:
+                    // not given by exports.
+                    break;
+                default:
+                    builder.add(name, value);
+                }
+            } catch (NumberFormatException e) {
+                log.debug("[toJson] invalid number {} for {}.", value, name);
+            }
+        }
+        return builder.build();
+    }
+
+    @PreDestroy
+    public void release() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.debug("[release] {}", e.getMessage());
+            }
+        }
+    }
+}
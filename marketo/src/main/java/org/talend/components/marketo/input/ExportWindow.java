@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.components.marketo.dataset.MarketoDataSet;
+import org.talend.components.marketo.dataset.MarketoDataSet.DateTimeMode;
+
+import lombok.Value;
+
+import static org.talend.components.marketo.MarketoApiConstants.DATETIME_FORMAT;
+
+/**
+ * Creation date range of a bulk extract export job, bounds are ISO-8601 date times.
+ */
+@Value
+public class ExportWindow implements Serializable {
+
+    String startAt;
+
+    String endAt;
+
+    /**
+     * Split a date range in consecutive windows of at most some days. Marketo includes both bounds, so a window ends
+     * one second before the next one starts.
+     *
+     * @param since start of the date range.
+     * @param until end of the date range.
+     * @param days maximum days of a window.
+     * @return windows, at least one.
+     */
+    static List<ExportWindow> split(final ZonedDateTime since, final ZonedDateTime until, final int days) {
+        final List<ExportWindow> windows = new ArrayList<>();
+        final Duration width = Duration.ofDays(Math.max(1, days));
+        ZonedDateTime start = since.truncatedTo(ChronoUnit.SECONDS);
+        final ZonedDateTime end = until.truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime next = start.plus(width);
+        while (next.isBefore(end)) {
+            windows.add(between(start, next.minusSeconds(1)));
+            start = next;
+            next = start.plus(width);
+        }
+        windows.add(between(start, end));
+        return windows;
+    }
+
+    static ExportWindow between(final ZonedDateTime since, final ZonedDateTime until) {
+        return new ExportWindow(format(since), format(until));
+    }
+
+    /**
+     * @return the date time activities are read from, as configured in the dataset.
+     */
+    static ZonedDateTime since(final MarketoDataSet dataSet) {
+        if (DateTimeMode.absolute.equals(dataSet.getDateTimeMode())) {
+            return LocalDateTime
+                    .parse(dataSet.getSinceDateTimeAbsolute(), DateTimeFormatter.ofPattern(DATETIME_FORMAT))
+                    .atZone(ZoneId.systemDefault());
+        }
+        return ZonedDateTime.now().minus(Period.parse(dataSet.getSinceDateTimeRelative().getRelativeOffset()));
+    }
+
+    private static String format(final ZonedDateTime dateTime) {
+        return dateTime.toInstant().toString();
+    }
+}
@@ -13,11 +13,14 @@
 package org.talend.components.marketo.input;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.service.AuthorizationClient;
 import org.talend.components.marketo.service.MarketoService;
@@ -49,10 +52,19 @@ public class MarketoInputMapper implements Serializable {
 
     private AuthorizationClient authorizationClient;
 
+    /** creation date range of the activities exported by this mapper, null for the whole range */
+    private ExportWindow window;
+
     public MarketoInputMapper(@Option("configuration") final MarketoInputConfiguration configuration, //
             final MarketoService service) {
+        this(configuration, service, null);
+    }
+
+    private MarketoInputMapper(final MarketoInputConfiguration configuration, final MarketoService service,
+            final ExportWindow window) {
         this.configuration = configuration;
         this.service = service;
+        this.window = window;
         authorizationClient = service.getAuthorizationClient();
         log.debug("[MarketoInputMapper] {}", configuration);
         authorizationClient.base(configuration.getDataSet().getDataStore().getEndpoint());
@@ -70,11 +82,24 @@ public class MarketoInputMapper implements Serializable {
 
     @Split
     public List<MarketoInputMapper> split(@PartitionSize final long bundles) {
-        return Collections.singletonList(this);
+        if (!configuration.isBulkExtract() || window != null
+                || !LeadAction.getLeadActivity.equals(configuration.getDataSet().getLeadAction())) {
+            return Collections.singletonList(this);
+        }
+        // one export job per window, Marketo limits the date range of a job.
+        return ExportWindow
+                .split(ExportWindow.since(configuration.getDataSet()), ZonedDateTime.now(),
+                        configuration.getExportWindowDays())
+                .stream()
+                .map(w -> new MarketoInputMapper(configuration, service, w))
+                .collect(Collectors.toList());
     }
 
     @Emitter
     public MarketoSource createWorker() {
+        if (configuration.isBulkExtract()) {
+            return new BulkExtractSource(configuration, service, window);
+        }
         return new LeadSource(configuration, service);
     }
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.output;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_RATE_LIMIT;
+
+/**
+ * Keep the API calls of a processor under the Marketo rate limit (calls in a sliding window).
+ * Other clients of the instance share the limits, so a call can still be rejected: the allowed calls per window are
+ * then halved and all calls are paused with an exponential backoff. Successful calls raise the allowed calls back.
+ */
+@Slf4j
+class ApiCallLimiter {
+
+    /** first pause after a rate limit error, a concurrent calls error pauses for a tenth of it */
+    static final long BASE_BACKOFF = 1_000L;
+
+    private final int maxCalls;
+
+    private final long window;
+
+    /** start time of the calls of the current window */
+    private final Deque<Long> calls = new ArrayDeque<>();
+
+    private int allowedCalls;
+
+    private long resumeAt;
+
+    ApiCallLimiter(final int maxCalls, final long window) {
+        this.maxCalls = maxCalls;
+        this.window = window;
+        this.allowedCalls = maxCalls;
+    }
+
+    /**
+     * Wait until a call is allowed and count it.
+     */
+    synchronized void acquire() throws InterruptedException {
+        long wait = waitTime(System.currentTimeMillis());
+        while (wait > 0) {
+            wait(wait);
+            wait = waitTime(System.currentTimeMillis());
+        }
+        calls.addLast(System.currentTimeMillis());
+    }
+
+    synchronized void succeeded() {
+        if (allowedCalls < maxCalls) {
+            allowedCalls++;
+        }
+    }
+
+    /**
+     * @param code Marketo error code of the rejected call.
+     * @param attempt number of times this call was rejected.
+     * @return pause before the call can be retried.
+     */
+    synchronized long throttled(final String code, final int attempt) {
+        long delay;
+        if (ERROR_CODE_RATE_LIMIT.equals(code)) {
+            allowedCalls = Math.max(1, allowedCalls / 2);
+            delay = Math.min(BASE_BACKOFF << Math.min(attempt - 1, 10), window);
+        } else {
+            delay = Math.min((BASE_BACKOFF / 10) << Math.min(attempt - 1, 10), window);
+        }
+        resumeAt = Math.max(resumeAt, System.currentTimeMillis() + delay);
+        log.debug("[throttled] error {}, {} calls allowed per window, paused for {} ms.", code, allowedCalls, delay);
+        return delay;
+    }
+
+    synchronized int getAllowedCalls() {
+        return allowedCalls;
+    }
+
+    synchronized long waitTime(final long now) {
+        while (!calls.isEmpty() && calls.peekFirst() <= now - window) {
+            calls.pollFirst();
+        }
+        long wait = resumeAt - now;
+        if (calls.size() >= allowedCalls) {
+            wait = Math.max(wait, calls.peekFirst() + window - now);
+        }
+        return wait;
+    }
+}
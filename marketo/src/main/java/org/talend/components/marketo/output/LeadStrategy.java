@@ -21,6 +21,7 @@ import javax.json.JsonObject;
 import javax.json.JsonValue;
 
 import org.talend.components.marketo.MarketoApiConstants;
+import org.talend.components.marketo.MarketoRuntimeException;
 import org.talend.components.marketo.dataset.MarketoOutputConfiguration;
 import org.talend.components.marketo.service.LeadClient;
 import org.talend.components.marketo.service.ListClient;
@@ -31,6 +32,7 @@ import org.talend.sdk.component.api.service.http.Response;
 import lombok.extern.slf4j.Slf4j;
 
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTION;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CODE;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ERRORS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ID;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_INPUT;
@@ -38,6 +40,8 @@ import static org.talend.components.marketo.MarketoApiConstants.ATTR_LOOKUP_FIEL
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_REASONS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_RESULT;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_SUCCESS;
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_CONCURRENT_CALLS_LIMIT;
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_RATE_LIMIT;
 import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE_APPLICATION_JSON;
 import static org.talend.components.marketo.dataset.MarketoOutputConfiguration.OutputAction.delete;
 
@@ -50,6 +54,9 @@ public class LeadStrategy extends OutputComponentStrategy implements ProcessorSt
 
     private final String listId;
 
+    /** shared with the processor calls, when set */
+    private ApiCallLimiter limiter;
+
     public LeadStrategy(@Option("configuration") final MarketoOutputConfiguration dataSet, //
             final MarketoService service) {
         super(dataSet, service);
@@ -60,6 +67,10 @@ public class LeadStrategy extends OutputComponentStrategy implements ProcessorSt
         listId = configuration.getDataSet().getListId();
     }
 
+    void setLimiter(final ApiCallLimiter limiter) {
+        this.limiter = limiter;
+    }
+
     @Override
     public JsonObject getPayload(List<JsonObject> incomingData) {
         JsonArray input = jsonFactory.createArrayBuilder(incomingData).build();
@@ -97,6 +108,14 @@ public class LeadStrategy extends OutputComponentStrategy implements ProcessorSt
             builder.add(jsonFactory.createObjectBuilder().add(ATTR_ID, lead.getInt(ATTR_ID)));
         }
         JsonObject listPayload = jsonFactory.createObjectBuilder().add(ATTR_INPUT, builder.build()).build();
+        if (limiter != null) {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MarketoRuntimeException(e.getMessage());
+            }
+        }
         handleListResponse(
                 listClient.addToList(HEADER_CONTENT_TYPE_APPLICATION_JSON, accessToken, listId, listPayload));
     }
@@ -104,10 +123,22 @@ public class LeadStrategy extends OutputComponentStrategy implements ProcessorSt
     private void handleListResponse(Response<JsonObject> response) {
         if (response.status() == MarketoApiConstants.HTTP_STATUS_OK) {
             if (!response.body().getBoolean(ATTR_SUCCESS)) {
-                log
-                        .error("[handleListResponse] Error during adding leads to list {}: {}", listId,
-                                getErrors(response.body().getJsonArray(ATTR_ERRORS)));
+                JsonArray errors = response.body().getJsonArray(ATTR_ERRORS);
+                log.error("[handleListResponse] Error during adding leads to list {}: {}", listId, getErrors(errors));
+                if (limiter != null) {
+                    errors
+                            .getValuesAs(JsonObject.class)
+                            .stream()
+                            .map(error -> error.getString(ATTR_CODE, ""))
+                            .filter(code -> ERROR_CODE_RATE_LIMIT.equals(code)
+                                    || ERROR_CODE_CONCURRENT_CALLS_LIMIT.equals(code))
+                            .findFirst()
+                            .ifPresent(code -> limiter.throttled(code, 1));
+                }
             } else {
+                if (limiter != null) {
+                    limiter.succeeded();
+                }
                 response
                         .body()
                         .getJsonArray(ATTR_RESULT)
@@ -14,12 +14,22 @@ package org.talend.components.marketo.output;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.json.JsonObject;
 
+import org.talend.components.marketo.MarketoDataException;
 import org.talend.components.marketo.MarketoRuntimeException;
 import org.talend.components.marketo.MarketoSourceOrProcessor;
+import org.talend.components.marketo.MarketoThrottledException;
 import org.talend.components.marketo.dataset.MarketoOutputConfiguration;
 import org.talend.components.marketo.service.MarketoService;
 import org.talend.sdk.component.api.component.Icon;
@@ -31,14 +41,19 @@ import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.BeforeGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.record.Record;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_REASONS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_RESULT;
-import static org.talend.components.marketo.MarketoApiConstants.REST_API_LIMIT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_SEQ;
+import static org.talend.components.marketo.MarketoApiConstants.RATE_LIMIT_CALLS;
+import static org.talend.components.marketo.MarketoApiConstants.RATE_LIMIT_WINDOW;
 
 @Slf4j
 @Version
@@ -47,11 +62,17 @@ import static org.talend.components.marketo.MarketoApiConstants.REST_API_LIMIT;
 @Documentation("Marketo output component")
 public class MarketoProcessor extends MarketoSourceOrProcessor {
 
+    static final String ERROR_MESSAGE_FIELD = "errorMessage";
+
     protected final MarketoOutputConfiguration configuration;
 
-    private ProcessorStrategy strategy;
+    private LeadStrategy strategy;
+
+    private List<Record> records;
+
+    private transient ExecutorService executor;
 
-    private List<JsonObject> records;
+    private transient ApiCallLimiter limiter;
 
     public MarketoProcessor(@Option("configuration") final MarketoOutputConfiguration configuration, //
             final MarketoService service) {
@@ -65,6 +86,14 @@ public class MarketoProcessor extends MarketoSourceOrProcessor {
     @Override
     public void init() {
         strategy.init();
+        limiter = new ApiCallLimiter(RATE_LIMIT_CALLS, RATE_LIMIT_WINDOW);
+        strategy.setLimiter(limiter);
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, configuration.getMaxConcurrentCalls()), r -> {
+            Thread thread = new Thread(r, "marketo-output-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @BeforeGroup
@@ -74,30 +103,120 @@ public class MarketoProcessor extends MarketoSourceOrProcessor {
 
     @ElementListener
     public void map(@Input final Record incomingData) {
-        JsonObject data = marketoService.toJson(incomingData);
-        records.add(data);
+        records.add(incomingData);
     }
 
     @AfterGroup
-    public void flush() {
+    public void flush(@Output("reject") final OutputEmitter<Record> reject) {
         log.info("[flush] called. Processing {} records.", records.size());
         if (records.isEmpty()) {
             return;
         }
-        if (records.size() > REST_API_LIMIT) {
-            String msg = String
-                    .format("[flush] Max batch size is set above API limit (%d): %d.", REST_API_LIMIT, records.size());
-            log.error(msg);
-            throw new MarketoRuntimeException(msg);
+        int batchSize = Math.max(1, configuration.getBatchSize());
+        List<Callable<List<Rejected>>> calls = new ArrayList<>();
+        for (int i = 0; i < records.size(); i += batchSize) {
+            List<Record> batch = new ArrayList<>(records.subList(i, Math.min(i + batchSize, records.size())));
+            calls.add(() -> process(batch));
+        }
+        records.clear();
+        try {
+            for (Future<List<Rejected>> call : executor.invokeAll(calls)) {
+                call.get().forEach(rejected -> reject.emit(toReject(rejected)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoRuntimeException(i18n.exceptionOccured(e.getMessage()));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MarketoRuntimeException) {
+                throw (MarketoRuntimeException) e.getCause();
+            }
+            throw new MarketoRuntimeException(i18n.exceptionOccured(e.getCause().getMessage()));
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Send a batch of records in one API call, retried while Marketo rejects it because of its limits.
+     * Only data errors (of the whole call or of some records) are rejected, unless die on error is set; other
+     * failures (authentication, endpoint, exhausted retries...) stop the processor.
+     *
+     * @return records rejected by Marketo.
+     */
+    private List<Rejected> process(final List<Record> batch) throws InterruptedException {
+        List<JsonObject> data = batch.stream().map(marketoService::toJson).collect(Collectors.toList());
+        JsonObject payload = strategy.getPayload(data);
+        JsonObject result;
+        int attempt = 0;
+        while (true) {
+            limiter.acquire();
+            try {
+                result = strategy.runAction(payload);
+                limiter.succeeded();
+                break;
+            } catch (MarketoThrottledException e) {
+                attempt++;
+                if (attempt > configuration.getMaxRetries()) {
+                    throw e;
+                }
+                long delay = limiter.throttled(e.getCode(), attempt);
+                log.debug("[process] {}, retry {}/{} in {} ms.", e.getMessage(), attempt,
+                        configuration.getMaxRetries(), delay);
+            } catch (MarketoDataException e) {
+                if (configuration.isDieOnError()) {
+                    throw e;
+                }
+                return rejectAll(batch, e.getMessage());
+            }
+        }
+        List<Rejected> rejected = new ArrayList<>();
+        List<JsonObject> results = result.getJsonArray(ATTR_RESULT).getValuesAs(JsonObject.class);
+        for (int i = 0; i < results.size(); i++) {
+            JsonObject status = results.get(i);
+            if (strategy.isRejected(status)) {
+                int seq = status.getInt(ATTR_SEQ, i);
+                String errors = status.containsKey(ATTR_REASONS) ? getErrors(status.getJsonArray(ATTR_REASONS))
+                        : status.toString();
+                log.error(errors);
+                if (configuration.isDieOnError()) {
+                    throw new MarketoRuntimeException(errors);
+                }
+                if (seq < batch.size()) {
+                    rejected.add(new Rejected(batch.get(seq), errors));
+                }
+            }
         }
-        JsonObject payload = strategy.getPayload(records);
-        JsonObject result = strategy.runAction(payload);
-        result
-                .getJsonArray(ATTR_RESULT)
-                .getValuesAs(JsonObject.class)
+        return rejected;
+    }
+
+    private List<Rejected> rejectAll(final List<Record> batch, final String message) {
+        log.error(i18n.batchRejected(batch.size(), message));
+        return batch.stream().map(rec -> new Rejected(rec, message)).collect(Collectors.toList());
+    }
+
+    private Record toReject(final Rejected rejected) {
+        Record rec = rejected.getRec();
+        Record.Builder builder = marketoService.getRecordBuilder().newRecordBuilder();
+        rec
+                .getSchema()
+                .getEntries()
                 .stream()
-                .filter(strategy::isRejected)
-                .forEach(e -> log.error(getErrors(e.getJsonArray(ATTR_REASONS))));
+                .filter(entry -> !ERROR_MESSAGE_FIELD.equals(entry.getName()))
+                .forEach(entry -> builder.with(entry, rec.get(Object.class, entry.getName())));
+        return builder.withString(ERROR_MESSAGE_FIELD, rejected.getMessage()).build();
+    }
+
+    @Value
+    private static class Rejected {
+
+        Record rec;
+
+        String message;
     }
 
 }
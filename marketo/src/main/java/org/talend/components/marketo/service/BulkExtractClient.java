@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.io.InputStream;
+
+import javax.json.JsonObject;
+
+import org.talend.sdk.component.api.service.http.Header;
+import org.talend.sdk.component.api.service.http.HttpClient;
+import org.talend.sdk.component.api.service.http.Path;
+import org.talend.sdk.component.api.service.http.Query;
+import org.talend.sdk.component.api.service.http.Request;
+import org.talend.sdk.component.api.service.http.Response;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE;
+import static org.talend.components.marketo.MarketoApiConstants.METHOD_POST;
+
+/**
+ * Client for the bulk extract endpoints: export jobs of leads or activities, produced asynchronously as files.
+ */
+public interface BulkExtractClient extends HttpClient {
+
+    String ATTR_ENTITY = "entity";
+
+    /**
+     * Create an export job.
+     *
+     * @param entity leads or activities
+     * @param accessToken Marketo authorization token for API
+     * @param payload json object containing the format, the filter and the fields of the export
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/create.json", method = METHOD_POST)
+    Response<JsonObject> createExport( //
+            @Header(HEADER_CONTENT_TYPE) String contentType, //
+            @Path(ATTR_ENTITY) String entity, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            JsonObject payload //
+    );
+
+    /**
+     * Put an export job in the processing queue. Fails when the queue is full.
+     *
+     * @param entity leads or activities
+     * @param exportId export job id
+     * @param accessToken Marketo authorization token for API
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/enqueue.json", method = METHOD_POST)
+    Response<JsonObject> enqueueExport( //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+
+    /**
+     * Returns the status of an export job: Created, Queued, Processing, Completed, Failed or Cancelled.
+     *
+     * @param entity leads or activities
+     * @param exportId export job id
+     * @param accessToken Marketo authorization token for API
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/status.json")
+    Response<JsonObject> getExportStatus( //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+
+    /**
+     * Returns the file of a completed export job.
+     *
+     * @param entity leads or activities
+     * @param exportId export job id
+     * @param accessToken Marketo authorization token for API
+     * @return
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/file.json")
+    Response<InputStream> getExportFile( //
+            @Path(ATTR_ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+}
@@ -32,4 +32,8 @@ public interface I18nMessage {
     String invalidFields();
 
     String invalidDateTime();
+
+    String batchRejected(int count, String message);
+
+    String exportFailed(String exportId, String status);
 }
@@ -28,7 +28,9 @@ import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
 import javax.json.JsonWriterFactory;
 
+import org.talend.components.marketo.MarketoDataException;
 import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.MarketoThrottledException;
 import org.talend.components.marketo.dataset.MarketoDataSet;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.datastore.MarketoDataStore;
@@ -71,6 +73,8 @@ import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATUS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_SUCCESS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_UPDATED_AT;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_WORKSPACE_NAME;
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_CONCURRENT_CALLS_LIMIT;
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_RATE_LIMIT;
 import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_OK;
 import static org.talend.components.marketo.service.AuthorizationClient.CLIENT_CREDENTIALS;
 
@@ -125,6 +129,10 @@ public class MarketoService {
     @Service
     protected ListClient listClient;
 
+    @Getter
+    @Service
+    protected BulkExtractClient bulkExtractClient;
+
     public void initClients(MarketoDataStore dataStore) {
         authorizationClient.base(dataStore.getEndpoint());
         leadClient.base(dataStore.getEndpoint());
@@ -132,6 +140,7 @@ public class MarketoService {
         customObjectClient.base(dataStore.getEndpoint());
         companyClient.base(dataStore.getEndpoint());
         opportunityClient.base(dataStore.getEndpoint());
+        bulkExtractClient.base(dataStore.getEndpoint());
     }
 
     /**
@@ -436,7 +445,24 @@ public class MarketoService {
             if (response.body().getBoolean(ATTR_SUCCESS)) {
                 return response.body();
             } else {
-                throw new MarketoRuntimeException(getErrors(response.body().getJsonArray(ATTR_ERRORS)));
+                JsonArray errors = response.body().getJsonArray(ATTR_ERRORS);
+                String dataErrorCode = null;
+                boolean dataErrors = !errors.isEmpty();
+                for (JsonObject error : errors.getValuesAs(JsonObject.class)) {
+                    String code = error.getString(ATTR_CODE, "");
+                    if (ERROR_CODE_RATE_LIMIT.equals(code) || ERROR_CODE_CONCURRENT_CALLS_LIMIT.equals(code)) {
+                        throw new MarketoThrottledException(code, getErrors(errors));
+                    }
+                    if (MarketoDataException.isDataError(code)) {
+                        dataErrorCode = code;
+                    } else {
+                        dataErrors = false;
+                    }
+                }
+                if (dataErrors) {
+                    throw new MarketoDataException(dataErrorCode, getErrors(errors));
+                }
+                throw new MarketoRuntimeException(getErrors(errors));
             }
         }
         throw new MarketoRuntimeException(response.error(String.class));
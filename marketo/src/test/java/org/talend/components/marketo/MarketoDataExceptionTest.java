@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MarketoDataExceptionTest {
+
+    @Test
+    void dataErrorCodes() {
+        Assertions.assertTrue(MarketoDataException.isDataError("609"));
+        Assertions.assertTrue(MarketoDataException.isDataError("1003"));
+        Assertions.assertTrue(MarketoDataException.isDataError("1006"));
+
+        Assertions.assertFalse(MarketoDataException.isDataError("601")); // invalid token
+        Assertions.assertFalse(MarketoDataException.isDataError("603")); // access denied
+        Assertions.assertFalse(MarketoDataException.isDataError("606")); // rate limit
+        Assertions.assertFalse(MarketoDataException.isDataError("611")); // system error
+        Assertions.assertFalse(MarketoDataException.isDataError(""));
+        Assertions.assertFalse(MarketoDataException.isDataError(null));
+    }
+}
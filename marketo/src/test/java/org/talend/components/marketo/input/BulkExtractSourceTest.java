@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class BulkExtractSourceTest {
+
+    @Test
+    void exportWindows() {
+        ZonedDateTime since = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        List<ExportWindow> windows = ExportWindow.split(since, since.plusDays(70), 31);
+
+        Assertions.assertEquals(3, windows.size());
+        Assertions.assertEquals("2020-01-01T00:00:00Z", windows.get(0).getStartAt());
+        Assertions.assertEquals("2020-01-31T23:59:59Z", windows.get(0).getEndAt());
+        Assertions.assertEquals("2020-02-01T00:00:00Z", windows.get(1).getStartAt());
+        Assertions.assertEquals("2020-03-11T00:00:00Z", windows.get(2).getEndAt());
+        Assertions.assertEquals(1, ExportWindow.split(since, since.plusHours(1), 31).size());
+    }
+
+    @Test
+    void csvRowToJson() throws IOException {
+        RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        Map<String, Entry> schema = new HashMap<>();
+        schema.put("leadId", factory.newEntryBuilder().withName("leadId").withType(Schema.Type.INT).build());
+        schema
+                .put("attributes",
+                        factory.newEntryBuilder().withName("attributes").withType(Schema.Type.STRING).build());
+        schema.put("campaignId", factory.newEntryBuilder().withName("campaignId").withType(Schema.Type.INT).build());
+        schema.put("id", factory.newEntryBuilder().withName("id").withType(Schema.Type.INT).build());
+
+        String csv = "marketoGUID,leadId,campaignId,attributes\n"
+                + "\"123\",42,,\"{\"\"Source\"\":\"\"Web, form\"\"}\"\n";
+        try (CSVParser parser = CSVFormat.RFC4180
+                .builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build()
+                .parse(new StringReader(csv))) {
+            CSVRecord row = parser.iterator().next();
+            JsonObject json = BulkExtractSource.toJson(row, schema, Json.createBuilderFactory(Collections.emptyMap()));
+
+            Assertions.assertEquals(42, json.getInt("leadId"));
+            Assertions.assertEquals("{\"Source\":\"Web, form\"}", json.getString("attributes"));
+            Assertions.assertFalse(json.containsKey("campaignId"));
+            Assertions.assertFalse(json.containsKey("id"));
+        }
+    }
+}
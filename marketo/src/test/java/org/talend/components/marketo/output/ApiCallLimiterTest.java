@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.output;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_CONCURRENT_CALLS_LIMIT;
+import static org.talend.components.marketo.MarketoApiConstants.ERROR_CODE_RATE_LIMIT;
+
+class ApiCallLimiterTest {
+
+    @Test
+    void callsAreLimitedInWindow() throws InterruptedException {
+        ApiCallLimiter limiter = new ApiCallLimiter(2, 60_000L);
+        limiter.acquire();
+        limiter.acquire();
+
+        long now = System.currentTimeMillis();
+        Assertions.assertTrue(limiter.waitTime(now) > 0);
+        Assertions.assertTrue(limiter.waitTime(now + 60_000L) <= 0);
+    }
+
+    @Test
+    void rateLimitErrorHalvesAllowedCalls() {
+        ApiCallLimiter limiter = new ApiCallLimiter(100, 20_000L);
+
+        Assertions.assertEquals(ApiCallLimiter.BASE_BACKOFF, limiter.throttled(ERROR_CODE_RATE_LIMIT, 1));
+        Assertions.assertEquals(50, limiter.getAllowedCalls());
+        Assertions.assertEquals(2 * ApiCallLimiter.BASE_BACKOFF, limiter.throttled(ERROR_CODE_RATE_LIMIT, 2));
+        Assertions.assertEquals(25, limiter.getAllowedCalls());
+        Assertions.assertEquals(20_000L, limiter.throttled(ERROR_CODE_RATE_LIMIT, 10));
+        Assertions.assertTrue(limiter.waitTime(System.currentTimeMillis()) > 0);
+
+        limiter.succeeded();
+        Assertions.assertEquals(13, limiter.getAllowedCalls());
+    }
+
+    @Test
+    void concurrentCallsErrorKeepsAllowedCalls() {
+        ApiCallLimiter limiter = new ApiCallLimiter(100, 20_000L);
+
+        Assertions.assertEquals(ApiCallLimiter.BASE_BACKOFF / 10,
+                limiter.throttled(ERROR_CODE_CONCURRENT_CALLS_LIMIT, 1));
+        Assertions.assertEquals(100, limiter.getAllowedCalls());
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.commons;
+
+import java.io.Serializable;
+
+import lombok.Value;
+
+/**
+ * Identifies a result set of a bulk query job, one result of one of its batches.
+ */
+@Value
+public class BulkResultId implements Serializable {
+
+    String jobId;
+
+    String batchId;
+
+    String resultId;
+}
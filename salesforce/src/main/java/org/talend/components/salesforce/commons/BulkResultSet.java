@@ -29,32 +29,54 @@ public class BulkResultSet {
     }
 
     public Map<String, String> next() {
+        if (!this.nextRow()) {
+            return null;
+        }
+        final Map<String, String> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < this.header.size(); i++) {
+            // We replace the . with _ to add support of relationShip Queries
+            // The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
+            // So Account.Name in SF will be Account_Name in Talend
+            result.put(header.get(i).replace('.', '_'), this.getValue(i));
+        }
+        return result;
+    }
+
+    /**
+     * Move to next row, values are then read by column index.
+     *
+     * @return false if no more rows, reader is then closed.
+     */
+    public boolean nextRow() {
         try {
-            boolean hasNext = reader.readRecord();
-            Map<String, String> result = null;
-            String[] row;
-            if (hasNext) {
-                if ((row = reader.getValues()) != null) {
-                    result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-                    for (int i = 0; i < this.header.size(); i++) {
-                        // We replace the . with _ to add support of relationShip Queries
-                        // The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
-                        // So Account.Name in SF will be Account_Name in Talend
-                        result.put(header.get(i).replace('.', '_'), row[i]);
-
-                    }
-                    return result;
-                } else {
-                    return next();
-                }
-            } else {
-                this.reader.close();
+            if (reader.readRecord()) {
+                return true;
             }
-            return null;
+            this.reader.close();
+            return false;
+        } catch (IOException e) {
+            this.reader.close();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Value of a column of current row.
+     *
+     * @param column column index in header.
+     * @return value, empty if row has less columns.
+     */
+    public String getValue(int column) {
+        try {
+            return reader.get(column);
         } catch (IOException e) {
             this.reader.close();
             throw new IllegalStateException(e);
         }
     }
 
+    public List<String> getHeader() {
+        return this.header;
+    }
+
 }
\ No newline at end of file
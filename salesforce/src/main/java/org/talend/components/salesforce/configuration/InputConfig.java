@@ -19,4 +19,14 @@ import org.talend.components.salesforce.dataset.QueryDataSet;
 public interface InputConfig extends Serializable {
 
     QueryDataSet getDataSet();
+
+    /**
+     * @return records per PK chunking batch, 0 if disabled.
+     */
+    int getChunkSize();
+
+    /**
+     * @return max time to wait for the bulk query job in seconds, 0 if no timeout.
+     */
+    int getJobTimeout();
 }
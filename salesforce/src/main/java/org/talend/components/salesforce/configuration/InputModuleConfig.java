@@ -14,6 +14,8 @@ package org.talend.components.salesforce.configuration;
 
 import org.talend.components.salesforce.dataset.ModuleDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -21,6 +23,8 @@ import lombok.Data;
 
 @Data
 @GridLayout(value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row({ "dataSet" }), @GridLayout.Row({ "chunkSize" }), @GridLayout.Row({ "jobTimeout" }) })
 @Documentation("Query input configuration")
 public class InputModuleConfig implements InputConfig {
 
@@ -28,4 +32,17 @@ public class InputModuleConfig implements InputConfig {
     @Documentation("SQL query dataset")
     private ModuleDataSet dataSet;
 
+    @Option
+    @Min(0)
+    @Max(250000)
+    @Documentation("Records per batch when the bulk query is split by record id (PK chunking), 0 to disable. "
+            + "Batches are read in parallel by distributed runners.")
+    private int chunkSize;
+
+    @Option
+    @Min(0)
+    @Documentation("Max time to wait for the bulk query job (in seconds), the query fails when it is exceeded. "
+            + "0 to wait until the job completes or fails.")
+    private int jobTimeout;
+
 }
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -25,6 +26,7 @@ import com.sforce.async.BulkConnection;
 import com.sforce.soap.partner.IField;
 import com.sforce.ws.ConnectionException;
 
+import org.talend.components.salesforce.commons.BulkResultId;
 import org.talend.components.salesforce.commons.BulkResultSet;
 import org.talend.components.salesforce.configuration.InputConfig;
 import org.talend.components.salesforce.service.BulkQueryService;
@@ -59,24 +61,32 @@ public abstract class AbstractQueryEmitter implements Serializable {
 
     private boolean preBuildSchema;
 
+    /** result sets to read, of a job created by the mapper, null to run the query */
+    private final List<BulkResultId> results;
+
     public AbstractQueryEmitter(final InputConfig inputConfig, final SalesforceService service,
             LocalConfiguration configuration,
-            final RecordBuilderFactory recordBuilderFactory, final Messages messages) {
+            final RecordBuilderFactory recordBuilderFactory, final Messages messages,
+            final List<BulkResultId> results) {
         this.service = service;
         this.inputConfig = inputConfig;
         this.localConfiguration = configuration;
         this.recordBuilderFactory = recordBuilderFactory;
         this.messages = messages;
+        this.results = results;
     }
 
     @PostConstruct
     public void init() {
         try {
-            final BulkConnection bulkConnection = service
-                    .bulkConnect(inputConfig.getDataSet().getDataStore(),
-                            localConfiguration);
-            bulkQueryService = new BulkQueryService(bulkConnection, recordBuilderFactory, messages);
-            bulkQueryService.doBulkQuery(getModuleName(), getQuery());
+            if (results == null) {
+                bulkQueryService = startBulkQuery();
+            } else {
+                bulkQueryService = new BulkQueryService(
+                        service.bulkConnect(inputConfig.getDataSet().getDataStore(), localConfiguration),
+                        recordBuilderFactory, messages);
+                bulkQueryService.setQueryResults(results);
+            }
         } catch (ConnectionException e) {
             throw service.handleConnectionException(e);
         } catch (AsyncApiException e) {
@@ -99,17 +109,22 @@ public abstract class AbstractQueryEmitter implements Serializable {
                 bulkQueryService.setRecordSchema(schema);
             }
             if (bulkResultSet == null) {
-                bulkResultSet = bulkQueryService.getQueryResultSet(bulkQueryService.nextResultId());
+                BulkResultId result = bulkQueryService.nextResult();
+                if (result == null) {
+                    return null;
+                }
+                bulkResultSet = bulkQueryService.getQueryResultSet(result);
             }
-            Map<String, String> currentRecord = bulkResultSet.next();
-            if (currentRecord == null) {
-                String resultId = bulkQueryService.nextResultId();
-                if (resultId != null) {
-                    bulkResultSet = bulkQueryService.getQueryResultSet(resultId);
-                    currentRecord = bulkResultSet.next();
+            boolean hasRow = bulkResultSet.nextRow();
+            while (!hasRow) {
+                BulkResultId result = bulkQueryService.nextResult();
+                if (result == null) {
+                    break;
                 }
+                bulkResultSet = bulkQueryService.getQueryResultSet(result);
+                hasRow = bulkResultSet.nextRow();
             }
-            return bulkQueryService.convertToRecord(currentRecord);
+            return hasRow ? bulkQueryService.convertToRecord(bulkResultSet) : null;
         } catch (ConnectionException e) {
             throw service.handleConnectionException(e);
         } catch (AsyncApiException e) {
@@ -128,6 +143,20 @@ public abstract class AbstractQueryEmitter implements Serializable {
         }
     }
 
+    /**
+     * Create a bulk query job for the query of this input and wait for its results.
+     */
+    BulkQueryService startBulkQuery() throws ConnectionException, AsyncApiException, InterruptedException {
+        final BulkConnection bulkConnection = service
+                .bulkConnect(inputConfig.getDataSet().getDataStore(),
+                        localConfiguration);
+        final BulkQueryService queryService = new BulkQueryService(bulkConnection, recordBuilderFactory, messages);
+        queryService.setChunkSize(inputConfig.getChunkSize());
+        queryService.setJobTimeOut(TimeUnit.SECONDS.toMillis(inputConfig.getJobTimeout()));
+        queryService.doBulkQuery(getModuleName(), getQuery());
+        return queryService;
+    }
+
     abstract String getQuery();
 
     abstract String getModuleName();
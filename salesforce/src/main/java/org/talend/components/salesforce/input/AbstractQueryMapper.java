@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.input;
+
+import static java.util.Collections.singletonList;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sforce.async.AsyncApiException;
+import com.sforce.ws.ConnectionException;
+
+import org.talend.components.salesforce.commons.BulkResultId;
+import org.talend.components.salesforce.service.BulkQueryService;
+import org.talend.components.salesforce.service.Messages;
+import org.talend.components.salesforce.service.SalesforceService;
+import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Run the bulk query once, then assign its result sets to workers.
+ * With PK chunking, Salesforce splits the query in batches by record id, each batch giving its own result sets.
+ * Size is estimated in result sets, so that the runner desired size is a number of result sets per worker.
+ * The query only runs when the mapper is split: the assessor can run on another copy of the mapper, and the number
+ * of result sets is unknown until then.
+ */
+@Slf4j
+public abstract class AbstractQueryMapper implements Serializable {
+
+    protected final SalesforceService service;
+
+    protected final LocalConfiguration localConfiguration;
+
+    protected final RecordBuilderFactory recordBuilderFactory;
+
+    protected final Messages messages;
+
+    /** result sets read by this mapper, all results of the query if null */
+    protected final List<BulkResultId> results;
+
+    /** results of the query, computed by split */
+    private transient List<BulkResultId> queryResults;
+
+    protected AbstractQueryMapper(final SalesforceService service, final LocalConfiguration localConfiguration,
+            final RecordBuilderFactory recordBuilderFactory, final Messages messages,
+            final List<BulkResultId> results) {
+        this.service = service;
+        this.localConfiguration = localConfiguration;
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.messages = messages;
+        this.results = results;
+    }
+
+    /**
+     * @return result sets of this mapper, 1 if the query didn't run yet so that split gives one result set per group.
+     */
+    protected long estimateResults() {
+        final List<BulkResultId> known = this.results == null ? this.queryResults : this.results;
+        return known == null ? 1L : Math.max(1L, known.size());
+    }
+
+    /**
+     * Group result sets of the query by bundles.
+     *
+     * @param bundles result sets per group.
+     * @return at least one group, empty if the query has no result.
+     */
+    protected List<List<BulkResultId>> groups(final long bundles) {
+        final List<List<BulkResultId>> groups = groups(this.getQueryResults(), bundles);
+        log.debug("Salesforce bulk query split in {} parts.", groups.size());
+        return groups;
+    }
+
+    static List<List<BulkResultId>> groups(final List<BulkResultId> all, final long bundles) {
+        if (all.isEmpty()) {
+            return singletonList(all);
+        }
+        final int size = (int) Math.max(1L, Math.min(bundles, all.size()));
+        final List<List<BulkResultId>> groups = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += size) {
+            groups.add(new ArrayList<>(all.subList(i, Math.min(i + size, all.size()))));
+        }
+        return groups;
+    }
+
+    /**
+     * @return result sets to read by a worker, null if the query is not run yet.
+     */
+    protected List<BulkResultId> getWorkerResults() {
+        return this.results == null ? this.queryResults : this.results;
+    }
+
+    private List<BulkResultId> getQueryResults() {
+        if (this.queryResults == null) {
+            try {
+                final BulkQueryService bulkQueryService = this.createEmitter(null).startBulkQuery();
+                this.queryResults = bulkQueryService.getQueryResults();
+                // no more batches are added, results stay available for workers.
+                bulkQueryService.closeJob();
+            } catch (ConnectionException e) {
+                throw service.handleConnectionException(e);
+            } catch (AsyncApiException e) {
+                throw new IllegalStateException(e.getExceptionMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return this.queryResults;
+    }
+
+    abstract AbstractQueryEmitter createEmitter(List<BulkResultId> emitterResults);
+}
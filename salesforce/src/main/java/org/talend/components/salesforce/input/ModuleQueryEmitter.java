@@ -18,40 +18,37 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.sforce.soap.partner.DescribeSObjectResult;
-import com.sforce.soap.partner.Field;
-import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.soap.partner.IDescribeSObjectResult;
+import com.sforce.soap.partner.IField;
 import com.sforce.soap.partner.fault.ApiFault;
 import com.sforce.ws.ConnectionException;
 
+import org.talend.components.salesforce.commons.BulkResultId;
 import org.talend.components.salesforce.configuration.InputModuleConfig;
 import org.talend.components.salesforce.dataset.ModuleDataSet;
 import org.talend.components.salesforce.service.Messages;
 import org.talend.components.salesforce.service.SalesforceService;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
-import org.talend.sdk.component.api.configuration.Option;
-import org.talend.sdk.component.api.input.Emitter;
+import org.talend.components.salesforce.service.operation.ConnectionFacade;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Read the result sets of a bulk query, all of them or the ones assigned by {@link ModuleQueryMapper}.
+ */
 @Slf4j
-@Version
-@Icon(value = Icon.IconType.CUSTOM, custom = "file-salesforce-input")
-@Emitter(name = "ModuleQueryInput")
 @Documentation("Salesforce module query input ")
 public class ModuleQueryEmitter extends AbstractQueryEmitter implements Serializable {
 
     private transient List<String> allModuleFields;
 
-    public ModuleQueryEmitter(@Option("configuration") final InputModuleConfig inputModuleConfig,
+    public ModuleQueryEmitter(final InputModuleConfig inputModuleConfig,
             final SalesforceService service,
             LocalConfiguration configuration, final RecordBuilderFactory recordBuilderFactory,
-            final Messages messages) {
-        super(inputModuleConfig, service, configuration, recordBuilderFactory, messages);
+            final Messages messages, final List<BulkResultId> results) {
+        super(inputModuleConfig, service, configuration, recordBuilderFactory, messages, results);
     }
 
     /**
@@ -111,13 +108,13 @@ public class ModuleQueryEmitter extends AbstractQueryEmitter implements Serializ
 
     private List<String> getAllModuleFields() {
         if (allModuleFields == null) {
-            DescribeSObjectResult describeSObjectResult;
+            IDescribeSObjectResult describeSObjectResult;
             try {
-                final PartnerConnection connection =
-                        service.connect(inputConfig.getDataSet().getDataStore(), localConfiguration);
-                describeSObjectResult = connection.describeSObject(getModuleName());
+                final ConnectionFacade connection =
+                        service.buildConnection(inputConfig.getDataSet().getDataStore(), localConfiguration);
+                describeSObjectResult = service.describeSObject(connection, getModuleName());
                 allModuleFields = new ArrayList<>();
-                for (Field field : describeSObjectResult.getFields()) {
+                for (IField field : describeSObjectResult.getFields()) {
                     // filter the invalid compound columns for salesforce bulk query api
                     if (!service.isSuppotedType(field)) {
                         continue;
@@ -15,32 +15,29 @@ package org.talend.components.salesforce.input;
 import java.io.Serializable;
 import java.util.List;
 
+import org.talend.components.salesforce.commons.BulkResultId;
 import org.talend.components.salesforce.configuration.InputSOQLConfig;
 import org.talend.components.salesforce.dataset.SOQLQueryDataSet;
 import org.talend.components.salesforce.service.Messages;
 import org.talend.components.salesforce.service.SalesforceService;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
-import org.talend.sdk.component.api.configuration.Option;
-import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Read the result sets of a bulk query, all of them or the ones assigned by {@link SOQLQueryMapper}.
+ */
 @Slf4j
-@Version
-@Icon(value = Icon.IconType.CUSTOM, custom = "file-salesforce-input")
-@Emitter(name = "SOQLQueryInput")
 @Documentation("Salesforce soql query input ")
 public class SOQLQueryEmitter extends AbstractQueryEmitter implements Serializable {
 
-    public SOQLQueryEmitter(@Option("configuration") final InputSOQLConfig inputSOQLConfig,
+    public SOQLQueryEmitter(final InputSOQLConfig inputSOQLConfig,
             final SalesforceService service,
             LocalConfiguration configuration, final RecordBuilderFactory recordBuilderFactory,
-            final Messages messages) {
-        super(inputSOQLConfig, service, configuration, recordBuilderFactory, messages);
+            final Messages messages, final List<BulkResultId> results) {
+        super(inputSOQLConfig, service, configuration, recordBuilderFactory, messages, results);
     }
 
     @Override
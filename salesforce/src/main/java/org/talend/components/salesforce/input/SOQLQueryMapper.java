@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.input;
+
+import static java.util.Collections.singletonList;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.talend.components.salesforce.commons.BulkResultId;
+import org.talend.components.salesforce.configuration.InputSOQLConfig;
+import org.talend.components.salesforce.service.Messages;
+import org.talend.components.salesforce.service.SalesforceService;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+@Version
+@Icon(value = Icon.IconType.CUSTOM, custom = "file-salesforce-input")
+@PartitionMapper(name = "SOQLQueryInput")
+@Documentation("Salesforce soql query input ")
+public class SOQLQueryMapper extends AbstractQueryMapper {
+
+    private final InputSOQLConfig configuration;
+
+    public SOQLQueryMapper(@Option("configuration") final InputSOQLConfig configuration,
+            final SalesforceService service, final LocalConfiguration localConfiguration,
+            final RecordBuilderFactory recordBuilderFactory, final Messages messages) {
+        this(configuration, service, localConfiguration, recordBuilderFactory, messages, null);
+    }
+
+    private SOQLQueryMapper(final InputSOQLConfig configuration, final SalesforceService service,
+            final LocalConfiguration localConfiguration, final RecordBuilderFactory recordBuilderFactory,
+            final Messages messages, final List<BulkResultId> results) {
+        super(service, localConfiguration, recordBuilderFactory, messages, results);
+        this.configuration = configuration;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        return this.estimateResults();
+    }
+
+    @Split
+    public List<SOQLQueryMapper> split(@PartitionSize final long bundles) {
+        if (this.results != null) {
+            return singletonList(this);
+        }
+        return this
+                .groups(bundles)
+                .stream()
+                .map((List<BulkResultId> group) -> new SOQLQueryMapper(this.configuration, this.service,
+                        this.localConfiguration, this.recordBuilderFactory, this.messages, group))
+                .collect(Collectors.toList());
+    }
+
+    @Emitter
+    public SOQLQueryEmitter createWorker() {
+        return this.createEmitter(this.getWorkerResults());
+    }
+
+    @Override
+    SOQLQueryEmitter createEmitter(final List<BulkResultId> emitterResults) {
+        return new SOQLQueryEmitter(this.configuration, this.service, this.localConfiguration,
+                this.recordBuilderFactory, this.messages, emitterResults);
+    }
+}
@@ -18,12 +18,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +42,7 @@ import com.sforce.async.QueryResultList;
 import com.sforce.soap.partner.IField;
 import com.sforce.ws.ConnectionException;
 
+import org.talend.components.salesforce.commons.BulkResultId;
 import org.talend.components.salesforce.commons.BulkResultSet;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
@@ -64,13 +64,8 @@ public class BulkQueryService {
 
     private static final String CHUNK_SIZE_PROPERTY_NAME = "chunkSize=";
 
-    private static final int MAX_BATCH_EXECUTION_TIME = 600 * 1000;
-
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
-
-    private static final SimpleDateFormat DATETIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'.000Z'");
-
-    private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("HH:mm:ss.SSS'Z'");
+    /** wait between checks of PK chunking batches, in milliseconds */
+    private static final int DEFAULT_CHUNK_SLEEP_TIME = 15 * 1000;
 
     private final String FILE_ENCODING = "UTF-8";
 
@@ -82,28 +77,31 @@ public class BulkQueryService {
 
     private Map<String, IField> fieldMap;
 
-    private List<BatchInfo> batchInfoList;
-
     private JobInfo job;
 
     private List<String> baseFileHeader;
 
     private ConcurrencyMode concurrencyMode = null;
 
-    private Iterator<String> queryResultIDs = null;
+    private List<BulkResultId> queryResults = Collections.emptyList();
+
+    private Iterator<BulkResultId> queryResultIterator = null;
     // Default : no timeout to wait until the job fails or is in success
 
     private boolean safetySwitch = true;
 
     private int chunkSize;
 
-    private int chunkSleepTime;
+    private int chunkSleepTime = DEFAULT_CHUNK_SLEEP_TIME;
 
     private long jobTimeOut;
 
     // pre build record schema
     private Schema recordSchema;
 
+    /** conversion of the rows of current result set, built on first row */
+    private BulkRecordConverter recordConverter;
+
     public BulkQueryService(final BulkConnection bulkConnection, final RecordBuilderFactory recordBuilderFactory,
             final Messages messages) {
         this.bulkConnection = bulkConnection;
@@ -185,17 +183,20 @@ public class BulkQueryService {
     }
 
     /**
-     * Get bulk resultset base on the resultId
+     * Get bulk resultset base on the result id
      */
-    public BulkResultSet getQueryResultSet(String resultId) throws AsyncApiException, IOException, ConnectionException {
+    public BulkResultSet getQueryResultSet(BulkResultId result)
+            throws AsyncApiException, IOException, ConnectionException {
         final com.csvreader.CsvReader baseFileReader = new com.csvreader.CsvReader(new BufferedReader(
-                new InputStreamReader(getQueryResultStream(job.getId(), batchInfoList.get(0).getId(), resultId),
+                new InputStreamReader(
+                        getQueryResultStream(result.getJobId(), result.getBatchId(), result.getResultId()),
                         FILE_ENCODING)),
                 ',');
         baseFileReader.setSafetySwitch(safetySwitch);
         if (baseFileReader.readRecord()) {
             baseFileHeader = Arrays.asList(baseFileReader.getValues());
         }
+        recordConverter = null;
         return new BulkResultSet(baseFileReader, baseFileHeader);
     }
 
@@ -322,25 +323,28 @@ public class BulkQueryService {
     private void retrieveResultsOfQuery(BatchInfo info)
             throws AsyncApiException, ConnectionException, InterruptedException {
 
+        Set<BulkResultId> resultSet = new LinkedHashSet<>();
         if (BatchStateEnum.Completed == info.getState()) {
             QueryResultList list = getQueryResultList(job.getId(), info.getId());
-            queryResultIDs = new HashSet<String>(Arrays.asList(list.getResult())).iterator();
-            this.batchInfoList = Collections.singletonList(info);
+            for (String resultId : list.getResult()) {
+                resultSet.add(new BulkResultId(job.getId(), info.getId(), resultId));
+            }
+            setQueryResults(new ArrayList<>(resultSet));
             return;
         }
         BatchInfoList batchInfoList = null;
-        Set<String> resultSet = new HashSet<>();
         boolean isInProgress = true;
         while (isInProgress) {
             batchInfoList = getBatchInfoList(job.getId());
             isInProgress = isJobBatchesInProgress(batchInfoList, info);
             if (isInProgress) {
                 Thread.sleep(chunkSleepTime);
-                long processingTime = System.currentTimeMillis() - job.getCreatedDate().getTimeInMillis();
-                if (processingTime > MAX_BATCH_EXECUTION_TIME) {
-                    // Break processing and return processed data if any batch was processed.
-                    log.warn(messagesI18n.warnBatchTimeout());
-                    break;
+                // reading the completed batches only would silently return a part of the data.
+                if (jobTimeOut > 0) { // if 0, wait until all batches are processed
+                    long processingTime = System.currentTimeMillis() - job.getCreatedDate().getTimeInMillis();
+                    if (processingTime > jobTimeOut) {
+                        throw new IllegalStateException(messagesI18n.warnBatchTimeout() + ": " + job.getId());
+                    }
                 }
             }
         }
@@ -348,11 +352,11 @@ public class BulkQueryService {
             if (batch.getId().equals(info.getId())) {
                 continue;
             }
-            resultSet.addAll(Arrays.asList(getQueryResultList(job.getId(), batch.getId()).getResult()));
+            for (String resultId : getQueryResultList(job.getId(), batch.getId()).getResult()) {
+                resultSet.add(new BulkResultId(job.getId(), batch.getId(), resultId));
+            }
         }
-
-        queryResultIDs = resultSet.iterator();
-        this.batchInfoList = Arrays.asList(batchInfoList.getBatchInfo());
+        setQueryResults(new ArrayList<>(resultSet));
     }
 
     /**
@@ -399,12 +403,49 @@ public class BulkQueryService {
     /**
      * Get next result Id
      */
-    public String nextResultId() {
-        String resultId = null;
-        if (queryResultIDs != null && queryResultIDs.hasNext()) {
-            resultId = queryResultIDs.next();
+    public BulkResultId nextResult() {
+        BulkResultId result = null;
+        if (queryResultIterator != null && queryResultIterator.hasNext()) {
+            result = queryResultIterator.next();
         }
-        return resultId;
+        return result;
+    }
+
+    /**
+     * Result sets of the query, available once the job batches are completed.
+     */
+    public List<BulkResultId> getQueryResults() {
+        return queryResults;
+    }
+
+    /**
+     * Read given result sets, of a job created by another service, instead of running a query.
+     */
+    public void setQueryResults(List<BulkResultId> queryResults) {
+        this.queryResults = queryResults;
+        this.queryResultIterator = queryResults.iterator();
+    }
+
+    /**
+     * Max time to wait for the job, the query fails when it is exceeded.
+     *
+     * @param jobTimeOut - in milliseconds, 0 waits until the job completes or fails.
+     */
+    public void setJobTimeOut(long jobTimeOut) {
+        this.jobTimeOut = jobTimeOut;
+    }
+
+    void setChunkSleepTime(int chunkSleepTime) {
+        this.chunkSleepTime = chunkSleepTime;
+    }
+
+    /**
+     * Enable PK chunking, the query is split in batches of chunkSize records by record id.
+     *
+     * @param chunkSize - records per batch, 0 disables PK chunking.
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
     }
 
     /**
@@ -414,6 +455,10 @@ public class BulkQueryService {
      * @throws ConnectionException
      */
     public void closeJob() throws AsyncApiException, ConnectionException {
+        if (job == null) {
+            // results of a job created elsewhere.
+            return;
+        }
         JobInfo closeJob = new JobInfo();
         closeJob.setId(job.getId());
         closeJob.setState(JobStateEnum.Closed);
@@ -432,78 +477,22 @@ public class BulkQueryService {
     }
 
     /**
-     * Convert result to record
+     * Convert current row of result set to record
      */
-    public Record convertToRecord(Map<String, String> result) throws IOException {
-        if (result == null) {
-            return null;
-        }
-        Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder(recordSchema);
-        for (Schema.Entry fieldEntry : recordSchema.getEntries()) {
-            String columnName = fieldEntry.getName();
-            String resultValue = result.get(columnName);
-            if (resultValue == null) {
-                // for query module with filed name: "Contact.Name" from Contact
-                // guess schema: "Contact_Name", result mapping is with value of "Name", instead of "Contact_Name"
-                resultValue = result.get(columnName.substring(columnName.indexOf("_") + 1));
-            }
-            addField(recordBuilder, columnName, resultValue);
+    public Record convertToRecord(BulkResultSet resultSet) throws IOException {
+        if (recordConverter == null) {
+            recordConverter = new BulkRecordConverter(baseFileHeader, recordSchema, fieldMap, recordBuilderFactory);
         }
-        return recordBuilder.build();
+        return recordConverter.convert(resultSet);
     }
 
     public void setFieldMap(Map<String, IField> fieldMap) {
         this.fieldMap = fieldMap;
-    }
-
-    /**
-     * Add field to record
-     */
-    private void addField(final Record.Builder builder, String fieldName, final String value) throws IOException {
-        if (value == null || value.isEmpty()) {
-            return;
-        }
-        try {
-            // Get field from module field mapping, if null means not a field of module
-            IField field = fieldMap.get(fieldName);
-            if (field != null) {
-                switch (field.getType()) {
-                case _boolean:
-                    builder.withBoolean(field.getName(), Boolean.valueOf(value));
-                    break;
-                case _double:
-                case percent:
-                case currency:
-                    builder.withDouble(field.getName(), Double.parseDouble(value));
-                    break;
-                case _int:
-                    builder.withInt(field.getName(), Integer.valueOf(value));
-                    break;
-                case date:
-                    builder.withDateTime(field.getName(), DATE_FORMAT.parse(value));
-                    break;
-                case datetime:
-                    builder.withTimestamp(field.getName(), DATETIME_FORMAT.parse(value).getTime());
-                    break;
-                case time:
-                    builder.withTimestamp(field.getName(), TIME_FORMAT.parse(value).getTime());
-                    break;
-                case base64:
-                default:
-                    builder.withString(field.getName(), value);
-                    break;
-                }
-            } else {
-                // if field not exist in the field mapping of module, put string type as default
-                builder.withString(fieldName, value);
-            }
-        } catch (ParseException e) {
-            // TODO
-            throw new IOException(e);
-        }
+        this.recordConverter = null;
     }
 
     public void setRecordSchema(Schema recordSchema) {
         this.recordSchema = recordSchema;
+        this.recordConverter = null;
     }
 }
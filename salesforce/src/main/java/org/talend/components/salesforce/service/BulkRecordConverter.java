@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.sforce.soap.partner.IField;
+
+import org.talend.components.salesforce.commons.BulkResultSet;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Convert rows of a bulk query result to records.
+ * Schema entries are bound once to their column index and value converter, rows are then read by index.
+ */
+class BulkRecordConverter {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final DateTimeFormatter DATETIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'.000Z'");
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS'Z'");
+
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private final Schema recordSchema;
+
+    /** column index of each schema entry, -1 if not in result */
+    private final int[] columns;
+
+    private final FieldSetter[] setters;
+
+    /** dates are read in the JVM time zone */
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    BulkRecordConverter(final List<String> header, final Schema recordSchema, final Map<String, IField> fieldMap,
+            final RecordBuilderFactory recordBuilderFactory) {
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.recordSchema = recordSchema;
+
+        final Map<String, Integer> indexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < header.size(); i++) {
+            // relationShip Queries use . in Salesforce and _ in Talend, so Account.Name is Account_Name
+            indexes.put(header.get(i).replace('.', '_'), i);
+        }
+        final List<Schema.Entry> entries = recordSchema.getEntries();
+        this.columns = new int[entries.size()];
+        this.setters = new FieldSetter[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            final String columnName = entries.get(i).getName();
+            Integer index = indexes.get(columnName);
+            if (index == null) {
+                // for query module with filed name: "Contact.Name" from Contact
+                // guess schema: "Contact_Name", result mapping is with value of "Name", instead of "Contact_Name"
+                index = indexes.get(columnName.substring(columnName.indexOf("_") + 1));
+            }
+            this.columns[i] = index == null ? -1 : index;
+            this.setters[i] = this.setter(columnName, fieldMap == null ? null : fieldMap.get(columnName));
+        }
+    }
+
+    /**
+     * Convert current row of the result set.
+     */
+    Record convert(final BulkResultSet resultSet) throws IOException {
+        final Record.Builder builder = recordBuilderFactory.newRecordBuilder(recordSchema);
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] < 0) {
+                    continue;
+                }
+                final String value = resultSet.getValue(columns[i]);
+                if (value != null && !value.isEmpty()) {
+                    setters[i].set(builder, value);
+                }
+            }
+        } catch (DateTimeParseException e) {
+            throw new IOException(e);
+        }
+        return builder.build();
+    }
+
+    private FieldSetter setter(final String columnName, final IField field) {
+        if (field == null) {
+            // if field not exist in the field mapping of module, put string type as default
+            return (builder, value) -> builder.withString(columnName, value);
+        }
+        final String name = field.getName();
+        switch (field.getType()) {
+        case _boolean:
+            return (builder, value) -> builder.withBoolean(name, Boolean.valueOf(value));
+        case _double:
+        case percent:
+        case currency:
+            return (builder, value) -> builder.withDouble(name, Double.parseDouble(value));
+        case _int:
+            return (builder, value) -> builder.withInt(name, Integer.parseInt(value));
+        case date:
+            return (builder, value) -> builder
+                    .withDateTime(name, Date.from(LocalDate.parse(value, DATE_FORMAT).atStartOfDay(zone).toInstant()));
+        case datetime:
+            return (builder, value) -> builder
+                    .withTimestamp(name,
+                            LocalDateTime.parse(value, DATETIME_FORMAT).atZone(zone).toInstant().toEpochMilli());
+        case time:
+            return (builder, value) -> builder
+                    .withTimestamp(name,
+                            LocalTime.parse(value, TIME_FORMAT).atDate(EPOCH).atZone(zone).toInstant().toEpochMilli());
+        case base64:
+        default:
+            return (builder, value) -> builder.withString(name, value);
+        }
+    }
+
+    private interface FieldSetter {
+
+        void set(Record.Builder builder, String value);
+    }
+}
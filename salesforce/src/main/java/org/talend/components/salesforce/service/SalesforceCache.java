@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.sforce.soap.partner.IDescribeSObjectResult;
+import com.sforce.ws.ConnectionException;
+
+import lombok.Value;
+
+/**
+ * Cache of authenticated sessions, keyed by endpoint and credentials, and of describe results, keyed by service
+ * endpoint (organization and API version), user and module. Entries expire after a TTL.
+ * A cached session that became invalid is renewed by the connection session renewer, which updates the cache.
+ */
+public class SalesforceCache {
+
+    /** session time to live in milliseconds, 0 disables the cache */
+    public static final String SESSION_TTL_PROPERTY = "talend.salesforce.session.cache.ttl";
+
+    /** describe results time to live in milliseconds, 0 disables the cache */
+    public static final String DESCRIBE_TTL_PROPERTY = "talend.salesforce.describe.cache.ttl";
+
+    private static final long DEFAULT_SESSION_TTL = TimeUnit.MINUTES.toMillis(30);
+
+    private static final long DEFAULT_DESCRIBE_TTL = TimeUnit.MINUTES.toMillis(10);
+
+    private final long sessionTTL;
+
+    private final long describeTTL;
+
+    private final Map<String, Entry<Session>> sessions = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry<IDescribeSObjectResult>> describes = new ConcurrentHashMap<>();
+
+    /** one lock per key, so that concurrent components login or describe once */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        T load() throws ConnectionException;
+    }
+
+    public SalesforceCache() {
+        this(Long.getLong(SESSION_TTL_PROPERTY, DEFAULT_SESSION_TTL),
+                Long.getLong(DESCRIBE_TTL_PROPERTY, DEFAULT_DESCRIBE_TTL));
+    }
+
+    SalesforceCache(final long sessionTTL, final long describeTTL) {
+        this.sessionTTL = sessionTTL;
+        this.describeTTL = describeTTL;
+    }
+
+    /**
+     * Get an authenticated session.
+     *
+     * @param key session key, see {@link #sessionKey(String, String, String)}
+     * @param login login when no session is cached
+     * @return session
+     */
+    public Session getSession(final String key, final Loader<Session> login) throws ConnectionException {
+        return this.get(this.sessions, "session|" + key, this.sessionTTL, login);
+    }
+
+    /**
+     * Replace a session, after it has been renewed.
+     *
+     * @param key session key
+     * @param session new session
+     */
+    public void putSession(final String key, final Session session) {
+        if (this.sessionTTL > 0) {
+            this.sessions.put("session|" + key, new Entry<>(session, System.currentTimeMillis() + this.sessionTTL));
+        }
+    }
+
+    /**
+     * Get the describe result of a module.
+     *
+     * @param key connection key, service endpoint and user
+     * @param moduleName module name
+     * @param describe describe module when not cached
+     * @return describe result
+     */
+    public IDescribeSObjectResult getDescribe(final String key, final String moduleName,
+            final Loader<IDescribeSObjectResult> describe) throws ConnectionException {
+        return this.get(this.describes, "describe|" + key + '|' + moduleName, this.describeTTL, describe);
+    }
+
+    private <T> T get(final Map<String, Entry<T>> cache, final String key, final long ttl, final Loader<T> load)
+            throws ConnectionException {
+        if (ttl <= 0) {
+            return load.load();
+        }
+        Entry<T> entry = cache.get(key);
+        if (entry != null && entry.isFresh()) {
+            return entry.value;
+        }
+        synchronized (this.locks.computeIfAbsent(key, k -> new Object())) {
+            entry = cache.get(key);
+            if (entry == null || !entry.isFresh()) {
+                entry = new Entry<>(load.load(), System.currentTimeMillis() + ttl);
+                cache.put(key, entry);
+            }
+            return entry.value;
+        }
+    }
+
+    /**
+     * Key of a session, credentials are hashed so that the key doesn't hold the password.
+     */
+    public static String sessionKey(final String endpoint, final String userName, final String password) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] hash = digest.digest(String.valueOf(password).getBytes(StandardCharsets.UTF_8));
+            return endpoint + '|' + userName + '|' + Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Value
+    public static class Session {
+
+        String sessionId;
+
+        String serviceEndpoint;
+    }
+
+    private static class Entry<T> {
+
+        private final T value;
+
+        private final long expiresAt;
+
+        Entry(final T value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
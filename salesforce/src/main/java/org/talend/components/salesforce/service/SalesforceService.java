@@ -60,6 +60,8 @@ public class SalesforceService {
 
     private static final int DEFAULT_TIMEOUT = 60000;
 
+    private final SalesforceCache cache = new SalesforceCache();
+
     public static String guessModuleName(String soqlQuery) {
         SoqlQuery query = SoqlQuery.getInstance();
         query.init(soqlQuery);
@@ -107,6 +109,8 @@ public class SalesforceService {
         config.setUseChunkedPost(true);
         config.setValidateSchema(false);
 
+        final String sessionKey = SalesforceCache.sessionKey(endpoint, config.getUsername(), password);
+
         // Notes on how to test this
         // http://thysmichels.com/2014/02/15/salesforce-wsc-partner-connection-session-renew-when-session-timeout/
         config.setSessionRenewer(connectorConfig -> {
@@ -117,6 +121,9 @@ public class SalesforceService {
             connection = new PartnerConnection(connectorConfig);
             header.name = new QName("urn:partner.soap.sforce.com", "SessionHeader");
             header.headerElement = connection.getSessionHeader();
+            // components sharing the expired session will use the renewed one.
+            cache.putSession(sessionKey,
+                    new SalesforceCache.Session(connectorConfig.getSessionId(), connectorConfig.getServiceEndpoint()));
             log.debug("session renewed!");
             return header;
         });
@@ -127,7 +134,15 @@ public class SalesforceService {
         // Need to discard manual login parameter in configs to avoid execution errors.
         config.setManualLogin(false);
         if (null == config.getSessionId()) {
-            performLogin(config, connection);
+            final SalesforceCache.Session session = cache.getSession(sessionKey, () -> {
+                performLogin(config, connection);
+                return new SalesforceCache.Session(config.getSessionId(), config.getServiceEndpoint());
+            });
+            if (null == config.getSessionId()) { // session of another component.
+                config.setSessionId(session.getSessionId());
+                config.setServiceEndpoint(session.getServiceEndpoint());
+                connection.setSessionHeader(session.getSessionId());
+            }
         }
         return connection;
     }
@@ -310,7 +325,7 @@ public class SalesforceService {
 
     public Map<String, IField> getFieldMap(final ConnectionFacade connection, String moduleName) {
         try {
-            IDescribeSObjectResult module = connection.describeSObject(moduleName);
+            IDescribeSObjectResult module = this.describeSObject(connection, moduleName);
             Map<String, IField> fieldMap = new TreeMap<>();
             for (IField field : module.getFields()) {
                 fieldMap.put(field.getName(), field);
@@ -322,6 +337,18 @@ public class SalesforceService {
         }
     }
 
+    /**
+     * Describe a module, the result is shared by the connections of same organization, API version and user.
+     */
+    public IDescribeSObjectResult describeSObject(final ConnectionFacade connection, final String moduleName)
+            throws ConnectionException {
+        final String key = connection.getCacheKey();
+        if (key == null) {
+            return connection.describeSObject(moduleName);
+        }
+        return cache.getDescribe(key, moduleName, () -> connection.describeSObject(moduleName));
+    }
+
     /**
      * Retrieve module field map, filed name with filed
      */
@@ -329,7 +356,7 @@ public class SalesforceService {
             final LocalConfiguration localConfiguration) {
         try {
             final ConnectionFacade connection = this.buildConnection(dataStore, localConfiguration);
-            final IDescribeSObjectResult module = connection.describeSObject(moduleName);
+            final IDescribeSObjectResult module = this.describeSObject(connection, moduleName);
             List<String> fieldNameList = new ArrayList<>();
             for (IField field : module.getFields()) {
                 if (isSuppotedType(field)) {
@@ -37,6 +37,13 @@ public interface ConnectionFacade {
         return null;
     }
 
+    /**
+     * @return key shared by connections of same organization, API version and user, null if results can't be cached.
+     */
+    default String getCacheKey() {
+        return null;
+    }
+
     @RequiredArgsConstructor
     class ConnectionImpl implements ConnectionFacade {
 
@@ -66,5 +73,11 @@ public interface ConnectionFacade {
         public IDescribeSObjectResult describeSObject(String sObjectType) throws ConnectionException {
             return this.connection.describeSObject(sObjectType);
         }
+
+        @Override
+        public String getCacheKey() {
+            // service endpoint holds API version and organization id.
+            return this.connection.getConfig().getServiceEndpoint() + '|' + this.connection.getConfig().getUsername();
+        }
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.input;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.salesforce.commons.BulkResultId;
+import org.talend.components.salesforce.configuration.InputModuleConfig;
+
+class QueryMapperTest {
+
+    @Test
+    void groupResults() {
+        final List<BulkResultId> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(new BulkResultId("job", "batch" + i, "result" + i));
+        }
+
+        final List<List<BulkResultId>> pairs = AbstractQueryMapper.groups(results, 2L);
+        Assertions.assertEquals(3, pairs.size());
+        Assertions.assertEquals(results.subList(0, 2), pairs.get(0));
+        Assertions.assertEquals(results.subList(4, 5), pairs.get(2));
+
+        Assertions.assertEquals(5, AbstractQueryMapper.groups(results, 0L).size());
+        Assertions.assertEquals(1, AbstractQueryMapper.groups(results, 100L).size());
+    }
+
+    @Test
+    void noResult() {
+        final List<List<BulkResultId>> groups = AbstractQueryMapper.groups(Collections.emptyList(), 2L);
+        Assertions.assertEquals(1, groups.size());
+        Assertions.assertTrue(groups.get(0).isEmpty());
+    }
+
+    @Test
+    void estimateWithoutRunningQuery() {
+        // no service: the query would fail if it ran.
+        final ModuleQueryMapper mapper = new ModuleQueryMapper(new InputModuleConfig(), null, null, null, null);
+        Assertions.assertEquals(1L, mapper.estimateSize());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.service;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.util.Calendar;
+
+import com.sforce.async.BatchInfo;
+import com.sforce.async.BatchInfoList;
+import com.sforce.async.BatchStateEnum;
+import com.sforce.async.BulkConnection;
+import com.sforce.async.JobInfo;
+import com.sforce.async.QueryResultList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkQueryServiceTest {
+
+    private final BulkConnection connection = mock(BulkConnection.class);
+
+    private final BatchInfo query = batch("query", BatchStateEnum.NotProcessed);
+
+    private BulkQueryService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final JobInfo job = new JobInfo();
+        job.setId("job");
+        final Calendar created = Calendar.getInstance();
+        created.add(Calendar.HOUR, -1);
+        job.setCreatedDate(created);
+        when(connection.createJob(any(JobInfo.class))).thenReturn(job);
+        when(connection.createBatchFromStream(any(JobInfo.class), any(InputStream.class))).thenReturn(query);
+        when(connection.getBatchInfo("job", "query")).thenReturn(query);
+
+        service = new BulkQueryService(connection, null, mock(Messages.class));
+        service.setChunkSize(1000);
+        service.setChunkSleepTime(10);
+    }
+
+    @Test
+    void readResultsOfAllChunks() throws Exception {
+        batches(batch("chunk1", BatchStateEnum.Completed), batch("chunk2", BatchStateEnum.Completed));
+        when(connection.getQueryResultList("job", "chunk1")).thenReturn(results("r1"));
+        when(connection.getQueryResultList("job", "chunk2")).thenReturn(results("r2", "r3"));
+
+        service.doBulkQuery("Account", "SELECT Id FROM Account");
+
+        Assertions.assertEquals(3, service.getQueryResults().size());
+        Assertions.assertEquals("chunk2", service.getQueryResults().get(2).getBatchId());
+    }
+
+    @Test
+    void failWhenChunksAreNotProcessedInTime() {
+        batches(batch("chunk1", BatchStateEnum.Completed), batch("chunk2", BatchStateEnum.InProgress));
+        service.setJobTimeOut(1000L);
+
+        Assertions
+                .assertThrows(IllegalStateException.class,
+                        () -> service.doBulkQuery("Account", "SELECT Id FROM Account"));
+    }
+
+    private void batches(final BatchInfo... chunks) {
+        final BatchInfo[] all = new BatchInfo[chunks.length + 1];
+        all[0] = query;
+        System.arraycopy(chunks, 0, all, 1, chunks.length);
+        final BatchInfoList list = new BatchInfoList();
+        list.setBatchInfo(all);
+        try {
+            when(connection.getBatchInfoList("job")).thenReturn(list);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BatchInfo batch(final String id, final BatchStateEnum state) {
+        final BatchInfo batch = new BatchInfo();
+        batch.setId(id);
+        batch.setState(state);
+        return batch;
+    }
+
+    private static QueryResultList results(final String... ids) {
+        final QueryResultList list = new QueryResultList();
+        list.setResult(ids);
+        return list;
+    }
+}
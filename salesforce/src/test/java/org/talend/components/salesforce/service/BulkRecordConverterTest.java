@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.csvreader.CsvReader;
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import com.sforce.soap.partner.IField;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.salesforce.commons.BulkResultSet;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class BulkRecordConverterTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void convertRowsByColumn() throws IOException {
+        final Map<String, IField> fieldMap = new HashMap<>();
+        fieldMap.put("Id", this.newField(FieldType.id, "Id"));
+        fieldMap.put("Amount", this.newField(FieldType.currency, "Amount"));
+        fieldMap.put("Count", this.newField(FieldType._int, "Count"));
+        fieldMap.put("Active", this.newField(FieldType._boolean, "Active"));
+        fieldMap.put("CloseDate", this.newField(FieldType.date, "CloseDate"));
+        fieldMap.put("CreatedDate", this.newField(FieldType.datetime, "CreatedDate"));
+        final Schema schema = this.factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(this.entry("Id", Schema.Type.STRING))
+                .withEntry(this.entry("Amount", Schema.Type.DOUBLE))
+                .withEntry(this.entry("Count", Schema.Type.INT))
+                .withEntry(this.entry("Active", Schema.Type.BOOLEAN))
+                .withEntry(this.entry("CloseDate", Schema.Type.DATETIME))
+                .withEntry(this.entry("CreatedDate", Schema.Type.DATETIME))
+                .withEntry(this.entry("Account_Name", Schema.Type.STRING))
+                .withEntry(this.entry("Missing", Schema.Type.STRING))
+                .build();
+        final List<String> header = Arrays
+                .asList("ID", "Amount", "Count", "Active", "CloseDate", "CreatedDate", "Account.Name");
+        final BulkResultSet resultSet = this.resultSet("a1,12.5,3,true,2020-02-29,2020-02-29T10:11:12.000Z,Acme\n"
+                + "a2,,,,,,\n");
+
+        final BulkRecordConverter converter = new BulkRecordConverter(header, schema, fieldMap, this.factory);
+
+        Assertions.assertTrue(resultSet.nextRow());
+        final Record first = converter.convert(resultSet);
+        Assertions.assertEquals("a1", first.getString("Id"));
+        Assertions.assertEquals(12.5d, first.getDouble("Amount"));
+        Assertions.assertEquals(3, first.getInt("Count"));
+        Assertions.assertTrue(first.getBoolean("Active"));
+        Assertions.assertEquals(LocalDate.of(2020, 2, 29).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                first.getDateTime("CloseDate").toInstant());
+        Assertions.assertEquals(LocalDateTime.of(2020, 2, 29, 10, 11, 12).atZone(ZoneId.systemDefault()).toInstant(),
+                first.getDateTime("CreatedDate").toInstant());
+        Assertions.assertEquals("Acme", first.getString("Account_Name"));
+        Assertions.assertNull(first.getString("Missing"));
+
+        Assertions.assertTrue(resultSet.nextRow());
+        final Record second = converter.convert(resultSet);
+        Assertions.assertEquals("a2", second.getString("Id"));
+        Assertions.assertNull(second.getString("Account_Name"));
+
+        Assertions.assertFalse(resultSet.nextRow());
+    }
+
+    @Test
+    void invalidDate() {
+        final Map<String, IField> fieldMap = new HashMap<>();
+        fieldMap.put("CloseDate", this.newField(FieldType.date, "CloseDate"));
+        final Schema schema = this.factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(this.entry("CloseDate", Schema.Type.DATETIME))
+                .build();
+        final BulkResultSet resultSet = this.resultSet("29/02/2020\n");
+        final BulkRecordConverter converter =
+                new BulkRecordConverter(Arrays.asList("CloseDate"), schema, fieldMap, this.factory);
+
+        Assertions.assertTrue(resultSet.nextRow());
+        Assertions.assertThrows(IOException.class, () -> converter.convert(resultSet));
+    }
+
+    private BulkResultSet resultSet(final String rows) {
+        final CsvReader reader = new CsvReader(new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)), ',',
+                StandardCharsets.UTF_8);
+        return new BulkResultSet(reader, null);
+    }
+
+    private Schema.Entry entry(final String name, final Schema.Type type) {
+        return this.factory.newEntryBuilder().withName(name).withType(type).withNullable(true).build();
+    }
+
+    private IField newField(final FieldType type, final String name) {
+        final Field field = new Field();
+        field.setType(type);
+        field.setName(name);
+        return field;
+    }
+}
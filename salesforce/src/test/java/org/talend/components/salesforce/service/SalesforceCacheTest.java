@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2006-2024 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sforce.soap.partner.DescribeSObjectResult;
+import com.sforce.soap.partner.IDescribeSObjectResult;
+import com.sforce.ws.ConnectionException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SalesforceCacheTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void sessionIsSharedAndRenewed() throws ConnectionException {
+        final SalesforceCache cache = new SalesforceCache(TimeUnit.MINUTES.toMillis(1), 0);
+        final String key = SalesforceCache.sessionKey("https://login.salesforce.com", "user", "pwd");
+        final SalesforceCache.Loader<SalesforceCache.Session> login = () -> new SalesforceCache.Session(
+                "session" + calls.incrementAndGet(), "https://org.my.salesforce.com/services/Soap/u/57.0/00D");
+
+        Assertions.assertEquals("session1", cache.getSession(key, login).getSessionId());
+        Assertions.assertEquals("session1", cache.getSession(key, login).getSessionId());
+        Assertions.assertEquals(1, calls.get());
+
+        cache.putSession(key, new SalesforceCache.Session("renewed", "https://org.my.salesforce.com"));
+        Assertions.assertEquals("renewed", cache.getSession(key, login).getSessionId());
+
+        final String otherPassword = SalesforceCache.sessionKey("https://login.salesforce.com", "user", "pwd2");
+        Assertions.assertFalse(otherPassword.contains("pwd"));
+        Assertions.assertEquals("session2", cache.getSession(otherPassword, login).getSessionId());
+    }
+
+    @Test
+    void describeIsCachedByModule() throws ConnectionException {
+        final SalesforceCache cache = new SalesforceCache(0, TimeUnit.MINUTES.toMillis(1));
+        final SalesforceCache.Loader<IDescribeSObjectResult> describe = () -> {
+            calls.incrementAndGet();
+            return new DescribeSObjectResult();
+        };
+
+        final IDescribeSObjectResult account = cache.getDescribe("endpoint|user", "Account", describe);
+        Assertions.assertSame(account, cache.getDescribe("endpoint|user", "Account", describe));
+        cache.getDescribe("endpoint|user", "Contact", describe);
+        cache.getDescribe("endpoint2|user", "Account", describe);
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    void disabledWithoutTTL() throws ConnectionException {
+        final SalesforceCache cache = new SalesforceCache(0, 0);
+        final SalesforceCache.Loader<SalesforceCache.Session> login =
+                () -> new SalesforceCache.Session("session" + calls.incrementAndGet(), "endpoint");
+
+        cache.getSession("key", login);
+        cache.getSession("key", login);
+        Assertions.assertEquals(2, calls.get());
+    }
+}
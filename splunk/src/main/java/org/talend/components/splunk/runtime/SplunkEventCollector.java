@@ -16,10 +16,20 @@ import java.io.StringReader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.annotation.PreDestroy;
@@ -29,7 +39,9 @@ import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 
 import org.talend.components.common.httpclient.api.BodyFormat;
+import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.http.configuration.Dataset;
 import org.talend.components.http.configuration.Datastore;
 import org.talend.components.http.configuration.Param;
@@ -38,6 +50,7 @@ import org.talend.components.http.configuration.RequestConfig;
 import org.talend.components.http.output.AbstractHTTPOutput;
 import org.talend.components.http.service.I18n;
 import org.talend.components.http.service.httpClient.HTTPClientService;
+import org.talend.components.http.service.httpClient.HostRateLimiter;
 import org.talend.components.splunk.service.SplunkMessages;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.ReturnVariables;
@@ -66,14 +79,39 @@ import static org.talend.sdk.component.api.component.ReturnVariables.ReturnVaria
 @Icon(value = Icon.IconType.CUSTOM, custom = "splunk-event-collector")
 @ReturnVariables.ReturnVariable(value = RESPONSE_CODE_AFTER_VARIABLE_KEY, availability = AFTER,
         description = "Response code", type = Integer.class)
-@Documentation("Splunk event collector.")
+@Documentation("Splunk event collector, events are sent in gzipped requests of bounded size, several at a time.")
 public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollectorProperties> {
 
     protected static final String RESPONSE_CODE_AFTER_VARIABLE_KEY = "RESPONSE_CODE";
 
+    static final String EVENT_RESOURCE = "services/collector";
+
+    static final String ACK_RESOURCE = "services/collector/ack";
+
+    static final String CHANNEL_HEADER = "X-Splunk-Request-Channel";
+
+    /** wait between 2 acknowledgment queries, in millisecond */
+    private static final long ACK_POLL_INTERVAL = 1000L;
+
     private final transient SplunkMessages splunkI18N;
 
-    private Collection<Record> bulk;
+    private final SplunkEventCollectorProperties properties;
+
+    /** events of the next request, one JSON object per line */
+    private transient StringBuilder batch;
+
+    /** size of the next request body, in bytes */
+    private transient int batchSize;
+
+    private transient ExecutorService executor;
+
+    /** requests sent, oldest first */
+    private transient Deque<Future<HTTPClient.HTTPResponse>> inFlight;
+
+    /** ack ids of the requests not yet acknowledged */
+    private transient Set<Long> pendingAcks;
+
+    private transient HTTPClient.HTTPResponse lastResponse;
 
     @RuntimeContext
     private transient RuntimeContextHolder context;
@@ -82,29 +120,47 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
             final HTTPClientService client, final I18n i18n, final SplunkMessages splunkI18N) {
         super(config, client, i18n);
         this.splunkI18N = splunkI18N;
+        this.properties = config;
     }
 
     @Override
     protected RequestConfig translateConfiguration(SplunkEventCollectorProperties config) {
+        List<Param> headers = new ArrayList<>();
+        headers.add(new Param("Authorization", "Splunk " + config.getDataset().getDatastore().getToken()));
+        if (config.isUseAck()) {
+            String channel = config.getAckChannel() == null || config.getAckChannel().trim().isEmpty()
+                    ? UUID.randomUUID().toString()
+                    : config.getAckChannel().trim();
+            headers.add(new Param(CHANNEL_HEADER, channel));
+        }
+        return buildRequestConfig(config, EVENT_RESOURCE, headers, config.isCompress());
+    }
+
+    private static RequestConfig buildRequestConfig(SplunkEventCollectorProperties config, String resource,
+            List<Param> headers, boolean compress) {
+        String serverURL = config.getDataset().getDatastore().getServerURL();
         RequestConfig requestConfig = new RequestConfig();
 
         Dataset requestConfigDataset = new Dataset();
         Datastore requestConfigDatastore = new Datastore();
-        requestConfigDatastore.setBase(config.getDataset().getDatastore().getServerURL());
+        requestConfigDatastore.setBase(serverURL);
 
         requestConfigDataset.setDatastore(requestConfigDatastore);
         requestConfigDataset.setHasHeaders(true);
-        requestConfigDataset.setHeaders(Collections.singletonList(new Param("Authorization",
-                "Splunk " + config.getDataset().getDatastore().getToken())));
+        requestConfigDataset.setHeaders(headers);
         requestConfigDataset.setMethodType("POST");
-        requestConfigDataset.setResource("services/collector");
+        requestConfigDataset.setResource(resource);
 
         requestConfigDataset.setHasBody(true);
         RequestBody requestBody = new RequestBody();
         requestBody.setType(BodyFormat.JSON);
 
         requestConfigDataset.setBody(requestBody);
+        requestConfigDataset.setCompressBody(compress);
         requestConfig.setDieOnError(false);
+        requestConfig.setMaxRequestsPerSecond(config.getMaxRequestsPerSecond());
+        requestConfig.setMaxRetries(config.getMaxRetries());
+        requestConfig.setRetryBackoff(config.getRetryBackoff());
         requestConfig.setDataset(requestConfigDataset);
 
         return requestConfig;
@@ -112,36 +168,164 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
 
     @BeforeGroup
     public void startBulk() {
-        bulk = new ArrayList<>();
+        batch = new StringBuilder();
+        batchSize = 0;
+        inFlight = new ArrayDeque<>();
+        pendingAcks = new HashSet<>();
     }
 
     @Override
     @ElementListener
     public void process(Record input) {
-        bulk.add(input);
+        String event = convertRecordToJsonObjectBody(input).toString() + System.lineSeparator();
+        int eventSize = utf8Length(event);
+        if (batchSize > 0 && batchSize + eventSize > properties.getMaxBatchSize()) {
+            sendBatch();
+        }
+        batch.append(event);
+        batchSize += eventSize;
     }
 
     @AfterGroup
     public void processBulk() {
-        StringBuilder bodyBuilder = new StringBuilder();
-        for (Record input : bulk) {
-            JsonObject jsonObject = convertRecordToJsonObjectBody(input);
-
-            bodyBuilder.append(jsonObject).append(System.lineSeparator());
+        if (batchSize > 0) {
+            sendBatch();
+        }
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.poll());
+        }
+        if (properties.isUseAck()) {
+            waitForAcks();
+        }
+    }
 
+    /**
+     * Send the events of the current batch in background, waits for the oldest request if the maximum number of
+     * concurrent requests is reached.
+     */
+    private void sendBatch() {
+        getConfig().getDataset().getBody().setJsonValue(batch.toString());
+        // converted in this thread, the request configuration is shared by all batches
+        QueryConfiguration queryConfiguration = getClient().convertConfiguration(getConfig(), null);
+        boolean dieOnError = getConfig().isDieOnError();
+        batch.setLength(0);
+        batchSize = 0;
+
+        while (inFlight.size() >= properties.getConcurrentRequests()) {
+            complete(inFlight.poll());
         }
+        inFlight.add(getExecutor().submit(() -> invoke(queryConfiguration, dieOnError)));
+    }
 
-        getConfig().getDataset().getBody().setJsonValue(bodyBuilder.toString());
+    /**
+     * Send a request with the rate limit and retries of the request configuration, like other HTTP components.
+     */
+    private HTTPClient.HTTPResponse invoke(QueryConfiguration queryConfiguration, boolean dieOnError)
+            throws HTTPClientException {
+        RequestConfig config = getConfig();
+        return getClient().invoke(queryConfiguration, dieOnError,
+                HostRateLimiter.forUrl(config.getDataset().getDatastore().getBase(), config.getMaxRequestsPerSecond()),
+                config.getMaxRetries(), config.getRetryBackoff());
+    }
 
-        // record content never used by HttpClientOutput with our configuration we prepared before, can pass null value
-        super.process(null);
+    private void complete(Future<HTTPClient.HTTPResponse> request) {
+        HTTPClient.HTTPResponse response;
+        try {
+            response = request.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            ComponentException ce = new ComponentException(ComponentException.ErrorOrigin.BACKEND,
+                    getI18n().httpClientException(String.valueOf(cause.getClass()), cause.getMessage()));
+            ce.setStackTrace(cause.getStackTrace());
+            throw ce;
+        }
 
+        lastResponse = response;
         try {
-            handleResponse();
+            handleResponse(response);
+            if (properties.isUseAck()) {
+                pendingAcks.add(readJson(response).getJsonNumber("ackId").longValue());
+            }
         } catch (HTTPClientException e) {
             throw new ComponentException(getI18n().cantReadResponsePayload(e.getMessage()), e);
         }
+    }
+
+    /**
+     * Query the acknowledgment status of the requests sent on the channel, until all are indexed or timeout.
+     */
+    private void waitForAcks() {
+        RequestConfig ackConfig =
+                buildRequestConfig(properties, ACK_RESOURCE, getConfig().getDataset().getHeaders(), false);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(properties.getAckTimeout());
+        while (!pendingAcks.isEmpty()) {
+            JsonArrayBuilder ids = Json.createArrayBuilder();
+            for (Long id : pendingAcks) {
+                ids.add(id.longValue());
+            }
+            ackConfig.getDataset()
+                    .getBody()
+                    .setJsonValue(Json.createObjectBuilder().add("acks", ids).build().toString());
+            try {
+                HTTPClient.HTTPResponse response = invoke(getClient().convertConfiguration(ackConfig, null), false);
+                handleResponse(response);
+                JsonObject acks = readJson(response).getJsonObject("acks");
+                pendingAcks.removeIf(id -> acks != null && acks.getBoolean(String.valueOf(id), false));
+            } catch (HTTPClientException e) {
+                throw new ComponentException(getI18n().cantReadResponsePayload(e.getMessage()), e);
+            }
+
+            long wait = Math.min(ACK_POLL_INTERVAL, deadline - System.currentTimeMillis());
+            if (pendingAcks.isEmpty()) {
+                break;
+            } else if (wait <= 0) {
+                throw new ComponentException(
+                        splunkI18N.eventsNotAcknowledged(pendingAcks.size(), properties.getAckTimeout()));
+            }
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ComponentException(e);
+            }
+        }
+    }
 
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(properties.getConcurrentRequests(), (Runnable r) -> {
+                Thread thread = new Thread(r, "splunk-hec-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Size of the UTF-8 encoding of a string, without encoding it.
+     */
+    static int utf8Length(CharSequence value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
 
     private JsonObject convertRecordToJsonObjectBody(Record input) {
@@ -255,25 +439,25 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
         }
     }
 
-    private void handleResponse() throws HTTPClientException {
+    private void handleResponse(HTTPClient.HTTPResponse response) throws HTTPClientException {
 
-        if (getLastServerResponse().getStatus().getCode() / 100 > 3) {
+        if (response.getStatus().getCode() / 100 > 3) {
             throw new ComponentException(getI18n().responseStatusIsNotOK(
-                    getLastServerResponse().getStatus().getCodeWithReason()
-                            + ": " + getLastServerResponse().getBodyAsString()));
+                    response.getStatus().getCodeWithReason()
+                            + ": " + response.getBodyAsString()));
         } else {
-            log.debug("Response String:/r/n" + getLastServerResponse().getBodyAsString());
+            log.debug("Response String:/r/n" + response.getBodyAsString());
         }
     }
 
+    private static JsonObject readJson(HTTPClient.HTTPResponse response) throws HTTPClientException {
+        return Json.createReader(new StringReader(response.getBodyAsString())).readObject();
+    }
+
     public Integer getResponseCodeFromLastResponse() {
         try {
-            if (getLastServerResponse() != null) {
-                String responseBody = getLastServerResponse().getBodyAsString();
-                if (responseBody != null) {
-                    JsonObject json = Json.createReader(new StringReader(responseBody)).readObject();
-                    return json.getInt("code");
-                }
+            if (lastResponse != null && lastResponse.getBodyAsString() != null) {
+                return readJson(lastResponse).getInt("code");
             }
         } catch (HTTPClientException e) {
             throw new ComponentException(e);
@@ -284,6 +468,9 @@ public class SplunkEventCollector extends AbstractHTTPOutput<SplunkEventCollecto
 
     @PreDestroy
     public void finish() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
         context.set(RESPONSE_CODE_AFTER_VARIABLE_KEY, getResponseCodeFromLastResponse());
     }
 }
@@ -16,6 +16,9 @@ import java.io.Serializable;
 
 import org.talend.components.splunk.dataset.SplunkDataset;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,10 +26,59 @@ import lombok.Data;
 
 @Data
 @GridLayout({ @GridLayout.Row("dataset") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"),
+        @GridLayout.Row({ "maxBatchSize", "concurrentRequests" }), @GridLayout.Row("compress"),
+        @GridLayout.Row({ "maxRequestsPerSecond", "maxRetries", "retryBackoff" }), @GridLayout.Row("useAck"),
+        @GridLayout.Row({ "ackChannel", "ackTimeout" }) })
 public class SplunkEventCollectorProperties implements Serializable {
 
     @Option
     @Documentation("Dataset.")
     private SplunkDataset dataset;
 
+    @Option
+    @Min(1)
+    @Documentation("Maximum size of a request body (bytes, before compression), HEC refuses bigger payloads.")
+    private int maxBatchSize = 1_000_000;
+
+    @Option
+    @Min(1)
+    @Max(32)
+    @Documentation("Maximum number of requests sent to HEC at the same time.")
+    private int concurrentRequests = 4;
+
+    @Option
+    @Documentation("Compress request bodies with gzip.")
+    private boolean compress = false;
+
+    @Option
+    @Min(0)
+    @Documentation("Maximum number of requests per second sent to the HEC host (0 for no limit).")
+    private int maxRequestsPerSecond = 0;
+
+    @Option
+    @Min(0)
+    @Documentation("Number of retries of a request answered with 429 or 503 (busy server).")
+    private int maxRetries = 0;
+
+    @Option
+    @Min(0)
+    @Documentation("Initial wait between retries (ms), doubled at each retry without 'Retry-After' header.")
+    private long retryBackoff = 1000L;
+
+    @Option
+    @Documentation("Wait until HEC acknowledges the indexing of events, indexer acknowledgment must be enabled.")
+    private boolean useAck = false;
+
+    @Option
+    @ActiveIf(target = "useAck", value = "true")
+    @Documentation("Channel identifier (GUID) used for acknowledgments, a random one if empty.")
+    private String ackChannel;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "useAck", value = "true")
+    @Documentation("Maximum wait for acknowledgments (s).")
+    private int ackTimeout = 300;
+
 }
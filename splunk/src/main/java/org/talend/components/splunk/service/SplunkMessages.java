@@ -19,4 +19,6 @@ public interface SplunkMessages {
 
     String cantParseDate(String date);
 
+    String eventsNotAcknowledged(int requests, int timeout);
+
 }
@@ -13,12 +13,17 @@
 package org.talend.components.splunk.runtime;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Assertions;
@@ -27,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.talend.components.common.httpclient.api.HTTPClient;
 import org.talend.components.common.httpclient.api.HTTPClientException;
+import org.talend.components.common.httpclient.api.QueryConfiguration;
 import org.talend.components.http.configuration.RequestConfig;
 import org.talend.components.http.service.I18n;
 import org.talend.components.http.service.RecordBuilderService;
@@ -90,7 +96,7 @@ class SplunkEventCollectorTest {
 
         eventCollector.processBulk();
         Mockito.verify(clientService, Mockito.times(1))
-                .invoke(Mockito.any(), Mockito.eq(false));
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
     }
 
     @Test
@@ -142,7 +148,7 @@ class SplunkEventCollectorTest {
         Assertions.assertEquals(1, contextHolder.getMap().size());
         Assertions.assertEquals(999, contextHolder.getMap().get("SplunkEventCollector_RESPONSE_CODE"));
         Mockito.verify(clientService, Mockito.times(1))
-                .invoke(Mockito.any(), Mockito.eq(false));
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
         Mockito.verify(clientService, Mockito.times(1))
                 .convertConfiguration(Mockito.any(), Mockito.any());
     }
@@ -157,7 +163,9 @@ class SplunkEventCollectorTest {
         Mockito.when(mockedStatus.getCode()).thenReturn(200);
         Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
         Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
-        Mockito.doReturn(mockedResponse).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        Mockito.doReturn(mockedResponse)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
 
         Record record = recordBuilderService.getRecordBuilderFactory()
                 .newRecordBuilder()
@@ -200,7 +208,9 @@ class SplunkEventCollectorTest {
         Mockito.when(mockedStatus.getCode()).thenReturn(200);
         Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
         Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
-        Mockito.doReturn(mockedResponse).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        Mockito.doReturn(mockedResponse)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
 
         Record record = recordBuilderService.getRecordBuilderFactory()
                 .newRecordBuilder()
@@ -259,7 +269,9 @@ class SplunkEventCollectorTest {
         Mockito.when(mockedStatus.getCode()).thenReturn(200);
         Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
         Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
-        Mockito.doReturn(mockedResponse).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        Mockito.doReturn(mockedResponse)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
 
         Record record = recordBuilderService.getRecordBuilderFactory()
                 .newRecordBuilder()
@@ -299,7 +311,9 @@ class SplunkEventCollectorTest {
         Mockito.when(mockedStatus.getCode()).thenReturn(200);
         Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
         Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
-        Mockito.doReturn(mockedResponse).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        Mockito.doReturn(mockedResponse)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
 
         Record record = recordBuilderService.getRecordBuilderFactory()
                 .newRecordBuilder()
@@ -339,7 +353,9 @@ class SplunkEventCollectorTest {
         Mockito.when(mockedStatus.getCode()).thenReturn(200);
         Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
         Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
-        Mockito.doReturn(mockedResponse).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        Mockito.doReturn(mockedResponse)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
 
         Record record = recordBuilderService.getRecordBuilderFactory()
                 .newRecordBuilder()
@@ -367,6 +383,146 @@ class SplunkEventCollectorTest {
                 requestConfigReference.get().getDataset().getBody().getJsonValue().trim());
     }
 
+    @Test
+    void testRateLimitAndRetriesPassedToClient() throws HTTPClientException {
+        prepareClientServiceMockReturnOk();
+        properties.setMaxRequestsPerSecond(5);
+        properties.setMaxRetries(3);
+        properties.setRetryBackoff(200L);
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        Record record = recordBuilderService.getRecordBuilderFactory()
+                .newRecordBuilder()
+                .withString("event", "value")
+                .build();
+
+        eventCollector.startBulk();
+        eventCollector.process(record);
+        eventCollector.processBulk();
+        Mockito.verify(clientService, Mockito.times(1))
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.notNull(), Mockito.eq(3), Mockito.eq(200L));
+    }
+
+    @Test
+    void testBatchesBoundedBySize() throws HTTPClientException {
+        final List<QueryConfiguration> queries = Collections.synchronizedList(new ArrayList<>());
+        clientService = Mockito.spy(HTTPClientService.class);
+        HTTPClient.HTTPResponse mockedResponse = mockResponse(200, "{\"text\":\"Success\",\"code\":0}");
+        Mockito.doAnswer(invocation -> {
+            queries.add(invocation.getArgument(0));
+            return mockedResponse;
+        }).when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
+
+        Record record = recordBuilderService.getRecordBuilderFactory()
+                .newRecordBuilder()
+                .withString("event", "value")
+                .build();
+        String event = "{\"event\":{\"event\":\"value\"}}" + System.lineSeparator();
+        // 2 events per request
+        properties.setMaxBatchSize(2 * event.length() + 1);
+        properties.setConcurrentRequests(2);
+        properties.setCompress(true);
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        eventCollector.startBulk();
+        for (int i = 0; i < 5; i++) {
+            eventCollector.process(record);
+        }
+        eventCollector.processBulk();
+
+        Assertions.assertEquals(3, queries.size());
+        int events = 0;
+        for (QueryConfiguration query : queries) {
+            Assertions.assertTrue(query.getPlainTextBody().length() <= properties.getMaxBatchSize());
+            Assertions.assertTrue(query.isCompressRequestPayload());
+            events += query.getPlainTextBody().split(System.lineSeparator()).length;
+        }
+        Assertions.assertEquals(5, events);
+    }
+
+    @Test
+    void testUtf8Length() {
+        Assertions.assertEquals(0, SplunkEventCollector.utf8Length(""));
+        Assertions.assertEquals("a\u00e9\u20ac\ud83d\ude00".getBytes(StandardCharsets.UTF_8).length,
+                SplunkEventCollector.utf8Length("a\u00e9\u20ac\ud83d\ude00"));
+    }
+
+    @Test
+    void testWaitForAcknowledgment() throws HTTPClientException {
+        final AtomicInteger ackQueries = new AtomicInteger();
+        final List<QueryConfiguration> queries = Collections.synchronizedList(new ArrayList<>());
+        clientService = Mockito.spy(HTTPClientService.class);
+        HTTPClient.HTTPResponse eventResponse = mockResponse(200, "{\"text\":\"Success\",\"code\":0,\"ackId\":7}");
+        HTTPClient.HTTPResponse pendingResponse = mockResponse(200, "{\"acks\":{\"7\":false}}");
+        HTTPClient.HTTPResponse ackResponse = mockResponse(200, "{\"acks\":{\"7\":true}}");
+        Mockito.doAnswer(invocation -> {
+            QueryConfiguration query = invocation.getArgument(0);
+            queries.add(query);
+            if (!query.getUrl().endsWith(SplunkEventCollector.ACK_RESOURCE)) {
+                return eventResponse;
+            }
+            Assertions.assertEquals("{\"acks\":[7]}", query.getPlainTextBody());
+            return ackQueries.incrementAndGet() == 1 ? pendingResponse : ackResponse;
+        }).when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
+
+        properties.setUseAck(true);
+        properties.setAckChannel("0aeeac95-ac74-4aa9-b30d-6c4c0ac581ba");
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        Record record = recordBuilderService.getRecordBuilderFactory()
+                .newRecordBuilder()
+                .withString("event", "value")
+                .build();
+        eventCollector.startBulk();
+        eventCollector.process(record);
+        eventCollector.processBulk();
+
+        Assertions.assertEquals(2, ackQueries.get());
+        for (QueryConfiguration query : queries) {
+            Assertions.assertTrue(query.getHeaders()
+                    .stream()
+                    .anyMatch(h -> SplunkEventCollector.CHANNEL_HEADER.equals(h.getKey())
+                            && properties.getAckChannel().equals(h.getValue())));
+        }
+    }
+
+    @Test
+    void testAcknowledgmentTimeout() throws HTTPClientException {
+        clientService = Mockito.spy(HTTPClientService.class);
+        HTTPClient.HTTPResponse eventResponse = mockResponse(200, "{\"text\":\"Success\",\"code\":0,\"ackId\":0}");
+        HTTPClient.HTTPResponse pendingResponse = mockResponse(200, "{\"acks\":{\"0\":false}}");
+        Mockito.doAnswer(invocation -> {
+            QueryConfiguration query = invocation.getArgument(0);
+            return query.getUrl().endsWith(SplunkEventCollector.ACK_RESOURCE) ? pendingResponse : eventResponse;
+        }).when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
+
+        properties.setUseAck(true);
+        properties.setAckTimeout(1);
+        eventCollector = new SplunkEventCollector(properties, clientService, i18n, mockedSplunkI18N);
+
+        Record record = recordBuilderService.getRecordBuilderFactory()
+                .newRecordBuilder()
+                .withString("event", "value")
+                .build();
+        eventCollector.startBulk();
+        eventCollector.process(record);
+        Assertions.assertThrows(ComponentException.class, () -> eventCollector.processBulk());
+        Mockito.verify(mockedSplunkI18N).eventsNotAcknowledged(1, 1);
+    }
+
+    private HTTPClient.HTTPResponse mockResponse(int code, String body) throws HTTPClientException {
+        HTTPClient.HTTPResponse mockedResponse = Mockito.mock();
+        HTTPClient.Status mockedStatus = Mockito.mock();
+        Mockito.when(mockedStatus.getCode()).thenReturn(code);
+        Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
+        Mockito.when(mockedResponse.getBodyAsString()).thenReturn(body);
+        Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
+        return mockedResponse;
+    }
+
     private void prepareClientServiceMockReturnOk() throws HTTPClientException {
         HTTPClient.HTTPResponse mockedResponse = Mockito.mock();
         HTTPClient.Status mockedStatus = Mockito.mock();
@@ -374,7 +530,9 @@ class SplunkEventCollectorTest {
         Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
         Mockito.when(mockedResponse.getBodyAsString()).thenReturn("{\"text\":\"SomeText\",\"code\":999}");
         Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
-        Mockito.doReturn(mockedResponse).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        Mockito.doReturn(mockedResponse)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
     }
 
     private void prepareClientServiceMockReturnFailure() throws HTTPClientException {
@@ -383,6 +541,8 @@ class SplunkEventCollectorTest {
         Mockito.when(mockedStatus.getCode()).thenReturn(401);
         Mockito.when(mockedResponse.getStatus()).thenReturn(mockedStatus);
         Mockito.when(mockedResponse.nextPageQueryConfiguration()).thenReturn(Optional.empty());
-        Mockito.doReturn(mockedResponse).when(clientService).invoke(Mockito.any(), Mockito.eq(false));
+        Mockito.doReturn(mockedResponse)
+                .when(clientService)
+                .invoke(Mockito.any(), Mockito.eq(false), Mockito.any(), Mockito.anyInt(), Mockito.anyLong());
     }
 }
\ No newline at end of file